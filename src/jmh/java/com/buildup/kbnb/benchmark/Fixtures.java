@@ -0,0 +1,114 @@
+package com.buildup.kbnb.benchmark;
+
+import com.buildup.kbnb.model.Comment;
+import com.buildup.kbnb.model.Location;
+import com.buildup.kbnb.model.Payment;
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.BathRoom;
+import com.buildup.kbnb.model.room.BedRoom;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크용 고정 시드 엔티티와 repository stub.
+ */
+public final class Fixtures {
+    public static final LocalDate BASE_DATE = LocalDate.of(2021, 1, 1);
+
+    private Fixtures() {
+    }
+
+    /**
+     * methodName 에 해당하는 값만 돌려주는 repository stub. 나머지 메서드는 호출되면 실패한다.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T repository(Class<T> repositoryType, Map<String, Object> returnValues) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, (proxy, method, args) -> {
+            if (returnValues.containsKey(method.getName()))
+                return returnValues.get(method.getName());
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * 커밋, 롤백 모두 아무것도 하지 않는 트랜잭션 매니저. repository stub 과 함께 TransactionTemplate 을 쓰는 코드에 넘긴다.
+     */
+    public static PlatformTransactionManager transactionManager() {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+    }
+
+    /**
+     * 3박씩, 하루씩 띄워 겹치지 않는 예약 목록.
+     */
+    public static List<Reservation> reservations(int count) {
+        Random random = new Random(42);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDate checkIn = BASE_DATE.plusDays(i * 4L);
+            reservations.add(Reservation.builder()
+                    .id((long) i)
+                    .checkIn(checkIn)
+                    .checkOut(checkIn.plusDays(3))
+                    .guestNum(2)
+                    .payment(Payment.builder().price(50000 + random.nextInt(100000)).build())
+                    .build());
+        }
+        return reservations;
+    }
+
+    public static List<Room> rooms(int count) {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Room room = Room.builder()
+                    .id((long) i)
+                    .name("room " + i)
+                    .roomType("Private room")
+                    .roomCost(50000.0 + i)
+                    .peopleLimit(4)
+                    .isSmoking(false)
+                    .isParking(true)
+                    .location(Location.builder().city("서울").borough("강남구").neighborhood("역삼동").latitude(37.5).longitude(127.0).build())
+                    .build();
+            room.setBedRoomList(bedRooms(room, 3));
+            room.setBathRoomList(List.of(BathRoom.builder().isPrivate(true).room(room).build()));
+            room.setRoomImgList(List.of(
+                    RoomImg.builder().url("https://pungdong.s3.ap-northeast-2.amazonaws.com/roomImg/" + i + "-1.png").room(room).build(),
+                    RoomImg.builder().url("https://pungdong.s3.ap-northeast-2.amazonaws.com/roomImg/" + i + "-2.png").room(room).build()));
+            room.setCommentList(List.of(Comment.builder().room(room).build()));
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    public static List<BedRoom> bedRooms(Room room, int count) {
+        List<BedRoom> bedRooms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bedRooms.add(BedRoom.builder().doubleSize(1).queenSize(i % 2).singleSize(2).superSingleSize(0).room(room).build());
+        }
+        return bedRooms;
+    }
+}
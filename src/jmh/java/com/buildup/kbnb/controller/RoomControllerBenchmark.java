@@ -0,0 +1,41 @@
+package com.buildup.kbnb.controller;
+
+import com.buildup.kbnb.benchmark.Fixtures;
+import com.buildup.kbnb.dto.room.RoomDto;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.service.RoomService;
+import com.buildup.kbnb.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비로그인 검색 기준. (로그인 사용자의 좋아요 여부 조회는 DB 조회라 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoomControllerBenchmark {
+    @Param({"5", "20"})
+    int pageSize;
+
+    RoomController roomController;
+    List<Room> rooms;
+
+    @Setup
+    public void setUp() {
+        RoomService roomService = new RoomService(null, null, null, null, null, null, null, null, null);
+        UserService userService = new UserService(null, null);
+        roomController = new RoomController(roomService, userService, null, null, null, null, null, null, null);
+        rooms = Fixtures.rooms(pageSize);
+    }
+
+    @Benchmark
+    public List<RoomDto> mapToRoomDtoList() {
+        return roomController.mapToRoomDtoList(null, rooms);
+    }
+}
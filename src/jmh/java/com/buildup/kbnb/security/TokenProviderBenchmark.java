@@ -0,0 +1,38 @@
+package com.buildup.kbnb.security;
+
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TokenProviderBenchmark {
+    TokenProvider tokenProvider;
+    String token;
+
+    @Setup
+    public void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAuth().setTokenSecret("926D96C90030DD58429D2751AC1BDBBC");
+        appProperties.getAuth().setTokenExpirationMsec(864000000);
+        tokenProvider = new TokenProvider(appProperties, new BusinessMetrics(new SimpleMeterRegistry()));
+        token = tokenProvider.createToken("1");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return tokenProvider.getUserIdFromToken(token);
+    }
+}
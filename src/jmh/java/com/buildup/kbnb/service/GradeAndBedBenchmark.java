@@ -0,0 +1,45 @@
+package com.buildup.kbnb.service;
+
+import com.buildup.kbnb.benchmark.Fixtures;
+import com.buildup.kbnb.model.room.BedRoom;
+import com.buildup.kbnb.model.room.Room;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GradeAndBedBenchmark {
+    RoomService roomService;
+    Room room;
+    List<BedRoom> bedRoomList;
+
+    @Setup
+    public void setUp() {
+        roomService = new RoomService(null, null, null, null, null, null, null, null, null);
+        room = Fixtures.rooms(1).get(0);
+        room.setCommentCount(120);
+        room.setCleanlinessSum(504.0);
+        room.setAccuracySum(528.0);
+        room.setCommunicationSum(552.0);
+        room.setLocationRateSum(492.0);
+        room.setCheckInSum(576.0);
+        room.setPriceSatisfactionSum(468.0);
+        bedRoomList = Fixtures.bedRooms(room, 5);
+    }
+
+    @Benchmark
+    public Double getGrade() {
+        return room.getGrade();
+    }
+
+    @Benchmark
+    public int getBedNum() {
+        return roomService.getBedNum(bedRoomList);
+    }
+}
@@ -0,0 +1,72 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.benchmark.Fixtures;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.reservation.ReservedNights;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomAvailability;
+import com.buildup.kbnb.repository.reservation.ReservationRepository;
+import com.buildup.kbnb.repository.room.RoomBlockRepository;
+import com.buildup.kbnb.repository.room.RoomRepository;
+import com.buildup.kbnb.repository.room.RoomSeasonPriceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * 예약 수에 따라 예약 가능 날짜를 만드는 비용. 캐시를 거치면 예약 수와 상관없이 조회만 재게 되므로 캐시를 거치지 않는 두 경로를 잰다.
+ * loadForStay 는 예약 등록 전 확인처럼 숙박 기간만, coldBuild 는 캐시를 비운 뒤 horizonMonths 전체를 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoomAvailabilityServiceBenchmark {
+    @Param({"10", "100", "1000"})
+    int reservationCount;
+
+    RoomAvailabilityService roomAvailabilityService;
+    RoomAvailabilityChangedEvent changedEvent;
+    LocalDate checkIn;
+    LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        // 캐시 기간 안에 예약이 놓이도록 이번 달 1일로 옮긴다. 쿼리가 기간으로 거르지 않는 최악의 경우로 전체 예약을 돌려준다.
+        long shift = DAYS.between(Fixtures.BASE_DATE, LocalDate.now().withDayOfMonth(1));
+        List<ReservedNights> reservedNights = Fixtures.reservations(reservationCount).stream()
+                .map(reservation -> new ReservedNights(1L, reservation.getCheckIn().plusDays(shift), reservation.getCheckOut().plusDays(shift)))
+                .collect(Collectors.toList());
+        ReservationRepository reservationRepository = Fixtures.repository(ReservationRepository.class, Map.of("findReservedNights", reservedNights));
+        RoomRepository roomRepository = Fixtures.repository(RoomRepository.class, Map.of("findAllById", List.of(Room.builder().id(1L).roomCost(50000.0).build())));
+        RoomBlockRepository roomBlockRepository = Fixtures.repository(RoomBlockRepository.class, Map.of("findOverlapping", List.of()));
+        RoomSeasonPriceRepository roomSeasonPriceRepository = Fixtures.repository(RoomSeasonPriceRepository.class, Map.of("findOverlapping", List.of()));
+        roomAvailabilityService = new RoomAvailabilityService(reservationRepository, roomRepository, roomBlockRepository,
+                roomSeasonPriceRepository, new AppProperties(), new SimpleMeterRegistry(), Fixtures.transactionManager());
+        changedEvent = new RoomAvailabilityChangedEvent(1L);
+
+        // 예약 사이에 비어 있는 하루를 골라 전체 예약을 표시한 뒤에도 묵을 수 있게 한다.
+        checkIn = reservedNights.get(0).getCheckOut();
+        checkOut = checkIn.plusDays(1);
+    }
+
+    @Benchmark
+    public RoomAvailability loadForStay() {
+        return roomAvailabilityService.loadForStay(1L, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public RoomAvailability coldBuild() {
+        roomAvailabilityService.onRoomAvailabilityChanged(changedEvent);
+        return roomAvailabilityService.getAvailability(1L);
+    }
+}
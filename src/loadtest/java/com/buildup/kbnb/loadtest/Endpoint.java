@@ -0,0 +1,65 @@
+package com.buildup.kbnb.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Locale;
+import java.util.Random;
+
+public enum Endpoint {
+    ROOM_LIST("room.list") {
+        @Override
+        HttpRequest.Builder request(LoadContext context, Random random) {
+            // 실제 지도 검색처럼 임의의 숙소 주변 약 5km 영역을 조회한다.
+            LoadContext.RoomPoint room = context.randomRoom(random);
+            String body = String.format(Locale.ROOT, "{\"locationSearch\":{\"latitudeMin\":%f,\"latitudeMax\":%f,\"longitudeMin\":%f,\"longitudeMax\":%f}}",
+                    room.latitude - 0.05, room.latitude + 0.05, room.longitude - 0.05, room.longitude + 0.05);
+            return HttpRequest.newBuilder(URI.create(context.baseUrl + "/room/list?page=" + random.nextInt(3) + "&size=20"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    ROOM_DETAIL("room.detail") {
+        @Override
+        HttpRequest.Builder request(LoadContext context, Random random) {
+            return HttpRequest.newBuilder(URI.create(context.baseUrl + "/room/detail?roomId=" + context.randomRoom(random).id)).GET();
+        }
+    },
+    COMMENT("comment") {
+        @Override
+        HttpRequest.Builder request(LoadContext context, Random random) {
+            return HttpRequest.newBuilder(URI.create(context.baseUrl + "/comment?roomId=" + context.randomRoom(random).id + "&page=0&size=10")).GET();
+        }
+    },
+    RESERVATION("reservation") {
+        @Override
+        HttpRequest.Builder request(LoadContext context, Random random) {
+            return HttpRequest.newBuilder(URI.create(context.baseUrl + "/reservation?page=0&size=10")).GET();
+        }
+    },
+    USER_ME("user.me") {
+        @Override
+        HttpRequest.Builder request(LoadContext context, Random random) {
+            return HttpRequest.newBuilder(URI.create(context.baseUrl + "/user/me")).GET();
+        }
+    };
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    abstract HttpRequest.Builder request(LoadContext context, Random random);
+
+    public static Endpoint of(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key))
+                return endpoint;
+        }
+        throw new IllegalArgumentException("지원하지 않는 endpoint 입니다. " + key);
+    }
+}
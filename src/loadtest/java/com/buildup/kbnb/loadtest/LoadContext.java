@@ -0,0 +1,39 @@
+package com.buildup.kbnb.loadtest;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 부하를 주기 전에 로그인한 토큰과 /room/list 로 모은 숙소 표본.
+ */
+public class LoadContext {
+    final String baseUrl;
+    final List<String> tokens;
+    final List<RoomPoint> rooms;
+
+    LoadContext(String baseUrl, List<String> tokens, List<RoomPoint> rooms) {
+        this.baseUrl = baseUrl;
+        this.tokens = tokens;
+        this.rooms = rooms;
+    }
+
+    String randomToken(Random random) {
+        return tokens.get(random.nextInt(tokens.size()));
+    }
+
+    RoomPoint randomRoom(Random random) {
+        return rooms.get(random.nextInt(rooms.size()));
+    }
+
+    static class RoomPoint {
+        final long id;
+        final double latitude;
+        final double longitude;
+
+        RoomPoint(long id, double latitude, double longitude) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+}
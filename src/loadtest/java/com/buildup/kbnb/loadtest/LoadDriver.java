@@ -0,0 +1,181 @@
+package com.buildup.kbnb.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 로컬에서 띄운 애플리케이션에 mix 비율대로 요청을 보내고 endpoint 별 처리량과 p50/p99/p99.9 지연 시간을 HdrHistogram 으로 기록한다.
+ * --rate 를 주면 요청마다 예정 시각을 정해 두고 그 시각부터 지연 시간을 재서, 응답이 밀릴 때 측정이 누락되는 coordinated omission 을 보정한다.
+ * --baseline 으로 이전 결과를 주면 p99 가 tolerance 이상 나빠진 endpoint 가 있을 때 종료 코드 1 로 끝난다.
+ * ./gradlew loadtest -PloadtestArgs="--duration=60 --concurrency=32 --baseline=build/reports/loadtest/results-abc1234.json"
+ */
+public class LoadDriver {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadOptions options;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final int totalWeight;
+
+    LoadDriver(LoadOptions options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Endpoint endpoint : options.mix.keySet()) {
+            recorders.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+        this.totalWeight = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        LoadReport report = new LoadDriver(options).run();
+        report.print(System.out);
+        if (options.report != null)
+            report.write(options.report);
+
+        if (options.baseline != null) {
+            List<String> regressions = report.regressionsAgainst(LoadReport.read(options.baseline), options.tolerance);
+            regressions.forEach(System.out::println);
+            if (!regressions.isEmpty())
+                System.exit(1);
+        }
+    }
+
+    LoadReport run() throws Exception {
+        LoadContext context = prepare();
+
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + TimeUnit.SECONDS.toNanos(options.warmupSec);
+        long endNanos = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSec);
+        ExecutorService executor = Executors.newFixedThreadPool(options.concurrency);
+        for (int worker = 0; worker < options.concurrency; worker++) {
+            Random random = new Random(options.seed + worker);
+            executor.execute(() -> work(context, random, startNanos, measureFrom, endNanos));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(options.warmupSec + options.durationSec + REQUEST_TIMEOUT.getSeconds() * 2, TimeUnit.SECONDS))
+            executor.shutdownNow();
+
+        LoadReport report = new LoadReport();
+        report.commit = options.commit;
+        report.durationSec = options.durationSec;
+        report.concurrency = options.concurrency;
+        report.rate = options.rate;
+        recorders.forEach((endpoint, recorder) -> report.endpoints.put(endpoint.getKey(),
+                LoadReport.EndpointResult.of(recorder.getIntervalHistogram(), errors.get(endpoint).sum(), options.durationSec)));
+        return report;
+    }
+
+    private void work(LoadContext context, Random random, long startNanos, long measureFrom, long endNanos) {
+        long intervalNanos = options.rate > 0 ? (long) (options.concurrency * 1_000_000_000L / options.rate) : 0;
+        // 모든 worker 가 같은 순간에 몰리지 않도록 첫 예정 시각을 흩어 둔다.
+        long intended = startNanos + (intervalNanos > 0 ? (long) (random.nextDouble() * intervalNanos) : 0);
+        while (!Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            if (intervalNanos == 0)
+                intended = now;
+            else if (intended > now)
+                LockSupport.parkNanos(intended - now);
+            if (intended >= endNanos)
+                return;
+
+            Endpoint endpoint = pick(random);
+            boolean succeeded = send(endpoint.request(context, random), context.randomToken(random));
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+            if (intended >= measureFrom) {
+                recorders.get(endpoint).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+                if (!succeeded)
+                    errors.get(endpoint).increment();
+            }
+            intended += intervalNanos;
+        }
+    }
+
+    private Endpoint pick(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : options.mix.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0)
+                return entry.getKey();
+        }
+        throw new IllegalStateException();
+    }
+
+    private boolean send(HttpRequest.Builder request, String token) {
+        try {
+            HttpResponse<Void> response = httpClient.send(request.timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + token)
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 데이터셋 사용자로 로그인해 토큰을 받고, /room/list 를 넘기며 요청에 쓸 숙소 표본을 모은다.
+     */
+    private LoadContext prepare() throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < options.users; i++) {
+            String email = "dataset" + options.seed + "-" + i + "@kbnb.test";
+            JsonNode response = post("/auth/login", objectMapper.writeValueAsString(Map.of("email", email, "password", options.password)));
+            tokens.add(response.path("accessToken").asText());
+        }
+
+        List<LoadContext.RoomPoint> rooms = new ArrayList<>();
+        for (int page = 0; rooms.size() < options.roomSample; page++) {
+            JsonNode response = post("/room/list?page=" + page + "&size=100", "{}");
+            JsonNode embedded = response.path("_embedded");
+            if (!embedded.elements().hasNext())
+                break;
+            for (JsonNode room : embedded.elements().next()) {
+                rooms.add(new LoadContext.RoomPoint(room.path("id").asLong(), room.path("latitude").asDouble(), room.path("longitude").asDouble()));
+            }
+            if (page + 1 >= response.path("page").path("totalPages").asInt())
+                break;
+        }
+        if (rooms.isEmpty())
+            throw new IllegalStateException("숙소가 없습니다. app.dataset 으로 데이터를 먼저 생성하세요.");
+        return new LoadContext(options.baseUrl, tokens, rooms);
+    }
+
+    private JsonNode post(String path, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException(path + " 요청이 실패했습니다. status = " + response.statusCode() + ", body = " + response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
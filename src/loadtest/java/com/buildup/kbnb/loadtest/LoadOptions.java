@@ -0,0 +1,69 @@
+package com.buildup.kbnb.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * --key=value 형식의 LoadDriver 실행 옵션.
+ * mix 는 endpoint=가중치 목록이다. ex) --mix=room.list=40,room.detail=30,comment=15,reservation=10,user.me=5
+ */
+public class LoadOptions {
+    static final String DEFAULT_MIX = "room.list=40,room.detail=30,comment=15,reservation=10,user.me=5";
+
+    String baseUrl = "http://localhost:8080";
+    int durationSec = 60;
+    int warmupSec = 10;
+    int concurrency = 16;
+    double rate = 0;
+    Map<Endpoint, Integer> mix = parseMix(DEFAULT_MIX);
+    long seed = 42;
+    int users = 50;
+    String password = "password";
+    int roomSample = 1000;
+    Path report;
+    Path baseline;
+    double tolerance = 0.1;
+    String commit = "local";
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("--key=value 형식이 아닙니다. " + arg);
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadOptions options = new LoadOptions();
+        options.baseUrl = values.getOrDefault("baseUrl", options.baseUrl);
+        options.durationSec = Integer.parseInt(values.getOrDefault("duration", String.valueOf(options.durationSec)));
+        options.warmupSec = Integer.parseInt(values.getOrDefault("warmup", String.valueOf(options.warmupSec)));
+        options.concurrency = Integer.parseInt(values.getOrDefault("concurrency", String.valueOf(options.concurrency)));
+        options.rate = Double.parseDouble(values.getOrDefault("rate", String.valueOf(options.rate)));
+        options.mix = parseMix(values.getOrDefault("mix", DEFAULT_MIX));
+        options.seed = Long.parseLong(values.getOrDefault("seed", String.valueOf(options.seed)));
+        options.users = Integer.parseInt(values.getOrDefault("users", String.valueOf(options.users)));
+        options.password = values.getOrDefault("password", options.password);
+        options.roomSample = Integer.parseInt(values.getOrDefault("roomSample", String.valueOf(options.roomSample)));
+        options.report = values.containsKey("report") ? Paths.get(values.get("report")) : null;
+        options.baseline = values.containsKey("baseline") ? Paths.get(values.get("baseline")) : null;
+        options.tolerance = Double.parseDouble(values.getOrDefault("tolerance", String.valueOf(options.tolerance)));
+        options.commit = values.getOrDefault("commit", options.commit);
+        return options;
+    }
+
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0)
+                weights.put(Endpoint.of(pair[0].trim()), weight);
+        }
+        if (weights.isEmpty())
+            throw new IllegalArgumentException("가중치가 0 보다 큰 endpoint 가 하나 이상 있어야 합니다.");
+        return weights;
+    }
+}
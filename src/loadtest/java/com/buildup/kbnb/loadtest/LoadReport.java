@@ -0,0 +1,87 @@
+package com.buildup.kbnb.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * endpoint 별 처리량과 지연 시간 분위수. JSON 으로 남겨 두었다가 다음 실행의 baseline 으로 비교한다.
+ */
+public class LoadReport {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public String commit;
+    public int durationSec;
+    public int concurrency;
+    public double rate;
+    public Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+
+    public static class EndpointResult {
+        public long requests;
+        public long errors;
+        public double throughput;
+        public double p50Ms;
+        public double p99Ms;
+        public double p999Ms;
+        public double maxMs;
+
+        static EndpointResult of(Histogram histogram, long errors, int durationSec) {
+            EndpointResult result = new EndpointResult();
+            result.requests = histogram.getTotalCount();
+            result.errors = errors;
+            result.throughput = (double) histogram.getTotalCount() / durationSec;
+            result.p50Ms = histogram.getValueAtPercentile(50) / 1000.0;
+            result.p99Ms = histogram.getValueAtPercentile(99) / 1000.0;
+            result.p999Ms = histogram.getValueAtPercentile(99.9) / 1000.0;
+            result.maxMs = histogram.getMaxValue() / 1000.0;
+            return result;
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    public static LoadReport read(Path path) throws IOException {
+        return OBJECT_MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        OBJECT_MAPPER.writeValue(path.toFile(), this);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("commit=%s duration=%ds concurrency=%d rate=%s%n", commit, durationSec, concurrency, rate > 0 ? rate + "/s" : "closed-loop");
+        out.printf("%-12s %10s %8s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        endpoints.forEach((endpoint, result) -> out.printf("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", endpoint,
+                result.requests, result.errors, result.throughput, result.p50Ms, result.p99Ms, result.p999Ms, result.maxMs));
+    }
+
+    /**
+     * baseline 보다 p99 가 tolerance 비율 이상 느려졌거나 오류율이 1%p 이상 늘어난 endpoint 를 돌려준다.
+     */
+    public List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((endpoint, result) -> {
+            EndpointResult previous = baseline.endpoints.get(endpoint);
+            if (previous == null)
+                return;
+            if (result.p99Ms > previous.p99Ms * (1 + tolerance))
+                regressions.add(String.format("%s p99 %.2fms -> %.2fms (baseline %s)", endpoint, previous.p99Ms, result.p99Ms, baseline.commit));
+            if (result.errorRate() > previous.errorRate() + 0.01)
+                regressions.add(String.format("%s 오류율 %.2f%% -> %.2f%% (baseline %s)", endpoint, previous.errorRate() * 100, result.errorRate() * 100, baseline.commit));
+        });
+        return regressions;
+    }
+}
@@ -0,0 +1,29 @@
+package com.buildup.kbnb.loadtest;
+
+import com.buildup.kbnb.KbnbApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 부하 테스트 대상 애플리케이션을 로컬 대역(내장 Kafka, BootPay stub, 로컬 S3 endpoint, H2)으로 띄운다.
+ * 기동 직후 app.dataset 설정대로 데이터를 생성하므로 LoadDriver 는 생성 완료 로그 이후에 실행한다.
+ * ./gradlew loadtestApp
+ */
+public class LoadTestApplication {
+    public static void main(String[] args) {
+        EmbeddedKafkaBroker kafkaBroker = new EmbeddedKafkaBroker(1, false, 1, "payment-confirm").kafkaPorts(0);
+        kafkaBroker.afterPropertiesSet();
+        Runtime.getRuntime().addShutdownHook(new Thread(kafkaBroker::destroy));
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        arguments.add("--spring.kafka.bootstrap-servers=" + kafkaBroker.getBrokersAsString());
+
+        new SpringApplicationBuilder(KbnbApplication.class, LocalStandInConfig.class)
+                .properties(KbnbApplication.APPLICATION_LOCATIONS + ",classpath:loadtest.yml")
+                .run(arguments.toArray(new String[0]));
+    }
+}
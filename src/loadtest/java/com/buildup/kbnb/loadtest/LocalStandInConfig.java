@@ -0,0 +1,38 @@
+package com.buildup.kbnb.loadtest;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.buildup.kbnb.util.payment.BootPayApi;
+import com.buildup.kbnb.util.payment.BootPayProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 외부 결제, 저장소 대신 로컬 대역을 사용한다.
+ * S3 는 loadtest.s3.endpoint 의 S3 호환 서버(MinIO, LocalStack 등)로 보내며, 기본 트래픽 구성은 업로드를 호출하지 않는다.
+ */
+@Configuration
+public class LocalStandInConfig {
+    @Bean
+    @Primary
+    public BootPayApi stubBootPayApi(RestTemplate restTemplate, BootPayProperties properties) {
+        return new StubBootPayApi(restTemplate, properties);
+    }
+
+    @Bean
+    @Primary
+    public AmazonS3Client localAmazonS3Client(@Value("${loadtest.s3.endpoint}") String endpoint,
+                                              @Value("${cloud.aws.region.static}") String region) {
+        return (AmazonS3Client) AmazonS3ClientBuilder.standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                .withPathStyleAccessEnabled(true)
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("loadtest", "loadtest")))
+                .build();
+    }
+}
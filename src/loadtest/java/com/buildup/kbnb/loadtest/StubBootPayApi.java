@@ -0,0 +1,39 @@
+package com.buildup.kbnb.loadtest;
+
+import com.buildup.kbnb.util.payment.BootPayApi;
+import com.buildup.kbnb.util.payment.BootPayProperties;
+import com.buildup.kbnb.util.payment.model.request.Cancel;
+import com.buildup.kbnb.util.payment.model.response.CancelResult;
+import com.buildup.kbnb.util.payment.model.response.ResDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 부하 테스트 중에는 실제 BootPay 를 호출하지 않고 항상 성공으로 응답한다.
+ */
+public class StubBootPayApi extends BootPayApi {
+    public StubBootPayApi(RestTemplate restTemplate, BootPayProperties properties) {
+        super(restTemplate, properties);
+    }
+
+    @Override
+    public String getAccessToken() {
+        return "loadtest-token";
+    }
+
+    @Override
+    public void verify(String token, String receipt_id, Double price) {
+    }
+
+    @Override
+    public ResponseEntity<ResDefault> confirm(String token, String receipt_id) {
+        ResDefault resDefault = new ResDefault();
+        resDefault.setStatus(200);
+        return ResponseEntity.ok(resDefault);
+    }
+
+    @Override
+    public ResponseEntity<CancelResult> cancel(Cancel cancel, String token) {
+        return ResponseEntity.ok(new CancelResult());
+    }
+}
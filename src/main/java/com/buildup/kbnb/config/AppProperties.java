@@ -4,13 +4,25 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @ConfigurationProperties(prefix = "app")
 public class AppProperties {
     private final Auth auth = new Auth();
     private final OAuth2 oauth2 = new OAuth2();
+    private final Upload upload = new Upload();
+    private final Image image = new Image();
+    private final RoomImport roomImport = new RoomImport();
+    private final SecondLevelCache secondLevelCache = new SecondLevelCache();
+    private final QueryMonitor queryMonitor = new QueryMonitor();
+    private final SlowQuery slowQuery = new SlowQuery();
+    private final Dataset dataset = new Dataset();
+    private final Rollup rollup = new Rollup();
+    private final Export export = new Export();
+    private final Availability availability = new Availability();
 
     public static class Auth {
         private String tokenSecret;
@@ -46,6 +58,460 @@ public class AppProperties {
         }
     }
 
+    public static class Upload {
+        private int threadPoolSize = 8;
+        private int queueCapacity = 64;
+        private long presignExpirationSec = 600;
+        private long maxFileSize = 20 * 1024 * 1024;
+
+        public int getThreadPoolSize() {
+            return threadPoolSize;
+        }
+
+        public void setThreadPoolSize(int threadPoolSize) {
+            this.threadPoolSize = threadPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getPresignExpirationSec() {
+            return presignExpirationSec;
+        }
+
+        public void setPresignExpirationSec(long presignExpirationSec) {
+            this.presignExpirationSec = presignExpirationSec;
+        }
+
+        public long getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        public void setMaxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+    }
+
+    public static class Image {
+        private int workerPoolSize = 2;
+        private int queueCapacity = 200;
+
+        public int getWorkerPoolSize() {
+            return workerPoolSize;
+        }
+
+        public void setWorkerPoolSize(int workerPoolSize) {
+            this.workerPoolSize = workerPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class RoomImport {
+        private int chunkSize = 500;
+        private int maxReportedErrors = 100;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class SecondLevelCache {
+        private long defaultMaximumSize = 1000;
+        private Map<String, Long> maximumSize = new HashMap<>();
+
+        public long getDefaultMaximumSize() {
+            return defaultMaximumSize;
+        }
+
+        public void setDefaultMaximumSize(long defaultMaximumSize) {
+            this.defaultMaximumSize = defaultMaximumSize;
+        }
+
+        public Map<String, Long> getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(Map<String, Long> maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getMaximumSize(String region) {
+            return maximumSize.getOrDefault(region, defaultMaximumSize);
+        }
+    }
+
+    public static class QueryMonitor {
+        private int repeatedStatementThreshold = 5;
+
+        public int getRepeatedStatementThreshold() {
+            return repeatedStatementThreshold;
+        }
+
+        public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+            this.repeatedStatementThreshold = repeatedStatementThreshold;
+        }
+    }
+
+    public static class SlowQuery {
+        private boolean enabled = true;
+        private long thresholdMs = 300;
+        private double sampleRate = 0;
+        private int topN = 20;
+        private int maxFingerprints = 1000;
+        private int maxParameterLength = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getThresholdMs() {
+            return thresholdMs;
+        }
+
+        public void setThresholdMs(long thresholdMs) {
+            this.thresholdMs = thresholdMs;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public int getTopN() {
+            return topN;
+        }
+
+        public void setTopN(int topN) {
+            this.topN = topN;
+        }
+
+        public int getMaxFingerprints() {
+            return maxFingerprints;
+        }
+
+        public void setMaxFingerprints(int maxFingerprints) {
+            this.maxFingerprints = maxFingerprints;
+        }
+
+        public int getMaxParameterLength() {
+            return maxParameterLength;
+        }
+
+        public void setMaxParameterLength(int maxParameterLength) {
+            this.maxParameterLength = maxParameterLength;
+        }
+    }
+
+    public static class Rollup {
+        private boolean rebuildOnStartup = false;
+        private boolean backfillOnStartup = true;
+
+        public boolean isRebuildOnStartup() {
+            return rebuildOnStartup;
+        }
+
+        public void setRebuildOnStartup(boolean rebuildOnStartup) {
+            this.rebuildOnStartup = rebuildOnStartup;
+        }
+
+        public boolean isBackfillOnStartup() {
+            return backfillOnStartup;
+        }
+
+        public void setBackfillOnStartup(boolean backfillOnStartup) {
+            this.backfillOnStartup = backfillOnStartup;
+        }
+    }
+
+    public static class Export {
+        private int fetchSize = 1000;
+        private long timeoutMsec = 10 * 60 * 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public long getTimeoutMsec() {
+            return timeoutMsec;
+        }
+
+        public void setTimeoutMsec(long timeoutMsec) {
+            this.timeoutMsec = timeoutMsec;
+        }
+    }
+
+    public static class Availability {
+        private int horizonMonths = 12;
+        private long maximumSize = 10000;
+        private long expireAfterWriteSec = 300;
+
+        public int getHorizonMonths() {
+            return horizonMonths;
+        }
+
+        public void setHorizonMonths(int horizonMonths) {
+            this.horizonMonths = horizonMonths;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getExpireAfterWriteSec() {
+            return expireAfterWriteSec;
+        }
+
+        public void setExpireAfterWriteSec(long expireAfterWriteSec) {
+            this.expireAfterWriteSec = expireAfterWriteSec;
+        }
+    }
+
+    public static class Dataset {
+        private boolean enabled = false;
+        private long seed = 42;
+        private int users = 10000;
+        private int rooms = 10000;
+        private int wishlistPerUser = 3;
+        private double commentRate = 0.6;
+        private String baseDate = "2021-03-01";
+        private int historyDays = 365;
+        private int futureDays = 180;
+        private int batchSize = 1000;
+        private String password = "password";
+        private List<City> cities = City.defaults();
+
+        public static class City {
+            private String country = "한국";
+            private String name;
+            private double latitude;
+            private double longitude;
+            private double radiusKm = 10;
+            private double weight = 1;
+            private double basePrice = 80000;
+            private double occupancy = 0.6;
+
+            static City of(String name, double latitude, double longitude, double radiusKm, double weight, double basePrice, double occupancy) {
+                City city = new City();
+                city.setName(name);
+                city.setLatitude(latitude);
+                city.setLongitude(longitude);
+                city.setRadiusKm(radiusKm);
+                city.setWeight(weight);
+                city.setBasePrice(basePrice);
+                city.setOccupancy(occupancy);
+                return city;
+            }
+
+            static List<City> defaults() {
+                return new ArrayList<>(List.of(
+                        of("서울", 37.5665, 126.9780, 15, 5, 90000, 0.7),
+                        of("부산", 35.1796, 129.0756, 12, 3, 80000, 0.6),
+                        of("제주", 33.4996, 126.5312, 20, 2, 110000, 0.65),
+                        of("강릉", 37.7519, 128.8761, 8, 1, 70000, 0.5),
+                        of("경주", 35.8562, 129.2247, 8, 1, 60000, 0.45)));
+            }
+
+            public String getCountry() {
+                return country;
+            }
+
+            public void setCountry(String country) {
+                this.country = country;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public double getLatitude() {
+                return latitude;
+            }
+
+            public void setLatitude(double latitude) {
+                this.latitude = latitude;
+            }
+
+            public double getLongitude() {
+                return longitude;
+            }
+
+            public void setLongitude(double longitude) {
+                this.longitude = longitude;
+            }
+
+            public double getRadiusKm() {
+                return radiusKm;
+            }
+
+            public void setRadiusKm(double radiusKm) {
+                this.radiusKm = radiusKm;
+            }
+
+            public double getWeight() {
+                return weight;
+            }
+
+            public void setWeight(double weight) {
+                this.weight = weight;
+            }
+
+            public double getBasePrice() {
+                return basePrice;
+            }
+
+            public void setBasePrice(double basePrice) {
+                this.basePrice = basePrice;
+            }
+
+            public double getOccupancy() {
+                return occupancy;
+            }
+
+            public void setOccupancy(double occupancy) {
+                this.occupancy = occupancy;
+            }
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public void setUsers(int users) {
+            this.users = users;
+        }
+
+        public int getRooms() {
+            return rooms;
+        }
+
+        public void setRooms(int rooms) {
+            this.rooms = rooms;
+        }
+
+        public int getWishlistPerUser() {
+            return wishlistPerUser;
+        }
+
+        public void setWishlistPerUser(int wishlistPerUser) {
+            this.wishlistPerUser = wishlistPerUser;
+        }
+
+        public double getCommentRate() {
+            return commentRate;
+        }
+
+        public void setCommentRate(double commentRate) {
+            this.commentRate = commentRate;
+        }
+
+        public String getBaseDate() {
+            return baseDate;
+        }
+
+        public void setBaseDate(String baseDate) {
+            this.baseDate = baseDate;
+        }
+
+        public int getHistoryDays() {
+            return historyDays;
+        }
+
+        public void setHistoryDays(int historyDays) {
+            this.historyDays = historyDays;
+        }
+
+        public int getFutureDays() {
+            return futureDays;
+        }
+
+        public void setFutureDays(int futureDays) {
+            this.futureDays = futureDays;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public List<City> getCities() {
+            return cities;
+        }
+
+        public void setCities(List<City> cities) {
+            this.cities = cities;
+        }
+    }
+
     public Auth getAuth() {
         return auth;
     }
@@ -53,4 +519,44 @@ public class AppProperties {
     public OAuth2 getOauth2() {
         return oauth2;
     }
+
+    public Upload getUpload() {
+        return upload;
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    public RoomImport getRoomImport() {
+        return roomImport;
+    }
+
+    public SecondLevelCache getSecondLevelCache() {
+        return secondLevelCache;
+    }
+
+    public QueryMonitor getQueryMonitor() {
+        return queryMonitor;
+    }
+
+    public SlowQuery getSlowQuery() {
+        return slowQuery;
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    public Rollup getRollup() {
+        return rollup;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Availability getAvailability() {
+        return availability;
+    }
 }
@@ -0,0 +1,29 @@
+package com.buildup.kbnb.config;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hibernate 2차 캐시 region 이름. 여기에 없는 region 은 생성되지 않도록 SecondLevelCacheConfig 에서 막는다.
+ */
+public final class CacheRegions {
+    public static final String ROOM = "room";
+    public static final String ROOM_BED_ROOM_LIST = "room.bedRoomList";
+    public static final String ROOM_BATH_ROOM_LIST = "room.bathRoomList";
+    public static final String ROOM_IMG_LIST = "room.roomImgList";
+    public static final String LOCATION = "location";
+    public static final String USER = "user";
+    public static final String BED_ROOM = "bedRoom";
+    public static final String BATH_ROOM = "bathRoom";
+    public static final String ROOM_IMG = "roomImg";
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final List<String> ALL = Arrays.asList(
+            ROOM, ROOM_BED_ROOM_LIST, ROOM_BATH_ROOM_LIST, ROOM_IMG_LIST,
+            LOCATION, USER, BED_ROOM, BATH_ROOM, ROOM_IMG,
+            QUERY_RESULTS, UPDATE_TIMESTAMPS);
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,49 @@
+package com.buildup.kbnb.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * IDENTITY 로 쌓인 기존 데이터와 id 가 겹치지 않도록, 시퀀스 테이블의 다음 값을 max(id) + 1 이상으로 맞춘다.
+ * 물리 시퀀스를 지원하는 DB 는 ddl 로 생성된 시퀀스를 그대로 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (EntityPersister persister : sessionFactory.getMetamodel().entityPersisters().values()) {
+            if (!(persister.getIdentifierGenerator() instanceof PooledSequenceGenerator))
+                continue;
+            DatabaseStructure structure = ((PooledSequenceGenerator) persister.getIdentifierGenerator()).getDatabaseStructure();
+            if (structure.isPhysicalSequence())
+                continue;
+
+            AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+            try {
+                Long nextId = jdbcTemplate.queryForObject("select coalesce(max(" + entityPersister.getIdentifierColumnNames()[0] + "), 0) + 1 from "
+                        + entityPersister.getTableName(), Long.class);
+                int updated = jdbcTemplate.update("update " + structure.getName() + " set next_val = ? where next_val < ?", nextId, nextId);
+                if (updated > 0)
+                    log.info("{} 의 다음 id 를 {} 로 맞췄습니다.", structure.getName(), nextId);
+            } catch (DataAccessException e) {
+                log.warn("{} 의 다음 id 를 맞추지 못했습니다.", structure.getName(), e);
+            }
+        }
+    }
+}
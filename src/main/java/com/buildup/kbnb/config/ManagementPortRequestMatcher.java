@@ -0,0 +1,30 @@
+package com.buildup.kbnb.config;
+
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * management.server.port 로 뜬 actuator 서버에 들어온 요청. 이 포트는 내부망에만 열어 두므로 JWT 없이 허용한다.
+ * 포트를 0 으로 두면 기동 후에 정해지므로 management 서버가 뜰 때 실제 포트를 기록한다.
+ */
+@Component
+public class ManagementPortRequestMatcher implements RequestMatcher, ApplicationListener<WebServerInitializedEvent> {
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
+    private volatile int managementPort = -1;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace()))
+            managementPort = event.getWebServer().getPort();
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort;
+    }
+}
@@ -0,0 +1,32 @@
+package com.buildup.kbnb.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * IDENTITY 대신 시퀀스(MySQL 에서는 시퀀스 테이블)에서 allocation size 만큼 id 를 미리 받아와
+ * INSERT 를 JDBC 배치로 묶을 수 있게 한다.
+ * allocation size 는 spring.jpa.properties.kbnb.id.allocation_size 로 설정한다.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String STRATEGY = "com.buildup.kbnb.config.PooledSequenceGenerator";
+    public static final String ALLOCATION_SIZE = "kbnb.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configurationService = serviceRegistry.getService(ConfigurationService.class);
+        String allocationSize = configurationService.getSetting(ALLOCATION_SIZE, StandardConverters.STRING, String.valueOf(DEFAULT_ALLOCATION_SIZE));
+
+        params.putIfAbsent(INCREMENT_PARAM, allocationSize);
+        params.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.buildup.kbnb.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * readOnly 트랜잭션은 replica 로, 나머지는 primary 로 보낸다.
+ * 한 요청 안에서 쓰기 트랜잭션이 시작된 뒤에는 replica 지연으로 방금 쓴 값을 못 읽는 일이 없도록 읽기도 primary 로 고정한다.
+ * 트랜잭션 속성이 정해진 뒤에 커넥션을 얻어야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    static final String STICKY_PRIMARY_ATTRIBUTE = ReplicationRoutingDataSource.class.getName() + ".STICKY_PRIMARY";
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    /**
+     * action 안에서 새로 얻는 커넥션은 readOnly 여도 primary 로 보낸다. 요청 전체를 primary 로 고정하지는 않는다.
+     * 이미 커넥션을 잡은 트랜잭션에 참여하면 그 커넥션을 그대로 쓰므로 action 은 새 트랜잭션에서 실행해야 한다.
+     */
+    public static <T> T readFromPrimary(Supplier<T> action) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null)
+                FORCE_PRIMARY.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (FORCE_PRIMARY.get() != null)
+            return PRIMARY;
+
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return isStickyPrimary() ? PRIMARY : REPLICA;
+
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            markStickyPrimary();
+        return PRIMARY;
+    }
+
+    private boolean isStickyPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(STICKY_PRIMARY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    private void markStickyPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null)
+            attributes.setAttribute(STICKY_PRIMARY_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
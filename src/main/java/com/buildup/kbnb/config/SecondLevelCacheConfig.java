@@ -0,0 +1,67 @@
+package com.buildup.kbnb.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(AppProperties appProperties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, createCacheManager(appProperties.getSecondLevelCache()));
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * SessionFactory 가 닫힐 때 Hibernate 가 CacheManager 도 닫으므로 공유 인스턴스가 아닌 전용 인스턴스를 만든다.
+     */
+    private CacheManager createCacheManager(AppProperties.SecondLevelCache secondLevelCache) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = new CacheManagerImpl(provider, URI.create("kbnb:hibernate"), provider.getDefaultClassLoader(), new Properties());
+        for (String region : CacheRegions.ALL) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setStoreByValue(false);
+            configuration.setMaximumSize(OptionalLong.of(secondLevelCache.getMaximumSize(region)));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheHitRatioMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String region : CacheRegions.ALL) {
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, s -> hitRatio(s.getCacheRegionStatistics(region)))
+                        .tag("region", region)
+                        .description("2차 캐시 region 적중률")
+                        .register(registry);
+            }
+        };
+    }
+
+    private double hitRatio(CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null)
+            return 0;
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? 0 : (double) regionStatistics.getHitCount() / requests;
+    }
+}
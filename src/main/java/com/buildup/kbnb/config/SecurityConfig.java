@@ -8,6 +8,7 @@ import com.buildup.kbnb.security.oauth2.HttpCookieOAuth2AuthorizationRequestRepo
 import com.buildup.kbnb.security.oauth2.OAuth2AuthenticationFailureHandler;
 import com.buildup.kbnb.security.oauth2.OAuth2AuthenticationSuccessHandler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -47,6 +48,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     private HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRequestRepository;
 
+    @Autowired
+    private ManagementPortRequestMatcher managementPortRequestMatcher;
+
     @Bean
     public TokenAuthenticationFilter tokenAuthenticationFilter() {
         return new TokenAuthenticationFilter();
@@ -94,6 +98,11 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                     .authenticationEntryPoint(new RestAuthenticationEntryPoint())
                     .and()
                 .authorizeRequests()
+                    // actuator 는 management 포트에서만 제공하고, 서비스 포트로 들어온 요청은 로그인 여부와 상관없이 막는다.
+                    .requestMatchers(managementPortRequestMatcher)
+                        .permitAll()
+                    .requestMatchers(EndpointRequest.toAnyEndpoint())
+                        .denyAll()
                     .antMatchers("/",
                         "/error",
                         "/favicon.ico",
@@ -107,7 +116,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                         .permitAll()
 /*                .antMatchers("/host")
                 .hasRole("HOST")*/
-                    .antMatchers("/auth/**", "/oauth2/**", "/room/list", "/room/recommend", "/room/detail", "/comment/getCommentList")
+                    .antMatchers("/auth/**", "/oauth2/**", "/room/list", "/room/recommend", "/room/detail", "/room/calendar", "/room/quote", "/comment/getCommentList")
                         .permitAll()
                     .mvcMatchers(HttpMethod.GET, "/comment")
                         .permitAll()
@@ -1,11 +1,16 @@
 package com.buildup.kbnb.config;
 
+import com.buildup.kbnb.monitoring.QueryStatsInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
+    private final QueryStatsInterceptor queryStatsInterceptor;
 
     private final long MAX_AGE_SECS = 3600;
 
@@ -18,4 +23,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(MAX_AGE_SECS);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryStatsInterceptor);
+    }
 }
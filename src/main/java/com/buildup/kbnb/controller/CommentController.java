@@ -5,9 +5,11 @@ import com.buildup.kbnb.dto.comment.*;
 import com.buildup.kbnb.model.Comment;
 import com.buildup.kbnb.model.Reservation;
 import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
 import com.buildup.kbnb.service.CommentService;
 import com.buildup.kbnb.service.RoomService;
 import com.buildup.kbnb.service.reservation.ReservationService;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -36,6 +38,7 @@ public class CommentController {
     private final CommentService commentService;
     private final ReservationService reservationService;
     private final RoomService roomService;
+    private final BusinessMetrics businessMetrics;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody @Valid CommentCreateReq req, BindingResult error) {
@@ -45,10 +48,9 @@ public class CommentController {
 
         Reservation reservation = reservationService.findByIdWithRoomAndUser(req.getReservationId());
 
-        Room room = reservation.getRoom();
-        Integer commentCount = room.getCommentList().size();
-        GradeInfo gradeInfo = commentService.calcGradeInfo(room, commentCount, req);
-        Comment savedComment = commentService.createCommentTx(req, reservation, room, gradeInfo);
+        // 커밋까지 포함하도록 트랜잭션 경계 밖에서 잰다.
+        Comment savedComment = businessMetrics.time(BusinessMetrics.COMMENT_GRADE_UPDATE, Tags.empty(),
+                () -> commentService.createCommentTx(req, reservation));
 
         CommentCreateRes res = CommentCreateRes.builder()
                 .commentId(savedComment.getId())
@@ -2,7 +2,6 @@ package com.buildup.kbnb.controller;
 
 
 import com.buildup.kbnb.advice.exception.BadRequestException;
-import com.buildup.kbnb.advice.exception.ReservationException;
 import com.buildup.kbnb.dto.ApiResponse;
 import com.buildup.kbnb.dto.reservation.*;
 import com.buildup.kbnb.model.Payment;
@@ -17,7 +16,6 @@ import com.buildup.kbnb.service.reservation.ReservationService;
 import com.buildup.kbnb.util.payment.model.request.Cancel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
@@ -31,8 +29,6 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.net.URI;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -106,21 +102,14 @@ public class ReservationController {
     public ResponseEntity<?> getConfirmedReservationLIst(@CurrentUser UserPrincipal userPrincipal,
                                                          Pageable pageable,
                                                          PagedResourcesAssembler<ReservationConfirmedResponse> assembler) {
-        User user = userService.findById(userPrincipal.getId());
-
-        Page<Reservation> reservationPage = reservationService.findPageByUser(user, pageable);
-
-        List<Reservation> reservationList = reservationPage.getContent();
-        List<ReservationConfirmedResponse> reservation_confirmedResponseList = reservationService.createResponseList(reservationList);
-        PagedModel<EntityModel<ReservationConfirmedResponse>> model = makePageModel(reservation_confirmedResponseList, pageable, reservationPage.getTotalElements(), assembler);
+        Page<ReservationConfirmedResponse> responsePage = reservationService.findConfirmedPageByUserId(userPrincipal.getId(), pageable);
+        PagedModel<EntityModel<ReservationConfirmedResponse>> model = makePageModel(responsePage, assembler);
 
         return ResponseEntity.ok(model);
     }
 
-    private PagedModel<EntityModel<ReservationConfirmedResponse>> makePageModel(List<ReservationConfirmedResponse> reservation_confirmedResponseList,
-                                                                                Pageable pageable, Long totalElements,
+    private PagedModel<EntityModel<ReservationConfirmedResponse>> makePageModel(Page<ReservationConfirmedResponse> responsePage,
                                                                                 PagedResourcesAssembler<ReservationConfirmedResponse> assembler) {
-        Page<ReservationConfirmedResponse> responsePage = new PageImpl<>(reservation_confirmedResponseList, pageable, totalElements);
         PagedModel<EntityModel<ReservationConfirmedResponse>> model = assembler.toModel(responsePage);
         model.add(Link.of("/docs/api.html#resource-reservation-lookupList").withRel("profile"));
         return model;
@@ -129,10 +118,7 @@ public class ReservationController {
 
     @GetMapping(value = "/detail", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
     public ResponseEntity<?> getDetailReservationInfo(@CurrentUser UserPrincipal userPrincipal, Long reservationId) {
-        User user = userService.findById(userPrincipal.getId());
-        List<Long> reservationIdUserHave = reservationService.findByUser(user).stream().map(s -> s.getId()).collect(Collectors.toList());
-
-        ReservationDetailResponse reservationDetailResponse = reservationService.judgeReservationIdUserHaveContainReservationId(reservationIdUserHave, reservationId);
+        ReservationDetailResponse reservationDetailResponse = reservationService.getDetail(userPrincipal.getId(), reservationId);
         EntityModel<ReservationDetailResponse> model = EntityModel.of(reservationDetailResponse);
         model.add(linkTo(methodOn(ReservationController.class).getDetailReservationInfo(userPrincipal, reservationId)).withSelfRel());
         model.add(Link.of("/docs/api.html#resource-reservation-detail").withRel("profile"));
@@ -146,19 +132,12 @@ public class ReservationController {
             throw new BadRequestException("요청 값이 잘못되었습니다");
         }
 
-        User user = userService.findById(userPrincipal.getId());
-        List<Reservation> reservationList = reservationService.findByUser(user);
-
-        if (!reservationList.stream().map(Reservation::getId).collect(Collectors.toList()).contains(cancelDto.getReservationId())) {
-            throw new ReservationException("there is no reservation that you asked");
-        }
-
         Cancel cancel = Cancel.builder()
                 .name(cancelDto.getName())
                 .reason(cancelDto.getReason())
                 .build();
 
-        reservationService.cancelReservation(cancelDto.getReservationId(), cancel);
+        reservationService.cancelReservation(userPrincipal.getId(), cancelDto.getReservationId(), cancel);
 
         ApiResponse response = ApiResponse.builder()
                 .success(true)
@@ -1,18 +1,23 @@
 package com.buildup.kbnb.controller;
 
 import com.buildup.kbnb.dto.room.RoomDto;
+import com.buildup.kbnb.dto.room.bulk.RoomImportResponse;
+import com.buildup.kbnb.dto.room.calendar.RoomCalendarResponse;
 import com.buildup.kbnb.dto.room.check.CheckRoomReq;
 import com.buildup.kbnb.dto.room.check.CheckRoomRes;
 import com.buildup.kbnb.dto.room.detail.CommentDetail;
 import com.buildup.kbnb.dto.room.detail.LocationDetail;
 import com.buildup.kbnb.dto.room.detail.ReservationDate;
 import com.buildup.kbnb.dto.room.detail.RoomDetail;
+import com.buildup.kbnb.dto.room.quote.StayQuote;
 import com.buildup.kbnb.dto.room.recommend.RecommendResponse;
+import com.buildup.kbnb.dto.room.search.FlexibleSearchResult;
 import com.buildup.kbnb.dto.room.search.RoomSearchCondition;
 import com.buildup.kbnb.model.Comment;
 import com.buildup.kbnb.model.Location;
 import com.buildup.kbnb.model.room.Room;
 import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.model.room.RoomImportFormat;
 import com.buildup.kbnb.security.CurrentUser;
 import com.buildup.kbnb.security.UserPrincipal;
 import com.buildup.kbnb.service.CommentService;
@@ -20,6 +25,9 @@ import com.buildup.kbnb.service.RoomService;
 import com.buildup.kbnb.service.UserRoomService;
 import com.buildup.kbnb.service.UserService;
 import com.buildup.kbnb.service.reservation.ReservationService;
+import com.buildup.kbnb.service.reservation.RoomOccupancyService;
+import com.buildup.kbnb.service.room.RoomAvailabilityService;
+import com.buildup.kbnb.service.room.RoomImportService;
 import com.buildup.kbnb.util.S3Uploader;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -30,6 +38,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
@@ -37,10 +46,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -55,15 +70,28 @@ public class RoomController {
     private final UserRoomService userRoomService;
     private final ReservationService reservationService;
     private final S3Uploader s3Uploader;
+    private final RoomImportService roomImportService;
+    private final RoomOccupancyService roomOccupancyService;
+    private final RoomAvailabilityService roomAvailabilityService;
 
     @PostMapping("/list")
     public ResponseEntity<?> getRoomList(@RequestBody RoomSearchCondition roomSearchCondition,
                                          Pageable pageable,
                                          PagedResourcesAssembler<RoomDto> assembler,
                                          @CurrentUser UserPrincipal userPrincipal) {
-        Page<Room> roomPage = roomService.searchListByCondition(roomSearchCondition, pageable);
+        Page<Room> roomPage;
+        Map<Long, Integer> checkInShifts = Collections.emptyMap();
+        if (RoomService.isFlexibleDateSearch(roomSearchCondition)) {
+            FlexibleSearchResult searchResult = roomService.searchFlexibleByCondition(roomSearchCondition, pageable);
+            roomPage = searchResult.getRooms();
+            checkInShifts = searchResult.getCheckInShifts();
+        } else {
+            roomPage = roomService.searchListByCondition(roomSearchCondition, pageable);
+        }
         Long userId = getUserIdAndCheckNull(userPrincipal);
         List<RoomDto> roomList = mapToRoomDtoList(userId, roomPage.getContent());
+        tagRecommendedRooms(roomList);
+        setCheckInShifts(roomList, checkInShifts);
 
         Page<RoomDto> result = new PageImpl<>(roomList, pageable, roomPage.getTotalElements());
 
@@ -83,7 +111,7 @@ public class RoomController {
         return userId;
     }
 
-    private List<RoomDto> mapToRoomDtoList(Long userId, List<Room> roomList) {
+    List<RoomDto> mapToRoomDtoList(Long userId, List<Room> roomList) {
         List<RoomDto> roomDtoList = new ArrayList<>();
         for (Room room : roomList) {
             int bedNum = roomService.getBedNum(room.getBedRoomList());
@@ -109,7 +137,7 @@ public class RoomController {
                     .neighborhood(room.getLocation().getNeighborhood())
                     .latitude(room.getLocation().getLatitude())
                     .longitude(room.getLocation().getLongitude())
-                    .commentCount(room.getCommentList().size())
+                    .commentCount(room.getCommentCount())
                     .isCheck(isCheckedRoom)
                     .roomImgUrlList(roomImgUrlList)
                     .build();
@@ -119,12 +147,22 @@ public class RoomController {
         return roomDtoList;
     }
 
+    private void tagRecommendedRooms(List<RoomDto> roomList) {
+        Set<Long> recommendedRoomIds = roomOccupancyService.findRecommendedRoomIds(
+                roomList.stream().map(RoomDto::getId).collect(Collectors.toList()));
+        roomList.forEach(roomDto -> roomDto.setIsRecommended(recommendedRoomIds.contains(roomDto.getId())));
+    }
+
+    private void setCheckInShifts(List<RoomDto> roomList, Map<Long, Integer> checkInShifts) {
+        roomList.forEach(roomDto -> roomDto.setCheckInShift(checkInShifts.get(roomDto.getId())));
+    }
+
     private List<String> getRoomImgUrlList(Room room) {
         List<String> roomImgUrlList = new ArrayList<>();
         int endIdx = Math.min(room.getRoomImgList().size(), 5);
 
         for (RoomImg roomImg : room.getRoomImgList().subList(0, endIdx)) {
-            roomImgUrlList.add(roomImg.getUrl());
+            roomImgUrlList.add(roomImg.getCardUrl());
         }
         return roomImgUrlList;
     }
@@ -188,7 +226,7 @@ public class RoomController {
     private List<String> getRoomImgUrls(List<RoomImg> roomImgList) {
         List<String> roomImgUrlList = new ArrayList<>();
         for (RoomImg roomImg : roomImgList) {
-            roomImgUrlList.add(roomImg.getUrl());
+            roomImgUrlList.add(roomImg.getDetailUrl());
         }
         return roomImgUrlList;
     }
@@ -239,7 +277,7 @@ public class RoomController {
 
     @GetMapping("/recommend")
     public ResponseEntity<?> recommend(@RequestParam Long roomId) {
-        Boolean isRecommendedRoom = reservationService.checkRecommendedRoom(roomId);
+        Boolean isRecommendedRoom = roomOccupancyService.isRecommended(roomId);
 
         RecommendResponse response = RecommendResponse.builder()
                 .isRecommendedRoom(isRecommendedRoom)
@@ -251,9 +289,34 @@ public class RoomController {
         return ResponseEntity.ok().body(model);
     }
 
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getCalendar(@RequestParam Long roomId,
+                                         @RequestParam(required = false) YearMonth from,
+                                         @RequestParam(defaultValue = "2") int months) {
+        YearMonth fromMonth = from == null ? YearMonth.now() : from;
+        RoomCalendarResponse response = roomAvailabilityService.getCalendar(roomId, fromMonth, months);
+
+        EntityModel<RoomCalendarResponse> model = EntityModel.of(response);
+        model.add(linkTo(methodOn(RoomController.class).getCalendar(roomId, fromMonth, months)).withSelfRel());
+        model.add(Link.of("/docs/api.html#resource-room-calendar").withRel("profile"));
+        return ResponseEntity.ok().body(model);
+    }
+
+    @GetMapping("/quote")
+    public ResponseEntity<?> getQuote(@RequestParam Long roomId,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        StayQuote response = roomAvailabilityService.quote(roomId, checkIn, checkOut);
+
+        EntityModel<StayQuote> model = EntityModel.of(response);
+        model.add(linkTo(methodOn(RoomController.class).getQuote(roomId, checkIn, checkOut)).withSelfRel());
+        model.add(Link.of("/docs/api.html#resource-room-quote").withRel("profile"));
+        return ResponseEntity.ok().body(model);
+    }
+
     @PostMapping("/upload")
     public String upload(@CurrentUser UserPrincipal userPrincipal, @RequestParam("file") MultipartFile file) throws IOException {
-        return s3Uploader.upload(file, "kbnbRoom", userPrincipal.getName());
+        return s3Uploader.upload(file, "kbnbRoom");
     }
 
     @PostMapping("/dummy")
@@ -262,6 +325,28 @@ public class RoomController {
         return "Ok";
     }
 
+    @PostMapping(value = "/import", consumes = {RoomImportFormat.NDJSON_VALUE, RoomImportFormat.CSV_VALUE})
+    public ResponseEntity<?> importRooms(@CurrentUser UserPrincipal userPrincipal, @RequestParam(required = false) Long jobId,
+                                         HttpServletRequest request) throws IOException {
+        RoomImportFormat format = RoomImportFormat.fromContentType(request.getContentType());
+        RoomImportResponse response = roomImportService.importRooms(userPrincipal.getId(), jobId, format, request.getInputStream());
+
+        EntityModel<RoomImportResponse> model = EntityModel.of(response);
+        model.add(linkTo(methodOn(RoomController.class).getImportProgress(userPrincipal, response.getJobId())).withRel("progress"));
+        model.add(Link.of("/docs/api.html#resource-room-import").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<?> getImportProgress(@CurrentUser UserPrincipal userPrincipal, @PathVariable Long jobId) {
+        RoomImportResponse response = roomImportService.getProgress(userPrincipal.getId(), jobId);
+
+        EntityModel<RoomImportResponse> model = EntityModel.of(response);
+        model.add(linkTo(methodOn(RoomController.class).getImportProgress(userPrincipal, jobId)).withSelfRel());
+        model.add(Link.of("/docs/api.html#resource-room-import-progress").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -2,11 +2,14 @@ package com.buildup.kbnb.controller;
 
 import com.buildup.kbnb.advice.exception.*;
 import com.buildup.kbnb.dto.user.BirthDto;
+import com.buildup.kbnb.dto.upload.PresignRequest;
+import com.buildup.kbnb.dto.upload.PresignResponse;
 import com.buildup.kbnb.dto.user.*;
 import com.buildup.kbnb.model.user.User;
 import com.buildup.kbnb.repository.UserRepository;
 import com.buildup.kbnb.security.CurrentUser;
 import com.buildup.kbnb.security.UserPrincipal;
+import com.buildup.kbnb.service.PresignedUploadService;
 import com.buildup.kbnb.service.UserService;
 import com.buildup.kbnb.util.S3Uploader;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +38,7 @@ public class UserController {
     private final UserRepository userRepository;
     private final UserService userService;
     private final S3Uploader s3Uploader;
+    private final PresignedUploadService presignedUploadService;
 
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser(@CurrentUser UserPrincipal userPrincipal) {
@@ -123,9 +127,10 @@ public class UserController {
         if (file == null)
             newImgUrl = "https://kbnbbucket.s3.ap-northeast-2.amazonaws.com/userImg/test";
         else {
-            newImgUrl = s3Uploader.upload(file, "userImg", user.getId() + "-" + user.getName());
+            newImgUrl = s3Uploader.upload(file, "userImg");
         }
-        
+
+        releasePhoto(user.getImageUrl());
         user.setImageUrl(newImgUrl);
         userService.save(user);
         UserImgUpdateResponse userImgUpdateResponse = UserImgUpdateResponse.builder().newImgUrl(newImgUrl).build();
@@ -134,6 +139,40 @@ public class UserController {
         return ResponseEntity.ok(model);
     }
 
+    @PostMapping(value = "/photo/presign", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> presignPhoto(@CurrentUser UserPrincipal userPrincipal, @Valid @RequestBody PresignRequest presignRequest, BindingResult error) {
+        if (error.hasErrors())
+            throw new BadRequestException("업로드 요청값이 잘못되었습니다.");
+        User user = userService.findById(userPrincipal.getId());
+
+        PresignResponse presignResponse = presignedUploadService.presignUserPhoto(user, presignRequest);
+        EntityModel<PresignResponse> model = EntityModel.of(presignResponse);
+        model.add(Link.of("/docs/api.html#resource-user-presignPhoto").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
+
+    @PostMapping(value = "/photo/finalize", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> finalizePhoto(@CurrentUser UserPrincipal userPrincipal, @Valid @RequestBody UserPhotoFinalizeRequest finalizeRequest, BindingResult error) {
+        if (error.hasErrors())
+            throw new BadRequestException("업로드 완료 요청값이 잘못되었습니다.");
+        User user = userService.findById(userPrincipal.getId());
+
+        String newImgUrl = presignedUploadService.finalizeUserPhoto(user, finalizeRequest.getKey());
+        releasePhoto(user.getImageUrl());
+        user.setImageUrl(newImgUrl);
+        userService.save(user);
+
+        UserImgUpdateResponse userImgUpdateResponse = UserImgUpdateResponse.builder().newImgUrl(newImgUrl).build();
+        EntityModel<UserImgUpdateResponse> model = EntityModel.of(userImgUpdateResponse);
+        model.add(Link.of("/docs/api.html#resource-user-finalizePhoto").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
+
+    private void releasePhoto(String imgUrl) {
+        if (imgUrl != null)
+            s3Uploader.deleteFileFromS3(imgUrl);
+    }
+
     public UserUpdateResponse updateUserAndReturnResponseDto(User user, UserUpdateRequest userUpdateRequest) {
         user.setEmail(userUpdateRequest.getEmail());
         user.setName(userUpdateRequest.getName());
@@ -1,45 +1,109 @@
 package com.buildup.kbnb.controller.host;
 
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.host.analytics.AnalyticsInterval;
+import com.buildup.kbnb.dto.host.analytics.HostAnalyticsResponse;
+import com.buildup.kbnb.dto.host.export.ReservationExportFormat;
 import com.buildup.kbnb.dto.host.income.IncomeRequest;
 import com.buildup.kbnb.dto.host.income.IncomeResponse;
-import com.buildup.kbnb.model.Reservation;
-import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.dto.host.income.RoomIncomeResponse;
+import com.buildup.kbnb.dto.host.income.YearlyIncomeResponse;
 import com.buildup.kbnb.security.CurrentUser;
 import com.buildup.kbnb.security.UserPrincipal;
-import com.buildup.kbnb.service.UserService;
-import com.buildup.kbnb.service.reservation.ReservationService;
+import com.buildup.kbnb.service.reservation.HostAnalyticsService;
+import com.buildup.kbnb.service.reservation.HostRevenueService;
+import com.buildup.kbnb.service.reservation.ReservationExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/host")
 @RequiredArgsConstructor
 public class AdminController {
     @Autowired
-    ReservationService reservationService;
+    HostRevenueService hostRevenueService;
 
     @Autowired
-    UserService userService;
+    HostAnalyticsService hostAnalyticsService;
+
+    @Autowired
+    ReservationExportService reservationExportService;
+
+    @Autowired
+    AppProperties appProperties;
 
     @GetMapping(value = "/income", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
     public ResponseEntity<?> yearMonthIncome(@CurrentUser UserPrincipal userPrincipal, IncomeRequest incomeRequest) {
-        User host = userService.findById(userPrincipal.getId());
-
-        List<Reservation> byYear = reservationService.findByHostFilterByYear(host, incomeRequest.getYear());
-        IncomeResponse incomeResponse = reservationService.separateByMonth(byYear);
+        IncomeResponse incomeResponse = hostRevenueService.getYearIncome(userPrincipal.getId(), incomeRequest.getYear());
 
-        incomeResponse.setYearlyIncome();
         EntityModel<IncomeResponse> model = EntityModel.of(incomeResponse);
         model.add(Link.of("/docs/api.html#resource-host-income").withRel("profile"));
         return ResponseEntity.ok(model);
     }
+
+    @GetMapping(value = "/income/years", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> yearlyIncome(@CurrentUser UserPrincipal userPrincipal,
+                                          @RequestParam int from, @RequestParam int to) {
+        YearlyIncomeResponse response = hostRevenueService.getYearlyIncomes(userPrincipal.getId(), from, to);
+
+        EntityModel<YearlyIncomeResponse> model = EntityModel.of(response);
+        model.add(Link.of("/docs/api.html#resource-host-income-years").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
+
+    @GetMapping(value = "/income/rooms", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> roomIncome(@CurrentUser UserPrincipal userPrincipal, @RequestParam int year) {
+        RoomIncomeResponse response = hostRevenueService.getRoomIncomes(userPrincipal.getId(), year);
+
+        EntityModel<RoomIncomeResponse> model = EntityModel.of(response);
+        model.add(Link.of("/docs/api.html#resource-host-income-rooms").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
+
+    @GetMapping(value = "/analytics", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> analytics(@CurrentUser UserPrincipal userPrincipal,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                       @RequestParam(defaultValue = "MONTH") AnalyticsInterval interval,
+                                       @RequestParam(required = false) Long roomId) {
+        HostAnalyticsResponse response = hostAnalyticsService.getAnalytics(userPrincipal.getId(), from, to, interval, roomId);
+
+        EntityModel<HostAnalyticsResponse> model = EntityModel.of(response);
+        model.add(Link.of("/docs/api.html#resource-host-analytics").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
+
+    // StreamingResponseBody 는 전역 비동기 시간 제한을 따르므로 WebAsyncTask 로 내보내기에만 긴 시간 제한을 준다.
+    @GetMapping("/reservations/export")
+    public WebAsyncTask<Void> exportReservations(@CurrentUser UserPrincipal userPrincipal,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                 @RequestParam(defaultValue = "CSV") ReservationExportFormat format,
+                                                 HttpServletResponse response) {
+        StreamingResponseBody body = reservationExportService.export(userPrincipal.getId(), from, to, format);
+
+        String filename = "reservations-" + from + "-" + to + "." + format.getExtension();
+        response.setContentType(format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        return new WebAsyncTask<>(appProperties.getExport().getTimeoutMsec(), () -> {
+            body.writeTo(response.getOutputStream());
+            return null;
+        });
+    }
 }
@@ -0,0 +1,79 @@
+package com.buildup.kbnb.controller.host;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.dto.host.availability.*;
+import com.buildup.kbnb.security.CurrentUser;
+import com.buildup.kbnb.security.UserPrincipal;
+import com.buildup.kbnb.service.room.HostAvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/host/availability")
+@RequiredArgsConstructor
+public class HostAvailabilityController {
+    private final HostAvailabilityService hostAvailabilityService;
+
+    @GetMapping(produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> getAvailability(@CurrentUser UserPrincipal userPrincipal, @RequestParam Long roomId) {
+        HostAvailabilityResponse response = hostAvailabilityService.getAvailability(userPrincipal.getId(), roomId);
+        return ResponseEntity.ok(toModel(response, "resource-host-availability"));
+    }
+
+    @PostMapping(value = "/blocks", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> addBlock(@CurrentUser UserPrincipal userPrincipal, @RequestBody @Valid RoomBlockRequest request, BindingResult error) {
+        if (error.hasErrors())
+            throw new BadRequestException("막을 기간 입력값이 잘못되었습니다.");
+        HostAvailabilityResponse response = hostAvailabilityService.addBlock(userPrincipal.getId(), request);
+        return ResponseEntity.ok(toModel(response, "resource-host-availability-block-add"));
+    }
+
+    @DeleteMapping(value = "/blocks/{blockId}", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> removeBlock(@CurrentUser UserPrincipal userPrincipal, @PathVariable Long blockId) {
+        HostAvailabilityResponse response = hostAvailabilityService.removeBlock(userPrincipal.getId(), blockId);
+        return ResponseEntity.ok(toModel(response, "resource-host-availability-block-remove"));
+    }
+
+    @PutMapping(value = "/stay-rule", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> updateStayRule(@CurrentUser UserPrincipal userPrincipal, @RequestBody @Valid StayRuleRequest request, BindingResult error) {
+        if (error.hasErrors())
+            throw new BadRequestException("최소, 최대 박 수 입력값이 잘못되었습니다.");
+        HostAvailabilityResponse response = hostAvailabilityService.updateStayRule(userPrincipal.getId(), request);
+        return ResponseEntity.ok(toModel(response, "resource-host-availability-stay-rule"));
+    }
+
+    @PutMapping(value = "/price-rule", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> updatePriceRule(@CurrentUser UserPrincipal userPrincipal, @RequestBody @Valid PriceRuleRequest request, BindingResult error) {
+        if (error.hasErrors())
+            throw new BadRequestException("가격 규칙 입력값이 잘못되었습니다.");
+        HostAvailabilityResponse response = hostAvailabilityService.updatePriceRule(userPrincipal.getId(), request);
+        return ResponseEntity.ok(toModel(response, "resource-host-availability-price-rule"));
+    }
+
+    @PostMapping(value = "/seasons", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> addSeasonPrice(@CurrentUser UserPrincipal userPrincipal, @RequestBody @Valid SeasonPriceRequest request, BindingResult error) {
+        if (error.hasErrors())
+            throw new BadRequestException("기간별 가격 입력값이 잘못되었습니다.");
+        HostAvailabilityResponse response = hostAvailabilityService.addSeasonPrice(userPrincipal.getId(), request);
+        return ResponseEntity.ok(toModel(response, "resource-host-availability-season-add"));
+    }
+
+    @DeleteMapping(value = "/seasons/{seasonId}", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> removeSeasonPrice(@CurrentUser UserPrincipal userPrincipal, @PathVariable Long seasonId) {
+        HostAvailabilityResponse response = hostAvailabilityService.removeSeasonPrice(userPrincipal.getId(), seasonId);
+        return ResponseEntity.ok(toModel(response, "resource-host-availability-season-remove"));
+    }
+
+    private EntityModel<HostAvailabilityResponse> toModel(HostAvailabilityResponse response, String profile) {
+        EntityModel<HostAvailabilityResponse> model = EntityModel.of(response);
+        model.add(Link.of("/docs/api.html#" + profile).withRel("profile"));
+        return model;
+    }
+}
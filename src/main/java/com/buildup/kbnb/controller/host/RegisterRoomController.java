@@ -1,20 +1,23 @@
 package com.buildup.kbnb.controller.host;
 
+import com.buildup.kbnb.advice.exception.BadRequestException;
 import com.buildup.kbnb.advice.exception.RoomFieldNotValidException;
-import com.buildup.kbnb.advice.exception.TypeMissMatchException;
 import com.buildup.kbnb.dto.host.HostPhotoResponse;
+import com.buildup.kbnb.dto.host.PhotoUploadResult;
+import com.buildup.kbnb.dto.host.RoomPhotoFinalizeRequest;
 import com.buildup.kbnb.dto.room.CreateRoomRequestDto;
 import com.buildup.kbnb.dto.room.CreateRoomResponseDto;
+import com.buildup.kbnb.dto.upload.PresignRequest;
+import com.buildup.kbnb.dto.upload.PresignResponse;
 import com.buildup.kbnb.model.room.Room;
-import com.buildup.kbnb.model.room.RoomImg;
 import com.buildup.kbnb.model.user.User;
 import com.buildup.kbnb.repository.LocationRepository;
-import com.buildup.kbnb.repository.RoomImgRepository;
 import com.buildup.kbnb.security.CurrentUser;
 import com.buildup.kbnb.security.UserPrincipal;
+import com.buildup.kbnb.service.PresignedUploadService;
+import com.buildup.kbnb.service.RoomPhotoService;
 import com.buildup.kbnb.service.RoomService;
 import com.buildup.kbnb.service.UserService;
-import com.buildup.kbnb.util.S3Uploader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.EntityModel;
@@ -26,9 +29,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
-import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -42,9 +43,9 @@ public class RegisterRoomController {
     @Autowired
     LocationRepository locationRepository;
     @Autowired
-    S3Uploader s3Uploader;
+    RoomPhotoService roomPhotoService;
     @Autowired
-    RoomImgRepository roomImgRepository;
+    PresignedUploadService presignedUploadService;
 
 
     @PostMapping(value = "/registerBasicRoom", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
@@ -63,32 +64,52 @@ public class RegisterRoomController {
     }
 
     @PostMapping(value = "/addPhoto", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
-    public ResponseEntity<?> updatePhoto(@CurrentUser UserPrincipal userPrincipal, @RequestParam Long roomId, @RequestPart List<MultipartFile> file) throws IOException {
-        int photoNum = 0;
-        for (MultipartFile file1 : file) {
-            photoNum++;
-            if (!(file1 == null || file1.getContentType().contains("image")))
-                throw new TypeMissMatchException(photoNum + " 번째 사진이 이미지 파일이 아닙니다.");
-        }
-        User user = userService.findById(userPrincipal.getId());
+    public ResponseEntity<?> updatePhoto(@CurrentUser UserPrincipal userPrincipal, @RequestParam Long roomId, @RequestPart List<MultipartFile> file) {
+        roomPhotoService.validateContentTypes(file);
         Room room = roomService.findById(roomId);
-        List<RoomImg> roomImgList = new ArrayList<>();
-        int i = 0;
-        for (MultipartFile file1 : file) {
-            String newUrl = s3Uploader.upload(file1, "roomImg", user.getName() + "-" + roomId + "-" + i++);
-            RoomImg roomImg = RoomImg.builder().room(room).url(newUrl).build();
-            roomImgRepository.save(roomImg);
-            roomImgList.add(roomImg);
-        }
-        room.setRoomImgList(roomImgList);
+
+        List<PhotoUploadResult> results = roomPhotoService.uploadRoomPhotos(room, file);
         roomService.save(room);
 
         HostPhotoResponse hostPhotoResponse = HostPhotoResponse
                 .builder()
-                .imgCount(file.size())
+                .imgCount((int) results.stream().filter(PhotoUploadResult::isSuccess).count())
+                .results(results)
                 .build();
         EntityModel<HostPhotoResponse> model = EntityModel.of(hostPhotoResponse);
         model.add(Link.of("/docs/api.html#resource-host-addPhoto").withRel("profile"));
         return ResponseEntity.ok(model);
     }
+
+    @PostMapping(value = "/photo/presign", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> presignPhoto(@CurrentUser UserPrincipal userPrincipal, @RequestBody @Valid PresignRequest presignRequest, BindingResult error) {
+        if (error.hasErrors() || presignRequest.getRoomId() == null)
+            throw new BadRequestException("업로드 요청값이 잘못되었습니다.");
+        User user = userService.findById(userPrincipal.getId());
+        Room room = roomService.findById(presignRequest.getRoomId());
+
+        PresignResponse presignResponse = presignedUploadService.presignRoomPhoto(user, room, presignRequest);
+        EntityModel<PresignResponse> model = EntityModel.of(presignResponse);
+        model.add(Link.of("/docs/api.html#resource-host-presignPhoto").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
+
+    @PostMapping(value = "/photo/finalize", produces = MediaTypes.HAL_JSON_VALUE + ";charset=utf8")
+    public ResponseEntity<?> finalizePhoto(@CurrentUser UserPrincipal userPrincipal, @RequestBody @Valid RoomPhotoFinalizeRequest finalizeRequest, BindingResult error) {
+        if (error.hasErrors())
+            throw new BadRequestException("업로드 완료 요청값이 잘못되었습니다.");
+        User user = userService.findById(userPrincipal.getId());
+        Room room = roomService.findById(finalizeRequest.getRoomId());
+
+        List<PhotoUploadResult> results = presignedUploadService.finalizeRoomPhotos(user, room, finalizeRequest.getKeys());
+
+        HostPhotoResponse hostPhotoResponse = HostPhotoResponse
+                .builder()
+                .imgCount((int) results.stream().filter(PhotoUploadResult::isSuccess).count())
+                .results(results)
+                .build();
+        EntityModel<HostPhotoResponse> model = EntityModel.of(hostPhotoResponse);
+        model.add(Link.of("/docs/api.html#resource-host-finalizePhoto").withRel("profile"));
+        return ResponseEntity.ok(model);
+    }
 }
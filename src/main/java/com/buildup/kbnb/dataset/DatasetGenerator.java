@@ -0,0 +1,338 @@
+package com.buildup.kbnb.dataset;
+
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.model.Comment;
+import com.buildup.kbnb.model.Location;
+import com.buildup.kbnb.model.Payment;
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.BathRoom;
+import com.buildup.kbnb.model.room.BedRoom;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.service.RoomService;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 부하 테스트와 실행 계획 재현을 위한 데이터를 seed 로 결정적으로 만들어 JDBC 배치로 적재한다.
+ * 같은 설정과 seed 면 id 를 제외한 내용이 항상 같고, 시퀀스 id 는 엔티티의 id 생성기에서 받아 애플리케이션이 발급하는 id 와 겹치지 않는다.
+ * MySQL 에서는 jdbc url 에 rewriteBatchedStatements=true 를 붙여야 배치가 multi-row INSERT 로 묶인다.
+ */
+@Slf4j
+@Component
+public class DatasetGenerator {
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final int PROGRESS_LOG_ROOMS = 100_000;
+    private static final String[] ROOM_TYPES = {"Entire place", "Private room", "Shared room", "Hotel room"};
+    private static final String[] COMMENT_DESCRIPTIONS = {
+            "깨끗하고 조용했어요.", "위치가 좋아서 이동이 편했습니다.", "호스트가 친절했어요.", "사진과 조금 달랐어요.", "다시 방문하고 싶어요."};
+
+    private static final String INSERT_USER = "insert into users (id, name, birth, email, password, email_verified, provider) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LOCATION = "insert into location (id, country, city, borough, neighborhood, detail_address, latitude, longitude) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ROOM = "insert into room (id, name, room_type, room_cost, cleaning_cost, tax, people_limit, description, check_in_time, check_out_time, "
+            + "is_smoking, is_parking, cleanliness_sum, accuracy_sum, communication_sum, location_rate_sum, check_in_sum, price_satisfaction_sum, comment_count, "
+            + "bed_num, host_id, location_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BED_ROOM = "insert into bed_room (id, queen_size, double_size, single_size, super_single_size, room_id) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BATH_ROOM = "insert into bath_room (id, is_private, room_id) values (?, ?, ?)";
+    private static final String INSERT_ROOM_IMG = "insert into room_img (id, url, room_id) values (?, ?, ?)";
+    private static final String INSERT_PAYMENT = "insert into payment (id, receipt_id, price, is_confirm) values (?, ?, ?, ?)";
+    private static final String INSERT_COMMENT = "insert into comment (id, cleanliness, accuracy, communication, location_rate, check_in, price_satisfaction, description, date, room_id, user_id) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RESERVATION = "insert into reservation (id, check_in, check_out, guest_num, total_cost, user_id, room_id, comment_id, payment_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROOM = "insert into user_room (user_id, room_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                            PasswordEncoder passwordEncoder, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public DatasetSummary generate(AppProperties.Dataset dataset) {
+        long started = System.currentTimeMillis();
+        try (IdAllocator idAllocator = new IdAllocator(entityManagerFactory.unwrap(SessionFactoryImplementor.class))) {
+            Generation generation = new Generation(dataset, idAllocator);
+            generation.insertUsers();
+            generation.insertRooms();
+            generation.insertWishlists();
+            return DatasetSummary.builder()
+                    .seed(dataset.getSeed())
+                    .users(dataset.getUsers())
+                    .rooms(dataset.getRooms())
+                    .reservations(generation.reservations)
+                    .comments(generation.comments)
+                    .wishlists(generation.wishlists)
+                    .elapsedMillis(System.currentTimeMillis() - started)
+                    .build();
+        }
+    }
+
+    /**
+     * 테이블마다 random 을 따로 두어 사용자 수를 바꿔도 숙소, 예약 데이터가 흔들리지 않게 한다.
+     */
+    private class Generation {
+        private final AppProperties.Dataset dataset;
+        private final IdAllocator idAllocator;
+        private final BatchWriter writer;
+        private final LocalDate baseDate;
+        private final long firstUserId;
+        private final long[] roomIds;
+        private long reservations;
+        private long comments;
+        private long wishlists;
+
+        Generation(AppProperties.Dataset dataset, IdAllocator idAllocator) {
+            if (dataset.getUsers() <= 0 || dataset.getRooms() < 0 || dataset.getCities().isEmpty())
+                throw new IllegalArgumentException("users 는 1 이상, cities 는 한 개 이상이어야 합니다.");
+            this.dataset = dataset;
+            this.idAllocator = idAllocator;
+            this.writer = new BatchWriter(dataset.getBatchSize(), INSERT_USER, INSERT_LOCATION, INSERT_ROOM, INSERT_BED_ROOM, INSERT_BATH_ROOM,
+                    INSERT_ROOM_IMG, INSERT_PAYMENT, INSERT_COMMENT, INSERT_RESERVATION, INSERT_USER_ROOM);
+            this.baseDate = LocalDate.parse(dataset.getBaseDate());
+            // users 는 IDENTITY 라 id 생성기가 없으므로 현재 max(id) 다음부터 직접 채운다.
+            this.firstUserId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 1 from users", Long.class);
+            this.roomIds = new long[dataset.getRooms()];
+        }
+
+        void insertUsers() {
+            Random random = new Random(dataset.getSeed());
+            String password = passwordEncoder.encode(dataset.getPassword());
+            LocalDate oldestBirth = LocalDate.of(1960, 1, 1);
+            for (int i = 0; i < dataset.getUsers(); i++) {
+                writer.add(INSERT_USER, firstUserId + i, "user" + i, Date.valueOf(oldestBirth.plusDays(random.nextInt(365 * 45))),
+                        "dataset" + dataset.getSeed() + "-" + i + "@kbnb.test", password, true, AuthProvider.local.name());
+            }
+            writer.flush();
+            log.info("사용자 {} 명 생성. firstUserId = {}", dataset.getUsers(), firstUserId);
+        }
+
+        void insertRooms() {
+            Random random = new Random(dataset.getSeed() + 1);
+            double totalWeight = dataset.getCities().stream().mapToDouble(AppProperties.Dataset.City::getWeight).sum();
+            for (int i = 0; i < dataset.getRooms(); i++) {
+                insertRoom(random, i, pickCity(random, totalWeight));
+                if ((i + 1) % PROGRESS_LOG_ROOMS == 0)
+                    log.info("숙소 {} / {} 생성. reservations = {}", i + 1, dataset.getRooms(), reservations);
+            }
+            writer.flush();
+        }
+
+        private AppProperties.Dataset.City pickCity(Random random, double totalWeight) {
+            double point = random.nextDouble() * totalWeight;
+            for (AppProperties.Dataset.City city : dataset.getCities()) {
+                point -= city.getWeight();
+                if (point < 0)
+                    return city;
+            }
+            return dataset.getCities().get(dataset.getCities().size() - 1);
+        }
+
+        private void insertRoom(Random random, int index, AppProperties.Dataset.City city) {
+            long locationId = idAllocator.next(Location.class);
+            long roomId = idAllocator.next(Room.class);
+            roomIds[index] = roomId;
+
+            double distanceKm = Math.min(Math.abs(random.nextGaussian()) * city.getRadiusKm() / 2, city.getRadiusKm());
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double latitude = city.getLatitude() + distanceKm * Math.cos(angle) / KM_PER_DEGREE;
+            double longitude = city.getLongitude() + distanceKm * Math.sin(angle) / (KM_PER_DEGREE * Math.cos(Math.toRadians(city.getLatitude())));
+            int borough = 1 + (int) (distanceKm / city.getRadiusKm() * 4);
+            int neighborhood = 1 + random.nextInt(20);
+            writer.add(INSERT_LOCATION, locationId, city.getCountry(), city.getName(), borough + "구", neighborhood + "동",
+                    city.getName() + " " + borough + "구 " + neighborhood + "동 " + (index + 1), latitude, longitude);
+
+            double roomCost = Math.max(10000, roundThousand(city.getBasePrice() * Math.exp(random.nextGaussian() * 0.4)));
+            double cleaningCost = 10000.0;
+            double tax = roundThousand(roomCost * 0.1);
+            int peopleLimit = 1 + random.nextInt(6);
+            String roomType = ROOM_TYPES[random.nextInt(ROOM_TYPES.length)];
+            long hostId = firstUserId + random.nextInt(dataset.getUsers());
+            double quality = 3 + random.nextDouble() * 2;
+
+            List<Object[]> bedRooms = new ArrayList<>();
+            int bedNum = 0;
+            for (int bedRoomCount = 1 + random.nextInt(3); bedRooms.size() < bedRoomCount; ) {
+                int queenSize = random.nextInt(2);
+                int doubleSize = random.nextInt(2);
+                int singleSize = queenSize + doubleSize == 0 ? 1 + random.nextInt(2) : random.nextInt(2);
+                bedNum += queenSize + doubleSize + singleSize;
+                bedRooms.add(new Object[]{idAllocator.next(BedRoom.class), queenSize, doubleSize, singleSize, 0, roomId});
+            }
+
+            List<Object[]> bathRooms = new ArrayList<>();
+            for (int bathRoomCount = 1 + random.nextInt(2); bathRooms.size() < bathRoomCount; )
+                bathRooms.add(new Object[]{idAllocator.next(BathRoom.class), random.nextBoolean(), roomId});
+
+            List<Object[]> roomImgs = new ArrayList<>();
+            int firstImg = random.nextInt(RoomService.DUMMY_ROOM_IMG_URLS.size());
+            for (int imgCount = 3 + random.nextInt(4); roomImgs.size() < imgCount; ) {
+                String url = RoomService.DUMMY_ROOM_IMG_URLS.get((firstImg + roomImgs.size()) % RoomService.DUMMY_ROOM_IMG_URLS.size());
+                roomImgs.add(new Object[]{idAllocator.next(RoomImg.class), url, roomId});
+            }
+
+            List<Object[]> payments = new ArrayList<>();
+            List<Object[]> roomComments = new ArrayList<>();
+            List<Object[]> roomReservations = new ArrayList<>();
+            double[] ratingSums = new double[6];
+            LocalDate from = baseDate.minusDays(dataset.getHistoryDays());
+            LocalDate to = baseDate.plusDays(dataset.getFutureDays());
+            LocalDate checkIn = from.plusDays(random.nextInt(7));
+            while (true) {
+                int nights = 1 + random.nextInt(6);
+                LocalDate checkOut = checkIn.plusDays(nights);
+                if (checkOut.isAfter(to))
+                    break;
+
+                long guestId = firstUserId + random.nextInt(dataset.getUsers());
+                if (guestId == hostId && dataset.getUsers() > 1)
+                    guestId = firstUserId + (guestId - firstUserId + 1) % dataset.getUsers();
+                long totalCost = Math.round(tax + cleaningCost + roomCost * 1.1 * nights);
+                long paymentId = idAllocator.next(Payment.class);
+                payments.add(new Object[]{paymentId, "dataset-" + dataset.getSeed() + "-" + paymentId, (int) totalCost, true});
+
+                Long commentId = null;
+                if (!checkOut.isAfter(baseDate) && random.nextDouble() < dataset.getCommentRate()) {
+                    commentId = idAllocator.next(Comment.class);
+                    Object[] comment = new Object[11];
+                    comment[0] = commentId;
+                    for (int rating = 0; rating < ratingSums.length; rating++) {
+                        double score = Math.max(1, Math.min(5, Math.round(quality + random.nextGaussian() * 0.7)));
+                        ratingSums[rating] += score;
+                        comment[rating + 1] = score;
+                    }
+                    comment[7] = COMMENT_DESCRIPTIONS[random.nextInt(COMMENT_DESCRIPTIONS.length)];
+                    comment[8] = Date.valueOf(checkOut);
+                    comment[9] = roomId;
+                    comment[10] = guestId;
+                    roomComments.add(comment);
+                }
+
+                roomReservations.add(new Object[]{idAllocator.next(Reservation.class), Date.valueOf(checkIn), Date.valueOf(checkOut),
+                        1 + random.nextInt(peopleLimit), totalCost, guestId, roomId, commentId, paymentId});
+
+                // 점유율이 city.occupancy 에 가까워지도록 숙박 일수에 비례한 지수 분포 간격을 둔다.
+                double meanGap = nights * (1 - city.getOccupancy()) / city.getOccupancy();
+                checkIn = checkOut.plusDays(Math.round(-Math.log(1 - random.nextDouble()) * meanGap));
+            }
+
+            writer.add(INSERT_ROOM, roomId, city.getName() + " room" + (index + 1), roomType, roomCost, cleaningCost, tax, peopleLimit,
+                    "room description", Time.valueOf(LocalTime.of(15, 0)), Time.valueOf(LocalTime.of(11, 0)), random.nextInt(10) == 0, random.nextBoolean(),
+                    ratingSums[0], ratingSums[1], ratingSums[2], ratingSums[3], ratingSums[4], ratingSums[5], roomComments.size(), bedNum, hostId, locationId);
+            bedRooms.forEach(args -> writer.add(INSERT_BED_ROOM, args));
+            bathRooms.forEach(args -> writer.add(INSERT_BATH_ROOM, args));
+            roomImgs.forEach(args -> writer.add(INSERT_ROOM_IMG, args));
+            payments.forEach(args -> writer.add(INSERT_PAYMENT, args));
+            roomComments.forEach(args -> writer.add(INSERT_COMMENT, args));
+            roomReservations.forEach(args -> writer.add(INSERT_RESERVATION, args));
+            reservations += roomReservations.size();
+            comments += roomComments.size();
+        }
+
+        void insertWishlists() {
+            if (roomIds.length == 0)
+                return;
+            Random random = new Random(dataset.getSeed() + 2);
+            int perUser = Math.min(dataset.getWishlistPerUser(), roomIds.length);
+            for (int i = 0; i < dataset.getUsers(); i++) {
+                Set<Integer> picked = new HashSet<>();
+                while (picked.size() < perUser) {
+                    int roomIndex = random.nextInt(roomIds.length);
+                    if (picked.add(roomIndex))
+                        writer.add(INSERT_USER_ROOM, firstUserId + i, roomIds[roomIndex]);
+                }
+                wishlists += picked.size();
+            }
+            writer.flush();
+        }
+
+        private double roundThousand(double value) {
+            return Math.round(value / 1000) * 1000.0;
+        }
+    }
+
+    /**
+     * 테이블별로 행을 모았다가 batchSize 마다 외래 키 순서대로 한 트랜잭션에서 배치 INSERT 한다.
+     * 참조되는 행을 항상 먼저 add 하므로 같은 flush 안에서도 참조 무결성이 지켜진다.
+     */
+    private class BatchWriter {
+        private final int batchSize;
+        private final Map<String, List<Object[]>> pending = new LinkedHashMap<>();
+        private int pendingRows;
+
+        BatchWriter(int batchSize, String... sqlInInsertOrder) {
+            this.batchSize = batchSize;
+            for (String sql : sqlInInsertOrder)
+                pending.put(sql, new ArrayList<>());
+        }
+
+        void add(String sql, Object... args) {
+            pending.get(sql).add(args);
+            if (++pendingRows >= batchSize)
+                flush();
+        }
+
+        void flush() {
+            if (pendingRows == 0)
+                return;
+            transactionTemplate.executeWithoutResult(status -> pending.forEach((sql, rows) -> {
+                if (!rows.isEmpty())
+                    jdbcTemplate.batchUpdate(sql, rows);
+            }));
+            pending.values().forEach(List::clear);
+            pendingRows = 0;
+        }
+    }
+
+    /**
+     * 엔티티에 설정된 pooled-lo id 생성기를 그대로 사용해, 애플리케이션이 이미 받아 둔 id 구간과 겹치지 않게 한다.
+     */
+    private static class IdAllocator implements AutoCloseable {
+        private final SessionFactoryImplementor sessionFactory;
+        private final SharedSessionContractImplementor session;
+        private final Map<Class<?>, IdentifierGenerator> generators = new HashMap<>();
+
+        IdAllocator(SessionFactoryImplementor sessionFactory) {
+            this.sessionFactory = sessionFactory;
+            this.session = (SharedSessionContractImplementor) sessionFactory.openStatelessSession();
+        }
+
+        long next(Class<?> entityClass) {
+            IdentifierGenerator generator = generators.computeIfAbsent(entityClass,
+                    type -> sessionFactory.getMetamodel().entityPersister(type).getIdentifierGenerator());
+            return ((Number) generator.generate(session, null)).longValue();
+        }
+
+        @Override
+        public void close() {
+            session.close();
+        }
+    }
+}
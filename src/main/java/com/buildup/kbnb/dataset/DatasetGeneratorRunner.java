@@ -0,0 +1,38 @@
+package com.buildup.kbnb.dataset;
+
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.service.reservation.HostAnalyticsService;
+import com.buildup.kbnb.service.reservation.HostRevenueService;
+import com.buildup.kbnb.service.reservation.RoomOccupancyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * --app.dataset.enabled=true 로 실행하면 기동 직후 부하 테스트용 데이터를 생성한다.
+ * ex) ./gradlew bootRun --args='--app.dataset.enabled=true --app.dataset.users=1000000 --app.dataset.rooms=1000000'
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.dataset", name = "enabled", havingValue = "true")
+public class DatasetGeneratorRunner implements ApplicationRunner {
+    private final DatasetGenerator datasetGenerator;
+    private final AppProperties appProperties;
+    private final RoomOccupancyService roomOccupancyService;
+    private final HostRevenueService hostRevenueService;
+    private final HostAnalyticsService hostAnalyticsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        DatasetSummary summary = datasetGenerator.generate(appProperties.getDataset());
+        log.info("부하 테스트 데이터 생성 완료. {}", summary);
+        // 예약을 JDBC 로 직접 넣었으므로 월별 예약, 수입, 일별 예약 집계는 따로 채운다.
+        roomOccupancyService.rebuild();
+        hostRevenueService.rebuild();
+        hostAnalyticsService.rebuild();
+    }
+}
@@ -0,0 +1,18 @@
+package com.buildup.kbnb.dataset;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@Builder
+@ToString
+public class DatasetSummary {
+    private long seed;
+    private long users;
+    private long rooms;
+    private long reservations;
+    private long comments;
+    private long wishlists;
+    private long elapsedMillis;
+}
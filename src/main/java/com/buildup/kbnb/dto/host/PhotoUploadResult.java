@@ -0,0 +1,18 @@
+package com.buildup.kbnb.dto.host;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PhotoUploadResult {
+    int order;
+    String fileName;
+    String url;
+    boolean success;
+    String message;
+}
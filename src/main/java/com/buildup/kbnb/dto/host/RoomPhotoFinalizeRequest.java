@@ -0,0 +1,21 @@
+package com.buildup.kbnb.dto.host;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomPhotoFinalizeRequest {
+    @NotNull
+    private Long roomId;
+    @NotEmpty
+    private List<String> keys;
+}
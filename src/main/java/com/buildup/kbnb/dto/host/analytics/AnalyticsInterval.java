@@ -0,0 +1,5 @@
+package com.buildup.kbnb.dto.host.analytics;
+
+public enum AnalyticsInterval {
+    DAY, WEEK, MONTH
+}
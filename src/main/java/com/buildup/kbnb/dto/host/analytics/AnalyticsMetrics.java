@@ -0,0 +1,40 @@
+package com.buildup.kbnb.dto.host.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsMetrics {
+    private long availableNights;
+    private long bookedNights;
+    private long cancelledNights;
+    private long revenue;
+    // 예약률 = 예약된 박 / 판매 가능한 박
+    private double occupancy;
+    // ADR = 수입 / 예약된 박
+    private double adr;
+    // RevPAR = 수입 / 판매 가능한 박
+    private double revPar;
+
+    public static AnalyticsMetrics of(long availableNights, long bookedNights, long cancelledNights, long revenue) {
+        return AnalyticsMetrics.builder()
+                .availableNights(availableNights)
+                .bookedNights(bookedNights)
+                .cancelledNights(cancelledNights)
+                .revenue(revenue)
+                .occupancy(availableNights == 0 ? 0 : round(bookedNights / (double) availableNights, 4))
+                .adr(bookedNights == 0 ? 0 : round(revenue / (double) bookedNights, 2))
+                .revPar(availableNights == 0 ? 0 : round(revenue / (double) availableNights, 2))
+                .build();
+    }
+
+    private static double round(double value, int scale) {
+        double unit = Math.pow(10, scale);
+        return Math.round(value * unit) / unit;
+    }
+}
@@ -0,0 +1,22 @@
+package com.buildup.kbnb.dto.host.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HostAnalyticsResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private AnalyticsInterval interval;
+    private AnalyticsMetrics total;
+    private List<PeriodAnalytics> series;
+    private List<RoomAnalytics> rooms;
+}
@@ -0,0 +1,13 @@
+package com.buildup.kbnb.dto.host.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HostRoom {
+    private Long roomId;
+    private String roomName;
+}
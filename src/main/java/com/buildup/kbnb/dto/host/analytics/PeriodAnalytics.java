@@ -0,0 +1,15 @@
+package com.buildup.kbnb.dto.host.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodAnalytics {
+    private LocalDate periodStart;
+    private AnalyticsMetrics metrics;
+}
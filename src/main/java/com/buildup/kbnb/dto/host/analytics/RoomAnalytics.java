@@ -0,0 +1,14 @@
+package com.buildup.kbnb.dto.host.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAnalytics {
+    private Long roomId;
+    private String roomName;
+    private AnalyticsMetrics metrics;
+}
@@ -0,0 +1,24 @@
+package com.buildup.kbnb.dto.host.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HostAvailabilityResponse {
+    private Long roomId;
+    private Integer minNights;
+    private Integer maxNights;
+    private List<RoomBlockDto> blocks;
+    private Double roomCost;
+    private Double weekendCost;
+    private Integer weeklyDiscount;
+    private Integer monthlyDiscount;
+    private List<SeasonPriceDto> seasons;
+}
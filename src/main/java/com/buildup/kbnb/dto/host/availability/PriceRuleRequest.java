@@ -0,0 +1,29 @@
+package com.buildup.kbnb.dto.host.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.PositiveOrZero;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceRuleRequest {
+    @NotNull
+    private Long roomId;
+    // null 이면 주말도 기본 1박 가격
+    @PositiveOrZero
+    private Double weekendCost;
+    @Min(0)
+    @Max(100)
+    private Integer weeklyDiscount;
+    @Min(0)
+    @Max(100)
+    private Integer monthlyDiscount;
+}
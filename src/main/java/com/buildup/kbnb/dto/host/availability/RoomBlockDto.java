@@ -0,0 +1,18 @@
+package com.buildup.kbnb.dto.host.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomBlockDto {
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
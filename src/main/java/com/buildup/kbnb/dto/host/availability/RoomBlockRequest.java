@@ -0,0 +1,23 @@
+package com.buildup.kbnb.dto.host.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomBlockRequest {
+    @NotNull
+    private Long roomId;
+    @NotNull
+    private LocalDate startDate;
+    // 이 날은 막지 않는다.
+    @NotNull
+    private LocalDate endDate;
+}
@@ -0,0 +1,20 @@
+package com.buildup.kbnb.dto.host.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeasonPriceDto {
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Double nightlyCost;
+    private Double weekendCost;
+}
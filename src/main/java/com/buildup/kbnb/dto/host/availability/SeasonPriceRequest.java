@@ -0,0 +1,30 @@
+package com.buildup.kbnb.dto.host.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeasonPriceRequest {
+    @NotNull
+    private Long roomId;
+    @NotNull
+    private LocalDate startDate;
+    // 이 날 밤은 포함하지 않는다.
+    @NotNull
+    private LocalDate endDate;
+    @NotNull
+    @PositiveOrZero
+    private Double nightlyCost;
+    // null 이면 기간 안의 주말도 nightlyCost
+    @PositiveOrZero
+    private Double weekendCost;
+}
@@ -0,0 +1,24 @@
+package com.buildup.kbnb.dto.host.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StayRuleRequest {
+    @NotNull
+    private Long roomId;
+    @NotNull
+    @Min(1)
+    private Integer minNights;
+    // null 이면 제한하지 않는다.
+    @Min(1)
+    private Integer maxNights;
+}
@@ -0,0 +1,15 @@
+package com.buildup.kbnb.dto.host.income;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthIncome {
+    private LocalDate monthStart;
+    private Long income;
+}
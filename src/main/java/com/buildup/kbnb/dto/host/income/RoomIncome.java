@@ -0,0 +1,14 @@
+package com.buildup.kbnb.dto.host.income;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomIncome {
+    private Long roomId;
+    private String roomName;
+    private Long income;
+}
@@ -0,0 +1,15 @@
+package com.buildup.kbnb.dto.host.income;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class YearIncome {
+    private int year;
+    private long income;
+}
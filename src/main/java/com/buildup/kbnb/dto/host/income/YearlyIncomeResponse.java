@@ -0,0 +1,17 @@
+package com.buildup.kbnb.dto.host.income;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class YearlyIncomeResponse {
+    private long totalIncome;
+    private List<YearIncome> years;
+}
@@ -0,0 +1,36 @@
+package com.buildup.kbnb.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 예약 상세 한 건. 예약, 숙소, 호스트, 위치, 대표 사진, 침실/욕실 수를 JPQL 생성자 조회 한 번으로 가져온다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationDetail {
+    private Long reservationId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private Integer guestNum;
+    private Long totalCost;
+    private Long roomId;
+    private String roomName;
+    private Integer bedNum;
+    private Boolean isParking;
+    private Boolean isSmoking;
+    private String hostName;
+    private String hostImage;
+    private String country;
+    private String city;
+    private String borough;
+    private String neighborhood;
+    private String detailAddress;
+    private Double latitude;
+    private Double longitude;
+    private String roomImage;
+    private Long bedRoomNum;
+    private Long bathRoomNum;
+}
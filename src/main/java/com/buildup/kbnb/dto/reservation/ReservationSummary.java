@@ -0,0 +1,27 @@
+package com.buildup.kbnb.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 내 여행 목록 한 행. 예약, 숙소, 호스트, 위치, 대표 사진, 리뷰 여부를 JPQL 생성자 조회 한 번으로 가져온다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationSummary {
+    private Long reservationId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private Long roomId;
+    private String roomName;
+    private String hostName;
+    private String country;
+    private String city;
+    private String borough;
+    private String neighborhood;
+    private String detailAddress;
+    private String imgUrl;
+    private Boolean reviewed;
+}
@@ -0,0 +1,17 @@
+package com.buildup.kbnb.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 숙소의 예약된 체크 인, 체크 아웃. 여러 숙소의 예약 가능 날짜를 한 번에 만들 때 숙소 id 와 함께 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservedNights {
+    private Long roomId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+}
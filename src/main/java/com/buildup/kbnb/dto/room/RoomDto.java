@@ -31,5 +31,8 @@ public class RoomDto {
     private Double longitude;
     private Integer commentCount;
     private Boolean isCheck;
+    private Boolean isRecommended;
+    // 날짜 유연 검색에서 요청한 체크 인 대비 예약 가능한 체크 인까지의 일 수
+    private Integer checkInShift;
     private List<String> roomImgUrlList;
 }
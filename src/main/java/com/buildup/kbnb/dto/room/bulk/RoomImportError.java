@@ -0,0 +1,15 @@
+package com.buildup.kbnb.dto.room.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomImportError {
+    private long row;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.buildup.kbnb.dto.room.bulk;
+
+import com.buildup.kbnb.model.room.RoomImportFormat;
+import com.buildup.kbnb.model.room.RoomImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomImportResponse {
+    private Long jobId;
+    private RoomImportFormat format;
+    private RoomImportStatus status;
+    private long committedRows;
+    private long importedRooms;
+    private long failedRows;
+    private LocalDateTime updatedAt;
+    private List<RoomImportError> errors;
+}
@@ -0,0 +1,24 @@
+package com.buildup.kbnb.dto.room.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * 한 달의 예약 가능 여부. available 은 1일부터 말일까지 박마다 한 글자로 예약 가능하면 '1', 아니면 '0' 이다.
+ * prices 는 예약 가능한 박을 같은 가격이 이어지는 구간으로 묶은 것이다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthCalendar {
+    private YearMonth month;
+    private String available;
+    private int availableNights;
+    private List<PriceRun> prices;
+}
@@ -0,0 +1,16 @@
+package com.buildup.kbnb.dto.room.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceRun {
+    private int fromDay;
+    private int toDay;
+    private int price;
+}
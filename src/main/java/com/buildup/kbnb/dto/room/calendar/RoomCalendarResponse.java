@@ -0,0 +1,20 @@
+package com.buildup.kbnb.dto.room.calendar;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomCalendarResponse {
+    private Long roomId;
+    private Integer minNights;
+    // null 이면 제한 없음
+    private Integer maxNights;
+    private List<MonthCalendar> months;
+}
@@ -0,0 +1,28 @@
+package com.buildup.kbnb.dto.room.quote;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StayQuote {
+    private Long roomId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private int nights;
+    // 예약된 박, 막은 박, 최소, 최대 박 수를 모두 만족하는지
+    private boolean available;
+    private long nightlyTotal;
+    private int discountRate;
+    private long discount;
+    private Double serviceFee;
+    private Double cleaningCost;
+    private Double tax;
+    private Double totalCost;
+}
@@ -12,4 +12,6 @@ import java.time.LocalDate;
 public class CheckDateSearch {
     private LocalDate startDate;
     private LocalDate endDate;
+    // 1 이상이면 체크 인을 앞뒤로 이 일 수만큼 옮겨 같은 박 수로 묵을 수 있는 숙소를 찾는다.
+    private Integer flexibleDays;
 }
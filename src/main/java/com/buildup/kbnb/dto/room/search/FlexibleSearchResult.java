@@ -0,0 +1,18 @@
+package com.buildup.kbnb.dto.room.search;
+
+import com.buildup.kbnb.model.room.Room;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * 날짜 유연 검색 결과. checkInShifts 는 숙소 id 별로 요청한 체크 인에서 옮긴 일 수다.
+ */
+@Getter
+@AllArgsConstructor
+public class FlexibleSearchResult {
+    private Page<Room> rooms;
+    private Map<Long, Integer> checkInShifts;
+}
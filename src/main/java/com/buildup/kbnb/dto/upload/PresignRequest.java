@@ -0,0 +1,23 @@
+package com.buildup.kbnb.dto.upload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PresignRequest {
+    private Long roomId;
+    @NotEmpty
+    private String contentType;
+    @NotNull
+    @Positive
+    private Long contentLength;
+}
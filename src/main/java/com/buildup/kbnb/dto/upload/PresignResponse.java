@@ -0,0 +1,20 @@
+package com.buildup.kbnb.dto.upload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PresignResponse {
+    private String key;
+    private String uploadUrl;
+    private String contentType;
+    private Long contentLength;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,15 @@
+package com.buildup.kbnb.dto.user;
+
+import lombok.*;
+
+import javax.validation.constraints.NotEmpty;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserPhotoFinalizeRequest {
+    @NotEmpty
+    private String key;
+}
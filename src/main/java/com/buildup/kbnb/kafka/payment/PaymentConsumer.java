@@ -1,29 +1,45 @@
 package com.buildup.kbnb.kafka.payment;
 
 import com.buildup.kbnb.kafka.dto.PaymentDto;
-import com.buildup.kbnb.service.PaymentService;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
+import com.buildup.kbnb.service.reservation.ReservationService;
 import com.buildup.kbnb.util.payment.BootPayApi;
 import com.buildup.kbnb.util.payment.model.response.ResDefault;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 
 @Service
 @RequiredArgsConstructor
 public class PaymentConsumer {
+    private static final String TOPIC = "payment-confirm";
+
     private final BootPayApi bootPayApi;
-    private final PaymentService paymentService;
+    private final ReservationService reservationService;
+    private final BusinessMetrics businessMetrics;
+
+    // 브로커 기준 lag(records-lag-max)은 Boot 가 consumer 에 등록하는 kafka.consumer.* metric 으로 본다.
+    @KafkaListener(topics = TOPIC, groupId = "payment")
+    public void confirmPayment(PaymentDto paymentDto, Consumer<Object, Object> consumer,
+                               @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp) {
+        Tags tags = Tags.of("topic", TOPIC);
+        businessMetrics.record(BusinessMetrics.KAFKA_CONSUMER_RECORD_AGE, tags, Duration.ofMillis(Math.max(0, System.currentTimeMillis() - timestamp)));
 
-    @KafkaListener(topics = "payment-confirm", groupId = "payment")
-    public void confirmPayment(PaymentDto paymentDto, Consumer<Object, Object> consumer) {
-        ResponseEntity<ResDefault> res = bootPayApi.confirm(paymentDto.getToken(), paymentDto.getReceiptId());
-        if (res.getBody() != null && res.getBody().getStatus() == 200) {
-            paymentService.makeConfirmStateTrue(paymentDto.getPaymentId());
+        businessMetrics.run(BusinessMetrics.KAFKA_CONSUMER_PROCESSING, tags, () -> {
+            ResponseEntity<ResDefault> res = bootPayApi.confirm(paymentDto.getToken(), paymentDto.getReceiptId());
+            if (res.getBody() != null && res.getBody().getStatus() == 200) {
+                reservationService.confirmPayment(paymentDto.getPaymentId());
 
-            consumer.commitAsync();
-        }
+                consumer.commitAsync();
+            }
+        });
     }
 }
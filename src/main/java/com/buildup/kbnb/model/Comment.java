@@ -1,8 +1,12 @@
 package com.buildup.kbnb.model;
 
+import com.buildup.kbnb.config.PooledSequenceGenerator;
 import com.buildup.kbnb.model.room.Room;
 import com.buildup.kbnb.model.user.User;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -15,7 +19,9 @@ import java.time.LocalDate;
 @Builder
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "comment_seq")
+    @GenericGenerator(name = "comment_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "comment_seq"))
     private Long id;
 
     private Double cleanliness;
@@ -0,0 +1,35 @@
+package com.buildup.kbnb.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 호스트, 숙소의 월별 승인된 결제 금액. 체크 인 월 기준이며 결제 승인, 예약 취소 시 HostRevenueService 가 증감한다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_host_month_revenue", columnNames = {"hostId", "roomId", "monthStart"}),
+        indexes = @Index(name = "idx_host_month_revenue_host", columnList = "hostId, monthStart"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HostMonthRevenue {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long hostId;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    // 해당 월의 1일
+    @Column(nullable = false)
+    private LocalDate monthStart;
+
+    private long revenue;
+}
@@ -1,13 +1,20 @@
 package com.buildup.kbnb.model;
 
+import com.buildup.kbnb.config.CacheRegions;
+import com.buildup.kbnb.config.PooledSequenceGenerator;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.LOCATION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +22,9 @@ import javax.persistence.Id;
 @Builder
 public class Location {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "location_seq")
+    @GenericGenerator(name = "location_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "location_seq"))
     private Long id;
 
     private String country;
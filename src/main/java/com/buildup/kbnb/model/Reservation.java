@@ -1,8 +1,12 @@
 package com.buildup.kbnb.model;
 
+import com.buildup.kbnb.config.PooledSequenceGenerator;
 import com.buildup.kbnb.model.room.Room;
 import com.buildup.kbnb.model.user.User;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -13,7 +17,10 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 public class Reservation {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(generator = "reservation_seq")
+    @GenericGenerator(name = "reservation_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "reservation_seq"))
     private Long id;
 
     private LocalDate checkIn;
@@ -0,0 +1,30 @@
+package com.buildup.kbnb.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_stored_object_url", columnNames = "url"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredObject {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 hex, 직접 업로드처럼 서버가 내용을 읽지 않은 객체는 null
+    @Column(unique = true, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private String objectKey;
+
+    @Column(nullable = false)
+    private String url;
+
+    private int refCount;
+}
@@ -1,11 +1,19 @@
 package com.buildup.kbnb.model.room;
 
+import com.buildup.kbnb.config.CacheRegions;
+import com.buildup.kbnb.config.PooledSequenceGenerator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BATH_ROOM)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,7 +21,9 @@ import javax.persistence.*;
 @Builder
 public class BathRoom {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "bath_room_seq")
+    @GenericGenerator(name = "bath_room_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "bath_room_seq"))
     private Long id;
 
     private Boolean isPrivate;
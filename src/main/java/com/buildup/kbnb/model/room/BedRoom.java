@@ -1,12 +1,20 @@
 package com.buildup.kbnb.model.room;
 
+import com.buildup.kbnb.config.CacheRegions;
+import com.buildup.kbnb.config.PooledSequenceGenerator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BED_ROOM)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +22,9 @@ import javax.persistence.*;
 @Builder
 public class BedRoom {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "bed_room_seq")
+    @GenericGenerator(name = "bed_room_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "bed_room_seq"))
     private Long id;
 
     @ColumnDefault(value = "0")
@@ -1,22 +1,33 @@
 package com.buildup.kbnb.model.room;
 
+import com.buildup.kbnb.config.CacheRegions;
+import com.buildup.kbnb.config.PooledSequenceGenerator;
 import com.buildup.kbnb.model.Comment;
 import com.buildup.kbnb.model.Location;
 import com.buildup.kbnb.model.Reservation;
 import com.buildup.kbnb.model.user.User;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalTime;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROOM)
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Room {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(generator = "room_seq")
+    @GenericGenerator(name = "room_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "room_seq"))
     private Long id;
     private String name;
     private String roomType;
@@ -29,14 +40,31 @@ public class Room {
     private LocalTime checkInTime;
     private Boolean isSmoking;
     private Boolean isParking;
-    private Double grade;
-    private Double cleanliness;
-    private Double accuracy;
-    private Double communication;
-    private Double locationRate;
-    private Double checkIn;
-    private Double priceSatisfaction;
+    // 평점 항목별 댓글 점수 합과 댓글 수. 평균은 읽을 때 나눠 구하고 댓글이 등록될 때는 RoomRatingService 가 합만 더한다.
+    // 숙소 정보를 수정하며 읽어 둔 이전 합을 다시 쓰지 않도록 JPA UPDATE 에서는 빼고 RoomRatingService 의 SQL 로만 바꾼다.
+    @Column(updatable = false)
+    private Double cleanlinessSum;
+    @Column(updatable = false)
+    private Double accuracySum;
+    @Column(updatable = false)
+    private Double communicationSum;
+    @Column(updatable = false)
+    private Double locationRateSum;
+    @Column(updatable = false)
+    private Double checkInSum;
+    @Column(updatable = false)
+    private Double priceSatisfactionSum;
+    @Column(updatable = false)
+    private Integer commentCount;
     private Integer bedNum;
+    // 예약 가능한 최소, 최대 박 수. null 이면 제한하지 않는다.
+    private Integer minNights;
+    private Integer maxNights;
+    // 금, 토요일 밤 1박 가격. null 이면 roomCost 와 같다.
+    private Double weekendCost;
+    // 7박 이상, 28박 이상 숙박 할인율(%). null 이면 할인하지 않는다.
+    private Integer weeklyDiscount;
+    private Integer monthlyDiscount;
 
     @ManyToOne(fetch = FetchType.LAZY)
     private User host;
@@ -45,12 +73,15 @@ public class Room {
     private Location location;
 
     @OneToMany(mappedBy = "room", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROOM_IMG_LIST)
     private List<RoomImg> roomImgList;
 
     @OneToMany(mappedBy = "room", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROOM_BATH_ROOM_LIST)
     private List<BathRoom> bathRoomList;
 
     @OneToMany(mappedBy = "room", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROOM_BED_ROOM_LIST)
     private List<BedRoom> bedRoomList;
 
     @OneToMany(mappedBy = "room", fetch = FetchType.LAZY)
@@ -61,39 +92,54 @@ public class Room {
 
     @PrePersist
     public void prePersist() {
-        this.cleanliness = this.cleanliness == null ? 0 : this.cleanliness;
-        this.accuracy = this.accuracy == null ? 0 : this.accuracy;
-        this.communication = this.communication == null ? 0 : this.communication;
-        this.locationRate = this.locationRate == null ? 0 : this.locationRate;
-        this.checkIn = this.checkIn == null ? 0 : this.checkIn;
-        this.priceSatisfaction = this.priceSatisfaction == null ? 0 : this.priceSatisfaction;
+        this.cleanlinessSum = this.cleanlinessSum == null ? 0 : this.cleanlinessSum;
+        this.accuracySum = this.accuracySum == null ? 0 : this.accuracySum;
+        this.communicationSum = this.communicationSum == null ? 0 : this.communicationSum;
+        this.locationRateSum = this.locationRateSum == null ? 0 : this.locationRateSum;
+        this.checkInSum = this.checkInSum == null ? 0 : this.checkInSum;
+        this.priceSatisfactionSum = this.priceSatisfactionSum == null ? 0 : this.priceSatisfactionSum;
+        this.commentCount = this.commentCount == null ? 0 : this.commentCount;
     }
 
+    public Integer getCommentCount() {
+        return commentCount == null ? 0 : commentCount;
+    }
+
+    // 여섯 항목 평균의 평균
     public Double getGrade() {
-        return Math.round(grade * 10) / 10.0;
+        return average(nullToZero(cleanlinessSum) + nullToZero(accuracySum) + nullToZero(communicationSum)
+                + nullToZero(locationRateSum) + nullToZero(checkInSum) + nullToZero(priceSatisfactionSum), getCommentCount() * 6);
     }
 
     public Double getCleanliness() {
-        return Math.round(cleanliness * 10) / 10.0;
+        return average(nullToZero(cleanlinessSum), getCommentCount());
     }
 
     public Double getAccuracy() {
-        return Math.round(accuracy * 10) / 10.0;
+        return average(nullToZero(accuracySum), getCommentCount());
     }
 
     public Double getCommunication() {
-        return Math.round(communication * 10) / 10.0;
+        return average(nullToZero(communicationSum), getCommentCount());
     }
 
     public Double getLocationRate() {
-        return Math.round(locationRate * 10) / 10.0;
+        return average(nullToZero(locationRateSum), getCommentCount());
     }
 
     public Double getCheckIn() {
-        return Math.round(checkIn * 10) / 10.0;
+        return average(nullToZero(checkInSum), getCommentCount());
     }
 
     public Double getPriceSatisfaction() {
-        return Math.round(priceSatisfaction * 10) / 10.0;
+        return average(nullToZero(priceSatisfactionSum), getCommentCount());
+    }
+
+    private static double nullToZero(Double value) {
+        return value == null ? 0 : value;
+    }
+
+    private static Double average(double sum, int count) {
+        return count == 0 ? 0.0 : Math.round(sum / count * 10) / 10.0;
     }
 }
@@ -0,0 +1,232 @@
+package com.buildup.kbnb.model.room;
+
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * 숙소 하나의 start 부터 days 일 동안의 박별 예약 가능 여부, 1박 가격, 최소, 최대 박 수, 숙박 할인율과 고정 비용.
+ * 예약된 박과 호스트가 막은 박을 long 배열의 bit 로 두어 기간 확인을 박마다가 아니라 64박 단위로 한다.
+ * 1박 가격은 주말, 기간별 가격을 미리 펼쳐 둔 날짜별 배열이라 숙박 금액은 배열을 한 번 훑어 구한다.
+ * 만들 때만 채우고 캐시에 올린 뒤에는 읽기만 한다.
+ */
+public class RoomAvailability {
+    public static final int WEEKLY_NIGHTS = 7;
+    public static final int MONTHLY_NIGHTS = 28;
+
+    @Getter
+    private final Long roomId;
+    @Getter
+    private final LocalDate start;
+    @Getter
+    private final int days;
+    // bit i 가 1 이면 start + i 박은 예약할 수 없다.
+    private final long[] unavailable;
+    private final int[] nightlyPrices;
+    @Getter
+    private int minNights = 1;
+    // null 이면 제한하지 않는다.
+    @Getter
+    private Integer maxNights;
+    // WEEKLY_NIGHTS, MONTHLY_NIGHTS 박 이상 숙박 할인율(%)
+    private int weeklyDiscount;
+    private int monthlyDiscount;
+    @Getter
+    private double cleaningCost;
+    @Getter
+    private double tax;
+
+    public RoomAvailability(Long roomId, LocalDate start, int days, int nightlyPrice) {
+        this.roomId = roomId;
+        this.start = start;
+        this.days = days;
+        this.unavailable = new long[(days + 63) >>> 6];
+        this.nightlyPrices = new int[days];
+        Arrays.fill(nightlyPrices, nightlyPrice);
+    }
+
+    public void setStayRule(Integer minNights, Integer maxNights) {
+        this.minNights = minNights == null ? 1 : minNights;
+        this.maxNights = maxNights;
+    }
+
+    public boolean allowsStay(int nights) {
+        return nights >= minNights && (maxNights == null || nights <= maxNights);
+    }
+
+    public void setStayDiscount(Integer weeklyDiscount, Integer monthlyDiscount) {
+        this.weeklyDiscount = weeklyDiscount == null ? 0 : weeklyDiscount;
+        this.monthlyDiscount = monthlyDiscount == null ? 0 : monthlyDiscount;
+    }
+
+    public int getDiscountRate(int nights) {
+        if (nights >= MONTHLY_NIGHTS && monthlyDiscount > 0)
+            return monthlyDiscount;
+        return nights >= WEEKLY_NIGHTS ? weeklyDiscount : 0;
+    }
+
+    public void setFees(Double cleaningCost, Double tax) {
+        this.cleaningCost = cleaningCost == null ? 0 : cleaningCost;
+        this.tax = tax == null ? 0 : tax;
+    }
+
+    public LocalDate getEnd() {
+        return start.plusDays(days);
+    }
+
+    public boolean covers(LocalDate from, LocalDate to) {
+        return !from.isBefore(start) && !to.isAfter(getEnd());
+    }
+
+    /**
+     * from 부터 to 전날까지를 예약할 수 없는 박으로 표시한다. 예약과 호스트가 막은 기간 모두 쓰며 범위 밖의 박은 무시한다.
+     */
+    public void markUnavailable(LocalDate from, LocalDate to) {
+        int fromIndex = (int) Math.max(DAYS.between(start, from), 0);
+        int toIndex = (int) Math.min(DAYS.between(start, to), days);
+        for (int i = fromIndex; i < toIndex; i++) {
+            unavailable[i >>> 6] |= 1L << i;
+        }
+    }
+
+    public boolean isAvailable(LocalDate night) {
+        int index = indexOf(night);
+        return (unavailable[index >>> 6] & (1L << index)) == 0;
+    }
+
+    /**
+     * 체크 인부터 체크 아웃 전날까지 모두 비어 있는지 64박 단위로 확인한다.
+     */
+    public boolean isAvailable(LocalDate checkIn, LocalDate checkOut) {
+        if (!checkIn.isBefore(checkOut))
+            return false;
+        int from = indexOf(checkIn);
+        int last = indexOf(checkOut.minusDays(1));
+        for (int word = from >>> 6; word <= last >>> 6; word++) {
+            long mask = -1L;
+            if (word == from >>> 6)
+                mask &= -1L << from;
+            if (word == last >>> 6)
+                mask &= -1L >>> (63 - (last & 63));
+            if ((unavailable[word] & mask) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * checkIn 앞뒤 flexibleDays 안에서 nights 박을 연달아 묵을 수 있는 체크 인 중 checkIn 에 가장 가까운 날까지의 일 수.
+     * 거리가 같으면 이른 날을 고르고, earliest 이전이나 범위를 넘는 체크 인은 고르지 않는다. 없으면 null.
+     */
+    public Integer findCheckInShift(LocalDate checkIn, int nights, int flexibleDays, LocalDate earliest) {
+        long base = DAYS.between(start, checkIn);
+        long first = Math.max(base - flexibleDays, Math.max(DAYS.between(start, earliest), 0));
+        long last = Math.min(base + flexibleDays, days - nights);
+        if (nights < 1 || !allowsStay(nights) || first > last)
+            return null;
+
+        long[] stayStarts = stayStarts(nights);
+        for (int distance = 0; distance <= flexibleDays; distance++) {
+            if (isSet(stayStarts, base - distance, first, last))
+                return -distance;
+            if (distance > 0 && isSet(stayStarts, base + distance, first, last))
+                return distance;
+        }
+        return null;
+    }
+
+    /**
+     * bit i 가 1 이면 start + i 부터 nights 박이 모두 비어 있다.
+     * 비어 있는 박 bitmap 에서 1, 2, 4 ... 박씩 연달아 빈 구간을 밀어 AND 하므로 배열 연산 O(log nights) 번이면 된다.
+     */
+    long[] stayStarts(int nights) {
+        long[] run = new long[unavailable.length];
+        for (int word = 0; word < run.length; word++) {
+            run[word] = ~unavailable[word];
+        }
+        if ((days & 63) != 0)
+            run[run.length - 1] &= (1L << days) - 1;
+
+        long[] stayStarts = null;
+        int runLength = 1;
+        int covered = 0;
+        for (int remaining = nights; ; ) {
+            if ((remaining & 1) != 0) {
+                long[] shifted = shiftRight(run, covered);
+                stayStarts = stayStarts == null ? shifted : and(stayStarts, shifted);
+                covered += runLength;
+            }
+            remaining >>>= 1;
+            if (remaining == 0)
+                return stayStarts;
+            run = and(run, shiftRight(run, runLength));
+            runLength <<= 1;
+        }
+    }
+
+    private static boolean isSet(long[] bits, long index, long first, long last) {
+        return index >= first && index <= last && (bits[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    private static long[] shiftRight(long[] bits, int count) {
+        long[] shifted = new long[bits.length];
+        int words = count >>> 6;
+        int shift = count & 63;
+        for (int word = 0; word + words < bits.length; word++) {
+            shifted[word] = bits[word + words] >>> shift;
+            if (shift != 0 && word + words + 1 < bits.length)
+                shifted[word] |= bits[word + words + 1] << (64 - shift);
+        }
+        return shifted;
+    }
+
+    private static long[] and(long[] left, long[] right) {
+        long[] result = new long[left.length];
+        for (int word = 0; word < left.length; word++) {
+            result[word] = left[word] & right[word];
+        }
+        return result;
+    }
+
+    /**
+     * from 부터 to 전날까지 1박 가격을 정한다. 금, 토요일 밤은 weekendPrice 로 두고 범위 밖의 박은 무시한다.
+     */
+    public void fillNightlyPrice(LocalDate from, LocalDate to, int price, int weekendPrice) {
+        int fromIndex = (int) Math.max(DAYS.between(start, from), 0);
+        int toIndex = (int) Math.min(DAYS.between(start, to), days);
+        for (int i = fromIndex; i < toIndex; i++) {
+            nightlyPrices[i] = isWeekend(start.plusDays(i)) ? weekendPrice : price;
+        }
+    }
+
+    public int getNightlyPrice(LocalDate night) {
+        return nightlyPrices[indexOf(night)];
+    }
+
+    // 체크 인부터 체크 아웃 전날까지 1박 가격의 합
+    public long sumNightlyPrices(LocalDate checkIn, LocalDate checkOut) {
+        if (!checkIn.isBefore(checkOut))
+            return 0;
+        long sum = 0;
+        for (int i = indexOf(checkIn), last = indexOf(checkOut.minusDays(1)); i <= last; i++) {
+            sum += nightlyPrices[i];
+        }
+        return sum;
+    }
+
+    public static boolean isWeekend(LocalDate night) {
+        DayOfWeek dayOfWeek = night.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.FRIDAY || dayOfWeek == DayOfWeek.SATURDAY;
+    }
+
+    private int indexOf(LocalDate night) {
+        long index = DAYS.between(start, night);
+        if (index < 0 || index >= days)
+            throw new IllegalArgumentException("availability range is " + start + " ~ " + getEnd() + " but requested " + night);
+        return (int) index;
+    }
+}
@@ -0,0 +1,33 @@
+package com.buildup.kbnb.model.room;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 호스트가 예약을 받지 않는 기간. 박마다 행을 만들지 않고 startDate ~ endDate 전날까지를 한 행으로 두며,
+ * 겹치거나 맞닿은 기간은 추가할 때 하나로 합친다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_room_block_room", columnList = "roomId, endDate"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomBlock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    // 이 날은 막지 않는다. (체크 아웃과 같은 의미)
+    @Column(nullable = false)
+    private LocalDate endDate;
+}
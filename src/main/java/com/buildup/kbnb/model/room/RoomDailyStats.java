@@ -0,0 +1,43 @@
+package com.buildup.kbnb.model.room;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 숙소의 한 달 치 일별 예약 상태. 날짜마다 예약 여부는 비트, 1박 금액은 4 byte, 취소 수는 1 byte 로 압축해 둔다.
+ * 예약 등록, 취소 시 HostAnalyticsService 가 갱신하며 값을 풀어 쓸 때는 RoomMonthDays 를 쓴다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_room_daily_stats", columnNames = {"roomId", "monthStart"}),
+        indexes = @Index(name = "idx_room_daily_stats_host", columnList = "hostId, monthStart"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomDailyStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long hostId;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    // 해당 월의 1일
+    @Column(nullable = false)
+    private LocalDate monthStart;
+
+    // 1일이 0번 비트
+    private int bookedMask;
+
+    @Column(length = RoomMonthDays.MAX_DAYS * 4)
+    private byte[] nightlyPrices;
+
+    @Column(length = RoomMonthDays.MAX_DAYS)
+    private byte[] cancellations;
+}
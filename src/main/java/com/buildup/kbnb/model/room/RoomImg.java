@@ -1,11 +1,23 @@
 package com.buildup.kbnb.model.room;
 
+import com.buildup.kbnb.config.CacheRegions;
+import com.buildup.kbnb.config.PooledSequenceGenerator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROOM_IMG)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,12 +25,38 @@ import javax.persistence.*;
 @Builder
 public class RoomImg {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "room_img_seq")
+    @GenericGenerator(name = "room_img_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "room_img_seq"))
     private Long id;
 
     private String url;
 
+    private String cardUrl;
+
+    private String detailUrl;
+
+    private String fullUrl;
+
     @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     private Room room;
+
+    public String getCardUrl() {
+        return cardUrl == null ? url : cardUrl;
+    }
+
+    public String getDetailUrl() {
+        return detailUrl == null ? url : detailUrl;
+    }
+
+    public String getFullUrl() {
+        return fullUrl == null ? url : fullUrl;
+    }
+
+    // 원본으로 대체되지 않은, 실제로 만들어진 크기별 사본 URL
+    @JsonIgnore
+    public List<String> getDerivativeUrls() {
+        return Stream.of(cardUrl, detailUrl, fullUrl).filter(Objects::nonNull).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,23 @@
+package com.buildup.kbnb.model.room;
+
+public enum RoomImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    private final String contentType;
+
+    RoomImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public static RoomImportFormat fromContentType(String contentType) {
+        for (RoomImportFormat format : values()) {
+            if (contentType != null && contentType.startsWith(format.contentType))
+                return format;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.buildup.kbnb.model.room;
+
+import com.buildup.kbnb.model.user.User;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User host;
+
+    @Enumerated(EnumType.STRING)
+    private RoomImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    private RoomImportStatus status;
+
+    // 커밋된 청크까지 읽은 행 수, 재개할 때 이만큼 건너뛴다.
+    private long committedRows;
+
+    private long importedRooms;
+
+    private long failedRows;
+
+    private LocalDateTime updatedAt;
+
+    // 청크를 커밋할 때마다 하나씩 늘린다. 같은 작업을 동시에 재개하면 먼저 커밋한 쪽만 진행하고 나머지 요청의 청크는 롤백된다.
+    @Version
+    private Long version;
+}
@@ -0,0 +1,6 @@
+package com.buildup.kbnb.model.room;
+
+public enum RoomImportStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
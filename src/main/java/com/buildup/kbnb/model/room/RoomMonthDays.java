@@ -0,0 +1,88 @@
+package com.buildup.kbnb.model.room;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * RoomDailyStats 한 행을 날짜별 배열로 풀어 둔 값. 압축 형식은 이 클래스에서만 다룬다.
+ * JPQL 생성자 조회로 엔티티를 영속성 컨텍스트에 올리지 않고 읽는다.
+ */
+@Getter
+public class RoomMonthDays {
+    public static final int MAX_DAYS = 31;
+    // 1 byte 에 담을 수 있는 취소 수
+    private static final int MAX_CANCELLATIONS = 255;
+
+    private final Long roomId;
+    private final LocalDate monthStart;
+    private int bookedMask;
+    private final int[] nightlyPrices = new int[MAX_DAYS];
+    private final int[] cancellations = new int[MAX_DAYS];
+
+    public RoomMonthDays(Long roomId, LocalDate monthStart) {
+        this.roomId = roomId;
+        this.monthStart = monthStart;
+    }
+
+    public RoomMonthDays(Long roomId, LocalDate monthStart, int bookedMask, byte[] nightlyPrices, byte[] cancellations) {
+        this(roomId, monthStart);
+        this.bookedMask = bookedMask;
+        if (nightlyPrices != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(nightlyPrices);
+            for (int i = 0; i < MAX_DAYS && buffer.remaining() >= 4; i++) {
+                this.nightlyPrices[i] = buffer.getInt();
+            }
+        }
+        if (cancellations != null) {
+            for (int i = 0; i < MAX_DAYS && i < cancellations.length; i++) {
+                this.cancellations[i] = Byte.toUnsignedInt(cancellations[i]);
+            }
+        }
+    }
+
+    public boolean isBooked(LocalDate date) {
+        return (bookedMask & bit(date)) != 0;
+    }
+
+    public int getNightlyPrice(LocalDate date) {
+        return nightlyPrices[date.getDayOfMonth() - 1];
+    }
+
+    public int getCancellations(LocalDate date) {
+        return cancellations[date.getDayOfMonth() - 1];
+    }
+
+    public void book(LocalDate date, int nightlyPrice) {
+        bookedMask |= bit(date);
+        nightlyPrices[date.getDayOfMonth() - 1] = nightlyPrice;
+    }
+
+    public void cancel(LocalDate date) {
+        int day = date.getDayOfMonth() - 1;
+        bookedMask &= ~bit(date);
+        nightlyPrices[day] = 0;
+        cancellations[day] = Math.min(cancellations[day] + 1, MAX_CANCELLATIONS);
+    }
+
+    public byte[] encodeNightlyPrices() {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DAYS * 4);
+        for (int price : nightlyPrices) {
+            buffer.putInt(price);
+        }
+        return buffer.array();
+    }
+
+    public byte[] encodeCancellations() {
+        byte[] bytes = new byte[MAX_DAYS];
+        for (int i = 0; i < MAX_DAYS; i++) {
+            bytes[i] = (byte) cancellations[i];
+        }
+        return bytes;
+    }
+
+    private static int bit(LocalDate date) {
+        return 1 << (date.getDayOfMonth() - 1);
+    }
+}
@@ -0,0 +1,31 @@
+package com.buildup.kbnb.model.room;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 숙소의 월별 예약 박 수. 예약 등록, 취소 시 RoomOccupancyService 가 증감한다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_room_month_occupancy", columnNames = {"roomId", "monthStart"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomMonthOccupancy {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    // 해당 월의 1일
+    @Column(nullable = false)
+    private LocalDate monthStart;
+
+    private int bookedNights;
+}
@@ -0,0 +1,39 @@
+package com.buildup.kbnb.model.room;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 성수기처럼 기간을 정해 바꾼 1박 가격. 박마다 행을 만들지 않고 startDate ~ endDate 전날까지를 한 행으로 둔다.
+ * 같은 숙소의 기간은 겹치지 않는다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_room_season_price_room", columnList = "roomId, endDate"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomSeasonPrice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    // 이 날 밤은 포함하지 않는다.
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private Double nightlyCost;
+
+    // 기간 안의 금, 토요일 밤 가격. null 이면 nightlyCost 와 같다.
+    private Double weekendCost;
+}
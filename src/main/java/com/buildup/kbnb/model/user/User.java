@@ -1,9 +1,12 @@
 package com.buildup.kbnb.model.user;
 
+import com.buildup.kbnb.config.CacheRegions;
 import com.buildup.kbnb.model.Reservation;
 import com.buildup.kbnb.model.UserRoom;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -12,6 +15,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER)
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(columnNames = "email")
 })
@@ -0,0 +1,69 @@
+package com.buildup.kbnb.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 주요 비즈니스 흐름의 지연 시간과 오류 수를 기록한다.
+ * 모든 timer 에 exception 태그(성공은 none)를 붙이므로 count 로 오류 수를, 히스토그램으로 분위수를 함께 본다.
+ * 히스토그램 버킷은 management.metrics.distribution.percentiles-histogram.kbnb 로 켠다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessMetrics {
+    public static final String ROOM_SEARCH = "kbnb.room.search";
+    public static final String BOOKING_PHASE = "kbnb.booking.phase";
+    public static final String COMMENT_GRADE_UPDATE = "kbnb.comment.grade.update";
+    public static final String S3_UPLOAD = "kbnb.s3.upload";
+    public static final String S3_UPLOAD_BYTES = "kbnb.s3.upload.bytes";
+    public static final String JWT_VALIDATION = "kbnb.jwt.validation";
+    public static final String KAFKA_CONSUMER_PROCESSING = "kbnb.kafka.consumer.processing";
+    public static final String KAFKA_CONSUMER_RECORD_AGE = "kbnb.kafka.consumer.record.age";
+
+    private final MeterRegistry meterRegistry;
+
+    @FunctionalInterface
+    public interface Action<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    @FunctionalInterface
+    public interface VoidAction<E extends Exception> {
+        void run() throws E;
+    }
+
+    public <T, E extends Exception> T time(String name, Tags tags, Action<T, E> action) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return action.run();
+        } catch (Exception e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(name, tags.and("exception", exception)));
+        }
+    }
+
+    public <E extends Exception> void run(String name, Tags tags, VoidAction<E> action) throws E {
+        time(name, tags, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void record(String name, Tags tags, Duration duration) {
+        meterRegistry.timer(name, tags).record(duration);
+    }
+
+    public void recordBytes(String name, Tags tags, long bytes) {
+        DistributionSummary.builder(name).baseUnit(BaseUnits.BYTES).tags(tags).register(meterRegistry).record(bytes);
+    }
+}
@@ -0,0 +1,37 @@
+package com.buildup.kbnb.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * hibernate.session.events.auto 로 세션마다 생성되어 JDBC 실행 시간을 QueryStats 에 더한다.
+ */
+public class JdbcTimeListener extends BaseSessionEventListener {
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addJdbcTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addJdbcTime(System.nanoTime() - batchStart);
+    }
+
+    private void addJdbcTime(long nanos) {
+        QueryStats stats = QueryStatsHolder.current();
+        if (stats != null)
+            stats.addJdbcTime(nanos);
+    }
+}
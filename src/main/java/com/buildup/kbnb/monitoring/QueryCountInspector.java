@@ -0,0 +1,17 @@
+package com.buildup.kbnb.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * hibernate.session_factory.statement_inspector 로 등록되어 Hibernate 가 준비하는 모든 SQL 을 집계한다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStatsHolder.current();
+        if (stats != null)
+            stats.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,62 @@
+package com.buildup.kbnb.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 요청 하나에서 실행된 SQL 개수, JDBC 실행 시간, 문장 유형(fingerprint)별 실행 횟수.
+ */
+public class QueryStats {
+    public static final String ATTRIBUTE = QueryStats.class.getName();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int queryCount;
+    private long jdbcNanos;
+    private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+
+    public void record(String sql) {
+        queryCount++;
+        statementCounts.merge(fingerprint(sql), 1, Integer::sum);
+    }
+
+    public void addJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getJdbcTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(jdbcNanos);
+    }
+
+    public long getJdbcTimeNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * threshold 번 이상 반복된 문장. 같은 문장이 파라미터만 바뀌어 반복되면 N+1 을 의심할 수 있다.
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statementCounts.forEach((statement, count) -> {
+            if (count >= threshold)
+                repeated.put(statement, count);
+        });
+        return repeated;
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+    }
+}
@@ -0,0 +1,38 @@
+package com.buildup.kbnb.monitoring;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 운영(prod) 이 아닌 환경에서 응답 본문을 쓰기 직전까지의 쿼리 통계를 헤더로 내려준다.
+ * 직렬화 중 지연 로딩으로 실행되는 쿼리는 헤더에는 빠지고 metric 에만 집계된다.
+ */
+@Profile("!prod")
+@ControllerAdvice
+public class QueryStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+    public static final String QUERY_COUNT = "X-Query-Count";
+    public static final String QUERY_TIME = "X-Query-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryStatsHolder.current();
+        if (stats != null) {
+            response.getHeaders().set(QUERY_COUNT, String.valueOf(stats.getQueryCount()));
+            response.getHeaders().set(QUERY_TIME, String.valueOf(stats.getJdbcTimeMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,25 @@
+package com.buildup.kbnb.monitoring;
+
+/**
+ * 현재 요청 스레드의 QueryStats. 요청 밖(배치, 비동기 작업)에서 실행된 SQL 은 집계하지 않는다.
+ */
+public final class QueryStatsHolder {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryStatsHolder() {
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,58 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryStatsInterceptor implements AsyncHandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+    private final AppProperties appProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod)
+            QueryStatsHolder.start();
+        return true;
+    }
+
+    // 비동기 요청은 afterCompletion 이 다른 스레드의 재디스패치에서 불리므로 요청 스레드의 집계는 여기서 지운다.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryStatsHolder.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryStats stats = QueryStatsHolder.current();
+        if (stats == null)
+            return;
+        QueryStatsHolder.clear();
+        request.setAttribute(QueryStats.ATTRIBUTE, stats);
+
+        String handlerName = handlerName((HandlerMethod) handler);
+        meterRegistry.summary("kbnb.request.queries", "handler", handlerName).record(stats.getQueryCount());
+        meterRegistry.timer("kbnb.request.jdbc.time", "handler", handlerName).record(stats.getJdbcTimeNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = stats.getRepeatedStatements(appProperties.getQueryMonitor().getRepeatedStatementThreshold());
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("kbnb.request.repeated.statements", "handler", handlerName).increment(repeated.size());
+            log.warn("N+1 의심 : {} {} ({}) 반복 실행된 쿼리 = {}", request.getMethod(), request.getRequestURI(), handlerName, repeated);
+        }
+    }
+
+    static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
@@ -0,0 +1,35 @@
+package com.buildup.kbnb.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 애플리케이션이 사용하는 dataSource 빈만 감싼다. (replica 라우팅을 쓰면 라우팅 DataSource 바깥을 감싸 중복 집계를 피한다)
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    private final ObjectProvider<SlowQueryListener> slowQueryListener;
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryListener> slowQueryListener) {
+        this.slowQueryListener = slowQueryListener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && DATA_SOURCE_BEAN_NAME.equals(beanName)) {
+            return ProxyDataSourceBuilder.create((DataSource) bean)
+                    .name(DATA_SOURCE_BEAN_NAME)
+                    .listener(slowQueryListener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
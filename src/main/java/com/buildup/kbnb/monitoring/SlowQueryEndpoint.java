@@ -0,0 +1,32 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/slowqueries : 최대 실행 시간 기준 상위 문장 유형.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+    private final SlowQueryRegistry slowQueryRegistry;
+    private final AppProperties appProperties;
+
+    @ReadOperation
+    public List<SlowQuerySummary> slowQueries(@Nullable Integer limit) {
+        return slowQueryRegistry.top(limit == null ? appProperties.getSlowQuery().getTopN() : limit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryRegistry.reset();
+    }
+}
@@ -0,0 +1,88 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.config.AppProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * threshold 를 넘었거나 sampleRate 확률로 뽑힌 쿼리만 바인딩 값, 요청 경로와 함께 kbnb.slow-query 로거에 남긴다.
+ * 로거는 logback-spring.xml 에서 큐가 차면 버리는 비동기 appender 로 연결되어 요청 스레드를 막지 않는다.
+ */
+@Component
+public class SlowQueryListener implements QueryExecutionListener {
+    static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("kbnb.slow-query");
+    private static final int MAX_LOGGED_BATCH_ENTRIES = 3;
+
+    private final SlowQueryRegistry slowQueryRegistry;
+    private final AppProperties.SlowQuery properties;
+
+    public SlowQueryListener(SlowQueryRegistry slowQueryRegistry, AppProperties appProperties) {
+        this.slowQueryRegistry = slowQueryRegistry;
+        this.properties = appProperties.getSlowQuery();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        boolean slow = elapsedMs >= properties.getThresholdMs();
+        boolean sampled = !slow && properties.getSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            slowQueryRegistry.record(QueryStats.fingerprint(queryInfo.getQuery()), elapsedMs, slow);
+            if ((slow || sampled) && SLOW_QUERY_LOG.isInfoEnabled()) {
+                SLOW_QUERY_LOG.info("{} {}ms [{}] {} 파라미터 = {}", slow ? "느린 쿼리" : "샘플 쿼리", elapsedMs, currentEndpoint(),
+                        queryInfo.getQuery(), formatParameters(queryInfo.getParametersList()));
+            }
+        }
+    }
+
+    private String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes))
+            return "-";
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+
+    String formatParameters(List<List<ParameterSetOperation>> parametersList) {
+        String formatted = parametersList.stream()
+                .limit(MAX_LOGGED_BATCH_ENTRIES)
+                .map(this::formatParameterSet)
+                .collect(Collectors.joining(", "));
+        if (parametersList.size() > MAX_LOGGED_BATCH_ENTRIES)
+            formatted += " ... (batch " + parametersList.size() + ")";
+        return formatted;
+    }
+
+    private String formatParameterSet(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .filter(operation -> operation.getArgs().length > 0 && operation.getArgs()[0] instanceof Integer)
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> ParameterSetOperation.isSetNullParameterOperation(operation) || operation.getArgs().length < 2
+                        ? "null" : truncate(String.valueOf(operation.getArgs()[1])))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private String truncate(String value) {
+        int maxLength = properties.getMaxParameterLength();
+        return value.length() <= maxLength ? value : value.substring(0, maxLength) + "...";
+    }
+}
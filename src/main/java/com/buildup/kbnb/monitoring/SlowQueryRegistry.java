@@ -0,0 +1,71 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 문장 유형(fingerprint)별 실행 횟수와 최대/평균 실행 시간. 유형 수가 maxFingerprints 를 넘으면 새 유형은 집계하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlowQueryRegistry {
+    private final Map<String, FingerprintStats> statsByFingerprint = new ConcurrentHashMap<>();
+    private final AppProperties appProperties;
+
+    public void record(String fingerprint, long elapsedMs, boolean slow) {
+        FingerprintStats stats = statsByFingerprint.get(fingerprint);
+        if (stats == null) {
+            if (statsByFingerprint.size() >= appProperties.getSlowQuery().getMaxFingerprints())
+                return;
+            stats = statsByFingerprint.computeIfAbsent(fingerprint, key -> new FingerprintStats());
+        }
+        stats.record(elapsedMs, slow);
+    }
+
+    public List<SlowQuerySummary> top(int limit) {
+        return statsByFingerprint.entrySet().stream()
+                .map(entry -> entry.getValue().toSummary(entry.getKey()))
+                .sorted(Comparator.comparingLong(SlowQuerySummary::getMaxMs).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        statsByFingerprint.clear();
+    }
+
+    private static class FingerprintStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final AtomicLong maxMs = new AtomicLong();
+
+        void record(long elapsedMs, boolean slow) {
+            count.increment();
+            totalMs.add(elapsedMs);
+            maxMs.accumulateAndGet(elapsedMs, Math::max);
+            if (slow)
+                slowCount.increment();
+        }
+
+        SlowQuerySummary toSummary(String fingerprint) {
+            long executed = count.sum();
+            return SlowQuerySummary.builder()
+                    .fingerprint(fingerprint)
+                    .count(executed)
+                    .slowCount(slowCount.sum())
+                    .maxMs(maxMs.get())
+                    .avgMs(executed == 0 ? 0 : (double) totalMs.sum() / executed)
+                    .build();
+        }
+    }
+}
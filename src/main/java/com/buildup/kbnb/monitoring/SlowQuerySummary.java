@@ -0,0 +1,16 @@
+package com.buildup.kbnb.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class SlowQuerySummary {
+    private String fingerprint;
+    private long count;
+    private long slowCount;
+    private long maxMs;
+    private double avgMs;
+}
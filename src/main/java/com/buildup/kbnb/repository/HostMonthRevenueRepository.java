@@ -0,0 +1,23 @@
+package com.buildup.kbnb.repository;
+
+import com.buildup.kbnb.dto.host.income.MonthIncome;
+import com.buildup.kbnb.dto.host.income.RoomIncome;
+import com.buildup.kbnb.model.HostMonthRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HostMonthRevenueRepository extends JpaRepository<HostMonthRevenue, Long> {
+    @Query("select new com.buildup.kbnb.dto.host.income.MonthIncome(o.monthStart, sum(o.revenue)) from HostMonthRevenue o " +
+            "where o.hostId = :hostId and o.monthStart >= :from and o.monthStart < :to " +
+            "group by o.monthStart order by o.monthStart")
+    List<MonthIncome> sumByMonth(@Param("hostId") Long hostId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select new com.buildup.kbnb.dto.host.income.RoomIncome(r.id, r.name, sum(o.revenue)) from HostMonthRevenue o, Room r " +
+            "where r.id = o.roomId and o.hostId = :hostId and o.monthStart >= :from and o.monthStart < :to " +
+            "group by r.id, r.name order by sum(o.revenue) desc")
+    List<RoomIncome> sumByRoom(@Param("hostId") Long hostId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -2,7 +2,14 @@ package com.buildup.kbnb.repository;
 
 import com.buildup.kbnb.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     void deleteByReceiptId(String receiptId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Payment p set p.isConfirm = true where p.id = :id and (p.isConfirm = false or p.isConfirm is null)")
+    int confirm(@Param("id") Long id);
 }
@@ -2,6 +2,18 @@ package com.buildup.kbnb.repository;
 
 import com.buildup.kbnb.model.room.RoomImg;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface RoomImgRepository extends JpaRepository<RoomImg, Long> {
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update RoomImg i set i.cardUrl = :cardUrl, i.detailUrl = :detailUrl, i.fullUrl = :fullUrl where i.id = :id")
+    int updateDerivativeUrls(@Param("id") Long id,
+                             @Param("cardUrl") String cardUrl,
+                             @Param("detailUrl") String detailUrl,
+                             @Param("fullUrl") String fullUrl);
 }
@@ -0,0 +1,19 @@
+package com.buildup.kbnb.repository;
+
+import com.buildup.kbnb.model.room.RoomImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface RoomImportJobRepository extends JpaRepository<RoomImportJob, Long> {
+    // 읽어 둔 version 그대로일 때만 진행 상황을 더한다. 다른 요청이 먼저 청크를 커밋했으면 0 을 돌려준다.
+    @Modifying(clearAutomatically = true)
+    @Query("update RoomImportJob j set j.committedRows = j.committedRows + :processedRows, j.importedRooms = j.importedRooms + :importedRooms, "
+            + "j.failedRows = j.failedRows + :failedRows, j.updatedAt = :updatedAt, j.version = j.version + 1 "
+            + "where j.id = :id and j.version = :version")
+    int advance(@Param("id") Long id, @Param("version") Long version, @Param("processedRows") long processedRows,
+                @Param("importedRooms") long importedRooms, @Param("failedRows") long failedRows, @Param("updatedAt") LocalDateTime updatedAt);
+}
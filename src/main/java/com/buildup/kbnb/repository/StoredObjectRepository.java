@@ -0,0 +1,38 @@
+package com.buildup.kbnb.repository;
+
+import com.buildup.kbnb.model.StoredObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface StoredObjectRepository extends JpaRepository<StoredObject, Long> {
+    Optional<StoredObject> findByContentHash(String contentHash);
+
+    Optional<StoredObject> findFirstByUrl(String url);
+
+    boolean existsByUrl(String url);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update StoredObject o set o.refCount = o.refCount + :count where o.id = :id")
+    int addReference(@Param("id") Long id, @Param("count") int count);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update StoredObject o set o.refCount = o.refCount + :count where o.url = :url")
+    int addReferenceByUrl(@Param("url") String url, @Param("count") int count);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update StoredObject o set o.refCount = o.refCount - 1 where o.id = :id and o.refCount > 0")
+    int releaseReference(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from StoredObject o where o.id = :id and o.refCount = 0")
+    int deleteIfUnreferenced(@Param("id") Long id);
+}
@@ -1,5 +1,8 @@
 package com.buildup.kbnb.repository.reservation;
 
+import com.buildup.kbnb.dto.reservation.ReservationDetail;
+import com.buildup.kbnb.dto.reservation.ReservationSummary;
+import com.buildup.kbnb.dto.reservation.ReservedNights;
 import com.buildup.kbnb.dto.room.detail.ReservationDate;
 import com.buildup.kbnb.model.Reservation;
 import com.buildup.kbnb.model.user.User;
@@ -10,6 +13,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +21,31 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     Page<Reservation> findByUser(User user, Pageable page);
     Page<Reservation> findAll(Pageable page);
 
+    // 대표 사진은 숙소의 첫 번째 사진(가장 작은 id)이다.
+    // 페이지 정렬이 예약 별칭(v)에 붙도록 사진 서브쿼리는 select 절이 아니라 join 조건에 둔다.
+    @Query(value = "select new com.buildup.kbnb.dto.reservation.ReservationSummary(v.id, v.checkIn, v.checkOut, r.id, r.name, h.name, " +
+            "l.country, l.city, l.borough, l.neighborhood, l.detailAddress, i.url, " +
+            "case when v.comment is null then false else true end) " +
+            "from Reservation v join v.room r left join r.host h left join r.location l " +
+            "left join RoomImg i on i.id = (select min(i2.id) from RoomImg i2 where i2.room = r) " +
+            "where v.user.id = :userId",
+            countQuery = "select count(v) from Reservation v where v.user.id = :userId")
+    Page<ReservationSummary> findSummaryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 예약 id(PK) 로 한 행만 찾고 예약자가 아니면 비어 있다.
+    @Query("select new com.buildup.kbnb.dto.reservation.ReservationDetail(v.id, v.checkIn, v.checkOut, v.guestNum, v.totalCost, " +
+            "r.id, r.name, r.bedNum, r.isParking, r.isSmoking, h.name, h.imageUrl, " +
+            "l.country, l.city, l.borough, l.neighborhood, l.detailAddress, l.latitude, l.longitude, i.url, " +
+            "(select count(b) from BedRoom b where b.room = r), (select count(t) from BathRoom t where t.room = r)) " +
+            "from Reservation v join v.room r left join r.host h left join r.location l " +
+            "left join RoomImg i on i.id = (select min(i2.id) from RoomImg i2 where i2.room = r) " +
+            "where v.id = :reservationId and v.user.id = :userId")
+    Optional<ReservationDetail> findDetailByIdAndUserId(@Param("reservationId") Long reservationId, @Param("userId") Long userId);
+
+    @Query("select v from Reservation v join fetch v.room r join fetch r.host left join fetch v.payment " +
+            "where v.id = :reservationId and v.user.id = :userId")
+    Optional<Reservation> findByIdAndUserIdWithPayment(@Param("reservationId") Long reservationId, @Param("userId") Long userId);
+
     @Query("select r from Reservation r where r.user.id = :userId")
     List<Reservation> findByUserId(@Param("userId") Long userId);
 
@@ -27,15 +56,11 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "from Reservation r where r.room.id = :roomId and r.checkIn >= :date")
     List<ReservationDate> findByRoomFromCurrent(@Param("roomId") Long roomId, @Param("date") LocalDate date);
 
-    @Query("select r from Reservation r join fetch r.user u where u=:user")
-    List<Reservation> findByUser(@Param("user") User user);
-
-    @Query("select reservation from Reservation reservation join fetch reservation.room room where room.id =:id")
-    List<Reservation> findByRoomId(@Param("id") Long id);
-
-    @Query("select r from Reservation r where r.room.id = :roomId and r.checkIn >= :startDate and r.checkIn <= :endDate")
-    List<Reservation> findByBetweenDateAndRoomId(@Param("roomId") Long roomId,@Param("startDate") LocalDate startDate,@Param("endDate") LocalDate endDate);
+    // from ~ to 사이에 하루라도 걸치는 예약. 기간 이전에 체크 인한 예약도 포함한다.
+    @Query("select new com.buildup.kbnb.dto.reservation.ReservedNights(r.room.id, r.checkIn, r.checkOut) " +
+            "from Reservation r where r.room.id in :roomIds and r.checkOut > :from and r.checkIn < :to")
+    List<ReservedNights> findReservedNights(@Param("roomIds") Collection<Long> roomIds, @Param("from") LocalDate from, @Param("to") LocalDate to);
 
-    @Query("select r from Reservation r join fetch r.payment where r.room.host = :host")
-    List<Reservation> findByHostWithPayment(@Param("host") User host);
+    @Query("select r from Reservation r join fetch r.payment p join fetch r.room where p.id = :paymentId")
+    Optional<Reservation> findByPaymentIdWithRoom(@Param("paymentId") Long paymentId);
 }
@@ -0,0 +1,22 @@
+package com.buildup.kbnb.repository.room;
+
+import com.buildup.kbnb.model.room.RoomBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface RoomBlockRepository extends JpaRepository<RoomBlock, Long> {
+    // from ~ to 사이에 하루라도 걸치는 기간
+    @Query("select b from RoomBlock b where b.roomId in :roomIds and b.endDate > :from and b.startDate < :to")
+    List<RoomBlock> findOverlapping(@Param("roomIds") Collection<Long> roomIds, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // 합칠 대상이라 맞닿은 기간도 포함한다.
+    @Query("select b from RoomBlock b where b.roomId = :roomId and b.endDate >= :from and b.startDate <= :to")
+    List<RoomBlock> findTouching(@Param("roomId") Long roomId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    List<RoomBlock> findByRoomIdAndEndDateAfterOrderByStartDate(Long roomId, LocalDate date);
+}
@@ -0,0 +1,16 @@
+package com.buildup.kbnb.repository.room;
+
+import com.buildup.kbnb.model.room.RoomDailyStats;
+import com.buildup.kbnb.model.room.RoomMonthDays;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RoomDailyStatsRepository extends JpaRepository<RoomDailyStats, Long> {
+    @Query("select new com.buildup.kbnb.model.room.RoomMonthDays(o.roomId, o.monthStart, o.bookedMask, o.nightlyPrices, o.cancellations) " +
+            "from RoomDailyStats o where o.hostId = :hostId and o.monthStart >= :from and o.monthStart <= :to")
+    List<RoomMonthDays> findByHost(@Param("hostId") Long hostId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
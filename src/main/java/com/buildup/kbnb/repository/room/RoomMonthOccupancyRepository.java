@@ -0,0 +1,23 @@
+package com.buildup.kbnb.repository.room;
+
+import com.buildup.kbnb.model.room.RoomMonthOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RoomMonthOccupancyRepository extends JpaRepository<RoomMonthOccupancy, Long> {
+    // 박 수는 JDBC 로 증감하므로 영속성 컨텍스트의 엔티티 대신 값을 바로 조회한다.
+    @Query("select o.bookedNights from RoomMonthOccupancy o where o.roomId = :roomId and o.monthStart = :monthStart")
+    Optional<Integer> findBookedNights(@Param("roomId") Long roomId, @Param("monthStart") LocalDate monthStart);
+
+    @Query("select o.roomId from RoomMonthOccupancy o " +
+            "where o.monthStart = :monthStart and o.roomId in :roomIds and o.bookedNights >= :nights")
+    List<Long> findRoomIdsBookedAtLeast(@Param("roomIds") Collection<Long> roomIds,
+                                        @Param("monthStart") LocalDate monthStart,
+                                        @Param("nights") int nights);
+}
@@ -1,19 +1,31 @@
 package com.buildup.kbnb.repository.room;
 
+import com.buildup.kbnb.dto.host.analytics.HostRoom;
 import com.buildup.kbnb.model.room.Room;
 import com.buildup.kbnb.model.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoomRepository extends JpaRepository<Room, Long>, RoomRepositoryCustom {
 
     @Query("select r from Room r join fetch r.host join fetch r.location where r.id = :roomId")
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     Optional<Room> findByIdWithUserLocation(@Param("roomId") Long roomId);
 
     Page<Room> findByHost(User host, Pageable pageable);
+
+    @Query("select r from Room r join fetch r.location where r.id in :roomIds")
+    List<Room> findAllWithLocationByIdIn(@Param("roomIds") Collection<Long> roomIds);
+
+    @Query("select new com.buildup.kbnb.dto.host.analytics.HostRoom(r.id, r.name) from Room r where r.host.id = :hostId order by r.id")
+    List<HostRoom> findHostRooms(@Param("hostId") Long hostId);
 }
@@ -4,9 +4,14 @@ import com.buildup.kbnb.dto.room.search.RoomSearchCondition;
 import com.buildup.kbnb.model.room.Room;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
 
 public interface RoomRepositoryCustom {
     Page<Room> searchByCondition(RoomSearchCondition condition, Pageable pageable);
 
+    List<Long> searchIdsByCondition(RoomSearchCondition condition, Sort sort, Long afterId, int limit);
+
 
 }
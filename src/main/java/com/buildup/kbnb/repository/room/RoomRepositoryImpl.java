@@ -1,13 +1,16 @@
 package com.buildup.kbnb.repository.room;
 
+import com.buildup.kbnb.advice.exception.BadRequestException;
 import com.buildup.kbnb.dto.room.search.*;
 import com.buildup.kbnb.model.room.Room;
-import com.querydsl.core.types.Order;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Ops;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberPath;
-import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.data.domain.Page;
@@ -16,13 +19,23 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 import static com.buildup.kbnb.model.QLocation.location;
 import static com.buildup.kbnb.model.QReservation.reservation;
 import static com.buildup.kbnb.model.room.QRoom.room;
 
 public class RoomRepositoryImpl implements RoomRepositoryCustom {
+    private static final Map<String, ComparableExpressionBase<?>> SORTABLE = Map.of(
+            "id", room.id,
+            "name", room.name,
+            "roomCost", room.roomCost,
+            "peopleLimit", room.peopleLimit,
+            "bedNum", room.bedNum);
+
     private final JPAQueryFactory queryFactory;
 
     public RoomRepositoryImpl(EntityManager em) {
@@ -31,41 +44,125 @@ public class RoomRepositoryImpl implements RoomRepositoryCustom {
 
     @Override
     public Page<Room> searchByCondition(RoomSearchCondition condition, Pageable pageable) {
-        PathBuilder pathBuilder = new PathBuilder(room.getType(), room.getMetadata());
-        Sort.Order o = Sort.by("id").ascending().getOrderFor("id");
-
         List<Room> content = queryFactory
                 .selectFrom(room).distinct()
                 .join(room.location, location).fetchJoin()
-                .where(roomTypeEq(condition.getRoomType()),
-                        costBetween(condition.getCostSearch()),
-                        latitudeBetween(condition.getLocationSearch()),
-                        longitudeBetween(condition.getLocationSearch()),
-                        guestNumCheck(condition.getGuestSearch()),
-                        bedRoomNumGreaterThan(condition.getBedRoomNum()),
-                        bathRoomNumGreaterThan(condition.getBathRoomNum()),
-                        bedNumGreaterThan(condition.getBedNum()),
-                        dateBetween(condition.getCheckDateSearch(), room.id))
+                .where(roomConditions(condition))
+                .where(costBetween(condition.getCostSearch()))
+                .where(dateBetween(condition.getCheckDateSearch(), room.id))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .orderBy(new OrderSpecifier(o.isAscending() ? Order.ASC : Order.DESC, pathBuilder.get(o.getProperty())))
+                .orderBy(orderBy(pageable.getSort()))
                 .fetch();
 
         long total = queryFactory
                 .selectFrom(room).distinct()
-                .where(roomTypeEq(condition.getRoomType()),
-                        costBetween(condition.getCostSearch()),
-                        latitudeBetween(condition.getLocationSearch()),
-                        longitudeBetween(condition.getLocationSearch()),
-                        guestNumCheck(condition.getGuestSearch()),
-                        bedRoomNumGreaterThan(condition.getBedRoomNum()),
-                        bathRoomNumGreaterThan(condition.getBathRoomNum()),
-                        bedNumGreaterThan(condition.getBedNum()))
+                .where(roomConditions(condition))
+                .where(costBetween(condition.getCostSearch()))
+                .where(dateBetween(condition.getCheckDateSearch(), room.id))
                 .fetchCount();
 
         return new PageImpl<>(content, pageable, total);
     }
 
+    // 날짜, 가격은 숙소별 예약 가능 날짜와 1박 가격 배열로 따로 본다.
+    // afterId 를 주면 정렬 순서에서 그 숙소 다음부터 읽어, OFFSET 처럼 앞의 행을 매번 다시 건너뛰지 않는다.
+    @Override
+    public List<Long> searchIdsByCondition(RoomSearchCondition condition, Sort sort, Long afterId, int limit) {
+        List<Sort.Order> orders = sortOrders(sort);
+        BooleanExpression after = null;
+        if (afterId != null) {
+            Tuple last = queryFactory
+                    .select(orders.stream().map(order -> SORTABLE.get(order.getProperty())).toArray(Expression<?>[]::new))
+                    .from(room)
+                    .where(room.id.eq(afterId))
+                    .fetchOne();
+            // 앞 chunk 를 읽은 뒤 마지막 숙소가 지워졌으면 이어 읽을 위치를 알 수 없으므로 멈춘다.
+            if (last == null)
+                return List.of();
+            after = after(orders, last);
+        }
+
+        return queryFactory
+                .select(room.id)
+                .from(room)
+                .where(roomConditions(condition))
+                .where(after)
+                .orderBy(orders.stream().map(this::toOrderSpecifier).toArray(OrderSpecifier<?>[]::new))
+                .limit(limit)
+                .fetch();
+    }
+
+    private OrderSpecifier<?>[] orderBy(Sort sort) {
+        return sortOrders(sort).stream().map(this::toOrderSpecifier).toArray(OrderSpecifier<?>[]::new);
+    }
+
+    private OrderSpecifier<?> toOrderSpecifier(Sort.Order order) {
+        ComparableExpressionBase<?> path = SORTABLE.get(order.getProperty());
+        return order.isAscending() ? path.asc() : path.desc();
+    }
+
+    // 정해 둔 항목으로만 정렬하고, 값이 같은 숙소끼리도 페이지마다 순서가 같도록 마지막에 id 순을 붙인다.
+    private List<Sort.Order> sortOrders(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.containsKey(order.getProperty()))
+                throw new BadRequestException("정렬할 수 없는 항목입니다. " + new TreeSet<>(SORTABLE.keySet()) + " 로 정렬할 수 있습니다.");
+            orders.add(order);
+            byId |= order.getProperty().equals("id");
+        }
+        if (!byId)
+            orders.add(Sort.Order.asc("id"));
+        return orders;
+    }
+
+    /**
+     * 정렬 항목을 앞에서부터 비교해 last 보다 뒤에 오는 숙소만 남긴다.
+     * NULL 은 MySQL, H2 모두 가장 작은 값으로 정렬되므로 오름차순이면 맨 앞, 내림차순이면 맨 뒤에 온다.
+     */
+    private BooleanExpression after(List<Sort.Order> orders, Tuple last) {
+        BooleanExpression after = null;
+        BooleanExpression sameSoFar = null;
+        for (Sort.Order order : orders) {
+            ComparableExpressionBase<?> path = SORTABLE.get(order.getProperty());
+            Object value = last.get(path);
+            BooleanExpression next = and(sameSoFar, order.isAscending() ? greaterThan(path, value) : lessThan(path, value));
+            if (next != null)
+                after = after == null ? next : after.or(next);
+            sameSoFar = and(sameSoFar, value == null ? path.isNull() : Expressions.booleanOperation(Ops.EQ, path, Expressions.constant(value)));
+        }
+        return after;
+    }
+
+    private BooleanExpression greaterThan(ComparableExpressionBase<?> path, Object value) {
+        return value == null ? path.isNotNull() : Expressions.booleanOperation(Ops.GT, path, Expressions.constant(value));
+    }
+
+    // NULL 보다 작은 값은 없다.
+    private BooleanExpression lessThan(ComparableExpressionBase<?> path, Object value) {
+        return value == null ? null : Expressions.booleanOperation(Ops.LT, path, Expressions.constant(value)).or(path.isNull());
+    }
+
+    private BooleanExpression and(BooleanExpression left, BooleanExpression right) {
+        if (right == null)
+            return null;
+        return left == null ? right : left.and(right);
+    }
+
+    // 날짜와 가격을 뺀 검색 조건. 날짜, 가격 조건은 검색 방식에 따라 SQL 이나 숙소별 예약 가능 날짜, 1박 가격 배열로 따로 본다.
+    private BooleanExpression[] roomConditions(RoomSearchCondition condition) {
+        return new BooleanExpression[]{
+                roomTypeEq(condition.getRoomType()),
+                latitudeBetween(condition.getLocationSearch()),
+                longitudeBetween(condition.getLocationSearch()),
+                guestNumCheck(condition.getGuestSearch()),
+                bedRoomNumGreaterThan(condition.getBedRoomNum()),
+                bathRoomNumGreaterThan(condition.getBathRoomNum()),
+                bedNumGreaterThan(condition.getBedNum())
+        };
+    }
+
     private BooleanExpression bathRoomNumGreaterThan(Integer bathRoomNum) {
         return bathRoomNum == null ? null : room.bathRoomList.size().goe(bathRoomNum);
     }
@@ -0,0 +1,18 @@
+package com.buildup.kbnb.repository.room;
+
+import com.buildup.kbnb.model.room.RoomSeasonPrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface RoomSeasonPriceRepository extends JpaRepository<RoomSeasonPrice, Long> {
+    // from ~ to 사이에 하루라도 걸치는 기간
+    @Query("select s from RoomSeasonPrice s where s.roomId in :roomIds and s.endDate > :from and s.startDate < :to")
+    List<RoomSeasonPrice> findOverlapping(@Param("roomIds") Collection<Long> roomIds, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    List<RoomSeasonPrice> findByRoomIdAndEndDateAfterOrderByStartDate(Long roomId, LocalDate date);
+}
@@ -1,11 +1,14 @@
 package com.buildup.kbnb.security;
 
 import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
+import io.micrometer.core.instrument.Tags;
 import io.jsonwebtoken.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Date;
 
 @Service
@@ -14,9 +17,11 @@ public class TokenProvider {
     private static final Logger logger = LoggerFactory.getLogger(TokenProvider.class);
 
     private AppProperties appProperties;
+    private BusinessMetrics businessMetrics;
 
-    public TokenProvider(AppProperties appProperties) {
+    public TokenProvider(AppProperties appProperties, BusinessMetrics businessMetrics) {
         this.appProperties = appProperties;
+        this.businessMetrics = businessMetrics;
     }
 
     public String createToken(String userPk) {
@@ -41,19 +46,29 @@ public class TokenProvider {
     }
 
     public boolean validateToken(String authToken) {
+        long start = System.nanoTime();
+        String result = "error";
         try {
             Jwts.parser().setSigningKey(appProperties.getAuth().getTokenSecret()).parseClaimsJws(authToken);
+            result = "valid";
             return true;
         } catch (SignatureException ex) {
+            result = "invalid_signature";
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
+            result = "malformed";
             logger.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
+            result = "expired";
             logger.error("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
+            result = "unsupported";
             logger.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
+            result = "empty";
             logger.error("JWT claims string is empty.");
+        } finally {
+            businessMetrics.record(BusinessMetrics.JWT_VALIDATION, Tags.of("result", result), Duration.ofNanos(System.nanoTime() - start));
         }
         return false;
     }
@@ -1,7 +1,6 @@
 package com.buildup.kbnb.service;
 
 import com.buildup.kbnb.dto.comment.CommentCreateReq;
-import com.buildup.kbnb.dto.comment.GradeInfo;
 import com.buildup.kbnb.model.Comment;
 import com.buildup.kbnb.model.Reservation;
 import com.buildup.kbnb.model.room.Room;
@@ -14,21 +13,24 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Transactional
 public class CommentService {
     private final CommentRepository commentRepository;
-    private final RoomService roomService;
+    private final RoomRatingService roomRatingService;
     private final ReservationService reservationService;
 
     public Comment save(Comment comment) {
         return commentRepository.save(comment);
     }
 
+    @Transactional(readOnly = true)
     public Page<Comment> getListByRoomIdWithUser(Room room, Pageable pageable) {
         Pageable newPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("date").descending());
 
@@ -53,34 +55,16 @@ public class CommentService {
         return comment;
     }
 
-    public GradeInfo calcGradeInfo(Room room, Integer commentCount, CommentCreateReq req) {
-        Double cleanliness = (room.getCleanliness() * commentCount + req.getCleanliness()) / (commentCount + 1);
-        Double accuracy = (room.getAccuracy() * commentCount + req.getAccuracy()) / (commentCount + 1);
-        Double communication = (room.getCommunication() * commentCount + req.getCommunication()) / (commentCount + 1);
-        Double locationRate = (room.getLocationRate() * commentCount + req.getLocationRate()) / (commentCount + 1);
-        Double checkIn = (room.getCheckIn() * commentCount + req.getCheckIn()) / (commentCount + 1);
-        Double priceSatisfaction = (room.getPriceSatisfaction() * commentCount + req.getPriceSatisfaction()) / (commentCount + 1);
-        Double totalGrade = (cleanliness + accuracy + communication + locationRate + checkIn + priceSatisfaction) / 6;
-
-        return GradeInfo.builder()
-                .cleanliness(cleanliness)
-                .accuracy(accuracy)
-                .communication(communication)
-                .locationRate(locationRate)
-                .checkIn(checkIn)
-                .priceSatisfaction(priceSatisfaction)
-                .totalGrade(totalGrade)
-                .build();
-    }
-
-    public Comment createCommentTx(CommentCreateReq req, Reservation reservation, Room room, GradeInfo gradeInfo) {
-        Room savedRoom = roomService.updateRoomGrade(room, gradeInfo);
-        Comment comment = saveComment(req, reservation.getUser(), savedRoom);
+    public Comment createCommentTx(CommentCreateReq req, Reservation reservation) {
+        Room room = reservation.getRoom();
+        Comment comment = saveComment(req, reservation.getUser(), room);
+        roomRatingService.addRating(room.getId(), comment);
         reservationService.updateWithComment(reservation, comment);
 
         return comment;
     }
 
+    @Transactional(readOnly = true)
     public List<Comment> findAllByRoomId(Long roomId) {
         return commentRepository.findAllByRoomId(roomId);
     }
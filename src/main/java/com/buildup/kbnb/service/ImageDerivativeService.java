@@ -0,0 +1,150 @@
+package com.buildup.kbnb.service;
+
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.repository.RoomImgRepository;
+import com.buildup.kbnb.util.S3Uploader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ImageDerivativeService {
+    private final S3Uploader s3Uploader;
+    private final RoomImgRepository roomImgRepository;
+    private final ThreadPoolTaskExecutor imageExecutor;
+
+    public enum ImageSize {
+        CARD(480), DETAIL(1024), FULL(1920);
+
+        private final int width;
+
+        ImageSize(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+    }
+
+    public ImageDerivativeService(S3Uploader s3Uploader, RoomImgRepository roomImgRepository, AppProperties appProperties) {
+        this.s3Uploader = s3Uploader;
+        this.roomImgRepository = roomImgRepository;
+        this.imageExecutor = createImageExecutor(appProperties.getImage());
+    }
+
+    private ThreadPoolTaskExecutor createImageExecutor(AppProperties.Image image) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(image.getWorkerPoolSize());
+        executor.setMaxPoolSize(image.getWorkerPoolSize());
+        executor.setQueueCapacity(image.getQueueCapacity());
+        executor.setThreadNamePrefix("image-derivative-");
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        imageExecutor.shutdown();
+    }
+
+    /**
+     * 원본을 메모리에 들고 대기하지 않도록 작업이 실행될 때 S3 에서 다시 읽는다.
+     */
+    public void scheduleRoomImgFromS3(Long roomImgId, String fileName) {
+        afterCommit(roomImgId, () -> {
+            try {
+                generateRoomImgDerivatives(roomImgId, s3Uploader.download(fileName));
+            } catch (Exception e) {
+                log.warn("원본 이미지 다운로드 실패. roomImgId = {}", roomImgId, e);
+            }
+        });
+    }
+
+    private void afterCommit(Long roomImgId, Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(roomImgId, task);
+                }
+            });
+        } else {
+            submit(roomImgId, task);
+        }
+    }
+
+    private void submit(Long roomImgId, Runnable task) {
+        try {
+            imageExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            // 원본 URL 로 대체 제공되므로 작업 큐가 가득 찬 경우 변환을 건너뛴다.
+            log.warn("이미지 변환 작업 큐가 가득 찼습니다. roomImgId = {}", roomImgId);
+        }
+    }
+
+    void generateRoomImgDerivatives(Long roomImgId, byte[] original) {
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(original));
+            if (source == null) {
+                log.warn("이미지를 읽을 수 없습니다. roomImgId = {}", roomImgId);
+                return;
+            }
+
+            Map<ImageSize, String> urls = new EnumMap<>(ImageSize.class);
+            for (ImageSize size : ImageSize.values()) {
+                if (source.getWidth() <= size.getWidth()) {
+                    continue;
+                }
+                String format = source.getColorModel().hasAlpha() ? "png" : "jpg";
+                byte[] resized = encode(resize(source, size.getWidth(), format), format);
+                urls.put(size, s3Uploader.uploadBytes(resized, "roomImg/derived", "image/" + (format.equals("jpg") ? "jpeg" : format)));
+            }
+            List<String> previousUrls = roomImgRepository.findById(roomImgId).map(RoomImg::getDerivativeUrls).orElse(List.of());
+            if (roomImgRepository.updateDerivativeUrls(roomImgId, urls.get(ImageSize.CARD), urls.get(ImageSize.DETAIL), urls.get(ImageSize.FULL)) == 0) {
+                // 변환 중에 사진이 지워졌으면 방금 올린 사본의 참조를 되돌린다.
+                urls.values().forEach(s3Uploader::deleteFileFromS3);
+                return;
+            }
+            // 다시 변환한 경우 이전 사본의 참조를 해제한다.
+            previousUrls.forEach(s3Uploader::deleteFileFromS3);
+        } catch (Exception e) {
+            log.warn("이미지 변환 실패. roomImgId = {}", roomImgId, e);
+        }
+    }
+
+    BufferedImage resize(BufferedImage source, int width, String format) {
+        int height = (int) Math.round((double) source.getHeight() * width / source.getWidth());
+        int type = format.equals("png") ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage resized = new BufferedImage(width, Math.max(height, 1), type);
+
+        Graphics2D graphics = resized.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(source, 0, 0, width, resized.getHeight(), null);
+        graphics.dispose();
+        return resized;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
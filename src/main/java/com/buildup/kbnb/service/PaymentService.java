@@ -21,11 +21,12 @@ public class PaymentService {
         paymentRepository.deleteById(id);
     }
 
-    public void makeConfirmStateTrue(Long paymentId) {
-        Payment payment = findPayment(paymentId);
-        payment.setIsConfirm(true);
-
-        paymentRepository.save(payment);
+    // 승인되지 않은 결제만 바꾸는 UPDATE 라 같은 메시지가 동시에 처리되어도 한 번만 true. 이미 승인된 결제면 false
+    public boolean makeConfirmStateTrue(Long paymentId) {
+        if (paymentRepository.confirm(paymentId) == 1)
+            return true;
+        findPayment(paymentId);
+        return false;
     }
 
     public Payment findPayment(Long paymentId) {
@@ -0,0 +1,133 @@
+package com.buildup.kbnb.service;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.advice.exception.TypeMissMatchException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.host.PhotoUploadResult;
+import com.buildup.kbnb.dto.upload.PresignRequest;
+import com.buildup.kbnb.dto.upload.PresignResponse;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.repository.RoomImgRepository;
+import com.buildup.kbnb.util.S3Uploader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class PresignedUploadService {
+    private final S3Uploader s3Uploader;
+    private final RoomImgRepository roomImgRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final AppProperties appProperties;
+
+    public PresignResponse presignRoomPhoto(User host, Room room, PresignRequest presignRequest) {
+        checkHost(host, room);
+        return presign(roomPhotoPrefix(room) + UUID.randomUUID(), presignRequest);
+    }
+
+    public PresignResponse presignUserPhoto(User user, PresignRequest presignRequest) {
+        return presign(userPhotoPrefix(user) + UUID.randomUUID(), presignRequest);
+    }
+
+    private PresignResponse presign(String fileName, PresignRequest presignRequest) {
+        if (!isImage(presignRequest.getContentType()))
+            throw new TypeMissMatchException("이미지 파일이 아닙니다.");
+        if (presignRequest.getContentLength() > appProperties.getUpload().getMaxFileSize())
+            throw new BadRequestException("파일 크기가 허용 범위를 초과했습니다.");
+
+        Date expiration = new Date(System.currentTimeMillis() + appProperties.getUpload().getPresignExpirationSec() * 1000);
+        URL uploadUrl = s3Uploader.generatePresignedPutUrl(fileName, presignRequest.getContentType(), presignRequest.getContentLength(), expiration);
+
+        return PresignResponse.builder()
+                .key(fileName)
+                .uploadUrl(uploadUrl.toString())
+                .contentType(presignRequest.getContentType())
+                .contentLength(presignRequest.getContentLength())
+                .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                .build();
+    }
+
+    public List<PhotoUploadResult> finalizeRoomPhotos(User host, Room room, List<String> keys) {
+        checkHost(host, room);
+
+        List<PhotoUploadResult> results = new ArrayList<>();
+        List<RoomImg> roomImgList = new ArrayList<>();
+        List<String> publishedKeys = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            PhotoUploadResult.PhotoUploadResultBuilder result = PhotoUploadResult.builder().order(i).fileName(key);
+            try {
+                String url = verifyAndPublish(key, roomPhotoPrefix(room));
+                roomImgList.add(RoomImg.builder().room(room).url(url).build());
+                publishedKeys.add(key);
+                results.add(result.url(url).success(true).build());
+            } catch (RuntimeException e) {
+                results.add(result.success(false).message(e.getMessage()).build());
+            }
+        }
+        roomImgRepository.saveAll(roomImgList);
+
+        for (int i = 0; i < roomImgList.size(); i++) {
+            imageDerivativeService.scheduleRoomImgFromS3(roomImgList.get(i).getId(), publishedKeys.get(i));
+        }
+        return results;
+    }
+
+    public String finalizeUserPhoto(User user, String key) {
+        return verifyAndPublish(key, userPhotoPrefix(user));
+    }
+
+    private String verifyAndPublish(String fileName, String prefix) {
+        if (!fileName.startsWith(prefix) || fileName.contains(".."))
+            throw new BadRequestException("업로드 권한이 없는 경로입니다.");
+        // 같은 키를 다시 등록하면 사진 행과 참조가 중복으로 생긴다.
+        if (s3Uploader.isPublished(fileName))
+            throw new BadRequestException("이미 등록된 파일입니다.");
+
+        ObjectMetadata metadata = s3Uploader.getObjectMetadata(fileName)
+                .orElseThrow(() -> new BadRequestException("업로드된 파일이 없습니다."));
+        if (!isImage(metadata.getContentType())) {
+            s3Uploader.deleteObject(fileName);
+            throw new TypeMissMatchException("이미지 파일이 아닙니다.");
+        }
+        if (metadata.getContentLength() > appProperties.getUpload().getMaxFileSize()) {
+            s3Uploader.deleteObject(fileName);
+            throw new BadRequestException("파일 크기가 허용 범위를 초과했습니다.");
+        }
+        try {
+            return s3Uploader.publish(fileName);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 키가 동시에 등록된 경우
+            throw new BadRequestException("이미 등록된 파일입니다.");
+        }
+    }
+
+    private void checkHost(User host, Room room) {
+        if (room.getHost() == null || !room.getHost().getId().equals(host.getId()))
+            throw new BadRequestException("해당 방의 호스트가 아닙니다.");
+    }
+
+    private String roomPhotoPrefix(Room room) {
+        return "roomImg/" + room.getId() + "/";
+    }
+
+    private String userPhotoPrefix(User user) {
+        return "userImg/" + user.getId() + "/";
+    }
+
+    private boolean isImage(String contentType) {
+        return contentType != null && contentType.startsWith("image/");
+    }
+}
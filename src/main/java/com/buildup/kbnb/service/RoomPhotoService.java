@@ -0,0 +1,136 @@
+package com.buildup.kbnb.service;
+
+import com.buildup.kbnb.advice.exception.TypeMissMatchException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.host.PhotoUploadResult;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.repository.RoomImgRepository;
+import com.buildup.kbnb.util.S3Uploader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Service
+public class RoomPhotoService {
+    private final S3Uploader s3Uploader;
+    private final RoomImgRepository roomImgRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ThreadPoolTaskExecutor uploadExecutor;
+
+    public RoomPhotoService(S3Uploader s3Uploader, RoomImgRepository roomImgRepository,
+                            ImageDerivativeService imageDerivativeService, AppProperties appProperties) {
+        this.s3Uploader = s3Uploader;
+        this.roomImgRepository = roomImgRepository;
+        this.imageDerivativeService = imageDerivativeService;
+        this.uploadExecutor = createUploadExecutor(appProperties.getUpload());
+    }
+
+    private ThreadPoolTaskExecutor createUploadExecutor(AppProperties.Upload upload) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(upload.getThreadPoolSize());
+        executor.setMaxPoolSize(upload.getThreadPoolSize());
+        executor.setQueueCapacity(upload.getQueueCapacity());
+        executor.setThreadNamePrefix("photo-upload-");
+        // 큐가 가득 차면 요청 스레드가 직접 업로드하여 적재량을 제한한다.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    public void validateContentTypes(List<MultipartFile> files) {
+        int photoNum = 0;
+        for (MultipartFile file : files) {
+            photoNum++;
+            if (!(file == null || isImage(file.getContentType())))
+                throw new TypeMissMatchException(photoNum + " 번째 사진이 이미지 파일이 아닙니다.");
+        }
+    }
+
+    private boolean isImage(String contentType) {
+        return contentType != null && contentType.contains("image");
+    }
+
+    public List<PhotoUploadResult> uploadRoomPhotos(Room room, List<MultipartFile> files) {
+        validateContentTypes(files);
+
+        List<CompletableFuture<PhotoUploadResult>> futures = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            int order = i;
+            MultipartFile file = files.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> upload(order, file), uploadExecutor));
+        }
+
+        List<PhotoUploadResult> results = new ArrayList<>();
+        List<RoomImg> roomImgList = new ArrayList<>();
+        for (CompletableFuture<PhotoUploadResult> future : futures) {
+            PhotoUploadResult result = future.join();
+            results.add(result);
+            if (result.isSuccess()) {
+                roomImgList.add(RoomImg.builder().room(room).url(result.getUrl()).build());
+            }
+        }
+        roomImgRepository.saveAll(roomImgList);
+        // 새 사진이 하나도 올라가지 않았으면 기존 사진을 그대로 둔다.
+        if (!roomImgList.isEmpty()) {
+            replaceRoomImgList(room, roomImgList);
+        }
+
+        for (RoomImg roomImg : roomImgList) {
+            s3Uploader.toObjectKey(roomImg.getUrl())
+                    .ifPresent(key -> imageDerivativeService.scheduleRoomImgFromS3(roomImg.getId(), key));
+        }
+        return results;
+    }
+
+    private void replaceRoomImgList(Room room, List<RoomImg> roomImgList) {
+        List<RoomImg> replacedImgList = room.getRoomImgList() == null ? List.of() : new ArrayList<>(room.getRoomImgList());
+        roomImgRepository.deleteAll(replacedImgList);
+        room.setRoomImgList(roomImgList);
+
+        // 행 삭제가 롤백되면 사진이 남아있으므로 커밋된 뒤에만 원본과 사본의 참조를 해제한다.
+        Runnable release = () -> replacedImgList.forEach(s3Uploader::deleteRoomImgFiles);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
+    }
+
+    private PhotoUploadResult upload(int order, MultipartFile file) {
+        PhotoUploadResult.PhotoUploadResultBuilder result = PhotoUploadResult.builder()
+                .order(order)
+                .fileName(file == null ? null : file.getOriginalFilename());
+        if (file == null) {
+            return result.success(false).message("빈 파일입니다.").build();
+        }
+
+        try {
+            String url = s3Uploader.upload(file, "roomImg");
+            return result.url(url).success(true).build();
+        } catch (Exception e) {
+            log.warn("사진 업로드 실패 : {}", file.getOriginalFilename(), e);
+            return result.success(false).message(e.getMessage()).build();
+        }
+    }
+}
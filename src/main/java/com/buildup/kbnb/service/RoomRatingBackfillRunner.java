@@ -0,0 +1,22 @@
+package com.buildup.kbnb.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동할 때 평점 합, 댓글 수가 비어 있는 숙소를 댓글로 채운다. 기본으로 켜져 있고 --app.rollup.backfill-on-startup=false 로 끈다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.rollup", name = "backfill-on-startup", havingValue = "true", matchIfMissing = true)
+public class RoomRatingBackfillRunner implements ApplicationRunner {
+    private final RoomRatingService roomRatingService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        roomRatingService.backfill();
+    }
+}
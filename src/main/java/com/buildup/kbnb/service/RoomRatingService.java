@@ -0,0 +1,109 @@
+package com.buildup.kbnb.service;
+
+import com.buildup.kbnb.model.Comment;
+import com.buildup.kbnb.model.room.Room;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 숙소 평점은 항목별 점수 합과 댓글 수로 room 에 저장하고 평균은 읽을 때 구한다.
+ * 댓글이 등록되면 UPDATE 한 번으로 합과 수를 더하므로 동시에 달린 댓글끼리 값을 덮어쓰지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomRatingService {
+    private static final String ADD_RATING = "update room set "
+            + "cleanliness_sum = coalesce(cleanliness_sum, 0) + ?, accuracy_sum = coalesce(accuracy_sum, 0) + ?, "
+            + "communication_sum = coalesce(communication_sum, 0) + ?, location_rate_sum = coalesce(location_rate_sum, 0) + ?, "
+            + "check_in_sum = coalesce(check_in_sum, 0) + ?, price_satisfaction_sum = coalesce(price_satisfaction_sum, 0) + ?, "
+            + "comment_count = coalesce(comment_count, 0) + 1 where id = ?";
+    private static final String REBUILD_CHUNK = "update room r set "
+            + "cleanliness_sum = coalesce((select sum(c.cleanliness) from comment c where c.room_id = r.id), 0), "
+            + "accuracy_sum = coalesce((select sum(c.accuracy) from comment c where c.room_id = r.id), 0), "
+            + "communication_sum = coalesce((select sum(c.communication) from comment c where c.room_id = r.id), 0), "
+            + "location_rate_sum = coalesce((select sum(c.location_rate) from comment c where c.room_id = r.id), 0), "
+            + "check_in_sum = coalesce((select sum(c.check_in) from comment c where c.room_id = r.id), 0), "
+            + "price_satisfaction_sum = coalesce((select sum(c.price_satisfaction) from comment c where c.room_id = r.id), 0), "
+            + "comment_count = (select count(*) from comment c where c.room_id = r.id) "
+            + "where r.id >= ? and r.id < ?";
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    private static final int REBUILD_THREADS = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * JPA 를 거치지 않은 UPDATE 라 2차 캐시에 남은 숙소는 커밋 뒤에 지운다. 커밋 전에 지우면 그 사이 다른 요청이 이전 값을 다시 올릴 수 있다.
+     */
+    @Transactional
+    public void addRating(Long roomId, Comment comment) {
+        jdbcTemplate.update(ADD_RATING, comment.getCleanliness(), comment.getAccuracy(), comment.getCommunication(),
+                comment.getLocationRate(), comment.getCheckIn(), comment.getPriceSatisfaction(), roomId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Room.class, roomId);
+            }
+        });
+    }
+
+    /**
+     * comment 테이블로 모든 숙소의 평점 합과 댓글 수를 다시 계산한다.
+     * 숙소 id 를 REBUILD_CHUNK_SIZE 개 구간으로 나눠 구간마다 UPDATE 한 번씩 여러 스레드에서 실행하므로 한 구간의 잠금만 짧게 잡는다.
+     */
+    public long rebuild() {
+        long rows = update(REBUILD_CHUNK, jdbcTemplate.queryForMap("select min(id) as min_id, max(id) as max_id from room"));
+        log.info("숙소 평점 집계 재계산 완료. rows = {}", rows);
+        return rows;
+    }
+
+    /**
+     * 합, 댓글 수 컬럼이 생기기 전부터 있던 숙소처럼 comment_count 가 비어 있는 숙소만 rebuild 와 같이 채운다.
+     * 비어 있는 숙소가 없으면 조회 한 번으로 끝나므로 기동할 때마다 실행한다. (RoomRatingBackfillRunner)
+     */
+    public long backfill() {
+        long rows = update(REBUILD_CHUNK + " and r.comment_count is null",
+                jdbcTemplate.queryForMap("select min(id) as min_id, max(id) as max_id from room where comment_count is null"));
+        if (rows > 0)
+            log.info("비어 있던 숙소 평점 집계 채움. rows = {}", rows);
+        return rows;
+    }
+
+    private long update(String chunkSql, Map<String, Object> range) {
+        if (range.get("min_id") == null)
+            return 0;
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+
+        ExecutorService executor = Executors.newFixedThreadPool(REBUILD_THREADS);
+        try {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += REBUILD_CHUNK_SIZE) {
+                long chunkFrom = from;
+                futures.add(CompletableFuture.supplyAsync(() -> jdbcTemplate.update(chunkSql, chunkFrom, chunkFrom + REBUILD_CHUNK_SIZE), executor));
+            }
+            long rows = 0;
+            for (CompletableFuture<Integer> future : futures) {
+                rows += future.join();
+            }
+            entityManagerFactory.getCache().evict(Room.class);
+            return rows;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -3,10 +3,11 @@ package com.buildup.kbnb.service;
 import com.buildup.kbnb.advice.exception.ReservationException;
 import com.buildup.kbnb.advice.exception.ResourceNotFoundException;
 import com.buildup.kbnb.controller.RoomController;
-import com.buildup.kbnb.dto.comment.GradeInfo;
 import com.buildup.kbnb.dto.room.BathRoomDto;
 import com.buildup.kbnb.dto.room.BedRoomDto;
 import com.buildup.kbnb.dto.room.CreateRoomRequestDto;
+import com.buildup.kbnb.dto.room.search.CheckDateSearch;
+import com.buildup.kbnb.dto.room.search.FlexibleSearchResult;
 import com.buildup.kbnb.dto.room.search.RoomSearchCondition;
 import com.buildup.kbnb.model.Location;
 import com.buildup.kbnb.model.room.BathRoom;
@@ -14,33 +15,155 @@ import com.buildup.kbnb.model.room.BedRoom;
 import com.buildup.kbnb.model.room.Room;
 import com.buildup.kbnb.model.room.RoomImg;
 import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
 import com.buildup.kbnb.repository.*;
 import com.buildup.kbnb.repository.room.RoomRepository;
 import com.buildup.kbnb.security.UserPrincipal;
+import com.buildup.kbnb.service.room.RoomAvailabilityService;
+import com.buildup.kbnb.util.S3Uploader;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class RoomService {
+    public static final List<String> DUMMY_ROOM_IMG_URLS = List.of(
+            "https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/12021-02-16T11%3A57%3A19.837231.png",
+            "https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A42%3A22.996987.png",
+            "https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A42%3A39.958180.png",
+            "https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A43%3A02.103762.png",
+            "https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A43%3A54.958201.png",
+            "https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A43%3A33.018302.png");
+
+    // 날짜 검색에서 예약 가능 날짜를 보는 최대 후보 숙소 수와 한 번에 읽는 수
+    public static final int FLEXIBLE_SEARCH_MAX_ROOMS = 5000;
+    public static final int FLEXIBLE_SEARCH_CHUNK_SIZE = 1000;
+
     private final RoomRepository roomRepository;
     private final LocationRepository locationRepository;
     private final BedRoomRepository bedRoomRepository;
     private final BathRoomRepository bathRoomRepository;
     private final UserRepository userRepository;
-    private final RoomImgRepository roomImgRepository;;
+    private final RoomImgRepository roomImgRepository;
+    private final S3Uploader s3Uploader;
+    private final BusinessMetrics businessMetrics;
+    private final RoomAvailabilityService roomAvailabilityService;
+
+    /**
+     * 날짜를 정해 검색하면 호스트가 막은 기간과 최소, 최대 박 수도 함께 보도록 예약 가능 날짜 bitmap 으로 거른다.
+     */
+    @Transactional(readOnly = true)
+    public Page<Room> searchListByCondition(RoomSearchCondition roomSearchCondition, Pageable pageable) {
+        return businessMetrics.time(BusinessMetrics.ROOM_SEARCH, Tags.of("filters", usedFilters(roomSearchCondition)),
+                () -> isDateSearch(roomSearchCondition)
+                        ? searchByAvailability(roomSearchCondition, pageable, 0).getRooms()
+                        : roomRepository.searchByCondition(roomSearchCondition, pageable));
+    }
 
+    /**
+     * 체크 인을 앞뒤로 flexibleDays 만큼 옮겨 묵을 수 있는 숙소를 찾는다.
+     */
+    @Transactional(readOnly = true)
+    public FlexibleSearchResult searchFlexibleByCondition(RoomSearchCondition roomSearchCondition, Pageable pageable) {
+        return businessMetrics.time(BusinessMetrics.ROOM_SEARCH, Tags.of("filters", usedFilters(roomSearchCondition)),
+                () -> searchByAvailability(roomSearchCondition, pageable, roomSearchCondition.getCheckDateSearch().getFlexibleDays()));
+    }
 
-    public Page<Room> searchListByCondition(RoomSearchCondition roomSearchCondition, Pageable pageable) {
-        return roomRepository.searchByCondition(roomSearchCondition, pageable);
+    /**
+     * 날짜와 가격을 뺀 조건으로 숙소 id 를 고른 뒤 숙소별 예약 가능 날짜 bitmap 과 1박 가격 배열로 묵을 수 있는 숙소만 남긴다.
+     * 날짜마다 예약 서브쿼리를 다시 돌리지 않고, 페이지에 들어가는 숙소만 엔티티로 읽는다.
+     * 후보 id 를 pageable 의 정렬 순서로 FLEXIBLE_SEARCH_CHUNK_SIZE 개씩 이어 읽어 페이지에 들어가는 숙소만 남긴다.
+     * 위치 등 조건이 넓어도 캐시와 DB 부하가 요청마다 커지지 않도록 정렬 순으로 앞의 FLEXIBLE_SEARCH_MAX_ROOMS 개만 보고,
+     * 전체 수도 그 안에서 묵을 수 있는 숙소 수로 돌려준다.
+     */
+    private FlexibleSearchResult searchByAvailability(RoomSearchCondition roomSearchCondition, Pageable pageable, int flexibleDays) {
+        CheckDateSearch checkDateSearch = roomSearchCondition.getCheckDateSearch();
+        long pageStart = pageable.getOffset();
+        long pageEnd = pageStart + pageable.getPageSize();
+        Map<Long, Integer> pageShifts = new LinkedHashMap<>();
+        long matched = 0;
+        List<Long> candidateIds;
+        Long afterId = null;
+        int scanned = 0;
+        // 후보가 없어도 날짜 검사는 하도록 첫 chunk 는 항상 넘긴다.
+        do {
+            candidateIds = roomRepository.searchIdsByCondition(roomSearchCondition, pageable.getSort(), afterId, FLEXIBLE_SEARCH_CHUNK_SIZE);
+            Map<Long, Integer> checkInShifts = roomAvailabilityService.findCheckInShifts(candidateIds,
+                    checkDateSearch.getStartDate(), checkDateSearch.getEndDate(), flexibleDays, roomSearchCondition.getCostSearch());
+            for (Map.Entry<Long, Integer> checkInShift : checkInShifts.entrySet()) {
+                if (matched >= pageStart && matched < pageEnd)
+                    pageShifts.put(checkInShift.getKey(), checkInShift.getValue());
+                matched++;
+            }
+            scanned += candidateIds.size();
+            if (!candidateIds.isEmpty())
+                afterId = candidateIds.get(candidateIds.size() - 1);
+        } while (candidateIds.size() == FLEXIBLE_SEARCH_CHUNK_SIZE && scanned < FLEXIBLE_SEARCH_MAX_ROOMS);
+
+        Map<Long, Room> roomById = new HashMap<>();
+        if (!pageShifts.isEmpty()) {
+            for (Room room : roomRepository.findAllWithLocationByIdIn(new ArrayList<>(pageShifts.keySet()))) {
+                roomById.put(room.getId(), room);
+            }
+        }
+
+        List<Room> content = new ArrayList<>();
+        Map<Long, Integer> contentShifts = new HashMap<>();
+        for (Map.Entry<Long, Integer> pageShift : pageShifts.entrySet()) {
+            Room room = roomById.get(pageShift.getKey());
+            if (room != null) {
+                content.add(room);
+                contentShifts.put(pageShift.getKey(), pageShift.getValue());
+            }
+        }
+        return new FlexibleSearchResult(new PageImpl<>(content, pageable, matched), contentShifts);
+    }
+
+    static boolean isDateSearch(RoomSearchCondition condition) {
+        CheckDateSearch checkDateSearch = condition.getCheckDateSearch();
+        return checkDateSearch != null && checkDateSearch.getStartDate() != null && checkDateSearch.getEndDate() != null;
+    }
+
+    public static boolean isFlexibleDateSearch(RoomSearchCondition condition) {
+        CheckDateSearch checkDateSearch = condition.getCheckDateSearch();
+        return checkDateSearch != null && checkDateSearch.getFlexibleDays() != null && checkDateSearch.getFlexibleDays() > 0;
+    }
+
+    // 태그 값의 종류가 조건 조합 수로 제한되도록 값이 아니라 사용한 필터 이름만 남긴다.
+    static String usedFilters(RoomSearchCondition condition) {
+        List<String> filters = new ArrayList<>();
+        if (condition.getLocationSearch() != null)
+            filters.add("location");
+        if (isFlexibleDateSearch(condition))
+            filters.add("flexibleDate");
+        else if (condition.getCheckDateSearch() != null)
+            filters.add("checkDate");
+        if (condition.getGuestSearch() != null)
+            filters.add("guest");
+        if (condition.getCostSearch() != null)
+            filters.add("cost");
+        if (condition.getRoomType() != null)
+            filters.add("roomType");
+        if (condition.getBedNum() != null)
+            filters.add("bedNum");
+        if (condition.getBedRoomNum() != null)
+            filters.add("bedRoomNum");
+        if (condition.getBathRoomNum() != null)
+            filters.add("bathRoomNum");
+        return filters.isEmpty() ? "none" : String.join("+", filters);
     }
 
     public int getBedNum(List<BedRoom> bedRoomList) {
@@ -51,6 +174,7 @@ public class RoomService {
         return bedNum;
     }
 
+    @Transactional(readOnly = true)
     public Room getRoomDetailById(Long roomId) {
         return roomRepository.findByIdWithUserLocation(roomId).orElseThrow(() -> new ResourceNotFoundException("room", "id", roomId));
     }
@@ -63,23 +187,11 @@ public class RoomService {
         return roomRepository.save(room);
     }
 
+    @Transactional(readOnly = true)
     public Page<Room> findByHost(User host, Pageable pageable) {
         return roomRepository.findByHost(host, pageable);
     }
 
-    public Room updateRoomGrade(Room room, GradeInfo gradeInfo) {
-        room.setCleanliness(gradeInfo.getCleanliness());
-        room.setAccuracy(gradeInfo.getAccuracy());
-        room.setCommunication(gradeInfo.getCommunication());
-        room.setLocationRate(gradeInfo.getLocationRate());
-        room.setCheckIn(gradeInfo.getCheckIn());
-        room.setPriceSatisfaction(gradeInfo.getPriceSatisfaction());
-        room.setGrade(gradeInfo.getTotalGrade());
-
-        return roomRepository.save(room);
-    }
-
-
     public Location createLocation_InRoomService(CreateRoomRequestDto createRoomRequestDto) {
         Location location = Location.builder().latitude(createRoomRequestDto.getLatitude()).longitude(createRoomRequestDto.getLongitude()).detailAddress(createRoomRequestDto.getDetailAddress())
                 .neighborhood(createRoomRequestDto.getNeighborhood()).borough(createRoomRequestDto.getBorough()).country(createRoomRequestDto.getCountry()).city(createRoomRequestDto.getCity()).build();
@@ -101,8 +213,17 @@ public class RoomService {
 
     public void createRoomDummyData(RoomController.RoomDummy roomDummy, UserPrincipal userPrincipal) {
         User user = userRepository.findById(userPrincipal.getId()).orElseThrow();
+        saveDummyRooms(roomDummy.getRoomList(), user);
+    }
 
-        for (RoomController.RoomDummyDetail roomDummyDetail : roomDummy.getRoomList()) {
+    public List<Room> saveDummyRooms(List<RoomController.RoomDummyDetail> roomDummyDetailList, User user) {
+        List<Location> locationList = new ArrayList<>();
+        List<Room> roomList = new ArrayList<>();
+        List<RoomImg> roomImgList = new ArrayList<>();
+        List<BathRoom> bathRoomList = new ArrayList<>();
+        List<BedRoom> bedRoomList = new ArrayList<>();
+
+        for (RoomController.RoomDummyDetail roomDummyDetail : roomDummyDetailList) {
             Location location = Location.builder()
                     .country(roomDummyDetail.getCountry())
                     .city(roomDummyDetail.getCity())
@@ -112,7 +233,7 @@ public class RoomService {
                     .latitude(roomDummyDetail.getLatitude())
                     .longitude(roomDummyDetail.getLongitude())
                     .build();
-            locationRepository.save(location);
+            locationList.add(location);
 
             Room room = Room.builder()
                     .name("Busan room" + roomDummyDetail.getRoom_id())
@@ -126,65 +247,46 @@ public class RoomService {
                     .checkOutTime(LocalTime.of(13, 0))
                     .isSmoking(false)
                     .isParking(false)
-                    .grade(0.0)
                     .bedNum(2)
                     .location(location)
                     .host(user)
                     .build();
-            Room savedRoom = roomRepository.save(room);
-
-            RoomImg roomImg1 = RoomImg.builder()
-                    .url("https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/12021-02-16T11%3A57%3A19.837231.png")
-                    .room(savedRoom)
-                    .build();
-            roomImgRepository.save(roomImg1);
+            roomList.add(room);
 
-            RoomImg roomImg2 = RoomImg.builder()
-                    .url("https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A42%3A22.996987.png")
-                    .room(savedRoom)
-                    .build();
-            roomImgRepository.save(roomImg2);
-
-            RoomImg roomImg3 = RoomImg.builder()
-                    .url("https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A42%3A39.958180.png")
-                    .room(savedRoom)
-                    .build();
-            roomImgRepository.save(roomImg3);
+            for (String url : DUMMY_ROOM_IMG_URLS) {
+                roomImgList.add(RoomImg.builder()
+                        .url(url)
+                        .room(room)
+                        .build());
+            }
 
-            RoomImg roomImg4 = RoomImg.builder()
-                    .url("https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A43%3A02.103762.png")
-                    .room(savedRoom)
-                    .build();
-            roomImgRepository.save(roomImg4);
-
-            RoomImg roomImg5 = RoomImg.builder()
-                    .url("https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A43%3A54.958201.png")
-                    .room(savedRoom)
-                    .build();
-            roomImgRepository.save(roomImg5);
-
-            RoomImg roomImg6 = RoomImg.builder()
-                    .url("https://pungdong.s3.ap-northeast-2.amazonaws.com/kbnbRoom/582021-02-26T02%3A43%3A33.018302.png")
-                    .room(savedRoom)
-                    .build();
-            roomImgRepository.save(roomImg6);
-
-            BathRoom bathRoom = BathRoom.builder()
+            bathRoomList.add(BathRoom.builder()
                     .isPrivate(true)
-                    .room(savedRoom)
-                    .build();
-            bathRoomRepository.save(bathRoom);
+                    .room(room)
+                    .build());
 
-            BedRoom bedRoom1 = BedRoom.builder()
+            bedRoomList.add(BedRoom.builder()
                     .queenSize(0)
                     .doubleSize(0)
                     .singleSize(2)
                     .superSingleSize(0)
-                    .room(savedRoom)
-                    .build();
-            bedRoomRepository.save(bedRoom1);
+                    .room(room)
+                    .build());
         }
 
+        // 타입별로 모아서 저장해야 JDBC 배치로 묶인다.
+        locationRepository.saveAll(locationList);
+        roomRepository.saveAll(roomList);
+        roomImgRepository.saveAll(roomImgList);
+        bathRoomRepository.saveAll(bathRoomList);
+        bedRoomRepository.saveAll(bedRoomList);
+
+        if (!roomList.isEmpty()) {
+            for (String url : DUMMY_ROOM_IMG_URLS) {
+                s3Uploader.retain(url, roomList.size());
+            }
+        }
+        return roomList;
     }
 
     public List<BathRoom> setBathRoomList(Room room, List<BathRoomDto> bathRoomDtoList) {
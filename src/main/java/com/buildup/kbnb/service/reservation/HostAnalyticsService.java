@@ -0,0 +1,282 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.dto.host.analytics.*;
+import com.buildup.kbnb.model.room.RoomMonthDays;
+import com.buildup.kbnb.repository.room.RoomDailyStatsRepository;
+import com.buildup.kbnb.repository.room.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * 숙소별 일별 예약 여부, 1박 금액, 취소 수를 room_daily_stats 에 월 단위 배열로 유지하고
+ * 호스트 대시보드의 예약률, ADR(박 당 평균 금액), RevPAR(판매 가능한 박 당 수입)을 계산한다.
+ * 조회는 호스트의 집계 행만 읽으므로 reservation 을 훑지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class HostAnalyticsService {
+    public static final int MAX_RANGE_DAYS = 366 * 3;
+
+    private static final String SELECT_FOR_UPDATE = "select room_id, month_start, booked_mask, nightly_prices, cancellations " +
+            "from room_daily_stats where room_id = ? and month_start = ? for update";
+    private static final String UPDATE = "update room_daily_stats set booked_mask = ?, nightly_prices = ?, cancellations = ? where room_id = ? and month_start = ?";
+    private static final String INSERT = "insert into room_daily_stats (host_id, room_id, month_start, booked_mask, nightly_prices, cancellations) values (?, ?, ?, ?, ?, ?)";
+    private static final String REBUILD_UPDATE = "update room_daily_stats set booked_mask = ?, nightly_prices = ? where room_id = ? and month_start = ?";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final RoomDailyStatsRepository roomDailyStatsRepository;
+    private final RoomRepository roomRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 결제 금액은 예약 등록 때 검증되어 있으므로 승인 이벤트는 배열을 바꾸지 않는다.
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event.getType() == ReservationChangedEvent.Type.PAYMENT_CONFIRMED)
+            return;
+        Map<LocalDate, Map<LocalDate, Integer>> nightsByMonth = new LinkedHashMap<>();
+        forEachNight(event.getCheckIn(), event.getCheckOut(), event.getPrice(),
+                (date, price) -> nightsByMonth.computeIfAbsent(date.withDayOfMonth(1), month -> new LinkedHashMap<>()).put(date, price));
+
+        boolean created = event.getType() == ReservationChangedEvent.Type.CREATED;
+        nightsByMonth.forEach((monthStart, nights) -> updateMonth(event.getHostId(), event.getRoomId(), monthStart, days -> nights.forEach((date, price) -> {
+            if (created)
+                days.book(date, price);
+            else
+                days.cancel(date);
+        })));
+    }
+
+    /**
+     * 예약 금액을 박 수로 나눠 날짜마다 넘긴다. 나누어 떨어지지 않는 금액은 앞 날짜에 1씩 더해 합계를 맞춘다.
+     */
+    static void forEachNight(LocalDate checkIn, LocalDate checkOut, Integer price, BiConsumer<LocalDate, Integer> consumer) {
+        long nights = DAYS.between(checkIn, checkOut);
+        int total = price == null ? 0 : price;
+        for (int i = 0; i < nights; i++) {
+            consumer.accept(checkIn.plusDays(i), (int) (total / nights + (i < total % nights ? 1 : 0)));
+        }
+    }
+
+    // 배열은 증감 한 문장으로 바꿀 수 없으므로 행을 잠그고 읽어 고친다.
+    // 행이 없으면 만들고, 동시에 만들다 unique key 에 걸리면 만들어진 행을 잠그고 다시 고친다.
+    private void updateMonth(Long hostId, Long roomId, LocalDate monthStart, Consumer<RoomMonthDays> change) {
+        RoomMonthDays days = selectForUpdate(roomId, monthStart);
+        if (days == null) {
+            days = new RoomMonthDays(roomId, monthStart);
+            change.accept(days);
+            try {
+                jdbcTemplate.update(INSERT, hostId, roomId, Date.valueOf(monthStart), days.getBookedMask(), days.encodeNightlyPrices(), days.encodeCancellations());
+                return;
+            } catch (DuplicateKeyException e) {
+                days = selectForUpdate(roomId, monthStart);
+            }
+        }
+        change.accept(days);
+        jdbcTemplate.update(UPDATE, days.getBookedMask(), days.encodeNightlyPrices(), days.encodeCancellations(), roomId, Date.valueOf(monthStart));
+    }
+
+    private RoomMonthDays selectForUpdate(Long roomId, LocalDate monthStart) {
+        List<RoomMonthDays> rows = jdbcTemplate.query(SELECT_FOR_UPDATE, (rs, rowNum) -> new RoomMonthDays(rs.getLong("room_id"),
+                rs.getDate("month_start").toLocalDate(), rs.getInt("booked_mask"), rs.getBytes("nightly_prices"), rs.getBytes("cancellations")),
+                roomId, Date.valueOf(monthStart));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * from ~ to (포함) 의 숙소별, 기간별 지표. roomId 를 주면 그 숙소만 집계한다.
+     */
+    @Transactional(readOnly = true)
+    public HostAnalyticsResponse getAnalytics(Long hostId, LocalDate from, LocalDate to, AnalyticsInterval interval, Long roomId) {
+        if (from.isAfter(to) || DAYS.between(from, to) >= MAX_RANGE_DAYS)
+            throw new BadRequestException("조회 기간이 잘못되었습니다. 최대 " + MAX_RANGE_DAYS + "일까지 조회할 수 있습니다.");
+
+        List<HostRoom> rooms = roomRepository.findHostRooms(hostId);
+        if (roomId != null) {
+            rooms = rooms.stream().filter(room -> room.getRoomId().equals(roomId)).collect(Collectors.toList());
+            if (rooms.isEmpty())
+                throw new BadRequestException("호스트의 숙소가 아닙니다.");
+        }
+
+        Map<Long, Map<LocalDate, RoomMonthDays>> monthsByRoom = new HashMap<>();
+        for (RoomMonthDays days : roomDailyStatsRepository.findByHost(hostId, from.withDayOfMonth(1), to.withDayOfMonth(1))) {
+            monthsByRoom.computeIfAbsent(days.getRoomId(), id -> new HashMap<>()).put(days.getMonthStart(), days);
+        }
+
+        int dayCount = (int) DAYS.between(from, to) + 1;
+        int[] periodOfDay = new int[dayCount];
+        List<LocalDate> periodStarts = new ArrayList<>();
+        for (int i = 0; i < dayCount; i++) {
+            LocalDate periodStart = periodStart(from.plusDays(i), interval, from);
+            if (periodStarts.isEmpty() || !periodStarts.get(periodStarts.size() - 1).equals(periodStart))
+                periodStarts.add(periodStart);
+            periodOfDay[i] = periodStarts.size() - 1;
+        }
+
+        Counter total = new Counter();
+        Counter[] periods = new Counter[periodStarts.size()];
+        Arrays.setAll(periods, i -> new Counter());
+        List<RoomAnalytics> roomAnalytics = new ArrayList<>();
+        for (HostRoom room : rooms) {
+            Map<LocalDate, RoomMonthDays> months = monthsByRoom.getOrDefault(room.getRoomId(), Collections.emptyMap());
+            Counter roomCounter = new Counter();
+            for (int i = 0; i < dayCount; i++) {
+                LocalDate date = from.plusDays(i);
+                RoomMonthDays days = months.get(date.withDayOfMonth(1));
+                roomCounter.add(days, date);
+                periods[periodOfDay[i]].add(days, date);
+            }
+            total.add(roomCounter);
+            roomAnalytics.add(new RoomAnalytics(room.getRoomId(), room.getRoomName(), roomCounter.toMetrics()));
+        }
+        roomAnalytics.sort(Comparator.comparingLong((RoomAnalytics room) -> room.getMetrics().getRevenue()).reversed());
+
+        List<PeriodAnalytics> series = new ArrayList<>();
+        for (int i = 0; i < periods.length; i++) {
+            series.add(new PeriodAnalytics(periodStarts.get(i), periods[i].toMetrics()));
+        }
+        return HostAnalyticsResponse.builder()
+                .from(from)
+                .to(to)
+                .interval(interval)
+                .total(total.toMetrics())
+                .series(series)
+                .rooms(roomAnalytics)
+                .build();
+    }
+
+    // 주는 월요일부터 세고, 조회 시작일 이전은 자른다.
+    private static LocalDate periodStart(LocalDate date, AnalyticsInterval interval, LocalDate from) {
+        LocalDate start;
+        switch (interval) {
+            case WEEK:
+                start = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                break;
+            case MONTH:
+                start = date.withDayOfMonth(1);
+                break;
+            default:
+                start = date;
+        }
+        return start.isBefore(from) ? from : start;
+    }
+
+    private static class Counter {
+        private long availableNights;
+        private long bookedNights;
+        private long cancelledNights;
+        private long revenue;
+
+        void add(RoomMonthDays days, LocalDate date) {
+            availableNights++;
+            if (days == null)
+                return;
+            if (days.isBooked(date)) {
+                bookedNights++;
+                revenue += days.getNightlyPrice(date);
+            }
+            cancelledNights += days.getCancellations(date);
+        }
+
+        void add(Counter other) {
+            availableNights += other.availableNights;
+            bookedNights += other.bookedNights;
+            cancelledNights += other.cancelledNights;
+            revenue += other.revenue;
+        }
+
+        AnalyticsMetrics toMetrics() {
+            return AnalyticsMetrics.of(availableNights, bookedNights, cancelledNights, revenue);
+        }
+    }
+
+    /**
+     * 예약 테이블로 예약 여부와 1박 금액을 다시 만든다. 취소된 예약은 남아 있지 않으므로 취소 수는 그대로 둔다.
+     * 숙소 순으로 읽어 한 숙소의 배열만 메모리에 둔다.
+     */
+    public long rebuild() {
+        jdbcTemplate.update("update room_daily_stats set booked_mask = 0, nightly_prices = null");
+        Rebuild rebuild = new Rebuild();
+        jdbcTemplate.query("select rm.host_id, v.room_id, v.check_in, v.check_out, coalesce(p.price, v.total_cost) as price " +
+                "from reservation v join room rm on v.room_id = rm.id left join payment p on v.payment_id = p.id " +
+                "where rm.host_id is not null order by v.room_id", rebuild);
+        rebuild.finish();
+        log.info("숙소 일별 예약 집계 재생성 완료. rows = {}", rebuild.rows);
+        return rebuild.rows;
+    }
+
+    private class Rebuild implements RowCallbackHandler {
+        private final Map<LocalDate, RoomMonthDays> roomMonths = new TreeMap<>();
+        private final List<RoomMonthDays> batch = new ArrayList<>();
+        private final Map<Long, Long> hostIds = new HashMap<>();
+        private Long roomId;
+        private long rows;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowRoomId = rs.getLong("room_id");
+            if (roomId == null || roomId != rowRoomId) {
+                flushRoom();
+                roomId = rowRoomId;
+                hostIds.put(roomId, rs.getLong("host_id"));
+            }
+            long price = rs.getLong("price");
+            forEachNight(rs.getDate("check_in").toLocalDate(), rs.getDate("check_out").toLocalDate(), rs.wasNull() ? null : (int) price,
+                    (date, nightlyPrice) -> roomMonths.computeIfAbsent(date.withDayOfMonth(1), month -> new RoomMonthDays(roomId, month))
+                            .book(date, nightlyPrice));
+        }
+
+        private void flushRoom() {
+            batch.addAll(roomMonths.values());
+            rows += roomMonths.size();
+            roomMonths.clear();
+            if (batch.size() >= REBUILD_BATCH_SIZE)
+                flushBatch();
+        }
+
+        // 이미 있는 행은 취소 수를 남기고 고치고, 없는 행만 새로 넣는다.
+        private void flushBatch() {
+            int[] updated = jdbcTemplate.batchUpdate(REBUILD_UPDATE, batch.stream()
+                    .map(days -> new Object[]{days.getBookedMask(), days.encodeNightlyPrices(), days.getRoomId(), Date.valueOf(days.getMonthStart())})
+                    .collect(Collectors.toList()));
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                RoomMonthDays days = batch.get(i);
+                if (updated[i] == 0)
+                    inserts.add(new Object[]{hostIds.get(days.getRoomId()), days.getRoomId(), Date.valueOf(days.getMonthStart()),
+                            days.getBookedMask(), days.encodeNightlyPrices(), days.encodeCancellations()});
+            }
+            if (!inserts.isEmpty())
+                jdbcTemplate.batchUpdate(INSERT, inserts);
+            batch.clear();
+            hostIds.clear();
+        }
+
+        void finish() {
+            flushRoom();
+            if (!batch.isEmpty())
+                flushBatch();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.dto.host.income.*;
+import com.buildup.kbnb.repository.HostMonthRevenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 승인된 결제 금액을 호스트, 숙소, 체크 인 월 단위로 host_month_revenue 에 누적해 둔다.
+ * 수입 조회는 호스트의 예약 수와 상관없이 집계 행만 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class HostRevenueService {
+    private static final String ADD_REVENUE = "update host_month_revenue set revenue = revenue + ? where host_id = ? and room_id = ? and month_start = ?";
+    private static final String INSERT = "insert into host_month_revenue (host_id, room_id, month_start, revenue) values (?, ?, ?, ?)";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MAX_YEAR_RANGE = 20;
+
+    private final HostMonthRevenueRepository hostMonthRevenueRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 승인 전에 취소된 예약은 더한 적이 없으므로 빼지 않는다.
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (!event.isPaymentConfirmed() || event.getPrice() == null)
+            return;
+        LocalDate monthStart = event.getCheckIn().withDayOfMonth(1);
+        if (event.getType() == ReservationChangedEvent.Type.PAYMENT_CONFIRMED)
+            addRevenue(event.getHostId(), event.getRoomId(), monthStart, event.getPrice());
+        else if (event.getType() == ReservationChangedEvent.Type.CANCELLED)
+            addRevenue(event.getHostId(), event.getRoomId(), monthStart, -event.getPrice());
+    }
+
+    // RoomOccupancyService 와 같이 행이 없으면 만들고, 동시에 만들다 unique key 에 걸리면 다시 더한다.
+    private void addRevenue(Long hostId, Long roomId, LocalDate monthStart, long revenue) {
+        if (jdbcTemplate.update(ADD_REVENUE, revenue, hostId, roomId, Date.valueOf(monthStart)) > 0 || revenue < 0)
+            return;
+        try {
+            jdbcTemplate.update(INSERT, hostId, roomId, Date.valueOf(monthStart), revenue);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(ADD_REVENUE, revenue, hostId, roomId, Date.valueOf(monthStart));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public IncomeResponse getYearIncome(Long hostId, int year) {
+        IncomeResponse incomeResponse = new IncomeResponse();
+        for (MonthIncome monthIncome : hostMonthRevenueRepository.sumByMonth(hostId, LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1))) {
+            incomeResponse.add(Math.toIntExact(monthIncome.getIncome()), monthIncome.getMonthStart().getMonthValue());
+        }
+        incomeResponse.setYearlyIncome();
+        return incomeResponse;
+    }
+
+    @Transactional(readOnly = true)
+    public YearlyIncomeResponse getYearlyIncomes(Long hostId, int fromYear, int toYear) {
+        if (fromYear > toYear || toYear - fromYear >= MAX_YEAR_RANGE)
+            throw new BadRequestException("조회 연도 범위가 잘못되었습니다. 최대 " + MAX_YEAR_RANGE + "년까지 조회할 수 있습니다.");
+
+        Map<Integer, Long> incomeByYear = new TreeMap<>();
+        for (int year = fromYear; year <= toYear; year++) {
+            incomeByYear.put(year, 0L);
+        }
+        for (MonthIncome monthIncome : hostMonthRevenueRepository.sumByMonth(hostId, LocalDate.of(fromYear, 1, 1), LocalDate.of(toYear + 1, 1, 1))) {
+            incomeByYear.merge(monthIncome.getMonthStart().getYear(), monthIncome.getIncome(), Long::sum);
+        }
+
+        List<YearIncome> years = new ArrayList<>();
+        incomeByYear.forEach((year, income) -> years.add(YearIncome.builder().year(year).income(income).build()));
+        return YearlyIncomeResponse.builder()
+                .totalIncome(incomeByYear.values().stream().mapToLong(Long::longValue).sum())
+                .years(years)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public RoomIncomeResponse getRoomIncomes(Long hostId, int year) {
+        return RoomIncomeResponse.builder()
+                .year(year)
+                .rooms(hostMonthRevenueRepository.sumByRoom(hostId, LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1)))
+                .build();
+    }
+
+    /**
+     * 승인된 결제로 집계를 다시 만든다. 금액을 저장하지 않던 이전 결제는 예약의 total_cost 로 대신한다.
+     */
+    public long rebuild() {
+        jdbcTemplate.update("delete from host_month_revenue");
+        Map<List<Object>, Long> revenues = new HashMap<>();
+        jdbcTemplate.query("select rm.host_id, v.room_id, v.check_in, coalesce(p.price, v.total_cost) as price " +
+                "from reservation v join payment p on v.payment_id = p.id join room rm on v.room_id = rm.id " +
+                "where p.is_confirm = true and rm.host_id is not null", rs -> {
+            LocalDate monthStart = rs.getDate("check_in").toLocalDate().withDayOfMonth(1);
+            revenues.merge(List.of(rs.getLong("host_id"), rs.getLong("room_id"), Date.valueOf(monthStart)), rs.getLong("price"), Long::sum);
+        });
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<List<Object>, Long> entry : revenues.entrySet()) {
+            List<Object> key = entry.getKey();
+            batch.add(new Object[]{key.get(0), key.get(1), key.get(2), entry.getValue()});
+            if (batch.size() >= REBUILD_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty())
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        log.info("호스트 월별 수입 집계 재생성 완료. rows = {}", revenues.size());
+        return revenues.size();
+    }
+}
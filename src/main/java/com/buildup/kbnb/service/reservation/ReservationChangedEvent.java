@@ -0,0 +1,56 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.model.Payment;
+import com.buildup.kbnb.model.Reservation;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 예약 등록, 결제 승인, 취소를 알린다. 예약을 바꾼 트랜잭션 안에서 동기로 처리되므로 리스너의 집계도 함께 커밋, 롤백된다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReservationChangedEvent {
+    public enum Type {
+        CREATED, PAYMENT_CONFIRMED, CANCELLED
+    }
+
+    private final Type type;
+    private final Long reservationId;
+    private final Long roomId;
+    private final Long hostId;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+    // 검증된 결제 금액, 금액을 저장하지 않던 이전 결제는 rebuild 와 같이 예약의 totalCost. 결제가 없으면 null
+    private final Integer price;
+    private final boolean paymentConfirmed;
+
+    public static ReservationChangedEvent created(Reservation reservation) {
+        return of(Type.CREATED, reservation);
+    }
+
+    public static ReservationChangedEvent paymentConfirmed(Reservation reservation) {
+        return of(Type.PAYMENT_CONFIRMED, reservation);
+    }
+
+    public static ReservationChangedEvent cancelled(Reservation reservation) {
+        return of(Type.CANCELLED, reservation);
+    }
+
+    private static ReservationChangedEvent of(Type type, Reservation reservation) {
+        Payment payment = reservation.getPayment();
+        return new ReservationChangedEvent(type, reservation.getId(), reservation.getRoom().getId(), reservation.getRoom().getHost().getId(),
+                reservation.getCheckIn(), reservation.getCheckOut(),
+                price(reservation, payment), payment != null && Boolean.TRUE.equals(payment.getIsConfirm()));
+    }
+
+    private static Integer price(Reservation reservation, Payment payment) {
+        if (payment == null)
+            return null;
+        if (payment.getPrice() != null || reservation.getTotalCost() == null)
+            return payment.getPrice();
+        return Math.toIntExact(reservation.getTotalCost());
+    }
+}
@@ -0,0 +1,150 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.host.export.ReservationExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * 호스트 숙소의 예약을 결제 금액, 승인 여부와 함께 CSV 또는 NDJSON 으로 내려준다.
+ * 정방향 커서로 fetchSize 만큼씩 읽어 바로 응답에 쓰므로 예약 수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Slf4j
+@Service
+public class ReservationExportService {
+    private static final String SELECT = "select v.id, v.room_id, rm.name, v.check_in, v.check_out, v.guest_num, v.total_cost, p.price, p.is_confirm " +
+            "from reservation v join room rm on v.room_id = rm.id left join payment p on v.payment_id = p.id " +
+            "where rm.host_id = ? and v.check_in >= ? and v.check_in <= ? order by v.check_in, v.id";
+    static final String[] COLUMNS = {"reservationId", "roomId", "roomName", "checkIn", "checkOut", "guestNum", "totalCost", "paymentPrice", "paymentConfirmed"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // 공용 JdbcTemplate 의 fetchSize 를 바꾸지 않도록 내보내기 전용으로 만든다.
+    public ReservationExportService(DataSource dataSource, ObjectMapper objectMapper, AppProperties appProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(appProperties.getExport().getFetchSize());
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 응답을 쓰기 시작한 뒤에는 상태 코드를 바꿀 수 없으므로 기간 검사는 스트림을 만들기 전에 한다.
+     * checkIn 이 from ~ to (포함) 인 예약을 체크 인 순으로 내보낸다.
+     */
+    public StreamingResponseBody export(Long hostId, LocalDate from, LocalDate to, ReservationExportFormat format) {
+        if (from.isAfter(to))
+            throw new BadRequestException("조회 기간이 잘못되었습니다.");
+        return out -> {
+            long rows = write(hostId, from, to, format, out);
+            log.info("예약 내보내기 완료. hostId = {}, rows = {}", hostId, rows);
+        };
+    }
+
+    long write(Long hostId, LocalDate from, LocalDate to, ReservationExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == ReservationExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        try {
+            rowWriter.start();
+            jdbcTemplate.query(SELECT, rowWriter, hostId, Date.valueOf(from), Date.valueOf(to));
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 받다가 끊은 경우 커서를 닫고 그대로 끝낸다.
+            throw e.getCause();
+        }
+        return rowWriter.rows;
+    }
+
+    private abstract static class RowWriter implements RowCallbackHandler {
+        protected final Writer writer;
+        long rows;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        void start() throws IOException {
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Object[] values = {rs.getLong("id"), rs.getLong("room_id"), rs.getString("name"),
+                    rs.getDate("check_in").toLocalDate().toString(), rs.getDate("check_out").toLocalDate().toString(),
+                    rs.getObject("guest_num"), rs.getObject("total_cost"), rs.getObject("price"), rs.getObject("is_confirm")};
+            try {
+                writeRow(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+        }
+
+        abstract void writeRow(Object[] values) throws IOException;
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+        CsvRowWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    writer.write(',');
+                if (values[i] != null)
+                    writer.write(escape(values[i].toString()));
+            }
+            writer.write('\n');
+        }
+
+        static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+                return value;
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private class NdjsonRowWriter extends RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            super(writer);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 행마다 BufferedWriter 까지 비우지 않도록 generator 의 버퍼만 비운다.
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        void writeRow(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(COLUMNS[i]);
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+}
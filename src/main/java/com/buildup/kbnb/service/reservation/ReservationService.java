@@ -3,25 +3,28 @@ package com.buildup.kbnb.service.reservation;
 import com.buildup.kbnb.advice.exception.BadRequestException;
 import com.buildup.kbnb.advice.exception.ReservationException;
 import com.buildup.kbnb.advice.exception.ResourceNotFoundException;
-import com.buildup.kbnb.dto.host.income.IncomeResponse;
 import com.buildup.kbnb.dto.reservation.ReservationConfirmedResponse;
+import com.buildup.kbnb.dto.reservation.ReservationDetail;
 import com.buildup.kbnb.dto.reservation.ReservationDetailResponse;
 import com.buildup.kbnb.dto.reservation.ReservationRegisterRequest;
+import com.buildup.kbnb.dto.reservation.ReservationSummary;
 import com.buildup.kbnb.dto.room.detail.ReservationDate;
 import com.buildup.kbnb.kafka.payment.PaymentProducer;
 import com.buildup.kbnb.model.Comment;
-import com.buildup.kbnb.model.Location;
 import com.buildup.kbnb.model.Payment;
 import com.buildup.kbnb.model.Reservation;
-import com.buildup.kbnb.model.room.BedRoom;
 import com.buildup.kbnb.model.room.Room;
-import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.model.room.RoomAvailability;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
 import com.buildup.kbnb.repository.reservation.ReservationRepository;
 import com.buildup.kbnb.service.PaymentService;
+import com.buildup.kbnb.service.room.RoomAvailabilityService;
 import com.buildup.kbnb.util.payment.BootPayApi;
 import com.buildup.kbnb.util.payment.model.request.Cancel;
 import com.buildup.kbnb.util.payment.model.response.ResDefault;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -29,9 +32,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.List;
 
 import static java.time.temporal.ChronoUnit.DAYS;
@@ -44,32 +44,32 @@ public class ReservationService {
     private final PaymentProducer paymentProducer;
     private final PaymentService paymentService;
     private final BootPayApi bootPayApi;
+    private final BusinessMetrics businessMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomAvailabilityService roomAvailabilityService;
 
+    @Transactional(readOnly = true)
     public Reservation findById(Long reservationId) {
         return reservationRepository.findById(reservationId).orElseThrow(() -> new BadRequestException("there is no reservation which reservationId = " + reservationId));
     }
 
-    public List<Reservation> findByRoomId(Long roomId) {
-        return reservationRepository.findByRoomId(roomId);
-    }
-
     @Transactional
     public Reservation save(Reservation reservation) {
         return reservationRepository.save(reservation);
     }
 
-    public Page<Reservation> findPageByUser(User user, Pageable pageable) {
-        return reservationRepository.findByUser(user, pageable);
+    /**
+     * 내 여행 목록. 페이지 크기와 상관없이 목록, 개수 쿼리 두 번으로 끝난다.
+     */
+    @Transactional(readOnly = true)
+    public Page<ReservationConfirmedResponse> findConfirmedPageByUserId(Long userId, Pageable pageable) {
+        return reservationRepository.findSummaryByUserId(userId, pageable).map(this::mapToConfirmedResponse);
     }
 
     public String getHostName(Reservation reservation) {
         return reservation.getRoom().getHost().getName();
     }
 
-    public List<Reservation> findByUser(User user) {
-        return reservationRepository.findByUser(user);
-    }
-
     public void deleteById(Long id) {
         reservationRepository.deleteById(id);
     }
@@ -79,96 +79,70 @@ public class ReservationService {
         return reservationRepository.save(reservation);
     }
 
+    // 조회한 예약을 리뷰 작성 트랜잭션에서 수정하므로 readOnly 로 두지 않는다. (읽기 전용 엔티티는 flush 되지 않음)
     public Reservation findByIdWithRoomAndUser(Long reservationId) {
         return reservationRepository.findByIdWithRoomAndUser(reservationId).orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", reservationId));
     }
 
+    @Transactional(readOnly = true)
     public List<ReservationDate> findByRoomFilterDay(Long roomId, LocalDate date) {
         return reservationRepository.findByRoomFromCurrent(roomId, date);
     }
 
-    public List<ReservationConfirmedResponse> createResponseList(List<Reservation> reservationList) {
-        List<ReservationConfirmedResponse> reservation_confirmedResponseList = new ArrayList<>();
-        for (Reservation reservation : reservationList) {
-            Room room = reservation.getRoom();
-            Location location = room.getLocation();
-            boolean isReviewed = checkCreateComment(reservation.getComment());
-
-            ReservationConfirmedResponse reservation_confirmedResponse = ReservationConfirmedResponse
-                    .builder()
-                    .reservationId(reservation.getId())
-                    .checkIn(reservation.getCheckIn())
-                    .checkOut(reservation.getCheckOut())
-                    .hostName(getHostName(reservation))
-                    .imgUrl(room.getRoomImgList().get(0).getUrl()).roomName(room.getName())
-                    .roomId(room.getId())
-                    .roomLocation(getDetailLocation(location))
-                    .status("예약 완료")
-                    .isReviewed(isReviewed)
-                    .build();
-
-            if (reservation_confirmedResponse.getCheckOut().isBefore(LocalDate.now())) {
-                reservation_confirmedResponse.setStatus("완료된 여정");
-            }
-
-            reservation_confirmedResponseList.add(reservation_confirmedResponse);
-        }
-        return reservation_confirmedResponseList;
-    }
-
-    private boolean checkCreateComment(Comment comment) {
-        boolean isReviewed = false;
-        if (comment != null) {
-            isReviewed = true;
-        }
-        return isReviewed;
-    }
-
-    private String getDetailLocation(Location location) {
-        return location.getCountry() + " " + location.getCity() + " " + location.getBorough()
-                + " " + location.getNeighborhood() + " " + location.getDetailAddress();
-    }
-
-    public ReservationDetailResponse judgeReservationIdUserHaveContainReservationId(List<Long> reservationIdUserHave, Long reservationId) {
-        ReservationDetailResponse reservationDetailResponse;
+    private ReservationConfirmedResponse mapToConfirmedResponse(ReservationSummary summary) {
+        ReservationConfirmedResponse reservation_confirmedResponse = ReservationConfirmedResponse
+                .builder()
+                .reservationId(summary.getReservationId())
+                .checkIn(summary.getCheckIn())
+                .checkOut(summary.getCheckOut())
+                .hostName(summary.getHostName())
+                .imgUrl(summary.getImgUrl())
+                .roomName(summary.getRoomName())
+                .roomId(summary.getRoomId())
+                .roomLocation(getDetailLocation(summary.getCountry(), summary.getCity(), summary.getBorough(),
+                        summary.getNeighborhood(), summary.getDetailAddress()))
+                .status("예약 완료")
+                .isReviewed(Boolean.TRUE.equals(summary.getReviewed()))
+                .build();
 
-        if (reservationIdUserHave.contains(reservationId)) {
-            reservationDetailResponse = ifReservationIdExist(reservationId);
-        } else {
-            throw new ReservationException("해당 유저의 예약 리스트에는 요청한 예약건이 없습니다.");
+        if (reservation_confirmedResponse.getCheckOut().isBefore(LocalDate.now())) {
+            reservation_confirmedResponse.setStatus("완료된 여정");
         }
-
-        return reservationDetailResponse;
-    }
-
-    public ReservationDetailResponse ifReservationIdExist(Long reservationId) {
-        Reservation reservation = findById(reservationId);
-        List<BedRoom> bedRoomList = reservation.getRoom().getBedRoomList();
-
-        int bedRoomNum = bedRoomList.size();
-        int bedNum = reservation.getRoom().getBedNum();
-
-        ReservationDetailResponse reservation_detail_response = ReservationDetailResponse.builder()
-                .hostImage(reservation.getRoom().getHost().getImageUrl())
-                .roomImage(reservation.getRoom().getRoomImgList().get(0).getUrl())
-                .bedRoomNum(bedRoomNum)
-                .bedNum(bedNum)
-                .bathRoomNum(reservation.getRoom().getBathRoomList().size())
-                .address(getDetailLocation(reservation.getRoom().getLocation()))
-                .latitude(reservation.getRoom().getLocation().getLatitude())
-                .longitude(reservation.getRoom().getLocation().getLongitude())
-                .checkIn(reservation.getCheckIn())
-                .checkOut(reservation.getCheckOut())
-                .guestNum(reservation.getGuestNum())
-                .hostName(reservation.getRoom().getHost().getName())
-                .roomName(reservation.getRoom().getName())
-                .isParking(reservation.getRoom().getIsParking())
-                .isSmoking(reservation.getRoom().getIsSmoking())
-                .roomId(reservation.getRoom().getId())
-                .totalCost(reservation.getTotalCost())
+        return reservation_confirmedResponse;
+    }
+
+    private String getDetailLocation(String country, String city, String borough, String neighborhood, String detailAddress) {
+        return country + " " + city + " " + borough + " " + neighborhood + " " + detailAddress;
+    }
+
+    /**
+     * 예약자 본인의 예약만 상세를 돌려준다. 소유 확인과 조회를 예약 id 로 찾는 쿼리 한 번에 한다.
+     */
+    @Transactional(readOnly = true)
+    public ReservationDetailResponse getDetail(Long userId, Long reservationId) {
+        ReservationDetail detail = reservationRepository.findDetailByIdAndUserId(reservationId, userId)
+                .orElseThrow(() -> new ReservationException("해당 유저의 예약 리스트에는 요청한 예약건이 없습니다."));
+
+        return ReservationDetailResponse.builder()
+                .hostImage(detail.getHostImage())
+                .roomImage(detail.getRoomImage())
+                .bedRoomNum(Math.toIntExact(detail.getBedRoomNum()))
+                .bedNum(detail.getBedNum())
+                .bathRoomNum(Math.toIntExact(detail.getBathRoomNum()))
+                .address(getDetailLocation(detail.getCountry(), detail.getCity(), detail.getBorough(),
+                        detail.getNeighborhood(), detail.getDetailAddress()))
+                .latitude(detail.getLatitude())
+                .longitude(detail.getLongitude())
+                .checkIn(detail.getCheckIn())
+                .checkOut(detail.getCheckOut())
+                .guestNum(detail.getGuestNum())
+                .hostName(detail.getHostName())
+                .roomName(detail.getRoomName())
+                .isParking(detail.getIsParking())
+                .isSmoking(detail.getIsSmoking())
+                .roomId(detail.getRoomId())
+                .totalCost(detail.getTotalCost())
                 .build();
-
-        return reservation_detail_response;
     }
 
     public void checkStrangeDate(LocalDate checkIn, LocalDate checkOut) {
@@ -177,110 +151,76 @@ public class ReservationService {
         }
     }
 
+    // replica 지연으로 중복 예약이 생기지 않도록 primary 에서 숙박 기간의 예약과 호스트가 막은 기간, 최소, 최대 박 수를 확인한다.
     public void checkAvailableDate(Long roomId, LocalDate checkIn, LocalDate checkOut) {
-        List<Reservation> reservationList = findByRoomId(roomId);
-
-        for (Reservation reservation : reservationList) {
-            if ((checkIn.isEqual(reservation.getCheckIn()) || checkIn.isAfter(reservation.getCheckIn()) && checkIn.isBefore(reservation.getCheckOut()))
-                    || (checkIn.isBefore(reservation.getCheckIn()) && checkOut.isAfter(reservation.getCheckOut()))
-                    || (checkOut.isAfter(reservation.getCheckIn()) && (checkOut.isBefore(reservation.getCheckOut()) || checkOut.isEqual(reservation.getCheckOut()))
-                    || (checkIn.isEqual(reservation.getCheckIn()) && checkOut.isEqual(reservation.getCheckOut())))) {
+        businessMetrics.run(BusinessMetrics.BOOKING_PHASE, Tags.of("phase", "availability"), () -> {
+            if (!checkIn.isBefore(checkOut))
+                throw new ReservationException("예약 날짜가 잘못되었습니다");
+            RoomAvailability availability = roomAvailabilityService.loadForStay(roomId, checkIn, checkOut);
+            if (!availability.isAvailable(checkIn, checkOut))
                 throw new ReservationException("예약이 불가능한 날짜입니다.");
-            }
-        }
+            if (!availability.allowsStay((int) DAYS.between(checkIn, checkOut)))
+                throw new ReservationException(stayRuleMessage(availability));
+        });
     }
 
-    public Reservation processWithPayment(Reservation reservation, Payment payment) throws Exception {
-        String token = bootPayApi.getAccessToken();
-        Double reservationCost = calcCost(reservation.getRoom(), reservation.getCheckIn(), reservation.getCheckOut());
-        bootPayApi.verify(token, payment.getReceiptId(), reservationCost);
-
-        Payment savedPayment = paymentService.savePayment(payment);
-        reservation.setPayment(savedPayment);
-        Reservation savedReservation = save(reservation);
+    private String stayRuleMessage(RoomAvailability availability) {
+        if (availability.getMaxNights() == null)
+            return "최소 " + availability.getMinNights() + "박부터 예약할 수 있습니다.";
+        return availability.getMinNights() + "박 이상 " + availability.getMaxNights() + "박 이하로 예약할 수 있습니다.";
+    }
 
-        paymentProducer.sendPaymentInfo(token, payment.getReceiptId(), payment.getId());
+    public Reservation processWithPayment(Reservation reservation, Payment payment) throws Exception {
+        String token = businessMetrics.time(BusinessMetrics.BOOKING_PHASE, Tags.of("phase", "verify"), () -> {
+            String accessToken = bootPayApi.getAccessToken();
+            Double reservationCost = calcCost(reservation.getRoom(), reservation.getCheckIn(), reservation.getCheckOut());
+            bootPayApi.verify(accessToken, payment.getReceiptId(), reservationCost);
+            payment.setPrice((int) Math.round(reservationCost));
+            return accessToken;
+        });
+
+        Reservation savedReservation = businessMetrics.time(BusinessMetrics.BOOKING_PHASE, Tags.of("phase", "save"), () -> {
+            Payment savedPayment = paymentService.savePayment(payment);
+            reservation.setPayment(savedPayment);
+            Reservation saved = save(reservation);
+            eventPublisher.publishEvent(ReservationChangedEvent.created(saved));
+            return saved;
+        });
+
+        // 전송은 비동기라 브로커 응답이 아니라 producer 버퍼에 넣기까지(메타데이터 조회 포함)를 잰다.
+        businessMetrics.run(BusinessMetrics.BOOKING_PHASE, Tags.of("phase", "kafka"),
+                () -> paymentProducer.sendPaymentInfo(token, payment.getReceiptId(), payment.getId()));
 
         return savedReservation;
     }
 
+    /**
+     * 결제 승인 메시지를 처리한다. 같은 메시지가 다시 전달되어도 승인 이벤트는 한 번만 발행한다.
+     */
+    public void confirmPayment(Long paymentId) {
+        if (!paymentService.makeConfirmStateTrue(paymentId))
+            return;
+        reservationRepository.findByPaymentIdWithRoom(paymentId)
+                .ifPresent(reservation -> eventPublisher.publishEvent(ReservationChangedEvent.paymentConfirmed(reservation)));
+    }
+
+    // 견적 API 와 같은 캐시된 1박 가격 배열로 계산해 사용자가 본 금액과 결제 확인 금액이 같다.
     private Double calcCost(Room room, LocalDate checkIn, LocalDate checkOut) {
-        Long period = checkIn.until(checkOut, DAYS);
-        return room.getTax() + room.getCleaningCost() + room.getRoomCost() * 1.1 * period;
+        return roomAvailabilityService.quote(room.getId(), checkIn, checkOut).getTotalCost();
     }
 
-    public void cancelReservation(Long reservationId, Cancel cancel) throws Exception {
-        Reservation reservation = findById(reservationId);
+    public void cancelReservation(Long userId, Long reservationId, Cancel cancel) throws Exception {
+        Reservation reservation = reservationRepository.findByIdAndUserIdWithPayment(reservationId, userId)
+                .orElseThrow(() -> new ReservationException("there is no reservation that you asked"));
         Payment payment = reservation.getPayment();
         cancel.setReceipt_id(payment.getReceiptId());
 
         paymentService.deleteById(payment.getId());
         deleteById(reservationId);
+        eventPublisher.publishEvent(ReservationChangedEvent.cancelled(reservation));
 
         String token = bootPayApi.getAccessToken();
         bootPayApi.cancel(cancel, token);
 
     }
-
-    public List<Reservation> getBeforeMonthReservation(Long roomId) {
-        LocalDate previousStartDate = getPreviousMonthStartDate();
-        LocalDate previousEndDate = getPreviousMonthEndDate();
-
-        return reservationRepository.findByBetweenDateAndRoomId(roomId, previousStartDate, previousEndDate);
-    }
-
-    private LocalDate getPreviousMonthStartDate() {
-        LocalDate previous = LocalDate.now().minusMonths(1);
-        return previous.withDayOfMonth(1);
-    }
-
-    private LocalDate getPreviousMonthEndDate() {
-        LocalDate now = LocalDate.now();
-        return now.withDayOfMonth(1).minusDays(1);
-    }
-
-    public Double getBeforeMonthReservationRate(Long roomId) {
-        List<Reservation> reservations = getBeforeMonthReservation(roomId);
-
-        Long totalMonthDates = ChronoUnit.DAYS.between(getPreviousMonthStartDate(), getPreviousMonthEndDate());
-        Long reservationDates = 0L;
-
-        for (Reservation reservation : reservations) {
-            reservationDates += ChronoUnit.DAYS.between(reservation.getCheckIn(), reservation.getCheckOut());
-        }
-
-        return reservationDates / (double) totalMonthDates;
-    }
-
-    public Boolean checkRecommendedRoom(Long roomId) {
-        Double reservationRate = getBeforeMonthReservationRate(roomId);
-
-        return reservationRate >= 0.9;
-    }
-
-    public List<Reservation> findByHostFilterByYear(User host, int year) {
-        List<Reservation> reservationList = reservationRepository.findByHostWithPayment(host);
-        List<Reservation> filterByYear = new ArrayList<>();
-        Calendar cal = Calendar.getInstance();
-        cal.set(year, 12, 1);
-        int lastDay = cal.getActualMaximum(Calendar.DAY_OF_MONTH);
-        for (Reservation reservation : reservationList) {
-            if (reservation.getCheckIn().isBefore(LocalDate.of(year + 1, 1, 1)) && reservation.getCheckIn().isAfter(LocalDate.of(year - 1, 12, lastDay)))
-                filterByYear.add(reservation);
-        }
-        return filterByYear;
-    }
-
-    public IncomeResponse separateByMonth(List<Reservation> byYear) {
-        IncomeResponse incomeResponse = new IncomeResponse();
-        for (Reservation reservation : byYear) {
-            for (int i = 1; i < 13; i++) {
-                if (Integer.valueOf(String.valueOf(reservation.getCheckIn().getMonthValue())).equals(i)) {
-                    incomeResponse.add(reservation.getPayment().getPrice(), i);
-                    break;
-                }
-            }
-        }
-        return incomeResponse;
-    }
 }
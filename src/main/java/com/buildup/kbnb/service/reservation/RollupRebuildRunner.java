@@ -0,0 +1,30 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.service.RoomRatingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * --app.rollup.rebuild-on-startup=true 로 실행하면 기동 직후 기존 예약으로 월별 예약, 수입, 일별 예약 집계를 다시 만들고
+ * 댓글로 숙소 평점 합과 댓글 수를 다시 계산한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.rollup", name = "rebuild-on-startup", havingValue = "true")
+public class RollupRebuildRunner implements ApplicationRunner {
+    private final RoomOccupancyService roomOccupancyService;
+    private final HostRevenueService hostRevenueService;
+    private final HostAnalyticsService hostAnalyticsService;
+    private final RoomRatingService roomRatingService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        roomOccupancyService.rebuild();
+        hostRevenueService.rebuild();
+        hostAnalyticsService.rebuild();
+        roomRatingService.rebuild();
+    }
+}
@@ -0,0 +1,145 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.repository.room.RoomMonthOccupancyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * 숙소별 월 예약 박 수를 room_month_occupancy 에 누적해 두고 예약률을 한 행 조회로 계산한다.
+ * 예약은 체크 인 날짜부터 체크 아웃 전날까지를 박으로 세고, 월을 걸치는 예약은 월마다 나눠 더한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RoomOccupancyService {
+    public static final double RECOMMEND_RATE = 0.9;
+
+    private static final String ADD_NIGHTS = "update room_month_occupancy set booked_nights = booked_nights + ? where room_id = ? and month_start = ?";
+    private static final String INSERT = "insert into room_month_occupancy (room_id, month_start, booked_nights) values (?, ?, ?)";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final RoomMonthOccupancyRepository roomMonthOccupancyRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event.getType() == ReservationChangedEvent.Type.PAYMENT_CONFIRMED)
+            return;
+        int sign = event.getType() == ReservationChangedEvent.Type.CREATED ? 1 : -1;
+        nightsByMonth(event.getCheckIn(), event.getCheckOut())
+                .forEach((monthStart, nights) -> addNights(event.getRoomId(), monthStart, sign * nights));
+    }
+
+    // 행이 없으면 만들고, 동시에 같은 행을 만들다 unique key 에 걸리면 다시 더한다.
+    // 실패한 insert 는 문장 단위로만 롤백되므로 예약 트랜잭션은 그대로 이어진다.
+    private void addNights(Long roomId, LocalDate monthStart, int nights) {
+        if (jdbcTemplate.update(ADD_NIGHTS, nights, roomId, Date.valueOf(monthStart)) > 0 || nights < 0)
+            return;
+        try {
+            jdbcTemplate.update(INSERT, roomId, Date.valueOf(monthStart), nights);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(ADD_NIGHTS, nights, roomId, Date.valueOf(monthStart));
+        }
+    }
+
+    static Map<LocalDate, Integer> nightsByMonth(LocalDate checkIn, LocalDate checkOut) {
+        Map<LocalDate, Integer> nightsByMonth = new LinkedHashMap<>();
+        LocalDate from = checkIn;
+        while (from.isBefore(checkOut)) {
+            LocalDate nextMonth = from.withDayOfMonth(1).plusMonths(1);
+            LocalDate to = nextMonth.isBefore(checkOut) ? nextMonth : checkOut;
+            nightsByMonth.put(from.withDayOfMonth(1), (int) DAYS.between(from, to));
+            from = to;
+        }
+        return nightsByMonth;
+    }
+
+    @Transactional(readOnly = true)
+    public double getOccupancyRate(Long roomId, YearMonth month) {
+        int bookedNights = roomMonthOccupancyRepository.findBookedNights(roomId, month.atDay(1)).orElse(0);
+        return bookedNights / (double) month.lengthOfMonth();
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isRecommended(Long roomId) {
+        return getOccupancyRate(roomId, YearMonth.now().minusMonths(1)) >= RECOMMEND_RATE;
+    }
+
+    /**
+     * 검색 결과 한 페이지의 추천 숙소를 쿼리 한 번으로 고른다.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findRecommendedRoomIds(Collection<Long> roomIds) {
+        if (roomIds.isEmpty())
+            return Collections.emptySet();
+        YearMonth previousMonth = YearMonth.now().minusMonths(1);
+        int nights = (int) Math.ceil(previousMonth.lengthOfMonth() * RECOMMEND_RATE);
+        return new HashSet<>(roomMonthOccupancyRepository.findRoomIdsBookedAtLeast(roomIds, previousMonth.atDay(1), nights));
+    }
+
+    /**
+     * 예약 테이블 전체로 집계를 다시 만든다. 집계 도입 전 예약이나 JDBC 로 직접 넣은 예약을 반영할 때 쓴다.
+     * 숙소 순으로 읽어 한 숙소의 집계만 메모리에 둔다.
+     */
+    public long rebuild() {
+        jdbcTemplate.update("delete from room_month_occupancy");
+        Rebuild rebuild = new Rebuild();
+        jdbcTemplate.query("select room_id, check_in, check_out from reservation where room_id is not null order by room_id", rebuild);
+        rebuild.finish();
+        log.info("숙소 월별 예약 집계 재생성 완료. rows = {}", rebuild.rows);
+        return rebuild.rows;
+    }
+
+    private class Rebuild implements RowCallbackHandler {
+        private final Map<LocalDate, Integer> roomNights = new TreeMap<>();
+        private final List<Object[]> batch = new ArrayList<>();
+        private Long roomId;
+        private long rows;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowRoomId = rs.getLong("room_id");
+            if (roomId == null || roomId != rowRoomId) {
+                flushRoom();
+                roomId = rowRoomId;
+            }
+            nightsByMonth(rs.getDate("check_in").toLocalDate(), rs.getDate("check_out").toLocalDate())
+                    .forEach((monthStart, nights) -> roomNights.merge(monthStart, nights, Integer::sum));
+        }
+
+        private void flushRoom() {
+            roomNights.forEach((monthStart, nights) -> batch.add(new Object[]{roomId, Date.valueOf(monthStart), nights}));
+            rows += roomNights.size();
+            roomNights.clear();
+            if (batch.size() >= REBUILD_BATCH_SIZE)
+                flushBatch();
+        }
+
+        private void flushBatch() {
+            jdbcTemplate.batchUpdate(INSERT, batch);
+            batch.clear();
+        }
+
+        void finish() {
+            flushRoom();
+            if (!batch.isEmpty())
+                flushBatch();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.advice.exception.ResourceNotFoundException;
+import com.buildup.kbnb.dto.host.availability.*;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomBlock;
+import com.buildup.kbnb.model.room.RoomSeasonPrice;
+import com.buildup.kbnb.repository.reservation.ReservationRepository;
+import com.buildup.kbnb.repository.room.RoomBlockRepository;
+import com.buildup.kbnb.repository.room.RoomRepository;
+import com.buildup.kbnb.repository.room.RoomSeasonPriceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 호스트가 예약을 받지 않을 기간, 최소, 최대 박 수, 주말, 기간별 가격과 숙박 할인율을 관리한다.
+ * 바뀌면 RoomAvailabilityChangedEvent 를 발행해 커밋 후 예약 가능 날짜 캐시에서 해당 숙소를 비운다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class HostAvailabilityService {
+    private final RoomRepository roomRepository;
+    private final RoomBlockRepository roomBlockRepository;
+    private final RoomSeasonPriceRepository roomSeasonPriceRepository;
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public HostAvailabilityResponse getAvailability(Long hostId, Long roomId) {
+        return toResponse(findHostRoom(hostId, roomId));
+    }
+
+    /**
+     * startDate ~ endDate 전날까지 막는다. 겹치거나 맞닿은 기간이 있으면 한 행으로 합친다.
+     */
+    public HostAvailabilityResponse addBlock(Long hostId, RoomBlockRequest request) {
+        Room room = findHostRoom(hostId, request.getRoomId());
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+        if (!startDate.isBefore(endDate) || !endDate.isAfter(LocalDate.now()))
+            throw new BadRequestException("막을 기간이 잘못되었습니다.");
+        if (!reservationRepository.findReservedNights(List.of(room.getId()), startDate, endDate).isEmpty())
+            throw new BadRequestException("예약이 있는 날짜는 막을 수 없습니다.");
+
+        List<RoomBlock> touching = roomBlockRepository.findTouching(room.getId(), startDate, endDate);
+        RoomBlock block = touching.isEmpty() ? RoomBlock.builder().roomId(room.getId()).build() : touching.get(0);
+        for (RoomBlock other : touching) {
+            if (other.getStartDate().isBefore(startDate))
+                startDate = other.getStartDate();
+            if (other.getEndDate().isAfter(endDate))
+                endDate = other.getEndDate();
+            if (other != block)
+                roomBlockRepository.delete(other);
+        }
+        block.setStartDate(startDate);
+        block.setEndDate(endDate);
+        roomBlockRepository.save(block);
+
+        eventPublisher.publishEvent(new RoomAvailabilityChangedEvent(room.getId()));
+        return toResponse(room);
+    }
+
+    public HostAvailabilityResponse removeBlock(Long hostId, Long blockId) {
+        RoomBlock block = roomBlockRepository.findById(blockId).orElseThrow(() -> new ResourceNotFoundException("RoomBlock", "id", blockId));
+        Room room = findHostRoom(hostId, block.getRoomId());
+        roomBlockRepository.delete(block);
+
+        eventPublisher.publishEvent(new RoomAvailabilityChangedEvent(room.getId()));
+        return toResponse(room);
+    }
+
+    public HostAvailabilityResponse updateStayRule(Long hostId, StayRuleRequest request) {
+        Room room = findHostRoom(hostId, request.getRoomId());
+        if (request.getMinNights() < 1 || request.getMaxNights() != null && request.getMaxNights() < request.getMinNights())
+            throw new BadRequestException("최소, 최대 박 수가 잘못되었습니다.");
+        room.setMinNights(request.getMinNights());
+        room.setMaxNights(request.getMaxNights());
+
+        eventPublisher.publishEvent(new RoomAvailabilityChangedEvent(room.getId()));
+        return toResponse(room);
+    }
+
+    public HostAvailabilityResponse updatePriceRule(Long hostId, PriceRuleRequest request) {
+        Room room = findHostRoom(hostId, request.getRoomId());
+        room.setWeekendCost(request.getWeekendCost());
+        room.setWeeklyDiscount(request.getWeeklyDiscount());
+        room.setMonthlyDiscount(request.getMonthlyDiscount());
+
+        eventPublisher.publishEvent(new RoomAvailabilityChangedEvent(room.getId()));
+        return toResponse(room);
+    }
+
+    /**
+     * startDate ~ endDate 전날까지 1박 가격을 바꾼다. 이미 가격을 정한 기간과 겹치면 받지 않는다.
+     */
+    public HostAvailabilityResponse addSeasonPrice(Long hostId, SeasonPriceRequest request) {
+        Room room = findHostRoom(hostId, request.getRoomId());
+        if (!request.getStartDate().isBefore(request.getEndDate()) || !request.getEndDate().isAfter(LocalDate.now()))
+            throw new BadRequestException("가격을 정할 기간이 잘못되었습니다.");
+        if (!roomSeasonPriceRepository.findOverlapping(List.of(room.getId()), request.getStartDate(), request.getEndDate()).isEmpty())
+            throw new BadRequestException("이미 가격을 정한 기간과 겹칩니다.");
+
+        roomSeasonPriceRepository.save(RoomSeasonPrice.builder()
+                .roomId(room.getId())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .nightlyCost(request.getNightlyCost())
+                .weekendCost(request.getWeekendCost())
+                .build());
+
+        eventPublisher.publishEvent(new RoomAvailabilityChangedEvent(room.getId()));
+        return toResponse(room);
+    }
+
+    public HostAvailabilityResponse removeSeasonPrice(Long hostId, Long seasonId) {
+        RoomSeasonPrice season = roomSeasonPriceRepository.findById(seasonId).orElseThrow(() -> new ResourceNotFoundException("RoomSeasonPrice", "id", seasonId));
+        Room room = findHostRoom(hostId, season.getRoomId());
+        roomSeasonPriceRepository.delete(season);
+
+        eventPublisher.publishEvent(new RoomAvailabilityChangedEvent(room.getId()));
+        return toResponse(room);
+    }
+
+    private Room findHostRoom(Long hostId, Long roomId) {
+        Room room = roomRepository.findById(roomId).orElseThrow(() -> new ResourceNotFoundException("Room", "id", roomId));
+        if (room.getHost() == null || !room.getHost().getId().equals(hostId))
+            throw new BadRequestException("해당 방의 호스트가 아닙니다.");
+        return room;
+    }
+
+    // 지난 기간은 빼고 내려준다.
+    private HostAvailabilityResponse toResponse(Room room) {
+        List<RoomBlockDto> blocks = roomBlockRepository.findByRoomIdAndEndDateAfterOrderByStartDate(room.getId(), LocalDate.now()).stream()
+                .map(block -> new RoomBlockDto(block.getId(), block.getStartDate(), block.getEndDate()))
+                .collect(Collectors.toList());
+        List<SeasonPriceDto> seasons = roomSeasonPriceRepository.findByRoomIdAndEndDateAfterOrderByStartDate(room.getId(), LocalDate.now()).stream()
+                .map(season -> new SeasonPriceDto(season.getId(), season.getStartDate(), season.getEndDate(), season.getNightlyCost(), season.getWeekendCost()))
+                .collect(Collectors.toList());
+        return HostAvailabilityResponse.builder()
+                .roomId(room.getId())
+                .minNights(room.getMinNights() == null ? 1 : room.getMinNights())
+                .maxNights(room.getMaxNights())
+                .blocks(blocks)
+                .roomCost(room.getRoomCost())
+                .weekendCost(room.getWeekendCost())
+                .weeklyDiscount(room.getWeeklyDiscount())
+                .monthlyDiscount(room.getMonthlyDiscount())
+                .seasons(seasons)
+                .build();
+    }
+}
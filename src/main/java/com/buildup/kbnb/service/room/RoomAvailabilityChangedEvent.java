@@ -0,0 +1,13 @@
+package com.buildup.kbnb.service.room;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 호스트가 막은 기간이나 최소, 최대 박 수를 바꿨을 때 발행한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RoomAvailabilityChangedEvent {
+    private final Long roomId;
+}
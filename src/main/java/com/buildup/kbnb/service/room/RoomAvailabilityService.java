@@ -0,0 +1,337 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.advice.exception.ResourceNotFoundException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.config.ReplicationRoutingDataSource;
+import com.buildup.kbnb.dto.reservation.ReservedNights;
+import com.buildup.kbnb.dto.room.calendar.MonthCalendar;
+import com.buildup.kbnb.dto.room.calendar.PriceRun;
+import com.buildup.kbnb.dto.room.calendar.RoomCalendarResponse;
+import com.buildup.kbnb.dto.room.quote.StayQuote;
+import com.buildup.kbnb.dto.room.search.CostSearch;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomAvailability;
+import com.buildup.kbnb.model.room.RoomBlock;
+import com.buildup.kbnb.model.room.RoomSeasonPrice;
+import com.buildup.kbnb.repository.reservation.ReservationRepository;
+import com.buildup.kbnb.repository.room.RoomBlockRepository;
+import com.buildup.kbnb.repository.room.RoomRepository;
+import com.buildup.kbnb.repository.room.RoomSeasonPriceRepository;
+import com.buildup.kbnb.service.reservation.ReservationChangedEvent;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * 숙소별 예약 가능 날짜를 이번 달 1일부터 horizonMonths 동안 RoomAvailability 로 만들어 캐시에 둔다.
+ * 예약과 호스트가 막은 기간을 같은 bitmap 에 표시하고 최소, 최대 박 수도 함께 둔다.
+ * 1박 가격은 기본, 주말, 기간별 가격을 날짜별 배열로 펼쳐 두고 견적, 결제 금액 확인, 날짜 검색의 가격 조건이 모두 이 배열을 읽는다.
+ * 예약이나 호스트 설정이 바뀌면 커밋 후 해당 숙소만 비우고, 다른 서버에서 바뀐 내용은 expireAfterWriteSec 뒤에 반영된다.
+ * 캐시는 항상 primary 에서 채운다. replica 에서 채우면 비운 직전의 예약, 설정이 복제 지연 동안 다시 캐시될 수 있다.
+ * 예약 등록 시 확인은 캐시가 아니라 primary 에서 숙박 기간만 만들어 한다. (loadForStay)
+ */
+@Service
+public class RoomAvailabilityService {
+    public static final int MAX_FLEXIBLE_DAYS = 7;
+    public static final double SERVICE_FEE_RATE = 0.1;
+    // IN 절 하나에 넣는 숙소 수
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final RoomBlockRepository roomBlockRepository;
+    private final RoomSeasonPriceRepository roomSeasonPriceRepository;
+    private final int horizonMonths;
+    private final LoadingCache<Long, RoomAvailability> cache;
+    private final TransactionTemplate primaryReadTransaction;
+
+    public RoomAvailabilityService(ReservationRepository reservationRepository, RoomRepository roomRepository,
+                                   RoomBlockRepository roomBlockRepository, RoomSeasonPriceRepository roomSeasonPriceRepository,
+                                   AppProperties appProperties, MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        AppProperties.Availability properties = appProperties.getAvailability();
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.roomBlockRepository = roomBlockRepository;
+        this.roomSeasonPriceRepository = roomSeasonPriceRepository;
+        this.horizonMonths = properties.getHorizonMonths();
+        this.primaryReadTransaction = new TransactionTemplate(transactionManager);
+        this.primaryReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryReadTransaction.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getExpireAfterWriteSec()))
+                .recordStats()
+                .build(new CacheLoader<Long, RoomAvailability>() {
+                    @Override
+                    public RoomAvailability load(Long roomId) {
+                        return loadAll(List.of(roomId)).get(roomId);
+                    }
+
+                    @Override
+                    public Map<Long, RoomAvailability> loadAll(Iterable<? extends Long> roomIds) {
+                        List<Long> ids = new ArrayList<>();
+                        roomIds.forEach(ids::add);
+                        return RoomAvailabilityService.this.loadAll(ids);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "roomAvailability");
+    }
+
+    // 예약 트랜잭션이 커밋된 뒤에 비워야 다음 조회가 바뀌기 전 예약으로 다시 채우지 않는다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event.getType() != ReservationChangedEvent.Type.PAYMENT_CONFIRMED)
+            cache.invalidate(event.getRoomId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomAvailabilityChanged(RoomAvailabilityChangedEvent event) {
+        cache.invalidate(event.getRoomId());
+    }
+
+    /**
+     * 예약 등록 전 확인용. 캐시를 거치지 않고 primary 에서 checkIn ~ checkOut 기간만 만든다.
+     */
+    @Transactional
+    public RoomAvailability loadForStay(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return buildForStay(roomId, checkIn, checkOut);
+    }
+
+    /**
+     * 숙박 금액 견적. 캐시 기간 안이면 캐시된 가격 배열을, 넘으면 숙박 기간만 만들어 한 번 훑는다.
+     */
+    @Transactional(readOnly = true)
+    public StayQuote quote(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (!checkIn.isBefore(checkOut))
+            throw new BadRequestException("숙박 날짜가 잘못되었습니다.");
+        RoomAvailability availability = getAvailability(roomId);
+        if (!availability.covers(checkIn, checkOut))
+            availability = buildForStay(roomId, checkIn, checkOut);
+
+        int nights = (int) DAYS.between(checkIn, checkOut);
+        long nightlyTotal = availability.sumNightlyPrices(checkIn, checkOut);
+        int discountRate = availability.getDiscountRate(nights);
+        long discount = Math.round(nightlyTotal * discountRate / 100.0);
+        double serviceFee = (nightlyTotal - discount) * SERVICE_FEE_RATE;
+        return StayQuote.builder()
+                .roomId(roomId)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .nights(nights)
+                .available(!checkIn.isBefore(LocalDate.now()) && availability.isAvailable(checkIn, checkOut) && availability.allowsStay(nights))
+                .nightlyTotal(nightlyTotal)
+                .discountRate(discountRate)
+                .discount(discount)
+                .serviceFee(serviceFee)
+                .cleaningCost(availability.getCleaningCost())
+                .tax(availability.getTax())
+                .totalCost(availability.getTax() + availability.getCleaningCost() + nightlyTotal - discount + serviceFee)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public RoomAvailability getAvailability(Long roomId) {
+        RoomAvailability availability = cache.get(roomId);
+        if (availability == null)
+            throw new ResourceNotFoundException("Room", "id", roomId);
+        // 달이 바뀌어 시작일이 지난 달이면 다시 만든다.
+        if (!availability.getStart().equals(horizonStart())) {
+            cache.invalidate(roomId);
+            availability = cache.get(roomId);
+        }
+        return availability;
+    }
+
+    /**
+     * 검색 결과처럼 여러 숙소를 한 번에 볼 때 캐시에 없는 숙소만 모아 쿼리 두 번으로 채운다. 없는 숙소는 빠진다.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, RoomAvailability> getAvailabilities(Collection<Long> roomIds) {
+        Map<Long, RoomAvailability> availabilities = new HashMap<>(cache.getAll(roomIds));
+        LocalDate start = horizonStart();
+        List<Long> stale = new ArrayList<>();
+        availabilities.forEach((roomId, availability) -> {
+            if (!availability.getStart().equals(start))
+                stale.add(roomId);
+        });
+        if (!stale.isEmpty()) {
+            cache.invalidateAll(stale);
+            availabilities.putAll(cache.getAll(stale));
+        }
+        return availabilities;
+    }
+
+    // 캐시된 예약 가능 날짜로 볼 수 없는 숙박인지. 이번 달부터 horizonMonths 뒤까지만 캐시에 둔다.
+    private boolean isBeyondHorizon(LocalDate checkOut) {
+        return checkOut.isAfter(horizonStart().plusMonths(horizonMonths));
+    }
+
+    /**
+     * 숙소마다 checkIn 앞뒤 flexibleDays 안에서 같은 박 수로 묵을 수 있는 가장 가까운 체크 인까지의 일 수를 roomIds 순서대로 돌려준다.
+     * 묵을 수 있는 날이 없는 숙소는 빠진다. flexibleDays 가 0 이면 요청한 날짜 그대로 묵을 수 있는지만 본다.
+     * costSearch 가 있으면 고른 날짜의 할인 후 1박 평균 가격이 범위 안인 숙소만 남긴다.
+     * 캐시 기간을 넘는 숙박은 견적처럼 캐시를 거치지 않고 옮길 수 있는 날짜까지 포함한 기간만 만들어 본다.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> findCheckInShifts(List<Long> roomIds, LocalDate checkIn, LocalDate checkOut, int flexibleDays, CostSearch costSearch) {
+        LocalDate today = LocalDate.now();
+        if (flexibleDays < 0 || flexibleDays > MAX_FLEXIBLE_DAYS)
+            throw new BadRequestException("날짜는 앞뒤로 최대 " + MAX_FLEXIBLE_DAYS + "일까지 옮겨 검색할 수 있습니다.");
+        if (!checkIn.isBefore(checkOut))
+            throw new BadRequestException("검색 날짜가 잘못되었습니다.");
+
+        int nights = (int) DAYS.between(checkIn, checkOut);
+        Map<Long, RoomAvailability> availabilities = isBeyondHorizon(checkOut.plusDays(flexibleDays))
+                ? build(roomIds, checkIn.minusDays(flexibleDays), checkOut.plusDays(flexibleDays))
+                : getAvailabilities(roomIds);
+        Map<Long, Integer> shifts = new LinkedHashMap<>();
+        for (Long roomId : roomIds) {
+            RoomAvailability availability = availabilities.get(roomId);
+            Integer shift = availability == null ? null : availability.findCheckInShift(checkIn, nights, flexibleDays, today);
+            if (shift != null && costMatches(availability, checkIn.plusDays(shift), nights, costSearch))
+                shifts.put(roomId, shift);
+        }
+        return shifts;
+    }
+
+    private boolean costMatches(RoomAvailability availability, LocalDate checkIn, int nights, CostSearch costSearch) {
+        if (costSearch == null || costSearch.equals(new CostSearch()))
+            return true;
+        long nightlyTotal = availability.sumNightlyPrices(checkIn, checkIn.plusDays(nights));
+        double averagePrice = nightlyTotal * (100 - availability.getDiscountRate(nights)) / 100.0 / nights;
+        return (costSearch.getMinCost() == null || averagePrice >= costSearch.getMinCost())
+                && (costSearch.getMaxCost() == null || averagePrice <= costSearch.getMaxCost());
+    }
+
+    /**
+     * from 월부터 months 개월의 예약 가능 여부와 1박 가격. 오늘 이전 박은 예약할 수 없는 것으로 내려준다.
+     */
+    @Transactional(readOnly = true)
+    public RoomCalendarResponse getCalendar(Long roomId, YearMonth from, int months) {
+        YearMonth current = YearMonth.from(horizonStart());
+        if (months < 1 || from.isBefore(current) || from.plusMonths(months).isAfter(current.plusMonths(horizonMonths)))
+            throw new BadRequestException("조회할 수 없는 기간입니다. 이번 달부터 " + horizonMonths + "개월 안에서 조회할 수 있습니다.");
+
+        RoomAvailability availability = getAvailability(roomId);
+        LocalDate today = LocalDate.now();
+        List<MonthCalendar> calendars = new ArrayList<>();
+        for (YearMonth month = from; month.isBefore(from.plusMonths(months)); month = month.plusMonths(1)) {
+            calendars.add(toMonthCalendar(availability, month, today));
+        }
+        return RoomCalendarResponse.builder()
+                .roomId(roomId)
+                .minNights(availability.getMinNights())
+                .maxNights(availability.getMaxNights())
+                .months(calendars)
+                .build();
+    }
+
+    private MonthCalendar toMonthCalendar(RoomAvailability availability, YearMonth month, LocalDate today) {
+        StringBuilder available = new StringBuilder(month.lengthOfMonth());
+        List<PriceRun> prices = new ArrayList<>();
+        PriceRun run = null;
+        int availableNights = 0;
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            LocalDate night = month.atDay(day);
+            if (night.isBefore(today) || !availability.isAvailable(night)) {
+                available.append('0');
+                run = null;
+                continue;
+            }
+            available.append('1');
+            availableNights++;
+            int price = availability.getNightlyPrice(night);
+            if (run != null && run.getPrice() == price) {
+                run.setToDay(day);
+            } else {
+                run = PriceRun.builder().fromDay(day).toDay(day).price(price).build();
+                prices.add(run);
+            }
+        }
+        return MonthCalendar.builder()
+                .month(month)
+                .available(available.toString())
+                .availableNights(availableNights)
+                .prices(prices)
+                .build();
+    }
+
+    private LocalDate horizonStart() {
+        return LocalDate.now().withDayOfMonth(1);
+    }
+
+    private RoomAvailability buildForStay(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        RoomAvailability availability = build(List.of(roomId), checkIn, checkOut).get(roomId);
+        if (availability == null)
+            throw new ResourceNotFoundException("Room", "id", roomId);
+        return availability;
+    }
+
+    // 쓰기 트랜잭션 안이면 이미 primary 라 그대로 읽고, readOnly 트랜잭션이거나 트랜잭션이 없으면 primary 에서 새 트랜잭션으로 읽는다.
+    private Map<Long, RoomAvailability> loadAll(List<Long> roomIds) {
+        LocalDate start = horizonStart();
+        if (TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return build(roomIds, start, start.plusMonths(horizonMonths));
+        return ReplicationRoutingDataSource.readFromPrimary(() ->
+                primaryReadTransaction.execute(status -> build(roomIds, start, start.plusMonths(horizonMonths))));
+    }
+
+    // 숙소, 예약, 막은 기간, 기간별 가격을 chunk 마다 쿼리 네 번으로 읽어 start ~ end 전날까지 만든다.
+    private Map<Long, RoomAvailability> build(List<Long> roomIds, LocalDate start, LocalDate end) {
+        int days = (int) DAYS.between(start, end);
+        Map<Long, RoomAvailability> availabilities = new HashMap<>();
+        for (int from = 0; from < roomIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = roomIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, roomIds.size()));
+            for (Room room : roomRepository.findAllById(chunk)) {
+                int nightlyPrice = price(room.getRoomCost(), 0);
+                RoomAvailability availability = new RoomAvailability(room.getId(), start, days, nightlyPrice);
+                int weekendPrice = price(room.getWeekendCost(), nightlyPrice);
+                if (weekendPrice != nightlyPrice)
+                    availability.fillNightlyPrice(start, end, nightlyPrice, weekendPrice);
+                availability.setStayRule(room.getMinNights(), room.getMaxNights());
+                availability.setStayDiscount(room.getWeeklyDiscount(), room.getMonthlyDiscount());
+                availability.setFees(room.getCleaningCost(), room.getTax());
+                availabilities.put(room.getId(), availability);
+            }
+            for (ReservedNights reserved : reservationRepository.findReservedNights(chunk, start, end)) {
+                RoomAvailability availability = availabilities.get(reserved.getRoomId());
+                if (availability != null)
+                    availability.markUnavailable(reserved.getCheckIn(), reserved.getCheckOut());
+            }
+            for (RoomBlock block : roomBlockRepository.findOverlapping(chunk, start, end)) {
+                RoomAvailability availability = availabilities.get(block.getRoomId());
+                if (availability != null)
+                    availability.markUnavailable(block.getStartDate(), block.getEndDate());
+            }
+            for (RoomSeasonPrice season : roomSeasonPriceRepository.findOverlapping(chunk, start, end)) {
+                RoomAvailability availability = availabilities.get(season.getRoomId());
+                int seasonPrice = price(season.getNightlyCost(), 0);
+                if (availability != null)
+                    availability.fillNightlyPrice(season.getStartDate(), season.getEndDate(), seasonPrice, price(season.getWeekendCost(), seasonPrice));
+            }
+        }
+        return availabilities;
+    }
+
+    private int price(Double cost, int defaultPrice) {
+        return cost == null ? defaultPrice : (int) Math.round(cost);
+    }
+}
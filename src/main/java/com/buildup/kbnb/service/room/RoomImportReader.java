@@ -0,0 +1,130 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.controller.RoomController;
+import com.buildup.kbnb.model.room.RoomImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 업로드 스트림에서 한 행씩 읽는다. 전체를 메모리에 올리지 않는다.
+ * 행 단위 오류는 RoomImportRowException 으로 던지고, 다음 호출에서 다음 행부터 이어 읽는다.
+ */
+public abstract class RoomImportReader implements Closeable {
+    protected long rowNumber;
+
+    public static RoomImportReader of(RoomImportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        if (format == RoomImportFormat.CSV)
+            return new Csv(in);
+        return new Ndjson(in, objectMapper);
+    }
+
+    /**
+     * @return 다음 행, 더 이상 없으면 null
+     */
+    public abstract RoomController.RoomDummyDetail next() throws IOException;
+
+    /**
+     * 내용을 검사하지 않고 한 행을 건너뛴다.
+     *
+     * @return 건너뛸 행이 없으면 false
+     */
+    public abstract boolean skip() throws IOException;
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    static class Ndjson extends RoomImportReader {
+        private final BufferedReader reader;
+        private final ObjectReader rowReader;
+
+        Ndjson(InputStream in, ObjectMapper objectMapper) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            this.rowReader = objectMapper.readerFor(RoomController.RoomDummyDetail.class);
+        }
+
+        private String nextLine() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line != null)
+                rowNumber++;
+            return line;
+        }
+
+        @Override
+        public RoomController.RoomDummyDetail next() throws IOException {
+            String line = nextLine();
+            if (line == null)
+                return null;
+            try {
+                return rowReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new RoomImportRowException(rowNumber, "JSON 형식이 올바르지 않습니다. " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public boolean skip() throws IOException {
+            return nextLine() != null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    static class Csv extends RoomImportReader {
+        private static final ObjectReader ROW_READER = new CsvMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readerFor(RoomController.RoomDummyDetail.class)
+                .with(CsvSchema.emptySchema().withHeader());
+
+        private final MappingIterator<RoomController.RoomDummyDetail> iterator;
+
+        Csv(InputStream in) throws IOException {
+            this.iterator = ROW_READER.readValues(in);
+        }
+
+        @Override
+        public RoomController.RoomDummyDetail next() throws IOException {
+            if (!iterator.hasNextValue())
+                return null;
+            rowNumber++;
+            try {
+                return iterator.nextValue();
+            } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                throw new RoomImportRowException(rowNumber, "CSV 값이 올바르지 않습니다. " + e.getMessage().split("\n")[0]);
+            }
+        }
+
+        @Override
+        public boolean skip() throws IOException {
+            if (!iterator.hasNextValue())
+                return false;
+            rowNumber++;
+            try {
+                iterator.nextValue();
+            } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                // 이미 커밋된 구간의 오류 행이므로 무시한다.
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            iterator.close();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.buildup.kbnb.service.room;
+
+public class RoomImportRowException extends RuntimeException {
+    private final long row;
+
+    public RoomImportRowException(long row, String message) {
+        super(message);
+        this.row = row;
+    }
+
+    public long getRow() {
+        return row;
+    }
+}
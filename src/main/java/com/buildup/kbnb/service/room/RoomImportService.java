@@ -0,0 +1,178 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.controller.RoomController;
+import com.buildup.kbnb.dto.room.bulk.RoomImportError;
+import com.buildup.kbnb.dto.room.bulk.RoomImportResponse;
+import com.buildup.kbnb.model.room.RoomImportFormat;
+import com.buildup.kbnb.model.room.RoomImportJob;
+import com.buildup.kbnb.model.room.RoomImportStatus;
+import com.buildup.kbnb.repository.RoomImportJobRepository;
+import com.buildup.kbnb.repository.UserRepository;
+import com.buildup.kbnb.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 대량의 방 데이터를 스트림으로 읽어 청크 단위로 커밋한다.
+ * 중단된 작업은 같은 파일을 jobId 와 함께 다시 보내면 마지막으로 커밋된 청크 다음 행부터 이어서 처리한다.
+ * 청크마다 처음 읽은 작업의 version 이 그대로일 때만 진행 상황을 더하므로, 같은 작업을 동시에 재개하면 늦은 요청은 실패하고 그 청크는 롤백된다.
+ */
+@Slf4j
+@Service
+public class RoomImportService {
+    private final RoomService roomService;
+    private final UserRepository userRepository;
+    private final RoomImportJobRepository roomImportJobRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public RoomImportService(RoomService roomService, UserRepository userRepository, RoomImportJobRepository roomImportJobRepository,
+                             EntityManager entityManager, ObjectMapper objectMapper, AppProperties appProperties,
+                             PlatformTransactionManager transactionManager) {
+        this.roomService = roomService;
+        this.userRepository = userRepository;
+        this.roomImportJobRepository = roomImportJobRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.appProperties = appProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public RoomImportResponse getProgress(Long userId, Long jobId) {
+        return toResponse(findJob(userId, jobId), new ArrayList<>());
+    }
+
+    public RoomImportResponse importRooms(Long userId, Long jobId, RoomImportFormat format, InputStream in) throws IOException {
+        if (format == null)
+            throw new BadRequestException("NDJSON 또는 CSV 형식만 지원합니다.");
+        RoomImportJob job = jobId == null ? createJob(userId, format) : resumableJob(userId, jobId, format);
+
+        int chunkSize = appProperties.getRoomImport().getChunkSize();
+        List<RoomImportError> errors = new ArrayList<>();
+        try (RoomImportReader reader = RoomImportReader.of(format, in, objectMapper)) {
+            for (long skipped = 0; skipped < job.getCommittedRows(); skipped++) {
+                if (!reader.skip())
+                    break;
+            }
+
+            List<RoomController.RoomDummyDetail> chunk = new ArrayList<>();
+            long chunkRows = 0;
+            long chunkFailedRows = 0;
+            while (true) {
+                try {
+                    RoomController.RoomDummyDetail row = reader.next();
+                    if (row == null)
+                        break;
+                    validate(reader.getRowNumber(), row);
+                    chunk.add(row);
+                } catch (RoomImportRowException e) {
+                    chunkFailedRows++;
+                    if (errors.size() < appProperties.getRoomImport().getMaxReportedErrors())
+                        errors.add(RoomImportError.builder().row(e.getRow()).message(e.getMessage()).build());
+                }
+
+                if (++chunkRows == chunkSize) {
+                    job = commitChunk(job, userId, chunk, chunkRows, chunkFailedRows);
+                    chunk = new ArrayList<>();
+                    chunkRows = 0;
+                    chunkFailedRows = 0;
+                }
+            }
+            if (chunkRows > 0)
+                job = commitChunk(job, userId, chunk, chunkRows, chunkFailedRows);
+        }
+
+        job = complete(job.getId());
+        return toResponse(job, errors);
+    }
+
+    private RoomImportJob createJob(Long userId, RoomImportFormat format) {
+        return roomImportJobRepository.save(RoomImportJob.builder()
+                .host(userRepository.getOne(userId))
+                .format(format)
+                .status(RoomImportStatus.IN_PROGRESS)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private RoomImportJob resumableJob(Long userId, Long jobId, RoomImportFormat format) {
+        RoomImportJob job = findJob(userId, jobId);
+        if (job.getStatus() == RoomImportStatus.COMPLETED)
+            throw new BadRequestException("이미 완료된 작업입니다.");
+        if (job.getFormat() != format)
+            throw new BadRequestException("처음 요청과 같은 형식으로 재개해야 합니다.");
+        return job;
+    }
+
+    private RoomImportJob findJob(Long userId, Long jobId) {
+        RoomImportJob job = roomImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new BadRequestException("존재하지 않는 작업입니다."));
+        if (!job.getHost().getId().equals(userId))
+            throw new BadRequestException("해당 작업의 요청자가 아닙니다.");
+        return job;
+    }
+
+    private void validate(long row, RoomController.RoomDummyDetail detail) {
+        if (isBlank(detail.getCountry()) || isBlank(detail.getCity()))
+            throw new RoomImportRowException(row, "country, city 는 필수입니다.");
+        if (detail.getLatitude() == null || detail.getLongitude() == null
+                || Math.abs(detail.getLatitude()) > 90 || Math.abs(detail.getLongitude()) > 180)
+            throw new RoomImportRowException(row, "위도, 경도가 올바르지 않습니다.");
+        if (detail.getPrice() == null || detail.getPrice() <= 0)
+            throw new RoomImportRowException(row, "price 는 0 보다 커야 합니다.");
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private RoomImportJob commitChunk(RoomImportJob job, Long userId, List<RoomController.RoomDummyDetail> rows, long processedRows, long failedRows) {
+        RoomImportJob committed = transactionTemplate.execute(status -> {
+            roomService.saveDummyRooms(rows, userRepository.getOne(userId));
+            if (roomImportJobRepository.advance(job.getId(), job.getVersion(), processedRows, rows.size(), failedRows, LocalDateTime.now()) == 0)
+                throw new BadRequestException("같은 작업이 다른 요청에서 진행되었습니다. 진행 상황을 조회한 뒤 다시 재개해 주세요.");
+            return roomImportJobRepository.findById(job.getId()).orElseThrow();
+        });
+        // open-in-view 로 요청 동안 영속성 컨텍스트가 유지되므로 청크마다 비워 메모리 사용량을 일정하게 유지한다.
+        entityManager.clear();
+        log.info("방 데이터 가져오기 진행 중. jobId = {}, committedRows = {}, importedRooms = {}, failedRows = {}",
+                committed.getId(), committed.getCommittedRows(), committed.getImportedRooms(), committed.getFailedRows());
+        return committed;
+    }
+
+    private RoomImportJob complete(Long jobId) {
+        return transactionTemplate.execute(status -> {
+            RoomImportJob job = roomImportJobRepository.findById(jobId).orElseThrow();
+            job.setStatus(RoomImportStatus.COMPLETED);
+            job.setUpdatedAt(LocalDateTime.now());
+            return job;
+        });
+    }
+
+    private RoomImportResponse toResponse(RoomImportJob job, List<RoomImportError> errors) {
+        return RoomImportResponse.builder()
+                .jobId(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .committedRows(job.getCommittedRows())
+                .importedRooms(job.getImportedRooms())
+                .failedRows(job.getFailedRows())
+                .updatedAt(job.getUpdatedAt())
+                .errors(errors)
+                .build();
+    }
+}
@@ -1,20 +1,34 @@
 package com.buildup.kbnb.util;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3Client;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.DeleteObjectRequest;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.*;
+import com.amazonaws.util.IOUtils;
+import com.buildup.kbnb.model.StoredObject;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
+import com.buildup.kbnb.repository.StoredObjectRepository;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.time.LocalDateTime;
+import java.io.*;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -22,26 +36,96 @@ import java.util.Optional;
 public class S3Uploader {
 
     private final AmazonS3Client amazonS3Client;
+    private final StoredObjectRepository storedObjectRepository;
+    private final BusinessMetrics businessMetrics;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
-    public String upload(MultipartFile multipartFile, String dirName, String userEmail) throws IOException {
-        File uploadFile = convert(multipartFile, userEmail)
-                .orElseThrow(() -> new IllegalArgumentException("MultipartFile -> File로 전환이 실패했습니다."));
-        return upload(uploadFile, dirName);
+    /**
+     * 업로드 내용의 SHA-256 을 키로 저장하며, 같은 내용이 이미 있으면 기존 객체의 URL 을 참조한다.
+     */
+    public String upload(MultipartFile multipartFile, String dirName) throws IOException {
+        File uploadFile = File.createTempFile("upload-", ".tmp");
+        try {
+            String contentHash;
+            try (InputStream in = multipartFile.getInputStream()) {
+                contentHash = copyWithHash(in, uploadFile);
+            }
+            return store(contentHash, dirName, extension(multipartFile.getContentType()), uploadFile.length(), key -> putS3(uploadFile, key));
+        } finally {
+            removeNewFile(uploadFile);
+        }
+    }
+
+    public String uploadBytes(byte[] bytes, String dirName, String contentType) {
+        String contentHash = Hex.encodeHexString(sha256().digest(bytes));
+        return store(contentHash, dirName, extension(contentType), bytes.length, key -> {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(bytes.length);
+            metadata.setContentType(contentType);
+            amazonS3Client.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(bytes), metadata)
+                    .withCannedAcl(CannedAccessControlList.PublicRead));
+        });
+    }
+
+    private String store(String contentHash, String dirName, String extension, long size, Consumer<String> put) {
+        // 조회와 참조 사이에 마지막 참조가 해제되어 행이 삭제되면 늘린 행이 없으므로 새로 올린다.
+        Optional<StoredObject> stored = storedObjectRepository.findByContentHash(contentHash);
+        if (stored.isPresent() && storedObjectRepository.addReference(stored.get().getId(), 1) > 0) {
+            return stored.get().getUrl();
+        }
+
+        // 삭제 중인 같은 내용의 객체와 키가 겹치면 뒤늦은 삭제에 새 객체가 지워지므로 업로드마다 키를 달리한다.
+        String key = dirName + "/" + contentHash + "-" + UUID.randomUUID() + "." + extension;
+        Tags tags = Tags.of("dir", dirName);
+        businessMetrics.run(BusinessMetrics.S3_UPLOAD, tags, () -> put.accept(key));
+        businessMetrics.recordBytes(BusinessMetrics.S3_UPLOAD_BYTES, tags, size);
+        String url = amazonS3Client.getUrl(bucket, key).toString();
+        try {
+            storedObjectRepository.save(StoredObject.builder()
+                    .contentHash(contentHash)
+                    .objectKey(key)
+                    .url(url)
+                    .refCount(1)
+                    .build());
+            return url;
+        } catch (DataIntegrityViolationException e) {
+            // 같은 내용이 동시에 업로드된 경우 먼저 등록된 객체를 참조한다.
+            StoredObject winner = storedObjectRepository.findByContentHash(contentHash).orElseThrow(() -> e);
+            if (storedObjectRepository.addReference(winner.getId(), 1) == 0)
+                throw e;
+            amazonS3Client.deleteObject(bucket, key);
+            return winner.getUrl();
+        }
     }
 
-    private String upload(File uploadFile, String dirName) {
-        String fileName = dirName + "/" + uploadFile.getName();
-        String uploadImageUrl = putS3(uploadFile, fileName);
-        removeNewFile(uploadFile);
-        return uploadImageUrl;
+    private String copyWithHash(InputStream in, File target) throws IOException {
+        MessageDigest digest = sha256();
+        try (DigestInputStream digestIn = new DigestInputStream(in, digest);
+             OutputStream out = new FileOutputStream(target)) {
+            digestIn.transferTo(out);
+        }
+        return Hex.encodeHexString(digest.digest());
     }
 
-    private String putS3(File uploadFile, String fileName) {
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String extension(String contentType) {
+        if (contentType == null || !contentType.startsWith("image/"))
+            return "png";
+        String subtype = contentType.substring("image/".length());
+        return subtype.equals("jpeg") ? "jpg" : subtype;
+    }
+
+    private void putS3(File uploadFile, String fileName) {
         amazonS3Client.putObject(new PutObjectRequest(bucket, fileName, uploadFile).withCannedAcl(CannedAccessControlList.PublicRead));
-        return amazonS3Client.getUrl(bucket, fileName).toString();
     }
 
     private void removeNewFile(File targetFile) {
@@ -52,20 +136,109 @@ public class S3Uploader {
         }
     }
 
-    private Optional<File> convert(MultipartFile file, String userEmail) throws IOException {
-        String uniqueFileName = userEmail + ".png";
+    public URL generatePresignedPutUrl(String fileName, String contentType, long contentLength, Date expiration) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, fileName)
+                .withMethod(HttpMethod.PUT)
+                .withContentType(contentType)
+                .withExpiration(expiration);
+        request.putCustomRequestHeader(Headers.CONTENT_LENGTH, String.valueOf(contentLength));
+        return amazonS3Client.generatePresignedUrl(request);
+    }
 
-        File convertFile = new File(uniqueFileName);
-        if(convertFile.createNewFile()) {
-            try (FileOutputStream fos = new FileOutputStream(convertFile)) {
-                fos.write(file.getBytes());
+    public Optional<ObjectMetadata> getObjectMetadata(String fileName) {
+        try {
+            return Optional.of(amazonS3Client.getObjectMetadata(bucket, fileName));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
             }
-            return Optional.of(convertFile);
+            throw e;
         }
-        return Optional.empty();
     }
 
+    public boolean isPublished(String fileName) {
+        return storedObjectRepository.existsByUrl(amazonS3Client.getUrl(bucket, fileName).toString());
+    }
+
+    /**
+     * 직접 업로드된 객체를 공개하고 참조 인덱스에 등록한다.
+     * 같은 키가 이미 등록되어 있으면 URL 유니크 제약으로 DataIntegrityViolationException 이 발생한다.
+     */
+    public String publish(String fileName) {
+        amazonS3Client.setObjectAcl(bucket, fileName, CannedAccessControlList.PublicRead);
+        String url = amazonS3Client.getUrl(bucket, fileName).toString();
+        storedObjectRepository.save(StoredObject.builder()
+                .objectKey(fileName)
+                .url(url)
+                .refCount(1)
+                .build());
+        return url;
+    }
+
+    /**
+     * 업로드를 거치지 않고 이미 있는 URL 을 참조하는 경우 참조 수를 늘린다.
+     */
+    public void retain(String fileURL, int count) {
+        if (storedObjectRepository.addReferenceByUrl(fileURL, count) > 0) {
+            return;
+        }
+        Optional<String> key = toObjectKey(fileURL);
+        if (key.isEmpty()) {
+            return;
+        }
+        try {
+            storedObjectRepository.save(StoredObject.builder()
+                    .objectKey(key.get())
+                    .url(fileURL)
+                    .refCount(count)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 URL 이 동시에 등록된 경우 먼저 등록된 행의 참조를 늘린다.
+            if (storedObjectRepository.addReferenceByUrl(fileURL, count) == 0)
+                throw e;
+        }
+    }
+
+    public byte[] download(String fileName) throws IOException {
+        try (S3Object object = amazonS3Client.getObject(bucket, fileName)) {
+            return IOUtils.toByteArray(object.getObjectContent());
+        }
+    }
+
+    public void deleteObject(String fileName) {
+        amazonS3Client.deleteObject(bucket, fileName);
+    }
+
+    /**
+     * 참조 수를 하나 줄이고, 더 이상 참조하는 곳이 없을 때만 객체를 삭제한다.
+     * 인덱스에 없는 URL 은 다른 참조를 알 수 없으므로 삭제하지 않는다.
+     */
     public void deleteFileFromS3(String fileURL) {
-        amazonS3Client.deleteObject(new DeleteObjectRequest(bucket, fileURL));
+        Optional<StoredObject> stored = storedObjectRepository.findFirstByUrl(fileURL);
+        if (stored.isEmpty()) {
+            log.info("참조 인덱스에 없는 파일은 삭제하지 않습니다. url = {}", fileURL);
+            return;
+        }
+
+        Long id = stored.get().getId();
+        storedObjectRepository.releaseReference(id);
+        if (storedObjectRepository.deleteIfUnreferenced(id) > 0) {
+            amazonS3Client.deleteObject(new DeleteObjectRequest(bucket, stored.get().getObjectKey()));
+        }
+    }
+
+    /**
+     * 숙소 사진 원본과 함께 만들어 둔 크기별 사본의 참조도 해제한다.
+     */
+    public void deleteRoomImgFiles(RoomImg roomImg) {
+        deleteFileFromS3(roomImg.getUrl());
+        roomImg.getDerivativeUrls().forEach(this::deleteFileFromS3);
+    }
+
+    public Optional<String> toObjectKey(String fileURL) {
+        String prefix = amazonS3Client.getUrl(bucket, "").toString();
+        if (fileURL == null || !fileURL.startsWith(prefix))
+            return Optional.empty();
+        return Optional.of(URLDecoder.decode(fileURL.substring(prefix.length()), StandardCharsets.UTF_8));
     }
 }
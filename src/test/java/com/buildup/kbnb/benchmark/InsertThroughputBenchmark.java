@@ -0,0 +1,75 @@
+package com.buildup.kbnb.benchmark;
+
+import com.buildup.kbnb.model.Location;
+import com.buildup.kbnb.model.room.BathRoom;
+import com.buildup.kbnb.model.room.BedRoom;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+
+/**
+ * createRoomDummyData 와 같은 모양(방 1개당 10 row)으로 insert 처리량을 측정한다.
+ * ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=OFF",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=OFF"
+})
+@ActiveProfiles("test")
+class InsertThroughputBenchmark {
+    static final int WARMUP_ROOMS = 500;
+    static final int ROOMS = 5000;
+    static final int FLUSH_SIZE = 100;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    @DisplayName("방 데이터 insert 처리량")
+    void insertRooms() {
+        insert(WARMUP_ROOMS);
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        insert(ROOMS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long rows = statistics.getEntityInsertCount();
+        System.out.printf("rooms=%d rows=%d statements=%d elapsed=%.3fs throughput=%.0f rows/s%n",
+                ROOMS, rows, statistics.getPrepareStatementCount(), seconds, rows / seconds);
+    }
+
+    private void insert(int roomCount) {
+        for (int i = 0; i < roomCount; i++) {
+            Location location = Location.builder().country("한국").city("부산").latitude(35.1).longitude(129.0).build();
+            entityManager.persist(location);
+
+            Room room = Room.builder().name("room" + i).roomCost(10000.0).location(location).build();
+            entityManager.persist(room);
+            for (int j = 0; j < 6; j++) {
+                entityManager.persist(RoomImg.builder().url("url" + j).room(room).build());
+            }
+            entityManager.persist(BathRoom.builder().isPrivate(true).room(room).build());
+            entityManager.persist(BedRoom.builder().singleSize(2).queenSize(0).doubleSize(0).superSingleSize(0).room(room).build());
+
+            if ((i + 1) % FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
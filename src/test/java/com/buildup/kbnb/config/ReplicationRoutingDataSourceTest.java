@@ -0,0 +1,116 @@
+package com.buildup.kbnb.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationRoutingDataSourceTest {
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    private DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists node (name varchar(16))");
+        template.update("delete from node");
+        template.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    @BeforeEach
+    void setUp() {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(ReplicationRoutingDataSource.PRIMARY, h2("primary"));
+        targetDataSources.put(ReplicationRoutingDataSource.REPLICA, h2("replica"));
+
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource();
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private String currentNode(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 replica, 나머지는 primary 로 라우팅")
+    void routeByReadOnly() {
+        assertThat(currentNode(readOnly)).isEqualTo("replica");
+        assertThat(currentNode(readWrite)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("select name from node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("같은 요청에서 쓰기 이후의 읽기는 primary 로 고정")
+    void stickToPrimaryAfterWrite() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(currentNode(readOnly)).isEqualTo("replica");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        assertThat(currentNode(readOnly)).isEqualTo("primary");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(currentNode(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("readFromPrimary 안의 readOnly 트랜잭션은 요청을 고정하지 않고 primary 로 라우팅")
+    void readFromPrimary() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertThat(ReplicationRoutingDataSource.readFromPrimary(() -> currentNode(readOnly))).isEqualTo("primary");
+
+        assertThat(currentNode(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("replica 설정이 있을 때만 라우팅 DataSource 등록")
+    void registerOnlyWithReplicaUrl() {
+        ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(ReplicationDataSourceConfig.class)
+                .withPropertyValues("spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1");
+
+        contextRunner.run(context -> assertThat(context.getBean(DataSource.class))
+                .isNotInstanceOf(LazyConnectionDataSourceProxy.class));
+
+        contextRunner.withPropertyValues("app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1")
+                .run(context -> {
+                    assertThat(context.getBean(DataSource.class)).isInstanceOf(LazyConnectionDataSourceProxy.class);
+                    assertThat(new JdbcTemplate(context.getBean(DataSource.class))
+                            .queryForObject("select 1", Integer.class)).isEqualTo(1);
+                });
+    }
+}
@@ -0,0 +1,115 @@
+package com.buildup.kbnb.config;
+
+import com.buildup.kbnb.model.Location;
+import com.buildup.kbnb.model.room.BedRoom;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.repository.room.RoomRepository;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest {
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    RoomRepository roomRepository;
+
+    @Autowired
+    MeterBinder secondLevelCacheHitRatioMetrics;
+
+    Statistics statistics;
+    Long roomId;
+
+    @TestConfiguration
+    @Import(SecondLevelCacheConfig.class)
+    @EnableConfigurationProperties(AppProperties.class)
+    static class Config {
+    }
+
+    @BeforeEach
+    void setUp() {
+        roomId = new TransactionTemplate(transactionManager).execute(status -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            entityManager.joinTransaction();
+            User host = User.builder().name("host").email("host" + System.nanoTime() + "@gmail.com").emailVerified(false).provider(AuthProvider.local).build();
+            Location location = Location.builder().latitude(37.5).longitude(127.0).build();
+            Room room = Room.builder().name("room").host(host).location(location).build();
+            entityManager.persist(host);
+            entityManager.persist(location);
+            entityManager.persist(room);
+            entityManager.persist(BedRoom.builder().doubleSize(1).room(room).build());
+            entityManager.flush();
+            return room.getId();
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("설정한 region 만 생성")
+    void regions() {
+        assertThat(CacheRegions.ALL).containsAll(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+    }
+
+    @Test
+    @DisplayName("숙소 상세 조회 쿼리와 엔티티, 컬렉션을 2차 캐시에서 조회")
+    void cacheRoomDetail() {
+        loadRoomDetail();
+        loadRoomDetail();
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getCacheRegionStatistics(CacheRegions.ROOM).getHitCount()).isPositive();
+        assertThat(statistics.getCacheRegionStatistics(CacheRegions.ROOM_BED_ROOM_LIST).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getCacheRegionStatistics(CacheRegions.BED_ROOM).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("region 별 적중률 metric 등록")
+    void hitRatioMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheHitRatioMetrics.bindTo(registry);
+
+        loadRoomDetail();
+        loadRoomDetail();
+
+        double hitRatio = registry.get("hibernate.second.level.cache.hit.ratio").tag("region", CacheRegions.ROOM_BED_ROOM_LIST).gauge().value();
+        assertThat(hitRatio).isEqualTo(0.5);
+    }
+
+    private void loadRoomDetail() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Room room = roomRepository.findByIdWithUserLocation(roomId).orElseThrow(IllegalStateException::new);
+            assertThat(room.getBedRoomList()).hasSize(1);
+        });
+    }
+}
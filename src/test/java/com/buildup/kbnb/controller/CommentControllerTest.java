@@ -3,7 +3,6 @@ package com.buildup.kbnb.controller;
 import com.buildup.kbnb.advice.exception.ResourceNotFoundException;
 import com.buildup.kbnb.config.RestDocsConfiguration;
 import com.buildup.kbnb.dto.comment.CommentCreateReq;
-import com.buildup.kbnb.dto.comment.GradeInfo;
 import com.buildup.kbnb.model.Comment;
 import com.buildup.kbnb.model.Reservation;
 import com.buildup.kbnb.model.room.Room;
@@ -115,13 +114,7 @@ class CommentControllerTest {
                 .build();
 
         Room room = Room.builder()
-                .cleanliness(4.5)
-                .accuracy(4.5)
-                .communication(4.5)
-                .locationRate(4.5)
-                .checkIn(4.5)
-                .priceSatisfaction(4.5)
-                .commentList(new ArrayList<>())
+                .id(1L)
                 .build();
 
         Reservation reservation = Reservation.builder()
@@ -139,19 +132,8 @@ class CommentControllerTest {
                 .id(1L)
                 .build();
 
-        GradeInfo gradeInfo = GradeInfo.builder()
-                .accuracy(5.0)
-                .checkIn(5.0)
-                .cleanliness(5.0)
-                .communication(5.0)
-                .locationRate(5.0)
-                .priceSatisfaction(5.0)
-                .totalGrade(5.0)
-                .build();
-
-        given(commentService.calcGradeInfo(any(), any(), any())).willReturn(gradeInfo);
         given(reservationService.findByIdWithRoomAndUser(eq(req.getReservationId()))).willReturn(reservation);
-        given(commentService.createCommentTx(any(), any(), any(), any())).willReturn(res);
+        given(commentService.createCommentTx(any(), any())).willReturn(res);
 
         mockMvc.perform(post("/comment")
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
@@ -228,14 +210,13 @@ class CommentControllerTest {
 
         Room room = Room.builder()
                 .id(1L)
-                .grade(4.5)
-                .cleanliness(4.5)
-                .accuracy(4.5)
-                .communication(4.5)
-                .locationRate(4.5)
-                .checkIn(4.5)
-                .priceSatisfaction(4.5)
-                .commentList(new ArrayList<>())
+                .cleanlinessSum(9.0)
+                .accuracySum(9.0)
+                .communicationSum(9.0)
+                .locationRateSum(9.0)
+                .checkInSum(9.0)
+                .priceSatisfactionSum(9.0)
+                .commentCount(2)
                 .build();
 
         List<Comment> commentList = new ArrayList<>();
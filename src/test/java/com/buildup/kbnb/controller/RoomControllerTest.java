@@ -5,6 +5,12 @@ import com.buildup.kbnb.config.RestDocsConfiguration;
 import com.buildup.kbnb.dto.room.BathRoomDto;
 import com.buildup.kbnb.dto.room.BedRoomDto;
 import com.buildup.kbnb.dto.room.CreateRoomRequestDto;
+import com.buildup.kbnb.dto.room.bulk.RoomImportError;
+import com.buildup.kbnb.dto.room.bulk.RoomImportResponse;
+import com.buildup.kbnb.dto.room.calendar.MonthCalendar;
+import com.buildup.kbnb.dto.room.calendar.PriceRun;
+import com.buildup.kbnb.dto.room.calendar.RoomCalendarResponse;
+import com.buildup.kbnb.dto.room.quote.StayQuote;
 import com.buildup.kbnb.dto.room.check.CheckRoomReq;
 import com.buildup.kbnb.dto.room.detail.ReservationDate;
 import com.buildup.kbnb.dto.room.search.*;
@@ -14,6 +20,8 @@ import com.buildup.kbnb.model.room.BathRoom;
 import com.buildup.kbnb.model.room.BedRoom;
 import com.buildup.kbnb.model.room.Room;
 import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.model.room.RoomImportFormat;
+import com.buildup.kbnb.model.room.RoomImportStatus;
 import com.buildup.kbnb.model.user.AuthProvider;
 import com.buildup.kbnb.model.user.User;
 import com.buildup.kbnb.repository.UserRepository;
@@ -25,6 +33,9 @@ import com.buildup.kbnb.service.RoomService;
 import com.buildup.kbnb.service.UserRoomService;
 import com.buildup.kbnb.service.UserService;
 import com.buildup.kbnb.service.reservation.ReservationService;
+import com.buildup.kbnb.service.reservation.RoomOccupancyService;
+import com.buildup.kbnb.service.room.RoomAvailabilityService;
+import com.buildup.kbnb.service.room.RoomImportService;
 import com.buildup.kbnb.util.S3Uploader;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -46,10 +57,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -60,6 +76,7 @@ import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuild
 import static org.springframework.restdocs.payload.PayloadDocumentation.*;
 import static org.springframework.restdocs.request.RequestDocumentation.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -106,6 +123,15 @@ class RoomControllerTest {
     @MockBean
     S3Uploader s3Uploader;
 
+    @MockBean
+    RoomImportService roomImportService;
+
+    @MockBean
+    RoomOccupancyService roomOccupancyService;
+
+    @MockBean
+    RoomAvailabilityService roomAvailabilityService;
+
     public User createUser() {
         User user = User.builder()
                 .id(1L)
@@ -166,6 +192,7 @@ class RoomControllerTest {
                                 fieldWithPath("checkDateSearch").description("날짜 검색 조건").optional(),
                                 fieldWithPath("checkDateSearch.startDate").description("체크 인 날짜"),
                                 fieldWithPath("checkDateSearch.endDate").description("체크 아웃 날짜"),
+                                fieldWithPath("checkDateSearch.flexibleDays").description("1 이상이면 체크 인을 앞뒤로 최대 이 일 수만큼 옮겨 같은 박 수로 묵을 수 있는 숙소 검색 (최대 7)").optional(),
                                 fieldWithPath("guestSearch").description("게스트 수 검색 조건").optional(),
                                 fieldWithPath("guestSearch.numOfAdult").description("성인 수"),
                                 fieldWithPath("guestSearch.numOfKid").description("어린이 수"),
@@ -203,6 +230,8 @@ class RoomControllerTest {
                                 fieldWithPath("_embedded.roomDtoList[].longitude").description("숙소 위치 경도 값"),
                                 fieldWithPath("_embedded.roomDtoList[].commentCount").description("댓글 수"),
                                 fieldWithPath("_embedded.roomDtoList[].isCheck").description("해당 숙소 좋아요 여부"),
+                                fieldWithPath("_embedded.roomDtoList[].isRecommended").description("지난달 예약률 기준 추천 숙소 여부"),
+                                fieldWithPath("_embedded.roomDtoList[].checkInShift").description("날짜 유연 검색에서 요청한 체크 인 대비 예약 가능한 가장 가까운 체크 인까지의 일 수 (앞이면 음수)").optional(),
                                 fieldWithPath("_embedded.roomDtoList[].roomImgUrlList[]").description("숙소 사진 리스트"),
                                 fieldWithPath("_links.profile.href").description("해당 API 문서 URL"),
                                 fieldWithPath("_links.first.href").description("첫번째 페이지 URL"),
@@ -218,6 +247,33 @@ class RoomControllerTest {
                 ));
     }
 
+    @Test
+    @DisplayName("숙소 리스트 검색 - 날짜 유연 검색")
+    public void getListByFlexibleDate() throws Exception {
+        RoomSearchCondition roomSearchCondition = getRoomSearchCondition();
+        roomSearchCondition.getCheckDateSearch().setFlexibleDays(3);
+        Pageable pageable = PageRequest.of(0, 5);
+        List<Room> roomList = getRoomList().subList(0, 2);
+        Map<Long, Integer> checkInShifts = new HashMap<>();
+        checkInShifts.put(1L, 0);
+        checkInShifts.put(2L, -2);
+
+        given(roomService.searchFlexibleByCondition(any(), any()))
+                .willReturn(new FlexibleSearchResult(new PageImpl<>(roomList, pageable, 2), checkInShifts));
+        given(roomService.getBedNum(any())).willReturn(2);
+
+        mockMvc.perform(post("/room/list")
+                .param("page", String.valueOf(pageable.getPageNumber()))
+                .param("size", String.valueOf(pageable.getPageSize()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(roomSearchCondition)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.roomDtoList[0].checkInShift").value(0))
+                .andExpect(jsonPath("_embedded.roomDtoList[1].checkInShift").value(-2))
+                .andExpect(jsonPath("page.totalElements").value(2));
+    }
+
     private RoomSearchCondition getRoomSearchCondition() {
         LocationSearch locationSearch = LocationSearch.builder()
                 .latitude(10.0)
@@ -306,7 +362,6 @@ class RoomControllerTest {
                     .cleaningCost(5000.0)
                     .isParking(false)
                     .isSmoking(false)
-                    .grade(4.5)
                     .location(location)
                     .bathRoomList(bathRooms)
                     .bedRoomList(bedRooms)
@@ -424,7 +479,6 @@ class RoomControllerTest {
                 .checkOutTime(LocalTime.of(12, 0))
                 .isSmoking(false)
                 .isParking(true)
-                .grade(4.6)
                 .host(host)
                 .location(location)
                 .roomImgList(roomImgList)
@@ -557,7 +611,7 @@ class RoomControllerTest {
     public void recommendRoom() throws Exception {
         Long roomId = 1L;
 
-        given(reservationService.checkRecommendedRoom(roomId)).willReturn(true);
+        given(roomOccupancyService.isRecommended(roomId)).willReturn(true);
 
         mockMvc.perform(get("/room/recommend")
                 .param("roomId", String.valueOf(roomId)))
@@ -574,4 +628,192 @@ class RoomControllerTest {
                         )
                 ));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("숙소 예약 가능 달력")
+    public void getCalendar() throws Exception {
+        Long roomId = 1L;
+        YearMonth from = YearMonth.of(2021, 3);
+        List<MonthCalendar> months = new ArrayList<>();
+        months.add(MonthCalendar.builder()
+                .month(from)
+                .available("1111001111111111111111111111100")
+                .availableNights(27)
+                .prices(List.of(new PriceRun(1, 4, 50000), new PriceRun(7, 29, 50000)))
+                .build());
+        months.add(MonthCalendar.builder()
+                .month(from.plusMonths(1))
+                .available("111111111111111111111111111111")
+                .availableNights(30)
+                .prices(List.of(new PriceRun(1, 30, 50000)))
+                .build());
+        given(roomAvailabilityService.getCalendar(roomId, from, 2))
+                .willReturn(RoomCalendarResponse.builder().roomId(roomId).minNights(2).maxNights(14).months(months).build());
+
+        mockMvc.perform(get("/room/calendar")
+                .param("roomId", String.valueOf(roomId))
+                .param("from", "2021-03")
+                .param("months", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("room-calendar",
+                        requestParameters(
+                                parameterWithName("roomId").description("숙소 식별자 값"),
+                                parameterWithName("from").description("조회 시작 월(yyyy-MM), 없으면 이번 달"),
+                                parameterWithName("months").description("조회할 개월 수, 기본 2")
+                        ),
+                        responseFields(
+                                fieldWithPath("roomId").description("숙소 식별자 값"),
+                                fieldWithPath("minNights").description("최소 숙박 일 수"),
+                                fieldWithPath("maxNights").description("최대 숙박 일 수, 제한이 없으면 null").optional(),
+                                fieldWithPath("months[].month").description("월(yyyy-MM)"),
+                                fieldWithPath("months[].available").description("1일부터 말일까지 박마다 예약 가능하면 1, 아니면 0"),
+                                fieldWithPath("months[].availableNights").description("예약 가능한 박 수"),
+                                fieldWithPath("months[].prices[].fromDay").description("같은 1박 가격이 시작되는 날"),
+                                fieldWithPath("months[].prices[].toDay").description("같은 1박 가격이 끝나는 날(포함)"),
+                                fieldWithPath("months[].prices[].price").description("1박 가격"),
+                                fieldWithPath("_links.self.href").description("해당 API URL"),
+                                fieldWithPath("_links.profile.href").description("해당 API 문서 URL")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("숙박 금액 견적")
+    public void getQuote() throws Exception {
+        Long roomId = 1L;
+        LocalDate checkIn = LocalDate.of(2021, 3, 5);
+        LocalDate checkOut = LocalDate.of(2021, 3, 12);
+        given(roomAvailabilityService.quote(roomId, checkIn, checkOut)).willReturn(StayQuote.builder()
+                .roomId(roomId)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .nights(7)
+                .available(true)
+                .nightlyTotal(390000)
+                .discountRate(10)
+                .discount(39000)
+                .serviceFee(35100.0)
+                .cleaningCost(20000.0)
+                .tax(5000.0)
+                .totalCost(411100.0)
+                .build());
+
+        mockMvc.perform(get("/room/quote")
+                .param("roomId", String.valueOf(roomId))
+                .param("checkIn", "2021-03-05")
+                .param("checkOut", "2021-03-12"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("room-quote",
+                        requestParameters(
+                                parameterWithName("roomId").description("숙소 식별자 값"),
+                                parameterWithName("checkIn").description("체크 인 날짜"),
+                                parameterWithName("checkOut").description("체크 아웃 날짜")
+                        ),
+                        responseFields(
+                                fieldWithPath("roomId").description("숙소 식별자 값"),
+                                fieldWithPath("checkIn").description("체크 인 날짜"),
+                                fieldWithPath("checkOut").description("체크 아웃 날짜"),
+                                fieldWithPath("nights").description("숙박 일 수"),
+                                fieldWithPath("available").description("예약된 날짜, 막은 날짜, 최소, 최대 박 수를 모두 만족하면 true"),
+                                fieldWithPath("nightlyTotal").description("1박 가격의 합"),
+                                fieldWithPath("discountRate").description("숙박 일 수 할인율(%)"),
+                                fieldWithPath("discount").description("할인 금액"),
+                                fieldWithPath("serviceFee").description("서비스 수수료, 할인 후 숙박 금액의 10%"),
+                                fieldWithPath("cleaningCost").description("청소비"),
+                                fieldWithPath("tax").description("세금"),
+                                fieldWithPath("totalCost").description("결제할 총 금액"),
+                                fieldWithPath("_links.self.href").description("해당 API URL"),
+                                fieldWithPath("_links.profile.href").description("해당 API 문서 URL")
+                        )
+                ));
+    }
+
+    private RoomImportResponse createImportResponse(List<RoomImportError> errors) {
+        return RoomImportResponse.builder()
+                .jobId(1L)
+                .format(RoomImportFormat.NDJSON)
+                .status(RoomImportStatus.COMPLETED)
+                .committedRows(3)
+                .importedRooms(2)
+                .failedRows(1)
+                .updatedAt(LocalDateTime.now())
+                .errors(errors)
+                .build();
+    }
+
+    @Test
+    @DisplayName("숙소 대량 등록")
+    public void importRooms() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        List<RoomImportError> errors = new ArrayList<>();
+        errors.add(RoomImportError.builder().row(2).message("price 는 0 보다 커야 합니다.").build());
+        given(roomImportService.importRooms(eq(user.getId()), any(), eq(RoomImportFormat.NDJSON), any()))
+                .willReturn(createImportResponse(errors));
+
+        String content = "{\"room_id\":\"1\",\"room_type\":\"Private room\",\"country\":\"한국\",\"city\":\"부산\",\"borough\":\"해운대구\",\"neighborhood\":\"우동\",\"latitude\":35.16,\"longitude\":129.16,\"location\":\"우동 1\",\"price\":50}\n"
+                + "{\"room_id\":\"2\",\"room_type\":\"Private room\",\"country\":\"한국\",\"city\":\"부산\",\"latitude\":35.16,\"longitude\":129.16,\"price\":0}\n"
+                + "{\"room_id\":\"3\",\"room_type\":\"Entire home\",\"country\":\"한국\",\"city\":\"부산\",\"latitude\":35.15,\"longitude\":129.11,\"price\":80}\n";
+
+        mockMvc.perform(post("/room/import")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(RoomImportFormat.NDJSON_VALUE)
+                .content(content.getBytes(StandardCharsets.UTF_8)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("room-import",
+                        requestHeaders(
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("application/x-ndjson 또는 text/csv (CSV 는 첫 행이 헤더)"),
+                                headerWithName(HttpHeaders.AUTHORIZATION).description("인증 토큰")
+                        ),
+                        requestParameters(
+                                parameterWithName("jobId").description("중단된 작업을 재개할 때 작업 식별자").optional()
+                        ),
+                        responseFields(
+                                fieldWithPath("jobId").description("작업 식별자"),
+                                fieldWithPath("format").description("입력 형식"),
+                                fieldWithPath("status").description("작업 상태 (IN_PROGRESS, COMPLETED)"),
+                                fieldWithPath("committedRows").description("커밋된 청크까지 처리한 행 수"),
+                                fieldWithPath("importedRooms").description("등록된 숙소 수"),
+                                fieldWithPath("failedRows").description("오류로 건너뛴 행 수"),
+                                fieldWithPath("updatedAt").description("마지막 커밋 시간"),
+                                fieldWithPath("errors[].row").description("오류 행 번호"),
+                                fieldWithPath("errors[].message").description("오류 내용"),
+                                fieldWithPath("_links.progress.href").description("진행 상황 조회 URL"),
+                                fieldWithPath("_links.profile.href").description("해당 API 문서 URL")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("숙소 대량 등록 진행 상황 조회")
+    public void getImportProgress() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        given(roomImportService.getProgress(user.getId(), 1L)).willReturn(createImportResponse(new ArrayList<>()));
+
+        mockMvc.perform(get("/room/import/{jobId}", 1L)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("room-import-progress",
+                        pathParameters(
+                                parameterWithName("jobId").description("작업 식별자")
+                        ),
+                        responseFields(
+                                fieldWithPath("jobId").description("작업 식별자"),
+                                fieldWithPath("format").description("입력 형식"),
+                                fieldWithPath("status").description("작업 상태 (IN_PROGRESS, COMPLETED)"),
+                                fieldWithPath("committedRows").description("커밋된 청크까지 처리한 행 수"),
+                                fieldWithPath("importedRooms").description("등록된 숙소 수"),
+                                fieldWithPath("failedRows").description("오류로 건너뛴 행 수"),
+                                fieldWithPath("updatedAt").description("마지막 커밋 시간"),
+                                fieldWithPath("errors").description("진행 상황 조회시에는 빈 리스트"),
+                                fieldWithPath("_links.self.href").description("해당 API URL"),
+                                fieldWithPath("_links.profile.href").description("해당 API 문서 URL")
+                        )
+                ));
+    }
+}
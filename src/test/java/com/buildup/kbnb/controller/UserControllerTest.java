@@ -1,9 +1,12 @@
 package com.buildup.kbnb.controller;
 
 import com.buildup.kbnb.config.RestDocsConfiguration;
+import com.buildup.kbnb.dto.upload.PresignRequest;
+import com.buildup.kbnb.dto.upload.PresignResponse;
 import com.buildup.kbnb.dto.user.BirthDto;
 import com.buildup.kbnb.dto.user.EmailDto;
 import com.buildup.kbnb.dto.user.NameDto;
+import com.buildup.kbnb.dto.user.UserPhotoFinalizeRequest;
 import com.buildup.kbnb.dto.user.UserUpdateRequest;
 import com.buildup.kbnb.model.user.AuthProvider;
 import com.buildup.kbnb.model.user.User;
@@ -11,6 +14,7 @@ import com.buildup.kbnb.repository.UserRepository;
 import com.buildup.kbnb.security.CustomUserDetailsService;
 import com.buildup.kbnb.security.TokenProvider;
 import com.buildup.kbnb.security.UserPrincipal;
+import com.buildup.kbnb.service.PresignedUploadService;
 import com.buildup.kbnb.service.UserService;
 import com.buildup.kbnb.util.S3Uploader;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -33,6 +37,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.naming.Name;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -68,6 +73,9 @@ class UserControllerTest {
     @MockBean
     S3Uploader s3Uploader;
 
+    @MockBean
+    PresignedUploadService presignedUploadService;
+
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
@@ -233,7 +241,7 @@ class UserControllerTest {
         User user = createUser();
         String token = tokenProvider.createToken(String.valueOf(user.getId()));
         given(userService.findById(any())).willReturn(user);
-        given(s3Uploader.upload(any(), any(), any())).willReturn("test url");
+        given(s3Uploader.upload(any(), any())).willReturn("test url");
 
         mockMvc.perform(fileUpload("/user/update/photo").file("file.jpg", "example".getBytes())
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA)
@@ -258,7 +266,7 @@ class UserControllerTest {
         User user = createUser();
         String token = tokenProvider.createToken(String.valueOf(user.getId()));
         given(userService.findById(any())).willReturn(user);
-        given(s3Uploader.upload(any(), any(), any())).willReturn("test url");
+        given(s3Uploader.upload(any(), any())).willReturn("test url");
 
         MockMultipartFile mockMultipartFile = new MockMultipartFile("file","originFilName","docs/d","example".getBytes());
 
@@ -484,4 +492,70 @@ class UserControllerTest {
                                 fieldWithPath("msg").description("exception 메시지")
                         )));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("유저 사진 직접 업로드 URL 발급")
+    public void presignPhoto() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        given(userService.findById(any())).willReturn(user);
+        given(presignedUploadService.presignUserPhoto(any(), any())).willReturn(PresignResponse.builder()
+                .key("userImg/1/5f0c1a3e")
+                .uploadUrl("https://pungdong.s3.ap-northeast-2.amazonaws.com/userImg/1/5f0c1a3e?X-Amz-Signature=test")
+                .contentType("image/png")
+                .contentLength(1024L)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build());
+
+        PresignRequest req = PresignRequest.builder().contentType("image/png").contentLength(1024L).build();
+
+        mockMvc.perform(post("/user/photo/presign")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .content(objectMapper.writeValueAsString(req)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("user-presignPhoto",
+                        requestFields(
+                                fieldWithPath("roomId").description("사용하지 않음").optional().ignored(),
+                                fieldWithPath("contentType").description("업로드할 파일의 Content-Type"),
+                                fieldWithPath("contentLength").description("업로드할 파일의 크기(byte)")
+                        ),
+                        responseFields(
+                                fieldWithPath("key").description("업로드될 파일의 키, 업로드 완료 요청에 사용"),
+                                fieldWithPath("uploadUrl").description("PUT 요청으로 파일을 업로드할 URL"),
+                                fieldWithPath("contentType").description("업로드시 보내야 하는 Content-Type 헤더"),
+                                fieldWithPath("contentLength").description("업로드시 보내야 하는 Content-Length 헤더"),
+                                fieldWithPath("expiresAt").description("업로드 URL 만료 시간"),
+                                fieldWithPath("_links.profile.href").description("해당 API 문서 URL")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("유저 사진 직접 업로드 완료")
+    public void finalizePhoto() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        given(userService.findById(any())).willReturn(user);
+        given(presignedUploadService.finalizeUserPhoto(any(), any())).willReturn("test url");
+
+        UserPhotoFinalizeRequest req = UserPhotoFinalizeRequest.builder().key("userImg/1/5f0c1a3e").build();
+
+        mockMvc.perform(post("/user/photo/finalize")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .content(objectMapper.writeValueAsString(req)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("user-finalizePhoto",
+                        requestFields(
+                                fieldWithPath("key").description("업로드를 마친 파일 키")
+                        ),
+                        responseFields(
+                                fieldWithPath("newImgUrl").description("새로운 이미지 URL"),
+                                fieldWithPath("_links.profile.href").description("해당 API 문서 URL")
+                        )
+                ));
+    }
+}
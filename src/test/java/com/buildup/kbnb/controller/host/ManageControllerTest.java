@@ -1,15 +1,24 @@
 package com.buildup.kbnb.controller.host;
 
 import com.buildup.kbnb.config.RestDocsConfiguration;
+import com.buildup.kbnb.dto.host.analytics.*;
+import com.buildup.kbnb.dto.host.availability.*;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.host.export.ReservationExportFormat;
 import com.buildup.kbnb.dto.host.income.IncomeResponse;
-import com.buildup.kbnb.model.Payment;
-import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.dto.host.income.RoomIncome;
+import com.buildup.kbnb.dto.host.income.RoomIncomeResponse;
+import com.buildup.kbnb.dto.host.income.YearIncome;
+import com.buildup.kbnb.dto.host.income.YearlyIncomeResponse;
 import com.buildup.kbnb.model.user.User;
 import com.buildup.kbnb.security.CustomUserDetailsService;
 import com.buildup.kbnb.security.TokenProvider;
 import com.buildup.kbnb.security.UserPrincipal;
 import com.buildup.kbnb.service.UserService;
-import com.buildup.kbnb.service.reservation.ReservationService;
+import com.buildup.kbnb.service.reservation.HostAnalyticsService;
+import com.buildup.kbnb.service.reservation.HostRevenueService;
+import com.buildup.kbnb.service.reservation.ReservationExportService;
+import com.buildup.kbnb.service.room.HostAvailabilityService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,26 +30,40 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.restdocs.payload.FieldDescriptor;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
 import static org.springframework.restdocs.headers.HeaderDocumentation.responseHeaders;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.put;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
 import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
 import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -59,6 +82,9 @@ public class ManageControllerTest {
     @Autowired
     TokenProvider tokenProvider;
 
+    @Autowired
+    AppProperties appProperties;
+
     @MockBean
     CustomUserDetailsService customUserDetailsService;
 
@@ -66,7 +92,16 @@ public class ManageControllerTest {
     UserService userService;
 
     @MockBean
-    ReservationService reservationService;
+    HostRevenueService hostRevenueService;
+
+    @MockBean
+    HostAnalyticsService hostAnalyticsService;
+
+    @MockBean
+    ReservationExportService reservationExportService;
+
+    @MockBean
+    HostAvailabilityService hostAvailabilityService;
 
     public User createUser() {
         User user = User.builder()
@@ -79,19 +114,6 @@ public class ManageControllerTest {
 
         return user;
     }
-    public List<Reservation> createReservationList() {
-        List<Reservation> list = new ArrayList<>();
-            Reservation reservation1 = Reservation.builder()
-                    .checkIn(LocalDate.of(2020,2,2))
-                    .payment(new Payment(1L,"1",1000, true))
-                    .build();
-            Reservation reservation2 = Reservation.builder()
-                    .checkIn(LocalDate.of(2021,2,2))
-                    .payment(new Payment(1L,"1",1000, true))
-                    .build();
-            list.add(reservation1); list.add(reservation2);
-            return list;
-    }
     public IncomeResponse createIncomeResponse() {
         IncomeResponse incomeResponse = IncomeResponse.builder()
                 .Feb(2000)
@@ -106,8 +128,7 @@ public class ManageControllerTest {
         String token = tokenProvider.createToken(String.valueOf(user.getId()));
 
         given(userService.findById(any())).willReturn(user);
-        given(reservationService.findByHostFilterByYear(any(), anyInt())).willReturn(createReservationList());
-        given(reservationService.separateByMonth(any())).willReturn(createIncomeResponse());
+        given(hostRevenueService.getYearIncome(any(), anyInt())).willReturn(createIncomeResponse());
         mockMvc.perform(get("/host/income")
                 .contentType(MediaType.APPLICATION_JSON)
                 .header("Authorization", "Bearer " + token)
@@ -149,8 +170,7 @@ public class ManageControllerTest {
         String token = tokenProvider.createToken(String.valueOf(user.getId()));
 
         given(userService.findById(any())).willReturn(user);
-        given(reservationService.findByHostFilterByYear(any(), anyInt())).willReturn(createReservationList());
-        given(reservationService.separateByMonth(any())).willReturn(createIncomeResponse());
+        given(hostRevenueService.getYearIncome(any(), anyInt())).willReturn(createIncomeResponse());
         mockMvc.perform(get("/host/income")
                 .contentType(MediaType.APPLICATION_JSON)
                 .header("Authorization", "Bearer " + token)
@@ -159,4 +179,382 @@ public class ManageControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("연도별 수입")
+    public void yearlyIncome() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+
+        YearlyIncomeResponse response = YearlyIncomeResponse.builder()
+                .totalIncome(3000)
+                .years(List.of(YearIncome.builder().year(2020).income(1000).build(), YearIncome.builder().year(2021).income(2000).build()))
+                .build();
+        given(hostRevenueService.getYearlyIncomes(user.getId(), 2020, 2021)).willReturn(response);
+
+        mockMvc.perform(get("/host/income/years")
+                .header("Authorization", "Bearer " + token)
+                .param("from", "2020")
+                .param("to", "2021"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-income-years",
+                        requestParameters(
+                                parameterWithName("from").description("시작 연도"),
+                                parameterWithName("to").description("마지막 연도 (최대 20년)")
+                        ),
+                        responseFields(
+                                fieldWithPath("totalIncome").description("기간 전체 수입"),
+                                fieldWithPath("years[].year").description("연도"),
+                                fieldWithPath("years[].income").description("연도 수입"),
+                                fieldWithPath("_links.profile.href").description("해당 API문서 URL")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("숙소별 수입")
+    public void roomIncome() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+
+        RoomIncomeResponse response = RoomIncomeResponse.builder()
+                .year(2021)
+                .rooms(List.of(new RoomIncome(1L, "테스트 숙소", 2000L)))
+                .build();
+        given(hostRevenueService.getRoomIncomes(user.getId(), 2021)).willReturn(response);
+
+        mockMvc.perform(get("/host/income/rooms")
+                .header("Authorization", "Bearer " + token)
+                .param("year", "2021"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-income-rooms",
+                        requestParameters(
+                                parameterWithName("year").description("연도")
+                        ),
+                        responseFields(
+                                fieldWithPath("year").description("연도"),
+                                fieldWithPath("rooms[].roomId").description("숙소 식별자 값"),
+                                fieldWithPath("rooms[].roomName").description("숙소 이름"),
+                                fieldWithPath("rooms[].income").description("숙소 수입, 수입이 많은 순"),
+                                fieldWithPath("_links.profile.href").description("해당 API문서 URL")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("호스트 숙소 지표")
+    public void analytics() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+
+        LocalDate from = LocalDate.of(2021, 1, 1);
+        LocalDate to = LocalDate.of(2021, 2, 28);
+        HostAnalyticsResponse response = HostAnalyticsResponse.builder()
+                .from(from)
+                .to(to)
+                .interval(AnalyticsInterval.MONTH)
+                .total(AnalyticsMetrics.of(59, 20, 1, 2000000))
+                .series(List.of(
+                        new PeriodAnalytics(from, AnalyticsMetrics.of(31, 12, 1, 1200000)),
+                        new PeriodAnalytics(LocalDate.of(2021, 2, 1), AnalyticsMetrics.of(28, 8, 0, 800000))))
+                .rooms(List.of(new RoomAnalytics(1L, "테스트 숙소", AnalyticsMetrics.of(59, 20, 1, 2000000))))
+                .build();
+        given(hostAnalyticsService.getAnalytics(user.getId(), from, to, AnalyticsInterval.MONTH, null)).willReturn(response);
+
+        mockMvc.perform(get("/host/analytics")
+                .header("Authorization", "Bearer " + token)
+                .param("from", "2021-01-01")
+                .param("to", "2021-02-28")
+                .param("interval", "MONTH"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-analytics",
+                        requestParameters(
+                                parameterWithName("from").description("시작 날짜"),
+                                parameterWithName("to").description("마지막 날짜 (포함)"),
+                                parameterWithName("interval").description("기간 단위 DAY, WEEK, MONTH (기본 MONTH)"),
+                                parameterWithName("roomId").optional().description("숙소 식별자 값, 주면 그 숙소만 집계")
+                        ),
+                        responseFields(
+                                fieldWithPath("from").description("시작 날짜"),
+                                fieldWithPath("to").description("마지막 날짜"),
+                                fieldWithPath("interval").description("기간 단위"),
+                                fieldWithPath("total.availableNights").description("판매 가능한 박 수 (숙소 수 x 일 수)"),
+                                fieldWithPath("total.bookedNights").description("예약된 박 수"),
+                                fieldWithPath("total.cancelledNights").description("취소된 박 수"),
+                                fieldWithPath("total.revenue").description("예약된 박의 금액 합"),
+                                fieldWithPath("total.occupancy").description("예약률"),
+                                fieldWithPath("total.adr").description("ADR, 예약된 박 당 평균 금액"),
+                                fieldWithPath("total.revPar").description("RevPAR, 판매 가능한 박 당 수입"),
+                                fieldWithPath("series[].periodStart").description("기간 시작 날짜, 주는 월요일부터"),
+                                subsectionWithPath("series[].metrics").description("기간 지표, total 과 같은 형식"),
+                                fieldWithPath("rooms[].roomId").description("숙소 식별자 값"),
+                                fieldWithPath("rooms[].roomName").description("숙소 이름"),
+                                subsectionWithPath("rooms[].metrics").description("숙소 지표, total 과 같은 형식, 수입이 많은 순"),
+                                fieldWithPath("_links.profile.href").description("해당 API문서 URL")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("호스트 예약 내보내기")
+    public void exportReservations() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+
+        String csv = "reservationId,roomId,roomName,checkIn,checkOut,guestNum,totalCost,paymentPrice,paymentConfirmed\n" +
+                "1,1,테스트 숙소,2021-01-10,2021-01-12,2,200000,200000,true\n";
+        StreamingResponseBody body = out -> out.write(csv.getBytes(StandardCharsets.UTF_8));
+        given(reservationExportService.export(user.getId(), LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31), ReservationExportFormat.CSV)).willReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/host/reservations/export")
+                .header("Authorization", "Bearer " + token)
+                .param("from", "2021-01-01")
+                .param("to", "2021-12-31")
+                .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(appProperties.getExport().getTimeoutMsec());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations-2021-01-01-2021-12-31.csv\""))
+                .andExpect(content().string(csv))
+                .andDo(document("host-reservations-export",
+                        requestParameters(
+                                parameterWithName("from").description("체크 인 시작 날짜"),
+                                parameterWithName("to").description("체크 인 마지막 날짜 (포함)"),
+                                parameterWithName("format").description("CSV 또는 NDJSON (기본 CSV), 항목은 reservationId, roomId, roomName, checkIn, checkOut, guestNum, totalCost, paymentPrice, paymentConfirmed")
+                        ),
+                        responseHeaders(
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("text/csv 또는 application/x-ndjson"),
+                                headerWithName(HttpHeaders.CONTENT_DISPOSITION).description("내려받을 파일 이름")
+                        )
+                ));
+    }
+
+    private HostAvailabilityResponse createAvailabilityResponse(Integer minNights, Integer maxNights) {
+        return HostAvailabilityResponse.builder()
+                .roomId(1L)
+                .minNights(minNights)
+                .maxNights(maxNights)
+                .blocks(List.of(new RoomBlockDto(1L, LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 8))))
+                .roomCost(50000.0)
+                .weekendCost(70000.0)
+                .weeklyDiscount(10)
+                .monthlyDiscount(25)
+                .seasons(List.of(new SeasonPriceDto(1L, LocalDate.of(2021, 7, 15), LocalDate.of(2021, 8, 20), 90000.0, 110000.0)))
+                .build();
+    }
+
+    private FieldDescriptor[] availabilityResponseFields() {
+        return new FieldDescriptor[]{
+                fieldWithPath("roomId").description("숙소 식별자 값"),
+                fieldWithPath("minNights").description("최소 숙박 일 수"),
+                fieldWithPath("maxNights").description("최대 숙박 일 수, 제한이 없으면 null").optional(),
+                fieldWithPath("blocks[].id").description("막은 기간 식별자 값"),
+                fieldWithPath("blocks[].startDate").description("막은 기간 시작 날짜"),
+                fieldWithPath("blocks[].endDate").description("막은 기간 끝 날짜 (이 날은 막지 않음)"),
+                fieldWithPath("roomCost").description("기본 1박 가격"),
+                fieldWithPath("weekendCost").description("금, 토요일 밤 1박 가격, 없으면 기본 가격").optional(),
+                fieldWithPath("weeklyDiscount").description("7박 이상 숙박 할인율(%)").optional(),
+                fieldWithPath("monthlyDiscount").description("28박 이상 숙박 할인율(%)").optional(),
+                fieldWithPath("seasons[].id").description("기간별 가격 식별자 값"),
+                fieldWithPath("seasons[].startDate").description("기간 시작 날짜"),
+                fieldWithPath("seasons[].endDate").description("기간 끝 날짜 (이 날 밤은 포함하지 않음)"),
+                fieldWithPath("seasons[].nightlyCost").description("기간 안의 1박 가격"),
+                fieldWithPath("seasons[].weekendCost").description("기간 안의 금, 토요일 밤 1박 가격, 없으면 nightlyCost").optional(),
+                fieldWithPath("_links.profile.href").description("해당 API문서 URL")
+        };
+    }
+
+    @Test
+    @DisplayName("호스트의 숙소 예약 설정 조회")
+    public void getAvailability() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        given(hostAvailabilityService.getAvailability(user.getId(), 1L)).willReturn(createAvailabilityResponse(2, 14));
+
+        mockMvc.perform(get("/host/availability")
+                .header("Authorization", "Bearer " + token)
+                .param("roomId", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-availability",
+                        requestParameters(
+                                parameterWithName("roomId").description("숙소 식별자 값")
+                        ),
+                        responseFields(
+                                availabilityResponseFields()
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("호스트의 숙소 기간 막기")
+    public void addBlock() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        RoomBlockRequest request = RoomBlockRequest.builder().roomId(1L).startDate(LocalDate.of(2021, 3, 1)).endDate(LocalDate.of(2021, 3, 8)).build();
+        given(hostAvailabilityService.addBlock(any(), any())).willReturn(createAvailabilityResponse(2, 14));
+
+        mockMvc.perform(post("/host/availability/blocks")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-availability-block-add",
+                        requestFields(
+                                fieldWithPath("roomId").description("숙소 식별자 값"),
+                                fieldWithPath("startDate").description("막을 기간 시작 날짜"),
+                                fieldWithPath("endDate").description("막을 기간 끝 날짜 (이 날은 막지 않음)")
+                        ),
+                        responseFields(
+                                availabilityResponseFields()
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("호스트의 숙소 막은 기간 풀기")
+    public void removeBlock() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        given(hostAvailabilityService.removeBlock(user.getId(), 2L)).willReturn(createAvailabilityResponse(2, 14));
+
+        mockMvc.perform(delete("/host/availability/blocks/{blockId}", 2L)
+                .header("Authorization", "Bearer " + token))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-availability-block-remove",
+                        pathParameters(
+                                parameterWithName("blockId").description("막은 기간 식별자 값")
+                        ),
+                        responseFields(
+                                availabilityResponseFields()
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("호스트의 숙소 최소, 최대 박 수 변경")
+    public void updateStayRule() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        StayRuleRequest request = StayRuleRequest.builder().roomId(1L).minNights(2).maxNights(14).build();
+        given(hostAvailabilityService.updateStayRule(any(), any())).willReturn(createAvailabilityResponse(2, 14));
+
+        mockMvc.perform(put("/host/availability/stay-rule")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-availability-stay-rule",
+                        requestFields(
+                                fieldWithPath("roomId").description("숙소 식별자 값"),
+                                fieldWithPath("minNights").description("최소 숙박 일 수 (1 이상)"),
+                                fieldWithPath("maxNights").description("최대 숙박 일 수, 없으면 제한하지 않음").optional()
+                        ),
+                        responseFields(
+                                availabilityResponseFields()
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("최소 박 수 없이 변경하면 예외")
+    public void updateStayRuleInvalid() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        StayRuleRequest request = StayRuleRequest.builder().roomId(1L).maxNights(14).build();
+
+        mockMvc.perform(put("/host/availability/stay-rule")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("호스트의 숙소 주말 가격, 숙박 할인율 변경")
+    public void updatePriceRule() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        PriceRuleRequest request = PriceRuleRequest.builder().roomId(1L).weekendCost(70000.0).weeklyDiscount(10).monthlyDiscount(25).build();
+        given(hostAvailabilityService.updatePriceRule(any(), any())).willReturn(createAvailabilityResponse(2, 14));
+
+        mockMvc.perform(put("/host/availability/price-rule")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-availability-price-rule",
+                        requestFields(
+                                fieldWithPath("roomId").description("숙소 식별자 값"),
+                                fieldWithPath("weekendCost").description("금, 토요일 밤 1박 가격, 없으면 기본 가격").optional(),
+                                fieldWithPath("weeklyDiscount").description("7박 이상 숙박 할인율(%), 0 ~ 100").optional(),
+                                fieldWithPath("monthlyDiscount").description("28박 이상 숙박 할인율(%), 0 ~ 100").optional()
+                        ),
+                        responseFields(
+                                availabilityResponseFields()
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("호스트의 숙소 기간별 가격 추가")
+    public void addSeasonPrice() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        SeasonPriceRequest request = SeasonPriceRequest.builder().roomId(1L)
+                .startDate(LocalDate.of(2021, 7, 15)).endDate(LocalDate.of(2021, 8, 20)).nightlyCost(90000.0).weekendCost(110000.0).build();
+        given(hostAvailabilityService.addSeasonPrice(any(), any())).willReturn(createAvailabilityResponse(2, 14));
+
+        mockMvc.perform(post("/host/availability/seasons")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-availability-season-add",
+                        requestFields(
+                                fieldWithPath("roomId").description("숙소 식별자 값"),
+                                fieldWithPath("startDate").description("기간 시작 날짜"),
+                                fieldWithPath("endDate").description("기간 끝 날짜 (이 날 밤은 포함하지 않음)"),
+                                fieldWithPath("nightlyCost").description("기간 안의 1박 가격"),
+                                fieldWithPath("weekendCost").description("기간 안의 금, 토요일 밤 1박 가격, 없으면 nightlyCost").optional()
+                        ),
+                        responseFields(
+                                availabilityResponseFields()
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("호스트의 숙소 기간별 가격 삭제")
+    public void removeSeasonPrice() throws Exception {
+        User user = createUser();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        given(hostAvailabilityService.removeSeasonPrice(user.getId(), 1L)).willReturn(createAvailabilityResponse(2, 14));
+
+        mockMvc.perform(delete("/host/availability/seasons/{seasonId}", 1L)
+                .header("Authorization", "Bearer " + token))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-availability-season-remove",
+                        pathParameters(
+                                parameterWithName("seasonId").description("기간별 가격 식별자 값")
+                        ),
+                        responseFields(
+                                availabilityResponseFields()
+                        )
+                ));
+    }
 }
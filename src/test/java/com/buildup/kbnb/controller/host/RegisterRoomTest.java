@@ -1,9 +1,13 @@
 package com.buildup.kbnb.controller.host;
 
 import com.buildup.kbnb.config.RestDocsConfiguration;
+import com.buildup.kbnb.dto.host.PhotoUploadResult;
+import com.buildup.kbnb.dto.host.RoomPhotoFinalizeRequest;
 import com.buildup.kbnb.dto.room.BathRoomDto;
 import com.buildup.kbnb.dto.room.BedRoomDto;
 import com.buildup.kbnb.dto.room.CreateRoomRequestDto;
+import com.buildup.kbnb.dto.upload.PresignRequest;
+import com.buildup.kbnb.dto.upload.PresignResponse;
 import com.buildup.kbnb.model.room.Room;
 import com.buildup.kbnb.model.user.AuthProvider;
 import com.buildup.kbnb.model.user.User;
@@ -12,6 +16,7 @@ import com.buildup.kbnb.security.CustomUserDetailsService;
 import com.buildup.kbnb.security.TokenProvider;
 import com.buildup.kbnb.security.UserPrincipal;
 import com.buildup.kbnb.service.CommentService;
+import com.buildup.kbnb.service.PresignedUploadService;
 import com.buildup.kbnb.service.RoomService;
 import com.buildup.kbnb.service.UserRoomService;
 import com.buildup.kbnb.service.UserService;
@@ -35,6 +40,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -94,6 +100,9 @@ public class RegisterRoomTest {
     @MockBean
     S3Uploader s3Uploader;
 
+    @MockBean
+    PresignedUploadService presignedUploadService;
+
     public User createUser() {
         User user = User.builder()
                 .id(1L)
@@ -221,7 +230,7 @@ public class RegisterRoomTest {
         String token = tokenProvider.createToken(String.valueOf(user.getId()));
         given(userService.findById(any())).willReturn(user);
         given(roomService.findById(any())).willReturn(room);
-        given(s3Uploader.upload(any(), any(), any())).willReturn("test url");
+        given(s3Uploader.upload(any(), any())).willReturn("test url");
         given(roomService.save(any())).willReturn(room);
 
         MockMultipartFile image1 = new MockMultipartFile("file", "image.png", "image/png",
@@ -246,6 +255,11 @@ public class RegisterRoomTest {
                         ),
                         responseFields(
                                 fieldWithPath("imgCount").description("등록된 사진의 갯수"),
+                                fieldWithPath("results[].order").description("요청한 사진의 순서"),
+                                fieldWithPath("results[].fileName").description("업로드한 파일 이름"),
+                                fieldWithPath("results[].url").description("업로드된 사진 URL"),
+                                fieldWithPath("results[].success").description("업로드 성공 여부"),
+                                fieldWithPath("results[].message").description("업로드 실패 사유").optional(),
                                 fieldWithPath("_links.profile.href").description("해당 API 문서 주소")
                         )
                         )
@@ -261,7 +275,7 @@ public class RegisterRoomTest {
         String token = tokenProvider.createToken(String.valueOf(user.getId()));
         given(userService.findById(any())).willReturn(user);
         given(roomService.findById(any())).willReturn(room);
-        given(s3Uploader.upload(any(), any(), any())).willReturn("test url");
+        given(s3Uploader.upload(any(), any())).willReturn("test url");
         given(roomService.save(any())).willReturn(room);
 
         MockMultipartFile image1 = new MockMultipartFile("file", "image.jpg", "sdf/png",
@@ -285,4 +299,84 @@ public class RegisterRoomTest {
                         )
                 ));
     }
+
+    @Test
+    @DisplayName("방 사진 직접 업로드 URL 발급")
+    public void presignPhoto() throws Exception {
+        User user = createUser();
+        Room room = Room.builder().id(1L).name("테스트방").host(user).build();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        given(userService.findById(any())).willReturn(user);
+        given(roomService.findById(any())).willReturn(room);
+        given(presignedUploadService.presignRoomPhoto(any(), any(), any())).willReturn(PresignResponse.builder()
+                .key("roomImg/1/5f0c1a3e")
+                .uploadUrl("https://pungdong.s3.ap-northeast-2.amazonaws.com/roomImg/1/5f0c1a3e?X-Amz-Signature=test")
+                .contentType("image/png")
+                .contentLength(1024L)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build());
+
+        PresignRequest req = PresignRequest.builder().roomId(1L).contentType("image/png").contentLength(1024L).build();
+
+        mockMvc.perform(post("/host/photo/presign")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .content(objectMapper.writeValueAsString(req)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-presignPhoto",
+                        requestFields(
+                                fieldWithPath("roomId").description("방 식별자"),
+                                fieldWithPath("contentType").description("업로드할 파일의 Content-Type"),
+                                fieldWithPath("contentLength").description("업로드할 파일의 크기(byte)")
+                        ),
+                        responseFields(
+                                fieldWithPath("key").description("업로드될 파일의 키, 업로드 완료 요청에 사용"),
+                                fieldWithPath("uploadUrl").description("PUT 요청으로 파일을 업로드할 URL"),
+                                fieldWithPath("contentType").description("업로드시 보내야 하는 Content-Type 헤더"),
+                                fieldWithPath("contentLength").description("업로드시 보내야 하는 Content-Length 헤더"),
+                                fieldWithPath("expiresAt").description("업로드 URL 만료 시간"),
+                                fieldWithPath("_links.profile.href").description("해당 API 문서 주소")
+                        )
+                ));
+    }
+
+    @Test
+    @DisplayName("방 사진 직접 업로드 완료")
+    public void finalizePhoto() throws Exception {
+        User user = createUser();
+        Room room = Room.builder().id(1L).name("테스트방").host(user).build();
+        String token = tokenProvider.createToken(String.valueOf(user.getId()));
+        given(userService.findById(any())).willReturn(user);
+        given(roomService.findById(any())).willReturn(room);
+        List<PhotoUploadResult> results = new ArrayList<>();
+        results.add(PhotoUploadResult.builder().order(0).fileName("roomImg/1/5f0c1a3e").url("test url").success(true).build());
+        given(presignedUploadService.finalizeRoomPhotos(any(), any(), any())).willReturn(results);
+
+        List<String> keys = new ArrayList<>();
+        keys.add("roomImg/1/5f0c1a3e");
+        RoomPhotoFinalizeRequest req = RoomPhotoFinalizeRequest.builder().roomId(1L).keys(keys).build();
+
+        mockMvc.perform(post("/host/photo/finalize")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .content(objectMapper.writeValueAsString(req)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("host-finalizePhoto",
+                        requestFields(
+                                fieldWithPath("roomId").description("방 식별자"),
+                                fieldWithPath("keys").description("업로드를 마친 파일 키 리스트")
+                        ),
+                        responseFields(
+                                fieldWithPath("imgCount").description("등록된 사진의 갯수"),
+                                fieldWithPath("results[].order").description("요청한 사진의 순서"),
+                                fieldWithPath("results[].fileName").description("파일 키"),
+                                fieldWithPath("results[].url").description("등록된 사진 URL"),
+                                fieldWithPath("results[].success").description("등록 성공 여부"),
+                                fieldWithPath("results[].message").description("등록 실패 사유").optional(),
+                                fieldWithPath("_links.profile.href").description("해당 API 문서 주소")
+                        )
+                ));
+    }
 }
@@ -42,8 +42,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.payload.PayloadDocumentation.*;
@@ -94,7 +96,6 @@ class ReservationControllerTest {
         Room room = Room.builder()
                 .id(1L)
                 .location(location)
-                .grade(4.5)
                 .roomType("이것은 룸타입")
                 .checkOutTime(LocalTime.parse("11:11:11"))
                 .isParking(true)
@@ -165,7 +166,6 @@ class ReservationControllerTest {
                 .bedRoomList(bedRooms)
                 .roomCost(2000.0)
                 .roomType("확신이 없으면")
-                .grade(4.0)
                 .location(location)
                 .build();
         return room;
@@ -363,18 +363,15 @@ class ReservationControllerTest {
         Location location = createLocation();
         String userToken = tokenProvider.createToken(String.valueOf(user.getId()));
         Pageable pageable = PageRequest.of(0, 5);
-        List<Reservation> reservationList = getReservationList(user, location).subList((int) pageable.getOffset(), 2);
-        Page<Reservation> reservationPage = new PageImpl<>(
-                reservationList,
-                pageable,
-                getReservationList(user, location).size());
         List<ReservationConfirmedResponse> reservationConfirmedResponseList = new ArrayList<>();
         ReservationConfirmedResponse reservationConfirmedResponse = ReservationConfirmedResponse.builder().reservationId(1L).build();
         reservationConfirmedResponseList.add(reservationConfirmedResponse);
+        Page<ReservationConfirmedResponse> reservationPage = new PageImpl<>(
+                reservationConfirmedResponseList,
+                pageable,
+                getReservationList(user, location).size());
 
-        given(reservationService.findPageByUser(any(), any())).willReturn(reservationPage);
-        given(reservationService.getHostName(any())).willReturn("this is host name");
-        given(reservationService.createResponseList(any())).willReturn(reservationConfirmedResponseList);
+        given(reservationService.findConfirmedPageByUserId(any(), any())).willReturn(reservationPage);
 
         mockMvc.perform(get("/reservation")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -439,20 +436,7 @@ class ReservationControllerTest {
         String userToken = tokenProvider.createToken(String.valueOf(user.getId()));
         Room room = createRoom(user);
 
-        Reservation reservation = createReservation(room, createReservation_RegisterRequest(room), user);
-
-        List<Reservation> reservationList = new ArrayList<>();
-        reservationList.add(reservation);
-        List<ReservationConfirmedResponse> reservationConfirmedResponseList = new ArrayList<>();
-        ReservationConfirmedResponse reservationConfirmedResponse = ReservationConfirmedResponse.builder().reservationId(1L).build();
-        reservationConfirmedResponseList.add(reservationConfirmedResponse);
-        reservationList.add(reservation);
-
-        given(userService.findById(any())).willReturn(user);
-        given(reservationService.findByUser(any())).willReturn(reservationList);
-        given(reservationService.findById(any())).willReturn(reservation);
-        given(reservationService.createResponseList(any())).willReturn(reservationConfirmedResponseList);
-        given(reservationService.judgeReservationIdUserHaveContainReservationId(any(), any())).willReturn(ReservationDetailResponse.builder().roomId(1L).roomName("테스트").build());
+        given(reservationService.getDetail(user.getId(), 1L)).willReturn(ReservationDetailResponse.builder().roomId(room.getId()).roomName("테스트").build());
 
         mockMvc.perform(get("/reservation/detail")
                 .param("reservationId", String.valueOf(1L))
@@ -500,10 +484,8 @@ class ReservationControllerTest {
         User user = createUser();
         String token = tokenProvider.createToken(String.valueOf(user.getId()));
 
-        List<Reservation> reservationList = new ArrayList<>();
         Room room = createRoom(user);
         Reservation reservation = createReservation(room, createReservation_RegisterRequest(room), user);
-        reservationList.add(reservation);
 
         CancelDto cancelDto = CancelDto.builder()
                 .reservationId(reservation.getId())
@@ -511,9 +493,6 @@ class ReservationControllerTest {
                 .reason("test")
                 .build();
 
-        given(userService.findById(any())).willReturn(user);
-        given(reservationService.findByUser(any())).willReturn(reservationList);
-
         mockMvc.perform(delete("/reservation")
                 .content(objectMapper.writeValueAsString(cancelDto))
                 .contentType(MediaType.APPLICATION_JSON)
@@ -539,5 +518,7 @@ class ReservationControllerTest {
                                 fieldWithPath("_links.profile.href").description("해당 API 문서 URL")
                         )
                 ));
+
+        verify(reservationService).cancelReservation(eq(user.getId()), eq(reservation.getId()), any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.buildup.kbnb.dataset;
+
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.repository.room.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatasetGeneratorTest {
+    @Autowired
+    DatasetGenerator datasetGenerator;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    RoomRepository roomRepository;
+
+    @TestConfiguration
+    @Import(DatasetGenerator.class)
+    static class Config {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("user_room", "reservation", "comment", "payment", "room_img", "bath_room", "bed_room", "room", "location", "users"))
+            jdbcTemplate.update("delete from " + table);
+    }
+
+    private AppProperties.Dataset dataset(long seed) {
+        AppProperties.Dataset dataset = new AppProperties.Dataset();
+        dataset.setSeed(seed);
+        dataset.setUsers(20);
+        dataset.setRooms(30);
+        dataset.setHistoryDays(60);
+        dataset.setFutureDays(30);
+        dataset.setBatchSize(100);
+        return dataset;
+    }
+
+    private List<String> snapshot() {
+        return jdbcTemplate.queryForList("select r.name, r.room_cost, r.cleanliness_sum, r.comment_count, l.latitude, l.longitude, v.check_in, v.check_out, v.total_cost, u.email "
+                + "from reservation v join room r on v.room_id = r.id join location l on r.location_id = l.id join users u on v.user_id = u.id "
+                + "order by r.name, v.check_in").stream().map(String::valueOf).collect(Collectors.toList());
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    @Test
+    @DisplayName("설정한 수만큼 생성하고 요약과 테이블 행 수가 일치")
+    void generate() {
+        DatasetSummary summary = datasetGenerator.generate(dataset(7));
+
+        assertThat(count("users")).isEqualTo(20);
+        assertThat(count("room")).isEqualTo(30);
+        assertThat(count("location")).isEqualTo(30);
+        assertThat(count("reservation")).isEqualTo(summary.getReservations()).isPositive();
+        assertThat(count("payment")).isEqualTo(summary.getReservations());
+        assertThat(count("comment")).isEqualTo(summary.getComments()).isPositive();
+        assertThat(count("user_room")).isEqualTo(summary.getWishlists()).isEqualTo(20 * 3);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from reservation a join reservation b "
+                + "on a.room_id = b.room_id and a.id < b.id and a.check_in < b.check_out and b.check_in < a.check_out", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from room where bed_num < 1 or host_id is null", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 seed 는 같은 데이터, 다른 seed 는 다른 데이터 생성")
+    void deterministic() {
+        datasetGenerator.generate(dataset(7));
+        List<String> first = snapshot();
+        tearDown();
+
+        datasetGenerator.generate(dataset(7));
+        List<String> second = snapshot();
+        tearDown();
+
+        datasetGenerator.generate(dataset(8));
+        List<String> other = snapshot();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("생성 후에도 JPA 로 저장한 엔티티의 id 가 겹치지 않음")
+    void idsDoNotCollide() {
+        datasetGenerator.generate(dataset(7));
+
+        Room saved = roomRepository.save(Room.builder().name("after dataset").build());
+
+        assertThat(count("room")).isEqualTo(31);
+        assertThat(saved.getId()).isGreaterThan(jdbcTemplate.queryForObject("select max(id) from room where name <> 'after dataset'", Long.class));
+    }
+}
@@ -0,0 +1,38 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.advice.exception.ReservationException;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BusinessMetricsTest {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    BusinessMetrics businessMetrics = new BusinessMetrics(registry);
+
+    @Test
+    @DisplayName("성공과 실패를 exception 태그로 나눠 기록하고 예외는 그대로 던짐")
+    void time() {
+        Integer result = businessMetrics.time(BusinessMetrics.BOOKING_PHASE, Tags.of("phase", "availability"), () -> 1);
+        assertThrows(ReservationException.class, () -> businessMetrics.run(BusinessMetrics.BOOKING_PHASE, Tags.of("phase", "availability"), () -> {
+            throw new ReservationException("예약이 불가능한 날짜입니다.");
+        }));
+
+        assertThat(result).isEqualTo(1);
+        assertThat(registry.get(BusinessMetrics.BOOKING_PHASE).tags("phase", "availability", "exception", "none").timer().count()).isEqualTo(1);
+        assertThat(registry.get(BusinessMetrics.BOOKING_PHASE).tags("phase", "availability", "exception", "ReservationException").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("업로드 크기를 bytes 단위 분포로 기록")
+    void recordBytes() {
+        businessMetrics.recordBytes(BusinessMetrics.S3_UPLOAD_BYTES, Tags.of("dir", "roomImg"), 1024);
+        businessMetrics.recordBytes(BusinessMetrics.S3_UPLOAD_BYTES, Tags.of("dir", "roomImg"), 2048);
+
+        assertThat(registry.get(BusinessMetrics.S3_UPLOAD_BYTES).summary().totalAmount()).isEqualTo(3072);
+        assertThat(registry.get(BusinessMetrics.S3_UPLOAD_BYTES).summary().getId().getBaseUnit()).isEqualTo("bytes");
+    }
+}
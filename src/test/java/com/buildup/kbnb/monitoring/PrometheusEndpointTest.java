@@ -0,0 +1,68 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.repository.UserRepository;
+import com.buildup.kbnb.security.TokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.LocalManagementPort;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+class PrometheusEndpointTest {
+    @LocalServerPort
+    int port;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TokenProvider tokenProvider;
+
+    User user;
+
+    @AfterEach
+    void tearDown() {
+        if (user != null)
+            userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("숙소 검색, JWT 검증 metric 을 management 포트에서 JWT 없이 Prometheus 형식으로 노출")
+    void scrape() {
+        user = userRepository.save(User.builder().name("guest").email("prometheus@gmail.com").emailVerified(false).provider(AuthProvider.local).build());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(tokenProvider.createToken(String.valueOf(user.getId())));
+
+        ResponseEntity<String> search = restTemplate.postForEntity("http://localhost:" + port + "/room/list", new HttpEntity<>(
+                "{\"locationSearch\":{\"latitudeMin\":37.0,\"latitudeMax\":38.0,\"longitudeMin\":126.0,\"longitudeMax\":128.0},\"roomType\":\"Private room\"}", headers), String.class);
+        assertThat(search.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("kbnb_room_search_seconds_count{application=\"kbnb\",exception=\"none\",filters=\"location+roomType\",}")
+                .contains("kbnb_room_search_seconds_bucket{")
+                .contains("kbnb_jwt_validation_seconds_count{application=\"kbnb\",result=\"valid\",}");
+    }
+}
@@ -0,0 +1,34 @@
+package com.buildup.kbnb.monitoring;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc 요청이 핸들러에서 실행한 쿼리 수를 검증한다.
+ * mockMvc.perform(...).andExpect(QueryCountMatchers.queryCountAtMost(3))
+ */
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher queryCountAtMost(int max) {
+        return result -> assertThat(queryStats(result).getQueryCount())
+                .as("요청에서 실행된 쿼리 수")
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher noRepeatedStatements(int threshold) {
+        return result -> assertThat(queryStats(result).getRepeatedStatements(threshold))
+                .as("%d 번 이상 반복 실행된 쿼리", threshold)
+                .isEmpty();
+    }
+
+    public static QueryStats queryStats(MvcResult result) {
+        QueryStats stats = (QueryStats) result.getRequest().getAttribute(QueryStats.ATTRIBUTE);
+        assertThat(stats).as("QueryStatsInterceptor 가 집계한 쿼리 통계").isNotNull();
+        return stats;
+    }
+}
@@ -0,0 +1,172 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.dto.room.search.LocationSearch;
+import com.buildup.kbnb.dto.room.search.RoomSearchCondition;
+import com.buildup.kbnb.model.Comment;
+import com.buildup.kbnb.model.Location;
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.BathRoom;
+import com.buildup.kbnb.model.room.BedRoom;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.security.TokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+
+import static com.buildup.kbnb.monitoring.QueryCountMatchers.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class QueryStatsInterceptorTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TokenProvider tokenProvider;
+
+    @Autowired
+    QueryStatsInterceptor queryStatsInterceptor;
+
+    private Long createRoomWithComments(int commentCount) {
+        User host = User.builder().name("host").email("host@gmail.com").emailVerified(false).provider(AuthProvider.local).build();
+        Location location = Location.builder().latitude(37.5).longitude(127.0).build();
+        Room room = Room.builder().name("room").host(host).location(location).build();
+        entityManager.persist(host);
+        entityManager.persist(location);
+        entityManager.persist(room);
+
+        for (int i = 0; i < commentCount; i++) {
+            User guest = User.builder().name("guest" + i).email("guest" + i + "@gmail.com").emailVerified(false).provider(AuthProvider.local).build();
+            entityManager.persist(guest);
+            entityManager.persist(Comment.builder().room(room).user(guest).description("좋아요").date(LocalDate.now())
+                    .cleanliness(4.0).accuracy(4.0).communication(4.0).locationRate(4.0).checkIn(4.0).priceSatisfaction(4.0)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return room.getId();
+    }
+
+    @Test
+    @DisplayName("댓글 리스트 조회는 댓글 수와 상관없이 일정한 쿼리 수로 처리")
+    void commentListQueryBudget() throws Exception {
+        Long roomId = createRoomWithComments(8);
+
+        MvcResult result = mockMvc.perform(get("/comment")
+                .param("roomId", String.valueOf(roomId))
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(3))
+                .andExpect(noRepeatedStatements(3))
+                .andReturn();
+
+        QueryStats stats = queryStats(result);
+        assertThat(result.getResponse().getHeader(QueryStatsHeaderAdvice.QUERY_COUNT)).isEqualTo(String.valueOf(stats.getQueryCount()));
+        assertThat(result.getResponse().getHeader(QueryStatsHeaderAdvice.QUERY_TIME)).isNotNull();
+        assertThat(meterRegistry.get("kbnb.request.queries").tag("handler", "CommentController.getCommentList").summary().count())
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("숙소 리스트 검색은 숙소 수와 상관없이 일정한 쿼리 수로 처리")
+    void roomListQueryBudget() throws Exception {
+        User host = User.builder().name("host").email("host@gmail.com").emailVerified(false).provider(AuthProvider.local).build();
+        entityManager.persist(host);
+        for (int i = 0; i < 5; i++) {
+            Location location = Location.builder().latitude(10.0).longitude(10.0).city("city").borough("borough").neighborhood("neighborhood").build();
+            Room room = Room.builder().name("room" + i).roomCost(10000.0).peopleLimit(4).host(host).location(location).build();
+            entityManager.persist(location);
+            entityManager.persist(room);
+            entityManager.persist(BedRoom.builder().queenSize(1).room(room).build());
+            entityManager.persist(BathRoom.builder().isPrivate(true).room(room).build());
+            entityManager.persist(RoomImg.builder().url("url" + i).room(room).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        RoomSearchCondition condition = RoomSearchCondition.builder()
+                .locationSearch(LocationSearch.builder().latitude(10.0).longitude(10.0)
+                        .latitudeMin(8.0).latitudeMax(12.0).longitudeMin(8.0).longitudeMax(12.0).build())
+                .build();
+
+        // 숙소 id 검색, count, 침실, 욕실, 사진 일괄 조회와 찜 여부
+        mockMvc.perform(post("/room/list")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(condition)))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(6))
+                .andExpect(noRepeatedStatements(3));
+    }
+
+    @Test
+    @DisplayName("예약 리스트 조회는 예약 수와 상관없이 일정한 쿼리 수로 처리")
+    void reservationListQueryBudget() throws Exception {
+        User guest = User.builder().name("guest").email("guest@gmail.com").emailVerified(false).provider(AuthProvider.local).build();
+        entityManager.persist(guest);
+        for (int i = 0; i < 5; i++) {
+            User host = User.builder().name("host" + i).email("host" + i + "@gmail.com").emailVerified(false).provider(AuthProvider.local).build();
+            Location location = Location.builder().latitude(37.5).longitude(127.0).city("city").build();
+            Room room = Room.builder().name("room" + i).host(host).location(location).build();
+            entityManager.persist(host);
+            entityManager.persist(location);
+            entityManager.persist(room);
+            entityManager.persist(Reservation.builder().room(room).user(guest).guestNum(2).totalCost(10000L)
+                    .checkIn(LocalDate.of(2021, 3, 1 + i)).checkOut(LocalDate.of(2021, 3, 2 + i)).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/reservation")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createToken(String.valueOf(guest.getId())))
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(2))
+                .andExpect(noRepeatedStatements(3));
+    }
+
+    @Test
+    @DisplayName("비동기 처리가 시작되면 요청 스레드의 쿼리 집계를 지움")
+    void clearOnAsyncStarted() throws Exception {
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("clearOnAsyncStarted"));
+        queryStatsInterceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+        assertThat(QueryStatsHolder.current()).isNotNull();
+
+        queryStatsInterceptor.afterConcurrentHandlingStarted(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+
+        assertThat(QueryStatsHolder.current()).isNull();
+    }
+}
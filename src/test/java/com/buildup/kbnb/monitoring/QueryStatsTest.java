@@ -0,0 +1,50 @@
+package com.buildup.kbnb.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        QueryStatsHolder.clear();
+    }
+
+    @Test
+    @DisplayName("리터럴과 IN 목록 길이가 달라도 같은 fingerprint")
+    void fingerprint() {
+        assertThat(QueryStats.fingerprint("select * from room where id = 1 and name = 'a''b'"))
+                .isEqualTo(QueryStats.fingerprint("SELECT *  FROM room\n where id = 22 and name = 'c'"));
+        assertThat(QueryStats.fingerprint("select * from room where id in (?, ?, ?)"))
+                .isEqualTo("select * from room where id in (?)");
+    }
+
+    @Test
+    @DisplayName("threshold 번 이상 반복된 문장만 반복 문장으로 판단")
+    void repeatedStatements() {
+        QueryStats stats = new QueryStats();
+        for (int i = 0; i < 5; i++) {
+            stats.record("select * from users where id=" + i);
+        }
+        stats.record("select * from room where id=?");
+
+        assertThat(stats.getQueryCount()).isEqualTo(6);
+        assertThat(stats.getRepeatedStatements(5)).containsOnlyKeys("select * from users where id=?");
+        assertThat(stats.getRepeatedStatements(6)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("요청 밖에서 실행된 쿼리는 집계하지 않음")
+    void inspectOnlyInsideRequest() {
+        QueryCountInspector inspector = new QueryCountInspector();
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+
+        QueryStats stats = QueryStatsHolder.start();
+        inspector.inspect("select 1");
+
+        assertThat(stats.getQueryCount()).isEqualTo(1);
+    }
+}
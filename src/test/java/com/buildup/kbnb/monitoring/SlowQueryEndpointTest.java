@@ -0,0 +1,88 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.repository.UserRepository;
+import com.buildup.kbnb.security.TokenProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.LocalManagementPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("test")
+class SlowQueryEndpointTest {
+    @LocalServerPort
+    int port;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TokenProvider tokenProvider;
+
+    @Autowired
+    SlowQueryRegistry slowQueryRegistry;
+
+    User user;
+
+    @AfterEach
+    void tearDown() {
+        if (user != null)
+            userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("DataSource 에서 실행된 쿼리를 management 포트의 actuator 로 조회")
+    void slowQueries() {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        slowQueryRegistry.reset();
+        new JdbcTemplate(dataSource).queryForObject("select 12345", Integer.class);
+
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/slowqueries?limit=100", JsonNode.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).anySatisfy(query -> {
+            assertThat(query.get("fingerprint").asText()).isEqualTo("select ?");
+            assertThat(query.get("count").asInt()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("서비스 포트에는 actuator 가 없어 로그인한 사용자도 조회, 초기화할 수 없음")
+    void servicePortDenied() {
+        user = userRepository.save(User.builder().name("guest").email("guest@gmail.com").emailVerified(false).provider(AuthProvider.local).build());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenProvider.createToken(String.valueOf(user.getId())));
+
+        ResponseEntity<String> read = restTemplate.exchange("http://localhost:" + port + "/actuator/slowqueries",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        ResponseEntity<String> reset = restTemplate.exchange("http://localhost:" + port + "/actuator/slowqueries",
+                HttpMethod.DELETE, new HttpEntity<>(headers), String.class);
+
+        assertThat(read.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(reset.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
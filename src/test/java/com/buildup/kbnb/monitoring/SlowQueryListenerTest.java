@@ -0,0 +1,67 @@
+package com.buildup.kbnb.monitoring;
+
+import com.buildup.kbnb.config.AppProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryListenerTest {
+    SlowQueryRegistry slowQueryRegistry;
+    SlowQueryListener slowQueryListener;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSlowQuery().setThresholdMs(100);
+        appProperties.getSlowQuery().setMaxParameterLength(5);
+        slowQueryRegistry = new SlowQueryRegistry(appProperties);
+        slowQueryListener = new SlowQueryListener(slowQueryRegistry, appProperties);
+    }
+
+    private void execute(String sql, long elapsedMs) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMs);
+        slowQueryListener.afterQuery(executionInfo, Collections.singletonList(new QueryInfo(sql)));
+    }
+
+    private ParameterSetOperation set(int index, Object value) throws Exception {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod("setObject", int.class, Object.class), new Object[]{index, value});
+    }
+
+    @Test
+    @DisplayName("문장 유형별로 최대 실행 시간이 긴 순서대로 집계")
+    void topSlowestFingerprints() {
+        execute("select * from room where id = 1", 30);
+        execute("select * from room where id = 2", 150);
+        execute("select * from users where id = 1", 90);
+
+        List<SlowQuerySummary> top = slowQueryRegistry.top(1);
+
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).getFingerprint()).isEqualTo("select * from room where id = ?");
+        assertThat(top.get(0).getCount()).isEqualTo(2);
+        assertThat(top.get(0).getSlowCount()).isEqualTo(1);
+        assertThat(top.get(0).getMaxMs()).isEqualTo(150);
+        assertThat(top.get(0).getAvgMs()).isEqualTo(90.0);
+    }
+
+    @Test
+    @DisplayName("바인딩 값은 순서대로 정렬하고 긴 값은 자름")
+    void formatParameters() throws Exception {
+        List<List<ParameterSetOperation>> parametersList = new ArrayList<>();
+        parametersList.add(Arrays.asList(set(2, "abcdefgh"), set(1, 10L)));
+
+        assertThat(slowQueryListener.formatParameters(parametersList)).isEqualTo("[10, abcde...]");
+    }
+}
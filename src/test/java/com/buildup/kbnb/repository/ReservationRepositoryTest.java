@@ -1,20 +1,32 @@
 package com.buildup.kbnb.repository;
 
+import com.buildup.kbnb.dto.reservation.ReservationDetail;
+import com.buildup.kbnb.dto.reservation.ReservationSummary;
+import com.buildup.kbnb.model.Comment;
+import com.buildup.kbnb.model.Location;
 import com.buildup.kbnb.model.Payment;
 import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.BathRoom;
+import com.buildup.kbnb.model.room.BedRoom;
 import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
 import com.buildup.kbnb.model.user.AuthProvider;
 import com.buildup.kbnb.model.user.User;
 import com.buildup.kbnb.repository.reservation.ReservationRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.util.List;
+import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -27,6 +39,7 @@ public class ReservationRepositoryTest {
     ReservationRepository reservationRepository;
 
     User savedHost;
+    Payment savedPayment;
     @BeforeEach
     public void setUp() {
         User host = User.builder()
@@ -41,7 +54,7 @@ public class ReservationRepositoryTest {
                 .price(1000)
                 .receiptId(String.valueOf(1))
                 .build();
-        em.persist(payment);
+        savedPayment = em.persist(payment);
 
         Room room = Room.builder()
                 .host(host).build();
@@ -55,12 +68,77 @@ public class ReservationRepositoryTest {
     }
 
     @Test
-    @DisplayName("호스트를 통해 예약정보를 Payment 와 함께 가져오기")
-    public void findByHostWithPayment() {
+    @DisplayName("결제 식별자로 예약정보를 숙소와 함께 가져오기")
+    public void findByPaymentIdWithRoom() {
+        em.flush();
+        em.clear();
 
-        User host = em.find(User.class, savedHost.getId());
+        Reservation reservation = reservationRepository.findByPaymentIdWithRoom(savedPayment.getId()).orElseThrow();
+        assertThat(reservation.getPayment().getPrice()).isEqualTo(1000);
+        assertThat(reservation.getRoom().getHost().getId()).isEqualTo(savedHost.getId());
+        assertThat(reservationRepository.findByPaymentIdWithRoom(savedPayment.getId() + 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("내 여행 목록을 숙소, 호스트, 위치, 대표 사진, 리뷰 여부와 함께 쿼리 두 번으로 가져오기")
+    public void findSummaryByUserId() {
+        User guest = em.persist(User.builder().name("게스트").email("guest@naver.com").provider(AuthProvider.local).emailVerified(false).build());
+        Location location = em.persist(Location.builder().country("한국").city("서울").borough("마포구").neighborhood("서교동").detailAddress("1-1").build());
+        Room room = em.persist(Room.builder().name("테스트 숙소").host(savedHost).location(location).build());
+        em.persist(RoomImg.builder().url("first.jpg").room(room).build());
+        em.persist(RoomImg.builder().url("second.jpg").room(room).build());
+        Comment comment = em.persist(Comment.builder().description("좋아요").build());
+        for (int i = 0; i < 5; i++) {
+            em.persist(Reservation.builder().room(room).user(guest).checkIn(LocalDate.of(2021, 1, 1).plusDays(i * 2))
+                    .checkOut(LocalDate.of(2021, 1, 2).plusDays(i * 2)).comment(i == 0 ? comment : null).build());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<ReservationSummary> page = reservationRepository.findSummaryByUserId(guest.getId(), PageRequest.of(0, 3, Sort.by("checkIn")));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).hasSize(3);
+        ReservationSummary first = page.getContent().get(0);
+        assertThat(first.getCheckIn()).isEqualTo(LocalDate.of(2021, 1, 1));
+        assertThat(first.getRoomName()).isEqualTo("테스트 숙소");
+        assertThat(first.getHostName()).isEqualTo("테스트 호스트");
+        assertThat(first.getCity()).isEqualTo("서울");
+        assertThat(first.getImgUrl()).isEqualTo("first.jpg");
+        assertThat(first.getReviewed()).isTrue();
+        assertThat(page.getContent().get(1).getReviewed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("예약자 본인의 예약만 상세 정보를 숙소, 호스트, 침실/욕실 수와 함께 가져오기")
+    public void findDetailByIdAndUserId() {
+        User guest = em.persist(User.builder().name("게스트").email("guest@naver.com").provider(AuthProvider.local).emailVerified(false).build());
+        Location location = em.persist(Location.builder().city("서울").latitude(37.5).longitude(127.0).build());
+        Room room = em.persist(Room.builder().name("테스트 숙소").host(savedHost).location(location).bedNum(3).isParking(true).isSmoking(false).build());
+        em.persist(RoomImg.builder().url("first.jpg").room(room).build());
+        em.persist(BedRoom.builder().room(room).build());
+        em.persist(BedRoom.builder().room(room).build());
+        em.persist(BathRoom.builder().room(room).build());
+        Reservation reservation = em.persist(Reservation.builder().room(room).user(guest).guestNum(2).totalCost(3000L)
+                .checkIn(LocalDate.of(2021, 1, 1)).checkOut(LocalDate.of(2021, 1, 3)).payment(savedPayment).build());
+        em.flush();
+        em.clear();
+
+        ReservationDetail detail = reservationRepository.findDetailByIdAndUserId(reservation.getId(), guest.getId()).orElseThrow();
+        assertThat(detail.getRoomName()).isEqualTo("테스트 숙소");
+        assertThat(detail.getHostName()).isEqualTo("테스트 호스트");
+        assertThat(detail.getRoomImage()).isEqualTo("first.jpg");
+        assertThat(detail.getBedRoomNum()).isEqualTo(2);
+        assertThat(detail.getBathRoomNum()).isEqualTo(1);
+        assertThat(detail.getLatitude()).isEqualTo(37.5);
+        assertThat(detail.getGuestNum()).isEqualTo(2);
+        assertThat(reservationRepository.findDetailByIdAndUserId(reservation.getId(), savedHost.getId())).isEmpty();
 
-        List<Reservation> hostReservation = reservationRepository.findByHostWithPayment(host);
-        assertThat(hostReservation.size()).isEqualTo(1);
+        Reservation cancel = reservationRepository.findByIdAndUserIdWithPayment(reservation.getId(), guest.getId()).orElseThrow();
+        assertThat(cancel.getPayment().getReceiptId()).isEqualTo("1");
+        assertThat(reservationRepository.findByIdAndUserIdWithPayment(reservation.getId(), savedHost.getId())).isEmpty();
     }
 }
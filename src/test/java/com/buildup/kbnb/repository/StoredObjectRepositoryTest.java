@@ -0,0 +1,55 @@
+package com.buildup.kbnb.repository;
+
+import com.buildup.kbnb.model.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class StoredObjectRepositoryTest {
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    StoredObjectRepository storedObjectRepository;
+
+    StoredObject savedObject;
+
+    @BeforeEach
+    public void setUp() {
+        StoredObject storedObject = StoredObject.builder()
+                .contentHash("abc")
+                .objectKey("roomImg/abc.png")
+                .url("https://kbnb.s3.amazonaws.com/roomImg/abc.png")
+                .refCount(1)
+                .build();
+        savedObject = entityManager.persist(storedObject);
+    }
+
+    @Test
+    @DisplayName("참조 수가 남아있으면 인덱스 유지")
+    public void releaseWithRemainingReference() {
+        storedObjectRepository.addReference(savedObject.getId(), 1);
+        storedObjectRepository.releaseReference(savedObject.getId());
+
+        assertThat(storedObjectRepository.deleteIfUnreferenced(savedObject.getId())).isEqualTo(0);
+        assertThat(storedObjectRepository.findByContentHash("abc").get().getRefCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("마지막 참조 해제시 인덱스 삭제")
+    public void releaseLastReference() {
+        storedObjectRepository.releaseReference(savedObject.getId());
+        storedObjectRepository.releaseReference(savedObject.getId());
+
+        assertThat(storedObjectRepository.deleteIfUnreferenced(savedObject.getId())).isEqualTo(1);
+        assertThat(storedObjectRepository.findFirstByUrl(savedObject.getUrl())).isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.buildup.kbnb.repository.room;
 
+import com.buildup.kbnb.advice.exception.BadRequestException;
 import com.buildup.kbnb.dto.room.search.*;
 import com.buildup.kbnb.model.Location;
 import com.buildup.kbnb.model.Reservation;
@@ -18,12 +19,15 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -228,6 +232,50 @@ class RoomRepositoryTest {
         }
     }
 
+    @Test
+    @DisplayName("숙소 리스트 조건 검색 - pageable 정렬 순서로 조회")
+    public void sortByCondition() {
+        RoomSearchCondition roomSearchCondition = RoomSearchCondition.builder()
+                .costSearch(CostSearch.builder().minCost(10000.0).maxCost(30000.0).build())
+                .build();
+        Sort sort = Sort.by(Sort.Direction.DESC, "roomCost");
+
+        List<Room> roomList = roomRepository.searchByCondition(roomSearchCondition, PageRequest.of(0, 3, sort)).getContent();
+        List<Long> ids = roomRepository.searchIdsByCondition(new RoomSearchCondition(), sort, null, 3);
+
+        assertThat(roomList).extracting(Room::getRoomCost).containsExactly(28000.0, 25000.0, 22000.0);
+        assertThat(ids).extracting(id -> roomRepository.findById(id).orElseThrow().getRoomCost()).containsExactly(82000.0, 79000.0, 76000.0);
+    }
+
+    @Test
+    @DisplayName("숙소 리스트 조건 검색 - 마지막 숙소 다음부터 이어 읽어도 한 번에 읽은 순서와 같음")
+    public void searchIdsAfterLastId() {
+        // 값이 없는 숙소와 값이 같은 숙소가 섞여 있어도 빠지거나 겹치지 않아야 한다.
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Room.builder().name("no cost room").host(savedRoom.getHost()).location(savedRoom.getLocation()).bedNum(4).build());
+        }
+        for (Sort sort : List.of(Sort.by(Sort.Direction.ASC, "roomCost"), Sort.by(Sort.Direction.DESC, "roomCost"),
+                Sort.by(Sort.Direction.DESC, "bedNum").and(Sort.by(Sort.Direction.DESC, "id")))) {
+            List<Long> all = roomRepository.searchIdsByCondition(new RoomSearchCondition(), sort, null, 100);
+
+            List<Long> chunked = new ArrayList<>();
+            List<Long> chunk = roomRepository.searchIdsByCondition(new RoomSearchCondition(), sort, null, 4);
+            while (!chunk.isEmpty()) {
+                chunked.addAll(chunk);
+                chunk = roomRepository.searchIdsByCondition(new RoomSearchCondition(), sort, chunk.get(chunk.size() - 1), 4);
+            }
+
+            assertThat(all).hasSize(28);
+            assertThat(chunked).as(sort.toString()).isEqualTo(all);
+        }
+    }
+
+    @Test
+    @DisplayName("숙소 리스트 조건 검색 - 정해 둔 항목이 아니면 정렬하지 않고 거절")
+    public void sortByUnknownProperty() {
+        assertThrows(BadRequestException.class, () -> roomRepository.searchIdsByCondition(new RoomSearchCondition(), Sort.by("description"), null, 3));
+    }
+
     @Test
     @DisplayName("숙소 상세 검색 - 유저, 위치 정보 같이")
     public void getDetailWithUserLocation() {
@@ -1,8 +1,10 @@
 package com.buildup.kbnb.service;
 
 import com.buildup.kbnb.dto.comment.CommentCreateReq;
-import com.buildup.kbnb.dto.comment.GradeInfo;
+import com.buildup.kbnb.model.Comment;
+import com.buildup.kbnb.model.Reservation;
 import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.user.User;
 import com.buildup.kbnb.repository.CommentRepository;
 import com.buildup.kbnb.service.reservation.ReservationService;
 import org.junit.jupiter.api.DisplayName;
@@ -14,7 +16,7 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.then;
 
 @ExtendWith(MockitoExtension.class)
 class CommentServiceTest {
@@ -27,38 +29,36 @@ class CommentServiceTest {
     private CommentRepository commentRepository;
 
     @Mock
-    private RoomService roomService;
+    private RoomRatingService roomRatingService;
 
     @Mock
     private ReservationService reservationService;
 
     @Test
-    @DisplayName("댓글 평점 종합")
-    public void calcGradeInfo() {
-        Room room = Room.builder()
-                .grade(5.0)
-                .cleanliness(5.0)
-                .accuracy(5.0)
-                .communication(5.0)
-                .locationRate(5.0)
-                .checkIn(5.0)
-                .priceSatisfaction(5.0)
+    @DisplayName("댓글 등록 시 숙소 평점 합산")
+    public void createCommentTx() {
+        Room room = Room.builder().id(1L).build();
+        Reservation reservation = Reservation.builder()
+                .id(1L)
+                .room(room)
+                .user(User.builder().id(1L).build())
                 .build();
 
-        Integer commentCount = 1;
-
         CommentCreateReq req = CommentCreateReq.builder()
-                .cleanliness(0.0)
-                .accuracy(0.0)
-                .communication(0.0)
-                .locationRate(0.0)
-                .checkIn(0.0)
-                .priceSatisfaction(0.0)
+                .cleanliness(5.0)
+                .accuracy(4.0)
+                .communication(5.0)
+                .locationRate(3.0)
+                .checkIn(4.0)
+                .priceSatisfaction(5.0)
                 .build();
 
-        GradeInfo gradeInfo = commentService.calcGradeInfo(room, commentCount, req);
+        Comment comment = commentService.createCommentTx(req, reservation);
 
-        assertThat(gradeInfo.getTotalGrade()).isEqualTo(2.5);
+        assertThat(comment.getRoom()).isEqualTo(room);
+        assertThat(comment.getCleanliness()).isEqualTo(5.0);
+        then(roomRatingService).should().addRating(room.getId(), comment);
+        then(reservationService).should().updateWithComment(reservation, comment);
     }
 
-}
\ No newline at end of file
+}
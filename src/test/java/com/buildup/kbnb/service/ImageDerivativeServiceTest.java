@@ -0,0 +1,108 @@
+package com.buildup.kbnb.service;
+
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.repository.RoomImgRepository;
+import com.buildup.kbnb.util.S3Uploader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class ImageDerivativeServiceTest {
+    ImageDerivativeService imageDerivativeService;
+
+    @Mock
+    S3Uploader s3Uploader;
+
+    @Mock
+    RoomImgRepository roomImgRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        imageDerivativeService = new ImageDerivativeService(s3Uploader, roomImgRepository, new AppProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageDerivativeService.shutdown();
+    }
+
+    private byte[] jpg(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", out);
+        return out.toByteArray();
+    }
+
+    private void givenUploadBytes() {
+        given(s3Uploader.uploadBytes(any(byte[].class), anyString(), anyString()))
+                .willAnswer(invocation -> "https://bucket/" + invocation.getArgument(1) + "/"
+                        + ImageIO.read(new ByteArrayInputStream(invocation.getArgument(0))).getWidth() + ".jpg");
+    }
+
+    @Test
+    @DisplayName("원본보다 작은 크기의 변환 이미지만 생성")
+    void generateRoomImgDerivatives() throws Exception {
+        givenUploadBytes();
+        given(roomImgRepository.updateDerivativeUrls(anyLong(), any(), any(), any())).willReturn(1);
+
+        imageDerivativeService.generateRoomImgDerivatives(7L, jpg(1200, 800));
+
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+        verify(s3Uploader, times(2)).uploadBytes(bytes.capture(), eq("roomImg/derived"), eq("image/jpeg"));
+        assertThat(ImageIO.read(new ByteArrayInputStream(bytes.getAllValues().get(0))).getWidth()).isEqualTo(480);
+        assertThat(ImageIO.read(new ByteArrayInputStream(bytes.getAllValues().get(1))).getWidth()).isEqualTo(1024);
+        verify(roomImgRepository).updateDerivativeUrls(7L,
+                "https://bucket/roomImg/derived/480.jpg",
+                "https://bucket/roomImg/derived/1024.jpg",
+                null);
+        verify(s3Uploader, never()).deleteFileFromS3(anyString());
+    }
+
+    @Test
+    @DisplayName("다시 변환하면 이전 변환 이미지의 참조를 해제")
+    void releasePreviousDerivatives() throws Exception {
+        givenUploadBytes();
+        given(roomImgRepository.findById(7L)).willReturn(Optional.of(RoomImg.builder().id(7L).url("original").cardUrl("old card").build()));
+        given(roomImgRepository.updateDerivativeUrls(anyLong(), any(), any(), any())).willReturn(1);
+
+        imageDerivativeService.generateRoomImgDerivatives(7L, jpg(600, 400));
+
+        verify(s3Uploader).deleteFileFromS3("old card");
+        verify(s3Uploader, never()).deleteFileFromS3("original");
+    }
+
+    @Test
+    @DisplayName("변환 중 사진이 삭제되었으면 새로 올린 변환 이미지의 참조를 해제")
+    void releaseDerivativesOfDeletedRoomImg() throws Exception {
+        givenUploadBytes();
+        given(roomImgRepository.updateDerivativeUrls(anyLong(), any(), any(), any())).willReturn(0);
+
+        imageDerivativeService.generateRoomImgDerivatives(7L, jpg(600, 400));
+
+        verify(s3Uploader).deleteFileFromS3("https://bucket/roomImg/derived/480.jpg");
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 데이터는 변환하지 않음")
+    void skipUnreadableImage() {
+        imageDerivativeService.generateRoomImgDerivatives(7L, "not image".getBytes());
+
+        verifyNoInteractions(s3Uploader, roomImgRepository);
+    }
+}
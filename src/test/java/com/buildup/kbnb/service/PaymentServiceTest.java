@@ -1,5 +1,6 @@
 package com.buildup.kbnb.service;
 
+import com.buildup.kbnb.advice.exception.BadRequestException;
 import com.buildup.kbnb.model.Payment;
 import com.buildup.kbnb.repository.PaymentRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +11,8 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
@@ -28,13 +31,22 @@ class PaymentServiceTest {
     public void makeConfirmStateTrue() {
         Payment payment = Payment.builder()
                 .id(1L)
-                .isConfirm(false)
+                .isConfirm(true)
                 .build();
 
+        given(paymentRepository.confirm(payment.getId())).willReturn(1, 0);
         doReturn(payment).when(paymentService).findPayment(payment.getId());
 
-        paymentService.makeConfirmStateTrue(payment.getId());
+        assertTrue(paymentService.makeConfirmStateTrue(payment.getId()));
+        assertFalse(paymentService.makeConfirmStateTrue(payment.getId()));
+    }
+
+    @Test
+    @DisplayName("없는 결제 승인")
+    public void makeConfirmStateTrue_notFound() {
+        given(paymentRepository.confirm(1L)).willReturn(0);
+        given(paymentRepository.findById(1L)).willReturn(Optional.empty());
 
-        assertTrue(payment.getIsConfirm());
+        assertThrows(BadRequestException.class, () -> paymentService.makeConfirmStateTrue(1L));
     }
 }
\ No newline at end of file
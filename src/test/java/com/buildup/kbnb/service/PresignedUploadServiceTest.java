@@ -0,0 +1,154 @@
+package com.buildup.kbnb.service;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.advice.exception.TypeMissMatchException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.host.PhotoUploadResult;
+import com.buildup.kbnb.dto.upload.PresignRequest;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.repository.RoomImgRepository;
+import com.buildup.kbnb.util.S3Uploader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class PresignedUploadServiceTest {
+    PresignedUploadService presignedUploadService;
+
+    @Mock
+    S3Uploader s3Uploader;
+
+    @Mock
+    RoomImgRepository roomImgRepository;
+
+    @Mock
+    ImageDerivativeService imageDerivativeService;
+
+    User host = User.builder().id(1L).name("host").build();
+    Room room = Room.builder().id(3L).host(host).build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        presignedUploadService = new PresignedUploadService(s3Uploader, roomImgRepository, imageDerivativeService, new AppProperties());
+    }
+
+    private ObjectMetadata metadata(String contentType, long contentLength) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(contentLength);
+        return metadata;
+    }
+
+    @Test
+    @DisplayName("호스트가 아닌 유저는 업로드 URL 발급 불가")
+    void presignRejectNotHost() {
+        User other = User.builder().id(2L).build();
+        PresignRequest req = PresignRequest.builder().contentType("image/png").contentLength(10L).build();
+
+        assertThrows(BadRequestException.class, () -> presignedUploadService.presignRoomPhoto(other, room, req));
+        verify(s3Uploader, never()).generatePresignedPutUrl(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("허용 크기를 넘는 파일은 업로드 URL 발급 불가")
+    void presignRejectTooLarge() {
+        PresignRequest req = PresignRequest.builder().contentType("image/png").contentLength(Long.MAX_VALUE).build();
+
+        assertThrows(BadRequestException.class, () -> presignedUploadService.presignRoomPhoto(host, room, req));
+    }
+
+    @Test
+    @DisplayName("다른 방 경로의 키는 등록 불가")
+    void finalizeRejectOtherPrefix() {
+        List<PhotoUploadResult> results = presignedUploadService.finalizeRoomPhotos(host, room, List.of("roomImg/4/abc", "roomImg/3/../4/abc"));
+
+        assertThat(results).extracting(PhotoUploadResult::isSuccess).containsExactly(false, false);
+        verify(s3Uploader, never()).getObjectMetadata(any());
+    }
+
+    @Test
+    @DisplayName("업로드 되지 않은 키는 등록 실패")
+    void finalizeMissingObject() {
+        given(s3Uploader.getObjectMetadata("roomImg/3/abc")).willReturn(Optional.empty());
+
+        List<PhotoUploadResult> results = presignedUploadService.finalizeRoomPhotos(host, room, List.of("roomImg/3/abc"));
+
+        assertThat(results.get(0).isSuccess()).isFalse();
+        verify(s3Uploader, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 파일은 삭제 후 거부")
+    void finalizeDeleteNonImage() {
+        given(s3Uploader.getObjectMetadata("userImg/1/abc")).willReturn(Optional.of(metadata("text/plain", 10L)));
+
+        assertThrows(TypeMissMatchException.class, () -> presignedUploadService.finalizeUserPhoto(host, "userImg/1/abc"));
+        verify(s3Uploader).deleteObject("userImg/1/abc");
+        verify(s3Uploader, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("방 사진 등록 성공시 저장 및 변환 예약")
+    @SuppressWarnings("unchecked")
+    void finalizeRoomPhotos() {
+        given(s3Uploader.getObjectMetadata(any())).willReturn(Optional.of(metadata("image/png", 10L)));
+        given(s3Uploader.publish("roomImg/3/a")).willReturn("url-a");
+        given(s3Uploader.publish("roomImg/3/b")).willReturn("url-b");
+
+        List<PhotoUploadResult> results = presignedUploadService.finalizeRoomPhotos(host, room, List.of("roomImg/3/a", "roomImg/3/b"));
+
+        assertThat(results).extracting(PhotoUploadResult::getUrl).containsExactly("url-a", "url-b");
+        ArgumentCaptor<List<RoomImg>> captor = ArgumentCaptor.forClass(List.class);
+        verify(roomImgRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(RoomImg::getUrl).containsExactly("url-a", "url-b");
+        verify(imageDerivativeService).scheduleRoomImgFromS3(any(), eq("roomImg/3/a"));
+        verify(imageDerivativeService).scheduleRoomImgFromS3(any(), eq("roomImg/3/b"));
+    }
+
+    @Test
+    @DisplayName("이미 등록된 키는 다시 등록 불가")
+    void finalizeRejectPublishedKey() {
+        given(s3Uploader.isPublished("roomImg/3/a")).willReturn(true);
+
+        List<PhotoUploadResult> results = presignedUploadService.finalizeRoomPhotos(host, room, List.of("roomImg/3/a"));
+
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getMessage()).isEqualTo("이미 등록된 파일입니다.");
+        verify(s3Uploader, never()).publish(any());
+        verify(imageDerivativeService, never()).scheduleRoomImgFromS3(any(), any());
+    }
+
+    @Test
+    @DisplayName("같은 키가 동시에 등록되면 늦은 요청은 실패")
+    @SuppressWarnings("unchecked")
+    void finalizeConcurrentPublish() {
+        given(s3Uploader.getObjectMetadata(any())).willReturn(Optional.of(metadata("image/png", 10L)));
+        given(s3Uploader.publish("roomImg/3/a")).willThrow(new DataIntegrityViolationException("duplicate url"));
+
+        List<PhotoUploadResult> results = presignedUploadService.finalizeRoomPhotos(host, room, List.of("roomImg/3/a"));
+
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getMessage()).isEqualTo("이미 등록된 파일입니다.");
+        ArgumentCaptor<List<RoomImg>> captor = ArgumentCaptor.forClass(List.class);
+        verify(roomImgRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).isEmpty();
+    }
+}
@@ -0,0 +1,169 @@
+package com.buildup.kbnb.service;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.buildup.kbnb.advice.exception.TypeMissMatchException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.host.PhotoUploadResult;
+import com.buildup.kbnb.model.StoredObject;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
+import com.buildup.kbnb.repository.RoomImgRepository;
+import com.buildup.kbnb.repository.StoredObjectRepository;
+import com.buildup.kbnb.util.S3Uploader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class RoomPhotoServiceTest {
+    RoomPhotoService roomPhotoService;
+
+    @Mock
+    S3Uploader s3Uploader;
+
+    @Mock
+    RoomImgRepository roomImgRepository;
+
+    @Mock
+    ImageDerivativeService imageDerivativeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roomPhotoService = new RoomPhotoService(s3Uploader, roomImgRepository, imageDerivativeService, new AppProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomPhotoService.shutdown();
+    }
+
+    private MultipartFile image(String name) {
+        return new MockMultipartFile("file", name, "image/png", name.getBytes());
+    }
+
+    @Test
+    @DisplayName("사진 업로드 순서 유지 및 일괄 저장")
+    @SuppressWarnings("unchecked")
+    void uploadRoomPhotosKeepOrder() throws Exception {
+        Room room = Room.builder().id(3L).build();
+        List<MultipartFile> files = List.of(image("a.png"), image("b.png"), image("c.png"), image("d.png"), image("e.png"));
+        for (int i = 0; i < 5; i++) {
+            given(s3Uploader.upload(same(files.get(i)), eq("roomImg"))).willReturn("url" + i);
+            given(s3Uploader.toObjectKey("url" + i)).willReturn(Optional.of("roomImg/key" + i));
+        }
+
+        List<PhotoUploadResult> results = roomPhotoService.uploadRoomPhotos(room, files);
+
+        assertThat(results).extracting(PhotoUploadResult::getUrl).containsExactly("url0", "url1", "url2", "url3", "url4");
+        assertThat(results).extracting(PhotoUploadResult::getFileName).containsExactly("a.png", "b.png", "c.png", "d.png", "e.png");
+        ArgumentCaptor<List<RoomImg>> captor = ArgumentCaptor.forClass(List.class);
+        verify(roomImgRepository, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(RoomImg::getUrl).containsExactly("url0", "url1", "url2", "url3", "url4");
+        // 원본은 메모리에 들고 있지 않고 저장된 키로 변환을 예약한다.
+        for (int i = 0; i < 5; i++) {
+            verify(imageDerivativeService).scheduleRoomImgFromS3(any(), eq("roomImg/key" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("일부 사진 업로드 실패시 성공한 사진만 저장")
+    @SuppressWarnings("unchecked")
+    void uploadRoomPhotosPartialFailure() throws Exception {
+        Room room = Room.builder().id(3L).build();
+        List<MultipartFile> files = List.of(image("a.png"), image("b.png"));
+        given(s3Uploader.upload(same(files.get(0)), eq("roomImg"))).willReturn("url0");
+        given(s3Uploader.upload(same(files.get(1)), eq("roomImg"))).willThrow(new IllegalArgumentException("fail"));
+
+        List<PhotoUploadResult> results = roomPhotoService.uploadRoomPhotos(room, files);
+
+        assertThat(results).extracting(PhotoUploadResult::isSuccess).containsExactly(true, false);
+        assertThat(results.get(1).getMessage()).isEqualTo("fail");
+        ArgumentCaptor<List<RoomImg>> captor = ArgumentCaptor.forClass(List.class);
+        verify(roomImgRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 파일은 업로드 전에 거부")
+    void rejectNonImageBeforeUpload() throws Exception {
+        Room room = Room.builder().id(3L).build();
+        MultipartFile text = new MockMultipartFile("file", "a.txt", "text/plain", "a".getBytes());
+
+        assertThrows(TypeMissMatchException.class,
+                () -> roomPhotoService.uploadRoomPhotos(room, List.of(image("a.png"), text)));
+        verify(s3Uploader, never()).upload(any(), any());
+    }
+
+    @Test
+    @DisplayName("사진을 교체하면 기존 사진 행을 지우고 참조가 없어진 객체를 삭제")
+    void replacedPhotoReleased() throws Exception {
+        AmazonS3Client amazonS3Client = mock(AmazonS3Client.class);
+        StoredObjectRepository storedObjectRepository = mock(StoredObjectRepository.class);
+        S3Uploader realUploader = new S3Uploader(amazonS3Client, storedObjectRepository, new BusinessMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(realUploader, "bucket", "kbnb");
+        given(amazonS3Client.getUrl(eq("kbnb"), anyString()))
+                .willAnswer(invocation -> new URL("https://kbnb.s3.amazonaws.com/" + invocation.getArgument(1)));
+        given(storedObjectRepository.findByContentHash(anyString())).willReturn(Optional.empty());
+        // 교체된 원본은 이 숙소만 참조하고, 사본은 다른 사진과 공유하고 있다.
+        given(storedObjectRepository.findFirstByUrl("old")).willReturn(Optional.of(
+                StoredObject.builder().id(1L).objectKey("roomImg/old.png").url("old").refCount(1).build()));
+        given(storedObjectRepository.findFirstByUrl("old-card")).willReturn(Optional.of(
+                StoredObject.builder().id(2L).objectKey("roomImg/derived/card.png").url("old-card").refCount(2).build()));
+        given(storedObjectRepository.deleteIfUnreferenced(1L)).willReturn(1);
+        given(storedObjectRepository.deleteIfUnreferenced(2L)).willReturn(0);
+
+        RoomPhotoService service = new RoomPhotoService(realUploader, roomImgRepository, imageDerivativeService, new AppProperties());
+        RoomImg old = RoomImg.builder().id(7L).url("old").cardUrl("old-card").build();
+        Room room = Room.builder().id(3L).roomImgList(new ArrayList<>(List.of(old))).build();
+        try {
+            service.uploadRoomPhotos(room, List.of(image("a.png")));
+        } finally {
+            service.shutdown();
+        }
+
+        verify(roomImgRepository).deleteAll(List.of(old));
+        assertThat(room.getRoomImgList()).extracting(RoomImg::getUrl).doesNotContain("old");
+        ArgumentCaptor<DeleteObjectRequest> captor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(amazonS3Client).deleteObject(captor.capture());
+        assertThat(captor.getValue().getKey()).isEqualTo("roomImg/old.png");
+        verify(storedObjectRepository).releaseReference(2L);
+    }
+
+    @Test
+    @DisplayName("모든 사진 업로드가 실패하면 기존 사진을 유지")
+    void keepPhotosWhenAllUploadsFail() throws Exception {
+        RoomImg old = RoomImg.builder().id(7L).url("old").build();
+        Room room = Room.builder().id(3L).roomImgList(new ArrayList<>(List.of(old))).build();
+        given(s3Uploader.upload(any(), eq("roomImg"))).willThrow(new IllegalArgumentException("fail"));
+
+        roomPhotoService.uploadRoomPhotos(room, List.of(image("a.png")));
+
+        assertThat(room.getRoomImgList()).containsExactly(old);
+        verify(roomImgRepository, never()).deleteAll(any());
+        verify(s3Uploader, never()).deleteRoomImgFiles(any());
+    }
+}
@@ -0,0 +1,140 @@
+package com.buildup.kbnb.service;
+
+import com.buildup.kbnb.model.Comment;
+import com.buildup.kbnb.model.room.Room;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RoomRatingService.class)
+class RoomRatingServiceTest {
+    @Autowired
+    RoomRatingService roomRatingService;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("댓글 점수를 합에 더하고 평균은 조회 시 계산")
+    void addRating() {
+        Room room = em.persist(Room.builder().name("test room").build());
+        em.flush();
+
+        roomRatingService.addRating(room.getId(), comment(5.0, 4.0));
+        roomRatingService.addRating(room.getId(), comment(4.0, 3.0));
+        em.clear();
+
+        Room found = em.find(Room.class, room.getId());
+        assertThat(found.getCommentCount()).isEqualTo(2);
+        assertThat(found.getCleanliness()).isEqualTo(4.5);
+        assertThat(found.getAccuracy()).isEqualTo(3.5);
+        assertThat(found.getGrade()).isEqualTo(3.7);
+    }
+
+    @Test
+    @DisplayName("댓글이 없는 숙소의 평점은 0")
+    void noComment() {
+        Room room = em.persist(Room.builder().name("test room").build());
+
+        assertThat(room.getCommentCount()).isEqualTo(0);
+        assertThat(room.getGrade()).isEqualTo(0.0);
+        assertThat(room.getCleanliness()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("숙소 정보를 수정해도 읽어 둔 이전 평점 합과 댓글 수로 덮어쓰지 않음")
+    void updateRoomKeepsRating() {
+        Room room = em.persist(Room.builder().name("test room").build());
+        em.flush();
+
+        roomRatingService.addRating(room.getId(), comment(5.0, 4.0));
+        room.setMinNights(2);
+        em.flush();
+        em.clear();
+
+        Room found = em.find(Room.class, room.getId());
+        assertThat(found.getMinNights()).isEqualTo(2);
+        assertThat(found.getCommentCount()).isEqualTo(1);
+        assertThat(found.getCleanliness()).isEqualTo(5.0);
+    }
+
+    // 구간마다 다른 커넥션에서 UPDATE 하므로 테스트 트랜잭션 없이 커밋된 데이터로 확인한다.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("댓글 테이블로 여러 구간의 평점 합과 댓글 수를 다시 계산")
+    void rebuild() {
+        try {
+            jdbcTemplate.update("insert into room (id, name, cleanliness_sum, comment_count) values (1, 'room1', 100, 7)");
+            jdbcTemplate.update("insert into room (id, name) values (2500, 'room2')");
+            jdbcTemplate.update("insert into room (id, name, cleanliness_sum, comment_count) values (5000, 'room3', 3, 1)");
+            insertComment(1, 1, 5.0);
+            insertComment(2, 1, 3.0);
+            insertComment(3, 2500, 2.0);
+
+            assertThat(roomRatingService.rebuild()).isEqualTo(3);
+
+            assertThat(jdbcTemplate.queryForList("select cleanliness_sum, comment_count from room order by id"))
+                    .extracting(row -> ((Number) row.get("cleanliness_sum")).doubleValue(), row -> ((Number) row.get("comment_count")).intValue())
+                    .containsExactly(tuple(8.0, 2), tuple(2.0, 1), tuple(0.0, 0));
+        } finally {
+            jdbcTemplate.update("delete from comment");
+            jdbcTemplate.update("delete from room");
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("평점 합, 댓글 수가 비어 있는 숙소만 채움")
+    void backfill() {
+        try {
+            jdbcTemplate.update("insert into room (id, name, cleanliness_sum, comment_count) values (1, 'room1', 100, 7)");
+            jdbcTemplate.update("insert into room (id, name) values (2500, 'room2')");
+            insertComment(1, 1, 5.0);
+            insertComment(2, 2500, 2.0);
+            insertComment(3, 2500, 4.0);
+
+            assertThat(roomRatingService.backfill()).isEqualTo(1);
+            assertThat(roomRatingService.backfill()).isEqualTo(0);
+
+            assertThat(jdbcTemplate.queryForList("select cleanliness_sum, comment_count from room order by id"))
+                    .extracting(row -> ((Number) row.get("cleanliness_sum")).doubleValue(), row -> ((Number) row.get("comment_count")).intValue())
+                    .containsExactly(tuple(100.0, 7), tuple(6.0, 2));
+        } finally {
+            jdbcTemplate.update("delete from comment");
+            jdbcTemplate.update("delete from room");
+        }
+    }
+
+    private void insertComment(long id, long roomId, double score) {
+        jdbcTemplate.update("insert into comment (id, cleanliness, accuracy, communication, location_rate, check_in, price_satisfaction, date, room_id) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)", id, score, score, score, score, score, score, LocalDate.of(2021, 3, 1), roomId);
+    }
+
+    private Comment comment(double cleanliness, double others) {
+        return Comment.builder()
+                .cleanliness(cleanliness)
+                .accuracy(others)
+                .communication(others)
+                .locationRate(others)
+                .checkIn(others)
+                .priceSatisfaction(others)
+                .build();
+    }
+}
@@ -1,17 +1,41 @@
 package com.buildup.kbnb.service;
 
+import com.buildup.kbnb.dto.room.search.CheckDateSearch;
+import com.buildup.kbnb.dto.room.search.FlexibleSearchResult;
+import com.buildup.kbnb.dto.room.search.LocationSearch;
+import com.buildup.kbnb.dto.room.search.RoomSearchCondition;
 import com.buildup.kbnb.model.room.BedRoom;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
 import com.buildup.kbnb.repository.*;
 import com.buildup.kbnb.repository.room.RoomRepository;
+import com.buildup.kbnb.service.room.RoomAvailabilityService;
+import com.buildup.kbnb.util.S3Uploader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 class RoomServiceTest {
     RoomService roomService;
@@ -24,12 +48,15 @@ class RoomServiceTest {
     @Mock BedRoomRepository bedRoomRepository;
     @Mock BathRoomRepository bathRoomRepository;
     @Mock UserRepository userRepository;
-    @Mock RoomImgRepository roomImgRepository;;
+    @Mock RoomImgRepository roomImgRepository;
+    @Mock S3Uploader s3Uploader;
+    @Mock RoomAvailabilityService roomAvailabilityService;
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        roomService = new RoomService(roomRepository, locationRepository, bedRoomRepository, bathRoomRepository, userRepository, roomImgRepository);
+        roomService = new RoomService(roomRepository, locationRepository, bedRoomRepository, bathRoomRepository, userRepository, roomImgRepository, s3Uploader,
+                new BusinessMetrics(new SimpleMeterRegistry()), roomAvailabilityService);
     }
 
     @Test
@@ -56,4 +83,96 @@ class RoomServiceTest {
 
         assertThat(bedNum).isEqualTo(4);
     }
-}
\ No newline at end of file
+
+    @Test
+    void usedFilters() {
+        RoomSearchCondition condition = RoomSearchCondition.builder()
+                .locationSearch(LocationSearch.builder().latitude(37.5).longitude(127.0).build())
+                .bedNum(2)
+                .build();
+
+        assertThat(RoomService.usedFilters(condition)).isEqualTo("location+bedNum");
+        assertThat(RoomService.usedFilters(new RoomSearchCondition())).isEqualTo("none");
+    }
+
+    @Test
+    void searchFlexibleByCondition() {
+        RoomSearchCondition condition = RoomSearchCondition.builder()
+                .checkDateSearch(CheckDateSearch.builder()
+                        .startDate(LocalDate.of(2021, 3, 10))
+                        .endDate(LocalDate.of(2021, 3, 12))
+                        .flexibleDays(3)
+                        .build())
+                .build();
+        Map<Long, Integer> shifts = new LinkedHashMap<>();
+        shifts.put(1L, 0);
+        shifts.put(3L, -2);
+        // 후보는 정렬 순서대로 오고 묵을 수 있는 숙소도 그 순서로 페이지를 나눈다.
+        Sort sort = Sort.by(Sort.Direction.DESC, "roomCost");
+        given(roomRepository.searchIdsByCondition(condition, sort, null, RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE)).willReturn(List.of(1L, 2L, 3L));
+        given(roomAvailabilityService.findCheckInShifts(List.of(1L, 2L, 3L), LocalDate.of(2021, 3, 10), LocalDate.of(2021, 3, 12), 3, null))
+                .willReturn(shifts);
+        given(roomRepository.findAllWithLocationByIdIn(List.of(3L))).willReturn(List.of(Room.builder().id(3L).build()));
+
+        FlexibleSearchResult result = roomService.searchFlexibleByCondition(condition, PageRequest.of(1, 1, sort));
+
+        assertThat(result.getRooms().getContent()).extracting(Room::getId).containsExactly(3L);
+        assertThat(result.getRooms().getTotalElements()).isEqualTo(2);
+        assertThat(result.getCheckInShifts()).containsExactly(entry(3L, -2));
+        assertThat(RoomService.usedFilters(condition)).isEqualTo("flexibleDate");
+    }
+
+    @Test
+    @DisplayName("후보가 chunk 보다 많으면 마지막 숙소 다음부터 이어 읽어 묵을 수 있는 숙소를 센다")
+    void searchByAvailabilityInChunks() {
+        RoomSearchCondition condition = RoomSearchCondition.builder()
+                .checkDateSearch(CheckDateSearch.builder()
+                        .startDate(LocalDate.of(2021, 3, 10))
+                        .endDate(LocalDate.of(2021, 3, 12))
+                        .build())
+                .build();
+        List<Long> firstChunk = LongStream.rangeClosed(1, RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE).boxed().collect(Collectors.toList());
+        List<Long> lastChunk = List.of(RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE + 1L);
+        given(roomRepository.searchIdsByCondition(condition, Sort.unsorted(), null, RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE)).willReturn(firstChunk);
+        given(roomRepository.searchIdsByCondition(condition, Sort.unsorted(), (long) RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE, RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE)).willReturn(lastChunk);
+        given(roomAvailabilityService.findCheckInShifts(firstChunk, LocalDate.of(2021, 3, 10), LocalDate.of(2021, 3, 12), 0, null))
+                .willReturn(Map.of(2L, 0));
+        given(roomAvailabilityService.findCheckInShifts(lastChunk, LocalDate.of(2021, 3, 10), LocalDate.of(2021, 3, 12), 0, null))
+                .willReturn(Map.of(RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE + 1L, 0));
+        given(roomRepository.findAllWithLocationByIdIn(lastChunk)).willReturn(List.of(Room.builder().id(RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE + 1L).build()));
+
+        Page<Room> rooms = roomService.searchListByCondition(condition, PageRequest.of(1, 1));
+
+        assertThat(rooms.getContent()).extracting(Room::getId).containsExactly(RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE + 1L);
+        assertThat(rooms.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("후보가 많아도 정렬 순으로 FLEXIBLE_SEARCH_MAX_ROOMS 개까지만 본다")
+    void searchByAvailabilityCapped() {
+        RoomSearchCondition condition = RoomSearchCondition.builder()
+                .checkDateSearch(CheckDateSearch.builder()
+                        .startDate(LocalDate.of(2021, 3, 10))
+                        .endDate(LocalDate.of(2021, 3, 12))
+                        .build())
+                .build();
+        given(roomRepository.searchIdsByCondition(any(), any(), any(), anyInt())).willAnswer(invocation -> {
+            Long afterId = invocation.getArgument(2);
+            long from = afterId == null ? 1 : afterId + 1;
+            return LongStream.range(from, from + RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE).boxed().collect(Collectors.toList());
+        });
+        given(roomAvailabilityService.findCheckInShifts(any(), any(), any(), anyInt(), any())).willAnswer(invocation -> {
+            Map<Long, Integer> shifts = new LinkedHashMap<>();
+            for (Long id : invocation.<List<Long>>getArgument(0)) {
+                shifts.put(id, 0);
+            }
+            return shifts;
+        });
+
+        Page<Room> rooms = roomService.searchListByCondition(condition, PageRequest.of(0, 10));
+
+        verify(roomRepository, times(RoomService.FLEXIBLE_SEARCH_MAX_ROOMS / RoomService.FLEXIBLE_SEARCH_CHUNK_SIZE))
+                .searchIdsByCondition(any(), any(), any(), anyInt());
+        assertThat(rooms.getTotalElements()).isEqualTo(RoomService.FLEXIBLE_SEARCH_MAX_ROOMS);
+    }
+}
@@ -0,0 +1,113 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.dto.host.analytics.AnalyticsInterval;
+import com.buildup.kbnb.dto.host.analytics.AnalyticsMetrics;
+import com.buildup.kbnb.dto.host.analytics.HostAnalyticsResponse;
+import com.buildup.kbnb.dto.host.analytics.PeriodAnalytics;
+import com.buildup.kbnb.model.Payment;
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(HostAnalyticsService.class)
+class HostAnalyticsServiceTest {
+    @Autowired
+    HostAnalyticsService hostAnalyticsService;
+
+    @Autowired
+    TestEntityManager em;
+
+    User host;
+    Room room1;
+    Room room2;
+
+    @BeforeEach
+    void setUp() {
+        host = em.persist(User.builder().name("테스트 호스트").email("host@gmail.com").provider(AuthProvider.local).emailVerified(false).build());
+        room1 = em.persist(Room.builder().name("숙소1").host(host).build());
+        room2 = em.persist(Room.builder().name("숙소2").host(host).build());
+    }
+
+    @Test
+    @DisplayName("예약 금액을 박 수로 나누고 나머지는 앞 날짜에 더함")
+    void forEachNight() {
+        List<Integer> prices = new ArrayList<>();
+        HostAnalyticsService.forEachNight(LocalDate.of(2021, 1, 30), LocalDate.of(2021, 2, 2), 1000, (date, price) -> prices.add(price));
+
+        assertThat(prices).containsExactly(334, 333, 333);
+    }
+
+    @Test
+    @DisplayName("예약 등록, 취소 이벤트로 예약률, ADR, RevPAR 계산")
+    void getAnalytics() {
+        // 1/30 ~ 2/2 3박 30만원, 2/10 ~ 2/12 2박 10만원
+        hostAnalyticsService.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, room1, LocalDate.of(2021, 1, 30), LocalDate.of(2021, 2, 2), 300000));
+        hostAnalyticsService.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, room1, LocalDate.of(2021, 2, 10), LocalDate.of(2021, 2, 12), 100000));
+        hostAnalyticsService.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, room2, LocalDate.of(2021, 2, 1), LocalDate.of(2021, 2, 3), 80000));
+        hostAnalyticsService.onReservationChanged(event(ReservationChangedEvent.Type.CANCELLED, room2, LocalDate.of(2021, 2, 1), LocalDate.of(2021, 2, 3), 80000));
+        // 승인은 배열을 바꾸지 않는다.
+        hostAnalyticsService.onReservationChanged(event(ReservationChangedEvent.Type.PAYMENT_CONFIRMED, room1, LocalDate.of(2021, 2, 10), LocalDate.of(2021, 2, 12), 100000));
+
+        HostAnalyticsResponse response = hostAnalyticsService.getAnalytics(host.getId(), LocalDate.of(2021, 1, 1), LocalDate.of(2021, 2, 28), AnalyticsInterval.MONTH, null);
+
+        assertThat(response.getTotal()).isEqualTo(AnalyticsMetrics.of(59 * 2, 5, 2, 400000));
+        assertThat(response.getTotal().getAdr()).isEqualTo(80000);
+        assertThat(response.getSeries()).containsExactly(
+                new PeriodAnalytics(LocalDate.of(2021, 1, 1), AnalyticsMetrics.of(62, 2, 0, 200000)),
+                new PeriodAnalytics(LocalDate.of(2021, 2, 1), AnalyticsMetrics.of(56, 3, 2, 200000)));
+        assertThat(response.getRooms()).extracting("roomId").containsExactly(room1.getId(), room2.getId());
+        assertThat(response.getRooms().get(0).getMetrics()).isEqualTo(AnalyticsMetrics.of(59, 5, 0, 400000));
+
+        HostAnalyticsResponse weekly = hostAnalyticsService.getAnalytics(host.getId(), LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 14), AnalyticsInterval.WEEK, room1.getId());
+        assertThat(weekly.getSeries()).extracting("periodStart")
+                .containsExactly(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 8));
+        assertThat(weekly.getSeries().get(1).getMetrics()).isEqualTo(AnalyticsMetrics.of(7, 2, 0, 100000));
+    }
+
+    @Test
+    @DisplayName("조회 기간이 잘못되거나 다른 호스트의 숙소면 예외")
+    void getAnalyticsBadRequest() {
+        LocalDate from = LocalDate.of(2021, 1, 1);
+        assertThrows(BadRequestException.class, () -> hostAnalyticsService.getAnalytics(host.getId(), from, from.minusDays(1), AnalyticsInterval.DAY, null));
+        assertThrows(BadRequestException.class, () -> hostAnalyticsService.getAnalytics(host.getId(), from, from.plusYears(4), AnalyticsInterval.DAY, null));
+        assertThrows(BadRequestException.class, () -> hostAnalyticsService.getAnalytics(host.getId(), from, from, AnalyticsInterval.DAY, -1L));
+    }
+
+    @Test
+    @DisplayName("예약 테이블로 다시 생성해도 취소 수는 남김")
+    void rebuild() {
+        hostAnalyticsService.onReservationChanged(event(ReservationChangedEvent.Type.CANCELLED, room2, LocalDate.of(2021, 3, 5), LocalDate.of(2021, 3, 6), 1000));
+        em.persist(Reservation.builder().room(room1).checkIn(LocalDate.of(2021, 3, 1)).checkOut(LocalDate.of(2021, 3, 3)).totalCost(5000L)
+                .payment(em.persist(Payment.builder().receiptId("1").price(4000).isConfirm(false).build())).build());
+        em.persist(Reservation.builder().room(room2).checkIn(LocalDate.of(2021, 3, 31)).checkOut(LocalDate.of(2021, 4, 1)).totalCost(3000L).build());
+        em.flush();
+
+        assertThat(hostAnalyticsService.rebuild()).isEqualTo(2);
+
+        HostAnalyticsResponse response = hostAnalyticsService.getAnalytics(host.getId(), LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 31), AnalyticsInterval.MONTH, null);
+        assertThat(response.getTotal()).isEqualTo(AnalyticsMetrics.of(62, 3, 1, 7000));
+    }
+
+    private ReservationChangedEvent event(ReservationChangedEvent.Type type, Room room, LocalDate checkIn, LocalDate checkOut, Integer price) {
+        return new ReservationChangedEvent(type, null, room.getId(), host.getId(), checkIn, checkOut, price, type == ReservationChangedEvent.Type.PAYMENT_CONFIRMED);
+    }
+}
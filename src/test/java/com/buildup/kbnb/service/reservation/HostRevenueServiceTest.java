@@ -0,0 +1,115 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.dto.host.income.IncomeResponse;
+import com.buildup.kbnb.dto.host.income.RoomIncome;
+import com.buildup.kbnb.dto.host.income.YearIncome;
+import com.buildup.kbnb.dto.host.income.YearlyIncomeResponse;
+import com.buildup.kbnb.model.Payment;
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(HostRevenueService.class)
+class HostRevenueServiceTest {
+    @Autowired
+    HostRevenueService hostRevenueService;
+
+    @Autowired
+    TestEntityManager em;
+
+    User host;
+    Room room1;
+    Room room2;
+
+    @BeforeEach
+    void setUp() {
+        host = em.persist(User.builder().name("테스트 호스트").email("host@gmail.com").provider(AuthProvider.local).emailVerified(false).build());
+        room1 = em.persist(Room.builder().name("숙소1").host(host).build());
+        room2 = em.persist(Room.builder().name("숙소2").host(host).build());
+    }
+
+    @Test
+    @DisplayName("결제 승인, 취소 이벤트로 체크 인 월 수입 증감")
+    void onReservationChanged() {
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.PAYMENT_CONFIRMED, room1, LocalDate.of(2021, 2, 27), 1000));
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.PAYMENT_CONFIRMED, room2, LocalDate.of(2021, 2, 3), 3000));
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.PAYMENT_CONFIRMED, room1, LocalDate.of(2021, 5, 1), 500));
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.CANCELLED, room1, LocalDate.of(2021, 5, 1), 500));
+        // 승인 전 등록, 취소는 수입에 영향이 없다.
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, room1, LocalDate.of(2021, 6, 1), null));
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.CANCELLED, room1, LocalDate.of(2021, 2, 1), null));
+
+        IncomeResponse income = hostRevenueService.getYearIncome(host.getId(), 2021);
+
+        assertThat(income.getFeb()).isEqualTo(4000);
+        assertThat(income.getMay()).isEqualTo(0);
+        assertThat(income.getJun()).isEqualTo(0);
+        assertThat(income.getYearlyIncome()).isEqualTo(4000);
+        assertThat(hostRevenueService.getRoomIncomes(host.getId(), 2021).getRooms())
+                .containsExactly(new RoomIncome(room2.getId(), "숙소2", 3000L), new RoomIncome(room1.getId(), "숙소1", 1000L));
+    }
+
+    @Test
+    @DisplayName("여러 해 수입을 연도별로 합산하고 수입이 없는 해는 0")
+    void getYearlyIncomes() {
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.PAYMENT_CONFIRMED, room1, LocalDate.of(2019, 12, 31), 1000));
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.PAYMENT_CONFIRMED, room2, LocalDate.of(2021, 1, 1), 2000));
+        hostRevenueService.onReservationChanged(event(ReservationChangedEvent.Type.PAYMENT_CONFIRMED, room1, LocalDate.of(2021, 7, 1), 3000));
+
+        YearlyIncomeResponse response = hostRevenueService.getYearlyIncomes(host.getId(), 2019, 2021);
+
+        assertThat(response.getYears()).containsExactly(new YearIncome(2019, 1000), new YearIncome(2020, 0), new YearIncome(2021, 5000));
+        assertThat(response.getTotalIncome()).isEqualTo(6000);
+        assertThrows(BadRequestException.class, () -> hostRevenueService.getYearlyIncomes(host.getId(), 2021, 2019));
+    }
+
+    @Test
+    @DisplayName("승인된 결제로 집계를 다시 생성")
+    void rebuild() {
+        em.persist(Reservation.builder().room(room1).checkIn(LocalDate.of(2021, 3, 1)).checkOut(LocalDate.of(2021, 3, 2)).totalCost(1500L)
+                .payment(em.persist(Payment.builder().receiptId("1").price(1000).isConfirm(true).build())).build());
+        // 금액을 저장하지 않던 결제는 예약 금액으로 센다.
+        em.persist(Reservation.builder().room(room1).checkIn(LocalDate.of(2021, 3, 10)).checkOut(LocalDate.of(2021, 3, 12)).totalCost(2500L)
+                .payment(em.persist(Payment.builder().receiptId("2").isConfirm(true).build())).build());
+        em.persist(Reservation.builder().room(room2).checkIn(LocalDate.of(2021, 3, 10)).checkOut(LocalDate.of(2021, 3, 12)).totalCost(9000L)
+                .payment(em.persist(Payment.builder().receiptId("3").price(9000).isConfirm(false).build())).build());
+        em.flush();
+
+        assertThat(hostRevenueService.rebuild()).isEqualTo(1);
+        assertThat(hostRevenueService.getYearIncome(host.getId(), 2021).getMar()).isEqualTo(3500);
+    }
+
+    @Test
+    @DisplayName("금액을 저장하지 않던 이전 결제를 취소하면 rebuild 와 같이 예약 금액만큼 뺀다")
+    void cancelWithoutPrice() {
+        Reservation reservation = em.persist(Reservation.builder().room(room1).checkIn(LocalDate.of(2021, 3, 10)).checkOut(LocalDate.of(2021, 3, 12)).totalCost(2500L)
+                .payment(em.persist(Payment.builder().receiptId("1").isConfirm(true).build())).build());
+        em.flush();
+        hostRevenueService.rebuild();
+
+        hostRevenueService.onReservationChanged(ReservationChangedEvent.cancelled(reservation));
+
+        assertThat(hostRevenueService.getYearIncome(host.getId(), 2021).getMar()).isEqualTo(0);
+    }
+
+    private ReservationChangedEvent event(ReservationChangedEvent.Type type, Room room, LocalDate checkIn, Integer confirmedPrice) {
+        return new ReservationChangedEvent(type, null, room.getId(), host.getId(), checkIn, checkIn.plusDays(1), confirmedPrice, confirmedPrice != null);
+    }
+}
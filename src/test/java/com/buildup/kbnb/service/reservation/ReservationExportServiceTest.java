@@ -0,0 +1,87 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.host.export.ReservationExportFormat;
+import com.buildup.kbnb.model.Payment;
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ReservationExportServiceTest {
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    TestEntityManager em;
+
+    ReservationExportService reservationExportService;
+    User host;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getExport().setFetchSize(1);
+        reservationExportService = new ReservationExportService(dataSource, new ObjectMapper(), appProperties);
+
+        host = em.persist(User.builder().name("테스트 호스트").email("host@gmail.com").provider(AuthProvider.local).emailVerified(false).build());
+        User other = em.persist(User.builder().name("다른 호스트").email("other@gmail.com").provider(AuthProvider.local).emailVerified(false).build());
+        Room room = em.persist(Room.builder().name("바다, \"전망\" 숙소").host(host).build());
+        Room otherRoom = em.persist(Room.builder().name("다른 숙소").host(other).build());
+        em.persist(Reservation.builder().room(room).checkIn(LocalDate.of(2021, 3, 10)).checkOut(LocalDate.of(2021, 3, 12)).guestNum(3).totalCost(3000L)
+                .payment(em.persist(Payment.builder().receiptId("2").price(3000).isConfirm(false).build())).build());
+        em.persist(Reservation.builder().room(room).checkIn(LocalDate.of(2021, 3, 1)).checkOut(LocalDate.of(2021, 3, 2)).guestNum(2).totalCost(1000L)
+                .payment(em.persist(Payment.builder().receiptId("1").price(1000).isConfirm(true).build())).build());
+        em.persist(Reservation.builder().room(room).checkIn(LocalDate.of(2021, 4, 1)).checkOut(LocalDate.of(2021, 4, 2)).guestNum(1).totalCost(500L).build());
+        em.persist(Reservation.builder().room(otherRoom).checkIn(LocalDate.of(2021, 3, 5)).checkOut(LocalDate.of(2021, 3, 6)).guestNum(1).totalCost(700L).build());
+        em.flush();
+    }
+
+    @Test
+    @DisplayName("호스트의 기간 안 예약을 체크 인 순으로 CSV 로 내보냄")
+    void exportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = reservationExportService.write(host.getId(), LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 31), ReservationExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo(String.join(",", ReservationExportService.COLUMNS));
+        assertThat(lines[1]).endsWith(",\"바다, \"\"전망\"\" 숙소\",2021-03-01,2021-03-02,2,1000,1000,true");
+        assertThat(lines[2]).endsWith(",2021-03-10,2021-03-12,3,3000,3000,false");
+    }
+
+    @Test
+    @DisplayName("결제가 없는 예약은 결제 항목을 null 로 NDJSON 에 씀")
+    void exportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = reservationExportService.write(host.getId(), LocalDate.of(2021, 4, 1), LocalDate.of(2021, 4, 1), ReservationExportFormat.NDJSON, out);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith(
+                "\"checkIn\":\"2021-04-01\",\"checkOut\":\"2021-04-02\",\"guestNum\":1,\"totalCost\":500,\"paymentPrice\":null,\"paymentConfirmed\":null}\n");
+        assertThrows(BadRequestException.class,
+                () -> reservationExportService.export(host.getId(), LocalDate.of(2021, 4, 1), LocalDate.of(2021, 3, 1), ReservationExportFormat.NDJSON));
+    }
+}
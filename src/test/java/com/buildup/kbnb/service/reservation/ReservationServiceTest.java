@@ -1,32 +1,42 @@
 package com.buildup.kbnb.service.reservation;
 
 
-import com.buildup.kbnb.dto.host.income.IncomeResponse;
 
 import com.buildup.kbnb.advice.exception.ReservationException;
 
 import com.buildup.kbnb.model.Payment;
 import com.buildup.kbnb.model.Reservation;
 import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomAvailability;
 import com.buildup.kbnb.model.user.AuthProvider;
 import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
 import com.buildup.kbnb.repository.reservation.ReservationRepository;
 import com.buildup.kbnb.service.PaymentService;
+import com.buildup.kbnb.service.room.RoomAvailabilityService;
 import com.buildup.kbnb.util.payment.BootPayApi;
+import com.buildup.kbnb.util.payment.model.request.Cancel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -41,6 +51,15 @@ class ReservationServiceTest {
     @Mock
     private BootPayApi bootPayApi;
 
+    @Spy
+    private BusinessMetrics businessMetrics = new BusinessMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RoomAvailabilityService roomAvailabilityService;
+
     @Spy
     @InjectMocks
     private ReservationService reservationService;
@@ -83,6 +102,17 @@ class ReservationServiceTest {
         return reservationList;
     }
 
+    // primary 에서 숙박 기간만 만드는 loadForStay 를 예약 목록으로 흉내 낸다.
+    private void givenReservations(Long roomId, List<Reservation> reservationList) {
+        given(roomAvailabilityService.loadForStay(eq(roomId), any(), any())).willAnswer(invocation -> {
+            LocalDate checkIn = invocation.getArgument(1);
+            LocalDate checkOut = invocation.getArgument(2);
+            RoomAvailability availability = new RoomAvailability(roomId, checkIn, (int) DAYS.between(checkIn, checkOut), 0);
+            reservationList.forEach(reservation -> availability.markUnavailable(reservation.getCheckIn(), reservation.getCheckOut()));
+            return availability;
+        });
+    }
+
     @Test
     @DisplayName("이미 예약된 날짜 예약 예외 발생1")
     public void checkNotAvailableDate1() {
@@ -94,7 +124,7 @@ class ReservationServiceTest {
 
         List<Reservation> reservationList = createReservationList(startDate, endDate);
 
-        doReturn(reservationList).when(reservationService).findByRoomId(roomId);
+        givenReservations(roomId, reservationList);
 
         assertThrows(ReservationException.class,
                 () -> reservationService.checkAvailableDate(roomId, startDate.minusDays(1), startDate.plusDays(1)));
@@ -110,7 +140,7 @@ class ReservationServiceTest {
         LocalDate endDate = LocalDate.now().plusDays(period);
 
         List<Reservation> reservationList = createReservationList(startDate, endDate);
-        doReturn(reservationList).when(reservationService).findByRoomId(roomId);
+        givenReservations(roomId, reservationList);
 
         assertThrows(ReservationException.class,
                 () -> reservationService.checkAvailableDate(roomId, startDate.plusDays(1), endDate.minusDays(1)));
@@ -126,7 +156,7 @@ class ReservationServiceTest {
         LocalDate endDate = LocalDate.now().plusDays(period);
 
         List<Reservation> reservationList = createReservationList(startDate, endDate);
-        doReturn(reservationList).when(reservationService).findByRoomId(roomId);
+        givenReservations(roomId, reservationList);
 
         assertThrows(ReservationException.class,
                 () -> reservationService.checkAvailableDate(roomId, startDate.plusDays(1), endDate.plusDays(1)));
@@ -142,7 +172,7 @@ class ReservationServiceTest {
         LocalDate endDate = LocalDate.now().plusDays(period);
 
         List<Reservation> reservationList = createReservationList(startDate, endDate);
-        doReturn(reservationList).when(reservationService).findByRoomId(roomId);
+        givenReservations(roomId, reservationList);
 
         assertDoesNotThrow(() -> reservationService.checkAvailableDate(roomId, endDate.plusDays(1), endDate.plusDays(2)));
     }
@@ -157,7 +187,7 @@ class ReservationServiceTest {
         LocalDate endDate = LocalDate.now().plusDays(period);
 
         List<Reservation> reservationList = createReservationList(startDate, endDate);
-        doReturn(reservationList).when(reservationService).findByRoomId(roomId);
+        givenReservations(roomId, reservationList);
 
         assertDoesNotThrow(() -> reservationService.checkAvailableDate(roomId, startDate.minusDays(2), startDate.minusDays(1)));
     }
@@ -172,7 +202,7 @@ class ReservationServiceTest {
         LocalDate endDate = LocalDate.now().plusDays(period);
 
         List<Reservation> reservationList = createReservationList(startDate, endDate);
-        doReturn(reservationList).when(reservationService).findByRoomId(roomId);
+        givenReservations(roomId, reservationList);
 
         assertDoesNotThrow(() -> reservationService.checkAvailableDate(roomId, startDate.minusDays(1), startDate));
     }
@@ -187,72 +217,25 @@ class ReservationServiceTest {
         LocalDate endDate = LocalDate.now().plusDays(period);
 
         List<Reservation> reservationList = createReservationList(startDate, endDate);
-        doReturn(reservationList).when(reservationService).findByRoomId(roomId);
+        givenReservations(roomId, reservationList);
 
         assertDoesNotThrow(() -> reservationService.checkAvailableDate(roomId, endDate, endDate.plusDays(1)));
     }
 
     @Test
-    @DisplayName("지난달 예약내역 조회")
-    public void getPreviousMonth() {
-        LocalDate now = LocalDate.now();
-        LocalDate previous = now.minusMonths(1);
-
-        LocalDate previousStartDate = previous.withDayOfMonth(1);
-        LocalDate previousEndDate = now.withDayOfMonth(1).minusDays(1);
-
-        given(reservationRepository.findByBetweenDateAndRoomId(1L, previousStartDate, previousEndDate))
-                .willReturn(new ArrayList<>());
-
-        reservationService.getBeforeMonthReservation(1L);
-
-        verify(reservationRepository, times(1)).findByBetweenDateAndRoomId(1L, previousStartDate, previousEndDate);
-    }
-
-    @Test
-    @DisplayName("지난 달 예약률 조회")
-    public void getBeforeMonthReservationRate() {
+    @DisplayName("최소, 최대 박 수를 벗어난 예약 예외 발생")
+    public void checkStayRule() {
         Long roomId = 1L;
-        List<Reservation> reservations = getReservations();
-
-        doReturn(reservations).when(reservationService).getBeforeMonthReservation(roomId);
-
-        Double reservationRate = reservationService.getBeforeMonthReservationRate(roomId);
-
-        assertThat(reservationRate).isEqualTo(1);
-    }
-
-    private List<Reservation> getReservations() {
-        Room room = Room.builder()
-                .name("test room")
-                .build();
-
-        LocalDate now = LocalDate.now();
-        LocalDate previous = now.minusMonths(1);
-
-        LocalDate previousStartDate = previous.withDayOfMonth(1);
-        LocalDate previousEndDate = now.withDayOfMonth(1).minusDays(1);
-
-        List<Reservation> reservations = new ArrayList<>();
-        for (LocalDate date = previousStartDate; date.isBefore(previousEndDate); date = date.plusDays(1)) {
-            Reservation reservation = Reservation.builder()
-                    .checkIn(date)
-                    .checkOut(date.plusDays(1))
-                    .room(room)
-                    .build();
-            reservations.add(reservation);
-        }
-        return reservations;
-    }
-
-    @Test
-    @DisplayName("예약률로 추천 숙소인지 확인")
-    public void checkRecommendedRoom() {
-        doReturn(0.9).when(reservationService).getBeforeMonthReservationRate(1L);
-
-        Boolean isRecommendedRoom = reservationService.checkRecommendedRoom(1L);
-
-        assertTrue(isRecommendedRoom);
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        RoomAvailability availability = new RoomAvailability(roomId, checkIn, 30, 0);
+        availability.setStayRule(2, 7);
+        given(roomAvailabilityService.loadForStay(eq(roomId), any(), any())).willReturn(availability);
+
+        ReservationException exception = assertThrows(ReservationException.class,
+                () -> reservationService.checkAvailableDate(roomId, checkIn, checkIn.plusDays(1)));
+        assertThat(exception.getMessage()).isEqualTo("2박 이상 7박 이하로 예약할 수 있습니다.");
+        assertThrows(ReservationException.class, () -> reservationService.checkAvailableDate(roomId, checkIn, checkIn.plusDays(8)));
+        assertDoesNotThrow(() -> reservationService.checkAvailableDate(roomId, checkIn, checkIn.plusDays(7)));
     }
 
     public User createUser() {
@@ -265,44 +248,37 @@ class ReservationServiceTest {
         return host;
     }
 
-    public List<Reservation> createReservationList() {
-        List<Reservation> list = new ArrayList<>();
-        Reservation reservation2 = Reservation.builder()
-                .id(2L)
-                .payment(new Payment(2L, "2", 2000, true))
+    @Test
+    @DisplayName("결제 승인 시 한 번만 승인 이벤트 발행")
+    public void confirmPayment() {
+        Reservation reservation = Reservation.builder()
+                .id(1L)
                 .checkIn(LocalDate.of(2021, 2, 2))
+                .checkOut(LocalDate.of(2021, 2, 4))
+                .room(Room.builder().id(1L).host(createUser()).build())
+                .payment(new Payment(2L, "2", 2000, true))
                 .build();
+        given(paymentService.makeConfirmStateTrue(2L)).willReturn(true, false);
+        given(reservationRepository.findByPaymentIdWithRoom(2L)).willReturn(Optional.of(reservation));
 
-        list.add(reservation2);
-        return list;
-    }
+        reservationService.confirmPayment(2L);
+        reservationService.confirmPayment(2L);
 
-    @Test
-    @DisplayName("호스트로 예약찾고 특정 년만 뽑아내기")
-    public void findByHostWithPaymentFilterByYear() {
-        User host = createUser();
-        given(reservationRepository.findByHostWithPayment(any())).willReturn(createReservationList());
-
-
-        int beforeYear = 2020;
-        int year = 2021;
-        int afterYear = 2022;
-        List<Reservation> reservationList = reservationService.findByHostFilterByYear(host, beforeYear);
-        assertThat(reservationList.size()).isEqualTo(0);
-        reservationList = reservationService.findByHostFilterByYear(host, year);
-        assertThat(reservationList.size()).isEqualTo(1);
-        reservationList = reservationService.findByHostFilterByYear(host, afterYear);
-        assertThat(reservationList.size()).isEqualTo(0);
+        ArgumentCaptor<ReservationChangedEvent> event = ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(ReservationChangedEvent.Type.PAYMENT_CONFIRMED);
+        assertThat(event.getValue().getPrice()).isEqualTo(2000);
+        assertThat(event.getValue().isPaymentConfirmed()).isTrue();
     }
 
     @Test
-    @DisplayName("월별 년별합산 테스트")
-    public void separateByMonth() {
-        List<Reservation> list = createReservationList();
-        IncomeResponse incomeResponse = reservationService.separateByMonth(list);
-        System.out.println(incomeResponse.getFeb());
-        assertThat(incomeResponse.getFeb()).isEqualTo(2000);
-//        System.out.println(incomeResponse.getYearlyIncome());
-//        assertThat(incomeResponse.getYearlyIncome()).isEqualTo(2000);
+    @DisplayName("다른 유저의 예약은 취소하지 않고 예외 발생")
+    public void cancelReservationOfOtherUser() throws Exception {
+        given(reservationRepository.findByIdAndUserIdWithPayment(1L, 2L)).willReturn(Optional.empty());
+
+        assertThrows(ReservationException.class, () -> reservationService.cancelReservation(2L, 1L, new Cancel()));
+        verify(paymentService, never()).deleteById(any());
+        verify(reservationRepository, never()).deleteById(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.buildup.kbnb.service.reservation;
+
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.Room;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RoomOccupancyService.class)
+class RoomOccupancyServiceTest {
+    @Autowired
+    RoomOccupancyService roomOccupancyService;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Test
+    @DisplayName("월을 걸치는 예약은 체크 아웃 전날까지 월마다 나눠 셈")
+    void nightsByMonth() {
+        assertThat(RoomOccupancyService.nightsByMonth(LocalDate.of(2021, 1, 30), LocalDate.of(2021, 3, 2)))
+                .containsExactly(entry(LocalDate.of(2021, 1, 1), 2), entry(LocalDate.of(2021, 2, 1), 28), entry(LocalDate.of(2021, 3, 1), 1));
+        assertThat(RoomOccupancyService.nightsByMonth(LocalDate.of(2021, 2, 1), LocalDate.of(2021, 3, 1)))
+                .containsExactly(entry(LocalDate.of(2021, 2, 1), 28));
+    }
+
+    @Test
+    @DisplayName("예약 등록, 취소 이벤트로 월별 박 수 증감")
+    void onReservationChanged() {
+        Long roomId = 1L;
+        ReservationChangedEvent first = event(ReservationChangedEvent.Type.CREATED, roomId, LocalDate.of(2021, 1, 30), LocalDate.of(2021, 2, 3));
+        ReservationChangedEvent second = event(ReservationChangedEvent.Type.CREATED, roomId, LocalDate.of(2021, 2, 10), LocalDate.of(2021, 2, 12));
+
+        roomOccupancyService.onReservationChanged(first);
+        roomOccupancyService.onReservationChanged(second);
+
+        assertThat(roomOccupancyService.getOccupancyRate(roomId, YearMonth.of(2021, 1))).isEqualTo(2 / 31.0);
+        assertThat(roomOccupancyService.getOccupancyRate(roomId, YearMonth.of(2021, 2))).isEqualTo(4 / 28.0);
+
+        roomOccupancyService.onReservationChanged(event(ReservationChangedEvent.Type.CANCELLED, roomId, first.getCheckIn(), first.getCheckOut()));
+
+        assertThat(roomOccupancyService.getOccupancyRate(roomId, YearMonth.of(2021, 1))).isEqualTo(0);
+        assertThat(roomOccupancyService.getOccupancyRate(roomId, YearMonth.of(2021, 2))).isEqualTo(2 / 28.0);
+        assertThat(roomOccupancyService.getOccupancyRate(roomId, YearMonth.of(2021, 3))).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("지난달 예약률 90% 이상인 숙소를 추천")
+    void recommend() {
+        YearMonth previousMonth = YearMonth.now().minusMonths(1);
+        LocalDate start = previousMonth.atDay(1);
+        int recommendNights = (int) Math.ceil(previousMonth.lengthOfMonth() * RoomOccupancyService.RECOMMEND_RATE);
+        roomOccupancyService.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, 1L, start, start.plusDays(recommendNights)));
+        roomOccupancyService.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, 2L, start, start.plusDays(recommendNights - 1)));
+
+        assertThat(roomOccupancyService.isRecommended(1L)).isTrue();
+        assertThat(roomOccupancyService.isRecommended(2L)).isFalse();
+        assertThat(roomOccupancyService.findRecommendedRoomIds(List.of(1L, 2L, 3L))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("예약 테이블로 집계를 다시 생성")
+    void rebuild() {
+        Room room = em.persist(Room.builder().name("test room").build());
+        for (LocalDate date = LocalDate.of(2021, 2, 1); date.isBefore(LocalDate.of(2021, 2, 28)); date = date.plusDays(1)) {
+            em.persist(Reservation.builder().checkIn(date).checkOut(date.plusDays(1)).room(room).build());
+        }
+        em.persist(Reservation.builder().checkIn(LocalDate.of(2021, 2, 28)).checkOut(LocalDate.of(2021, 3, 3)).room(room).build());
+        em.flush();
+        roomOccupancyService.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, room.getId(), LocalDate.of(2021, 5, 1), LocalDate.of(2021, 5, 2)));
+
+        assertThat(roomOccupancyService.rebuild()).isEqualTo(2);
+        assertThat(roomOccupancyService.getOccupancyRate(room.getId(), YearMonth.of(2021, 2))).isEqualTo(1);
+        assertThat(roomOccupancyService.getOccupancyRate(room.getId(), YearMonth.of(2021, 3))).isEqualTo(2 / 31.0);
+        assertThat(roomOccupancyService.getOccupancyRate(room.getId(), YearMonth.of(2021, 5))).isEqualTo(0);
+    }
+
+    private ReservationChangedEvent event(ReservationChangedEvent.Type type, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new ReservationChangedEvent(type, null, roomId, 1L, checkIn, checkOut, null, false);
+    }
+}
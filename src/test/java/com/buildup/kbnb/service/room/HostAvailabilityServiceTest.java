@@ -0,0 +1,114 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.dto.host.availability.HostAvailabilityResponse;
+import com.buildup.kbnb.dto.host.availability.RoomBlockDto;
+import com.buildup.kbnb.dto.host.availability.RoomBlockRequest;
+import com.buildup.kbnb.dto.host.availability.SeasonPriceDto;
+import com.buildup.kbnb.dto.host.availability.SeasonPriceRequest;
+import com.buildup.kbnb.dto.host.availability.StayRuleRequest;
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(HostAvailabilityService.class)
+class HostAvailabilityServiceTest {
+    @Autowired
+    HostAvailabilityService hostAvailabilityService;
+
+    @Autowired
+    TestEntityManager em;
+
+    User host;
+    Room room;
+    LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        host = em.persist(User.builder().name("테스트 호스트").email("host@gmail.com").provider(AuthProvider.local).emailVerified(false).build());
+        room = em.persist(Room.builder().name("숙소").host(host).build());
+        start = LocalDate.now().plusDays(10);
+    }
+
+    @Test
+    @DisplayName("겹치거나 맞닿은 기간은 하나로 합침")
+    void addBlock() {
+        hostAvailabilityService.addBlock(host.getId(), block(start, start.plusDays(3)));
+        hostAvailabilityService.addBlock(host.getId(), block(start.plusDays(5), start.plusDays(7)));
+        HostAvailabilityResponse response = hostAvailabilityService.addBlock(host.getId(), block(start.plusDays(2), start.plusDays(5)));
+
+        assertThat(response.getBlocks()).hasSize(1);
+        RoomBlockDto merged = response.getBlocks().get(0);
+        assertThat(merged.getStartDate()).isEqualTo(start);
+        assertThat(merged.getEndDate()).isEqualTo(start.plusDays(7));
+
+        response = hostAvailabilityService.addBlock(host.getId(), block(start.plusDays(20), start.plusDays(21)));
+        assertThat(response.getBlocks()).extracting(RoomBlockDto::getStartDate).containsExactly(start, start.plusDays(20));
+
+        response = hostAvailabilityService.removeBlock(host.getId(), merged.getId());
+        assertThat(response.getBlocks()).extracting(RoomBlockDto::getStartDate).containsExactly(start.plusDays(20));
+    }
+
+    @Test
+    @DisplayName("예약이 있거나 지난 기간, 다른 호스트의 숙소는 막을 수 없음")
+    void addBlockInvalid() {
+        em.persist(Reservation.builder().room(room).checkIn(start).checkOut(start.plusDays(2)).build());
+        User other = em.persist(User.builder().name("다른 호스트").email("other@gmail.com").provider(AuthProvider.local).emailVerified(false).build());
+        em.flush();
+
+        assertThrows(BadRequestException.class, () -> hostAvailabilityService.addBlock(host.getId(), block(start.plusDays(1), start.plusDays(3))));
+        assertThrows(BadRequestException.class, () -> hostAvailabilityService.addBlock(host.getId(), block(start.minusDays(20), start.minusDays(10))));
+        assertThrows(BadRequestException.class, () -> hostAvailabilityService.addBlock(host.getId(), block(start.plusDays(5), start.plusDays(5))));
+        assertThrows(BadRequestException.class, () -> hostAvailabilityService.addBlock(other.getId(), block(start.plusDays(5), start.plusDays(6))));
+        // 체크 아웃 날부터는 막을 수 있다.
+        assertThat(hostAvailabilityService.addBlock(host.getId(), block(start.plusDays(2), start.plusDays(3))).getBlocks()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("최소, 최대 박 수 변경")
+    void updateStayRule() {
+        HostAvailabilityResponse response = hostAvailabilityService.updateStayRule(host.getId(), new StayRuleRequest(room.getId(), 2, null));
+
+        assertThat(response.getMinNights()).isEqualTo(2);
+        assertThat(response.getMaxNights()).isNull();
+        assertThat(room.getMinNights()).isEqualTo(2);
+        assertThrows(BadRequestException.class, () -> hostAvailabilityService.updateStayRule(host.getId(), new StayRuleRequest(room.getId(), 3, 2)));
+    }
+
+    @Test
+    @DisplayName("겹치지 않는 기간별 가격만 추가")
+    void addSeasonPrice() {
+        HostAvailabilityResponse response = hostAvailabilityService.addSeasonPrice(host.getId(),
+                new SeasonPriceRequest(room.getId(), start, start.plusDays(30), 90000.0, null));
+        assertThat(response.getSeasons()).extracting(SeasonPriceDto::getNightlyCost).containsExactly(90000.0);
+
+        assertThrows(BadRequestException.class, () -> hostAvailabilityService.addSeasonPrice(host.getId(),
+                new SeasonPriceRequest(room.getId(), start.plusDays(29), start.plusDays(40), 80000.0, null)));
+        response = hostAvailabilityService.addSeasonPrice(host.getId(),
+                new SeasonPriceRequest(room.getId(), start.plusDays(30), start.plusDays(40), 80000.0, 100000.0));
+        assertThat(response.getSeasons()).hasSize(2);
+
+        response = hostAvailabilityService.removeSeasonPrice(host.getId(), response.getSeasons().get(0).getId());
+        assertThat(response.getSeasons()).extracting(SeasonPriceDto::getStartDate).containsExactly(start.plusDays(30));
+    }
+
+    private RoomBlockRequest block(LocalDate startDate, LocalDate endDate) {
+        return new RoomBlockRequest(room.getId(), startDate, endDate);
+    }
+}
@@ -0,0 +1,245 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.dto.room.calendar.MonthCalendar;
+import com.buildup.kbnb.dto.room.calendar.PriceRun;
+import com.buildup.kbnb.dto.room.quote.StayQuote;
+import com.buildup.kbnb.dto.room.search.CostSearch;
+import com.buildup.kbnb.model.Reservation;
+import com.buildup.kbnb.model.room.Room;
+import com.buildup.kbnb.model.room.RoomAvailability;
+import com.buildup.kbnb.model.room.RoomBlock;
+import com.buildup.kbnb.model.room.RoomSeasonPrice;
+import com.buildup.kbnb.service.reservation.ReservationChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static java.time.temporal.TemporalAdjusters.next;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({RoomAvailabilityService.class, AppProperties.class, SimpleMeterRegistry.class})
+class RoomAvailabilityServiceTest {
+    @Autowired
+    RoomAvailabilityService roomAvailabilityService;
+
+    @Autowired
+    TestEntityManager em;
+
+    Room room;
+    YearMonth nextMonth;
+
+    @BeforeEach
+    void setUp() {
+        room = em.persist(Room.builder().name("test room").roomCost(50000.0).build());
+        nextMonth = YearMonth.now().plusMonths(1);
+    }
+
+    @Test
+    @DisplayName("체크 인부터 체크 아웃 전날까지를 예약할 수 없는 박으로 표시")
+    void isAvailable() {
+        RoomAvailability availability = new RoomAvailability(1L, LocalDate.of(2021, 1, 1), 365, 100);
+        availability.markUnavailable(LocalDate.of(2021, 3, 5), LocalDate.of(2021, 3, 8));
+        // 범위 앞에서 시작한 예약도 범위 안의 박만 표시한다.
+        availability.markUnavailable(LocalDate.of(2020, 12, 30), LocalDate.of(2021, 1, 2));
+
+        assertThat(availability.isAvailable(LocalDate.of(2021, 1, 1))).isFalse();
+        assertThat(availability.isAvailable(LocalDate.of(2021, 1, 2))).isTrue();
+        assertThat(availability.isAvailable(LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 5))).isTrue();
+        assertThat(availability.isAvailable(LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 6))).isFalse();
+        assertThat(availability.isAvailable(LocalDate.of(2021, 3, 8), LocalDate.of(2021, 12, 31))).isTrue();
+        assertThat(availability.isAvailable(LocalDate.of(2021, 2, 1), LocalDate.of(2021, 4, 1))).isFalse();
+        assertThat(availability.isAvailable(LocalDate.of(2021, 3, 8), LocalDate.of(2021, 3, 8))).isFalse();
+    }
+
+    @Test
+    @DisplayName("앞뒤 N일 안에서 같은 박 수로 묵을 수 있는 가장 가까운 체크 인을 찾음")
+    void findCheckInShift() {
+        LocalDate start = LocalDate.of(2021, 1, 1);
+        RoomAvailability availability = new RoomAvailability(1L, start, 365, 100);
+        // 3월 10일 ~ 14일 예약, 3월 17일 하루 예약
+        availability.markUnavailable(LocalDate.of(2021, 3, 10), LocalDate.of(2021, 3, 15));
+        availability.markUnavailable(LocalDate.of(2021, 3, 17), LocalDate.of(2021, 3, 18));
+
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 3, 5), 2, 3, start)).isEqualTo(0);
+        // 3월 11일 체크 인 2박은 앞으로 3일(3월 8일) 또는 뒤로 4일(3월 15일)에 가능하다.
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 3, 11), 2, 3, start)).isEqualTo(-3);
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 3, 11), 2, 4, start)).isEqualTo(-3);
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 3, 11), 2, 4, LocalDate.of(2021, 3, 9))).isEqualTo(4);
+        // 3박은 3월 15일 ~ 16일 사이에 들어가지 않는다.
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 3, 14), 3, 2, start)).isNull();
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 3, 14), 3, 4, start)).isEqualTo(4);
+        // 64박 단위를 넘는 긴 숙박과 범위 끝
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 3, 20), 100, 0, start)).isEqualTo(0);
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 12, 30), 2, 1, start)).isEqualTo(0);
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 12, 31), 2, 1, start)).isEqualTo(-1);
+        assertThat(availability.findCheckInShift(LocalDate.of(2021, 12, 31), 2, 0, start)).isNull();
+    }
+
+    @Test
+    @DisplayName("여러 숙소의 체크 인 이동 일 수를 숙소 순서대로 모음")
+    void findCheckInShifts() {
+        Room fullRoom = em.persist(Room.builder().name("full room").roomCost(50000.0).build());
+        em.persist(Reservation.builder().room(room).checkIn(nextMonth.atDay(10)).checkOut(nextMonth.atDay(12)).build());
+        em.persist(Reservation.builder().room(fullRoom).checkIn(nextMonth.atDay(1)).checkOut(nextMonth.atDay(28)).build());
+        em.flush();
+
+        Map<Long, Integer> shifts = roomAvailabilityService.findCheckInShifts(List.of(fullRoom.getId(), room.getId(), -1L),
+                nextMonth.atDay(10), nextMonth.atDay(12), 2, null);
+
+        assertThat(shifts).containsExactly(entry(room.getId(), -2));
+        assertThrows(BadRequestException.class, () -> roomAvailabilityService.findCheckInShifts(List.of(room.getId()),
+                nextMonth.atDay(10), nextMonth.atDay(12), RoomAvailabilityService.MAX_FLEXIBLE_DAYS + 1, null));
+        assertThrows(BadRequestException.class, () -> roomAvailabilityService.findCheckInShifts(List.of(room.getId()),
+                nextMonth.atDay(12), nextMonth.atDay(12), 2, null));
+    }
+
+    @Test
+    @DisplayName("호스트가 막은 기간과 최소, 최대 박 수를 예약 가능 날짜에 반영")
+    void blocksAndStayRule() {
+        room.setMinNights(3);
+        room.setMaxNights(10);
+        em.persist(RoomBlock.builder().roomId(room.getId()).startDate(nextMonth.atDay(10)).endDate(nextMonth.atDay(15)).build());
+        em.flush();
+
+        RoomAvailability availability = roomAvailabilityService.getAvailability(room.getId());
+        assertThat(availability.isAvailable(nextMonth.atDay(9))).isTrue();
+        assertThat(availability.isAvailable(nextMonth.atDay(14), nextMonth.atDay(15))).isFalse();
+        assertThat(availability.allowsStay(2)).isFalse();
+        assertThat(availability.allowsStay(11)).isFalse();
+
+        // 날짜를 정한 검색은 옮기지 않고 박 수와 막은 기간을 함께 본다.
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), nextMonth.atDay(1), nextMonth.atDay(3), 0, null)).isEmpty();
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), nextMonth.atDay(8), nextMonth.atDay(11), 0, null)).isEmpty();
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), nextMonth.atDay(1), nextMonth.atDay(4), 0, null))
+                .containsExactly(entry(room.getId(), 0));
+
+        RoomAvailability stay = roomAvailabilityService.loadForStay(room.getId(), nextMonth.atDay(12), nextMonth.atDay(20));
+        assertThat(stay.getStart()).isEqualTo(nextMonth.atDay(12));
+        assertThat(stay.isAvailable(nextMonth.atDay(15), nextMonth.atDay(20))).isTrue();
+        assertThat(stay.isAvailable(nextMonth.atDay(12), nextMonth.atDay(20))).isFalse();
+        assertThat(stay.getMinNights()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("캐시 기간을 넘는 날짜 검색도 막은 기간과 최소, 최대 박 수를 봄")
+    void findCheckInShiftsBeyondHorizon() {
+        YearMonth farMonth = YearMonth.now().plusMonths(14);
+        room.setMinNights(3);
+        room.setMaxNights(10);
+        em.persist(RoomBlock.builder().roomId(room.getId()).startDate(farMonth.atDay(10)).endDate(farMonth.atDay(15)).build());
+        em.flush();
+
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), farMonth.atDay(1), farMonth.atDay(3), 0, null)).isEmpty();
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), farMonth.atDay(8), farMonth.atDay(11), 0, null)).isEmpty();
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), farMonth.atDay(1), farMonth.atDay(4), 0, null))
+                .containsExactly(entry(room.getId(), 0));
+        // 막은 기간에 걸치면 옮길 수 있는 날짜까지만 만들어 가장 가까운 체크 인을 찾는다.
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), farMonth.atDay(12), farMonth.atDay(15), 3, null))
+                .containsExactly(entry(room.getId(), 3));
+    }
+
+    @Test
+    @DisplayName("주말, 기간별 가격과 숙박 할인을 반영한 견적")
+    void quote() {
+        room.setWeekendCost(70000.0);
+        room.setWeeklyDiscount(10);
+        room.setCleaningCost(20000.0);
+        room.setTax(5000.0);
+        LocalDate monday = nextMonth.atDay(1).with(next(DayOfWeek.MONDAY));
+        // 다음 주 월요일부터 3박은 기간별 가격, 주말은 따로 정하지 않음
+        em.persist(RoomSeasonPrice.builder().roomId(room.getId()).startDate(monday.plusDays(7)).endDate(monday.plusDays(10)).nightlyCost(90000.0).build());
+        em.flush();
+
+        // 월 ~ 일 6박: 평일 4박, 금, 토 2박
+        StayQuote quote = roomAvailabilityService.quote(room.getId(), monday, monday.plusDays(6));
+        assertThat(quote.getNightlyTotal()).isEqualTo(4 * 50000 + 2 * 70000);
+        assertThat(quote.getDiscountRate()).isZero();
+        assertThat(quote.getTotalCost()).isCloseTo(25000 + 340000 * 1.1, within(0.001));
+        assertThat(quote.isAvailable()).isTrue();
+
+        // 7박부터 할인, 다음 주 월요일은 기간별 가격
+        quote = roomAvailabilityService.quote(room.getId(), monday, monday.plusDays(8));
+        assertThat(quote.getNightlyTotal()).isEqualTo(5 * 50000 + 2 * 70000 + 90000);
+        assertThat(quote.getDiscountRate()).isEqualTo(10);
+        assertThat(quote.getDiscount()).isEqualTo(48000);
+        assertThat(quote.getTotalCost()).isCloseTo(25000 + 432000 * 1.1, within(0.001));
+
+        // 캐시 기간을 넘는 날짜도 같은 규칙으로 계산한다.
+        LocalDate farMonday = nextMonth.plusMonths(13).atDay(1).with(next(DayOfWeek.MONDAY));
+        assertThat(roomAvailabilityService.quote(room.getId(), farMonday, farMonday.plusDays(6)).getNightlyTotal()).isEqualTo(340000);
+        assertThrows(BadRequestException.class, () -> roomAvailabilityService.quote(room.getId(), monday, monday));
+    }
+
+    @Test
+    @DisplayName("날짜 검색의 가격 조건은 숙박 기간의 할인 후 1박 평균 가격으로 봄")
+    void findCheckInShiftsByCost() {
+        room.setWeekendCost(80000.0);
+        em.flush();
+        LocalDate monday = nextMonth.atDay(1).with(next(DayOfWeek.MONDAY));
+
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), monday, monday.plusDays(2), 0, new CostSearch(40000.0, 60000.0)))
+                .containsKey(room.getId());
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), monday.plusDays(4), monday.plusDays(6), 0, new CostSearch(40000.0, 60000.0)))
+                .isEmpty();
+        assertThat(roomAvailabilityService.findCheckInShifts(List.of(room.getId()), monday.plusDays(4), monday.plusDays(6), 0, new CostSearch()))
+                .containsKey(room.getId());
+    }
+
+    @Test
+    @DisplayName("월마다 예약 가능 여부를 한 글자씩, 가격을 구간으로 내려줌")
+    void getCalendar() {
+        em.persist(Reservation.builder().room(room).checkIn(nextMonth.atDay(3)).checkOut(nextMonth.atDay(5)).build());
+        em.persist(Reservation.builder().room(room).checkIn(nextMonth.atEndOfMonth()).checkOut(nextMonth.plusMonths(1).atDay(2)).build());
+        em.flush();
+
+        MonthCalendar calendar = roomAvailabilityService.getCalendar(room.getId(), nextMonth, 2).getMonths().get(0);
+
+        int days = nextMonth.lengthOfMonth();
+        assertThat(calendar.getMonth()).isEqualTo(nextMonth);
+        assertThat(calendar.getAvailable()).hasSize(days).startsWith("1100111").endsWith("10");
+        assertThat(calendar.getAvailableNights()).isEqualTo(days - 3);
+        assertThat(calendar.getPrices()).containsExactly(new PriceRun(1, 2, 50000), new PriceRun(5, days - 1, 50000));
+        assertThat(roomAvailabilityService.getCalendar(room.getId(), nextMonth, 2).getMonths().get(1).getAvailable()).startsWith("011");
+    }
+
+    @Test
+    @DisplayName("예약이 바뀌면 해당 숙소 캐시를 비우고 다시 만듦")
+    void onReservationChanged() {
+        assertThat(roomAvailabilityService.getAvailability(room.getId()).isAvailable(nextMonth.atDay(10))).isTrue();
+
+        Reservation reservation = em.persist(Reservation.builder().room(room).checkIn(nextMonth.atDay(10)).checkOut(nextMonth.atDay(11)).build());
+        em.flush();
+        assertThat(roomAvailabilityService.getAvailability(room.getId()).isAvailable(nextMonth.atDay(10))).isTrue();
+
+        roomAvailabilityService.onReservationChanged(new ReservationChangedEvent(ReservationChangedEvent.Type.CREATED, reservation.getId(),
+                room.getId(), null, reservation.getCheckIn(), reservation.getCheckOut(), null, false));
+        assertThat(roomAvailabilityService.getAvailability(room.getId()).isAvailable(nextMonth.atDay(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("이번 달 이전이나 캐시 기간을 넘는 달은 조회할 수 없음")
+    void getCalendarOutOfRange() {
+        assertThrows(BadRequestException.class, () -> roomAvailabilityService.getCalendar(room.getId(), YearMonth.now().minusMonths(1), 1));
+        assertThrows(BadRequestException.class, () -> roomAvailabilityService.getCalendar(room.getId(), YearMonth.now(), 13));
+        assertThrows(BadRequestException.class, () -> roomAvailabilityService.getCalendar(room.getId(), YearMonth.now(), 0));
+    }
+}
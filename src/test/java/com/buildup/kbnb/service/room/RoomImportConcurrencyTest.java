@@ -0,0 +1,144 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.controller.RoomController;
+import com.buildup.kbnb.model.room.RoomImportFormat;
+import com.buildup.kbnb.model.room.RoomImportJob;
+import com.buildup.kbnb.model.room.RoomImportStatus;
+import com.buildup.kbnb.model.user.AuthProvider;
+import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.repository.RoomImportJobRepository;
+import com.buildup.kbnb.repository.UserRepository;
+import com.buildup.kbnb.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willAnswer;
+
+// 두 요청이 각자의 커넥션에서 커밋해야 하므로 테스트 트랜잭션 없이 실행하고 직접 지운다.
+@DataJpaTest(properties = "app.room-import.chunk-size=2")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomImportConcurrencyTest {
+    @Autowired
+    RoomImportService roomImportService;
+
+    @Autowired
+    RoomImportJobRepository roomImportJobRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    RoomService roomService;
+
+    @TestConfiguration
+    @Import({RoomImportService.class, AppProperties.class})
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from location");
+        jdbcTemplate.update("delete from room_import_job");
+        jdbcTemplate.update("delete from users");
+    }
+
+    private long committedRows(Long jobId) {
+        return jdbcTemplate.queryForObject("select committed_rows from room_import_job where id = ?", Long.class, jobId);
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+    }
+
+    @Test
+    @DisplayName("같은 작업을 동시에 재개하면 먼저 커밋한 요청만 진행하고 늦은 요청의 청크는 롤백")
+    void concurrentResume() throws Exception {
+        User host = userRepository.save(User.builder().name("host").email("host@gmail.com").emailVerified(false).provider(AuthProvider.local).build());
+        RoomImportJob job = roomImportJobRepository.save(RoomImportJob.builder().host(host).format(RoomImportFormat.NDJSON)
+                .status(RoomImportStatus.IN_PROGRESS).build());
+        // 방 대신 location 을 같은 트랜잭션에 저장한다.
+        // 두 요청이 모두 작업을 읽은 뒤, 먼저 온 요청이 첫 청크를 커밋하고 나서야 늦은 요청이 첫 청크를 저장하게 한다.
+        Set<Thread> started = ConcurrentHashMap.newKeySet();
+        AtomicInteger arrivals = new AtomicInteger();
+        AtomicLong locationId = new AtomicLong();
+        willAnswer(invocation -> {
+            if (started.add(Thread.currentThread())) {
+                if (arrivals.incrementAndGet() == 1)
+                    waitUntil(() -> arrivals.get() == 2);
+                else
+                    waitUntil(() -> committedRows(job.getId()) >= 2);
+            }
+            List<RoomController.RoomDummyDetail> rows = invocation.getArgument(0);
+            for (RoomController.RoomDummyDetail row : rows)
+                jdbcTemplate.update("insert into location (id, city) values (?, ?)", locationId.incrementAndGet(), row.getCity());
+            return List.of();
+        }).given(roomService).saveDummyRooms(anyList(), any());
+
+        String ndjson = IntStream.rangeClosed(1, 4)
+                .mapToObj(id -> "{\"room_id\":\"" + id + "\",\"country\":\"한국\",\"city\":\"부산\",\"latitude\":35.1,\"longitude\":129.0,\"price\":50}")
+                .collect(Collectors.joining("\n"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> resumes = List.of(
+                    executor.submit(() -> roomImportService.importRooms(host.getId(), job.getId(), RoomImportFormat.NDJSON,
+                            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))),
+                    executor.submit(() -> roomImportService.importRooms(host.getId(), job.getId(), RoomImportFormat.NDJSON,
+                            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))));
+
+            int failed = 0;
+            for (Future<?> resume : resumes) {
+                try {
+                    resume.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    failed++;
+                }
+            }
+            assertThat(failed).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+
+        RoomImportJob result = roomImportJobRepository.findById(job.getId()).orElseThrow();
+        assertThat(result.getCommittedRows()).isEqualTo(4);
+        assertThat(result.getImportedRooms()).isEqualTo(4);
+        assertThat(result.getStatus()).isEqualTo(RoomImportStatus.COMPLETED);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from location", Long.class)).isEqualTo(4);
+    }
+}
@@ -0,0 +1,147 @@
+package com.buildup.kbnb.service.room;
+
+import com.buildup.kbnb.advice.exception.BadRequestException;
+import com.buildup.kbnb.config.AppProperties;
+import com.buildup.kbnb.controller.RoomController;
+import com.buildup.kbnb.dto.room.bulk.RoomImportResponse;
+import com.buildup.kbnb.model.room.RoomImportFormat;
+import com.buildup.kbnb.model.room.RoomImportJob;
+import com.buildup.kbnb.model.room.RoomImportStatus;
+import com.buildup.kbnb.model.user.User;
+import com.buildup.kbnb.repository.RoomImportJobRepository;
+import com.buildup.kbnb.repository.UserRepository;
+import com.buildup.kbnb.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class RoomImportServiceTest {
+    RoomImportService roomImportService;
+
+    @Mock RoomService roomService;
+    @Mock UserRepository userRepository;
+    @Mock RoomImportJobRepository roomImportJobRepository;
+    @Mock EntityManager entityManager;
+    @Mock PlatformTransactionManager transactionManager;
+
+    User host = User.builder().id(1L).name("host").build();
+    RoomImportJob job;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AppProperties appProperties = new AppProperties();
+        appProperties.getRoomImport().setChunkSize(2);
+        roomImportService = new RoomImportService(roomService, userRepository, roomImportJobRepository, entityManager,
+                new ObjectMapper(), appProperties, transactionManager);
+
+        job = RoomImportJob.builder().id(10L).host(host).format(RoomImportFormat.NDJSON).status(RoomImportStatus.IN_PROGRESS).version(0L).build();
+        given(userRepository.getOne(1L)).willReturn(host);
+        given(roomImportJobRepository.save(any())).willReturn(job);
+        given(roomImportJobRepository.findById(10L)).willReturn(Optional.of(job));
+        given(roomImportJobRepository.advance(eq(10L), anyLong(), anyLong(), anyLong(), anyLong(), any())).willAnswer(invocation -> {
+            if (!job.getVersion().equals(invocation.getArgument(1)))
+                return 0;
+            job.setCommittedRows(job.getCommittedRows() + invocation.<Long>getArgument(2));
+            job.setImportedRooms(job.getImportedRooms() + invocation.<Long>getArgument(3));
+            job.setFailedRows(job.getFailedRows() + invocation.<Long>getArgument(4));
+            job.setVersion(job.getVersion() + 1);
+            return 1;
+        });
+    }
+
+    private InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String row(String id, double price) {
+        return "{\"room_id\":\"" + id + "\",\"room_type\":\"Private room\",\"country\":\"한국\",\"city\":\"부산\","
+                + "\"latitude\":35.1,\"longitude\":129.0,\"price\":" + price + "}";
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<RoomController.RoomDummyDetail>> savedChunks(int times) {
+        ArgumentCaptor<List<RoomController.RoomDummyDetail>> captor = ArgumentCaptor.forClass(List.class);
+        verify(roomService, times(times)).saveDummyRooms(captor.capture(), any());
+        return captor.getAllValues();
+    }
+
+    @Test
+    @DisplayName("청크 단위로 저장하고 행 단위 오류를 보고")
+    void importInChunks() throws Exception {
+        RoomImportResponse response = roomImportService.importRooms(1L, null, RoomImportFormat.NDJSON,
+                ndjson(row("1", 50), "{broken", row("3", 60), row("4", 0), "", row("5", 70)));
+
+        List<List<RoomController.RoomDummyDetail>> chunks = savedChunks(3);
+        assertThat(chunks.get(0)).extracting(RoomController.RoomDummyDetail::getRoom_id).containsExactly("1");
+        assertThat(chunks.get(1)).extracting(RoomController.RoomDummyDetail::getRoom_id).containsExactly("3");
+        assertThat(chunks.get(2)).extracting(RoomController.RoomDummyDetail::getRoom_id).containsExactly("5");
+        assertThat(response.getErrors()).extracting("row").containsExactly(2L, 4L);
+        assertThat(response.getCommittedRows()).isEqualTo(5);
+        assertThat(response.getImportedRooms()).isEqualTo(3);
+        assertThat(response.getFailedRows()).isEqualTo(2);
+        assertThat(response.getStatus()).isEqualTo(RoomImportStatus.COMPLETED);
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    @DisplayName("재개시 커밋된 행은 건너뜀")
+    void resumeFromLastCommittedChunk() throws Exception {
+        job.setCommittedRows(2);
+
+        roomImportService.importRooms(1L, 10L, RoomImportFormat.NDJSON, ndjson(row("1", 50), row("2", 50), row("3", 60)));
+
+        List<List<RoomController.RoomDummyDetail>> chunks = savedChunks(1);
+        assertThat(chunks.get(0)).extracting(RoomController.RoomDummyDetail::getRoom_id).containsExactly("3");
+        assertThat(job.getCommittedRows()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("CSV 는 헤더 이름으로 매핑")
+    void importCsv() throws Exception {
+        job.setFormat(RoomImportFormat.CSV);
+        String csv = "room_id,room_type,country,city,latitude,longitude,price,unknown\n"
+                + "1,Private room,한국,부산,35.1,129.0,50,x\n"
+                + "2,Private room,한국,부산,not-number,129.0,50,x\n";
+
+        RoomImportResponse response = roomImportService.importRooms(1L, null, RoomImportFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        List<List<RoomController.RoomDummyDetail>> chunks = savedChunks(1);
+        assertThat(chunks.get(0)).extracting(RoomController.RoomDummyDetail::getRoom_id).containsExactly("1");
+        assertThat(response.getErrors()).extracting("row").containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("완료된 작업이나 다른 유저의 작업은 재개 불가")
+    void rejectResume() {
+        job.setStatus(RoomImportStatus.COMPLETED);
+        assertThrows(BadRequestException.class,
+                () -> roomImportService.importRooms(1L, 10L, RoomImportFormat.NDJSON, ndjson(row("1", 50))));
+
+        job.setStatus(RoomImportStatus.IN_PROGRESS);
+        assertThrows(BadRequestException.class,
+                () -> roomImportService.importRooms(2L, 10L, RoomImportFormat.NDJSON, ndjson(row("1", 50))));
+        verifyNoInteractions(roomService);
+    }
+}
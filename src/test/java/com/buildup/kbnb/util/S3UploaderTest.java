@@ -0,0 +1,181 @@
+package com.buildup.kbnb.util;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.buildup.kbnb.model.StoredObject;
+import com.buildup.kbnb.model.room.RoomImg;
+import com.buildup.kbnb.monitoring.BusinessMetrics;
+import com.buildup.kbnb.repository.StoredObjectRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URL;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+class S3UploaderTest {
+    S3Uploader s3Uploader;
+
+    @Mock
+    AmazonS3Client amazonS3Client;
+
+    @Mock
+    StoredObjectRepository storedObjectRepository;
+
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        s3Uploader = new S3Uploader(amazonS3Client, storedObjectRepository, new BusinessMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(s3Uploader, "bucket", "kbnb");
+        given(amazonS3Client.getUrl(eq("kbnb"), anyString()))
+                .willAnswer(invocation -> new URL("https://kbnb.s3.amazonaws.com/" + invocation.getArgument(1)));
+    }
+
+    @Test
+    @DisplayName("새로운 내용은 해시 키로 저장 후 인덱스에 등록")
+    void uploadNewContent() throws Exception {
+        given(storedObjectRepository.findByContentHash(anyString())).willReturn(Optional.empty());
+
+        String url = s3Uploader.upload(new MockMultipartFile("file", "a.png", "image/png", "photo".getBytes()), "roomImg");
+
+        ArgumentCaptor<StoredObject> captor = ArgumentCaptor.forClass(StoredObject.class);
+        verify(storedObjectRepository).save(captor.capture());
+        StoredObject stored = captor.getValue();
+        assertThat(stored.getContentHash()).hasSize(64);
+        assertThat(stored.getObjectKey()).startsWith("roomImg/" + stored.getContentHash() + "-").endsWith(".png");
+        assertThat(stored.getRefCount()).isEqualTo(1);
+        assertThat(url).isEqualTo("https://kbnb.s3.amazonaws.com/" + stored.getObjectKey());
+        verify(amazonS3Client).putObject(any(PutObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("같은 내용은 기존 객체를 참조")
+    void uploadDuplicateContent() throws Exception {
+        StoredObject stored = StoredObject.builder().id(1L).objectKey("roomImg/abc.png").url("existing url").refCount(1).build();
+        given(storedObjectRepository.findByContentHash(anyString())).willReturn(Optional.of(stored));
+        given(storedObjectRepository.addReference(1L, 1)).willReturn(1);
+
+        String url = s3Uploader.uploadBytes("photo".getBytes(), "userImg", "image/png");
+
+        assertThat(url).isEqualTo("existing url");
+        verify(storedObjectRepository).addReference(1L, 1);
+        verify(amazonS3Client, never()).putObject(any(PutObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("참조를 늘리기 전에 기존 객체가 삭제되었으면 새로 업로드")
+    void uploadAfterConcurrentRelease() throws Exception {
+        StoredObject stored = StoredObject.builder().id(1L).objectKey("roomImg/abc.png").url("existing url").refCount(1).build();
+        given(storedObjectRepository.findByContentHash(anyString())).willReturn(Optional.of(stored));
+        given(storedObjectRepository.addReference(1L, 1)).willReturn(0);
+
+        String url = s3Uploader.uploadBytes("photo".getBytes(), "userImg", "image/png");
+
+        assertThat(url).startsWith("https://kbnb.s3.amazonaws.com/userImg/").isNotEqualTo("existing url");
+        verify(amazonS3Client).putObject(any(PutObjectRequest.class));
+        verify(storedObjectRepository).save(any(StoredObject.class));
+    }
+
+    @Test
+    @DisplayName("참조가 남아있으면 삭제하지 않음")
+    void deleteKeepsReferencedObject() {
+        StoredObject stored = StoredObject.builder().id(1L).objectKey("roomImg/abc.png").url("url").refCount(2).build();
+        given(storedObjectRepository.findFirstByUrl("url")).willReturn(Optional.of(stored));
+        given(storedObjectRepository.deleteIfUnreferenced(1L)).willReturn(0);
+
+        s3Uploader.deleteFileFromS3("url");
+
+        verify(storedObjectRepository).releaseReference(1L);
+        verify(amazonS3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("마지막 참조가 해제되면 객체 삭제")
+    void deleteLastReference() {
+        StoredObject stored = StoredObject.builder().id(1L).objectKey("roomImg/abc.png").url("url").refCount(1).build();
+        given(storedObjectRepository.findFirstByUrl("url")).willReturn(Optional.of(stored));
+        given(storedObjectRepository.deleteIfUnreferenced(1L)).willReturn(1);
+
+        s3Uploader.deleteFileFromS3("url");
+
+        ArgumentCaptor<DeleteObjectRequest> captor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(amazonS3Client).deleteObject(captor.capture());
+        assertThat(captor.getValue().getKey()).isEqualTo("roomImg/abc.png");
+    }
+
+    @Test
+    @DisplayName("인덱스에 없는 URL 은 삭제하지 않음")
+    void deleteUnknownUrl() {
+        given(storedObjectRepository.findFirstByUrl(anyString())).willReturn(Optional.empty());
+
+        s3Uploader.deleteFileFromS3("https://kbnb.s3.amazonaws.com/userImg/test");
+
+        verifyNoInteractions(amazonS3Client);
+    }
+
+    @Test
+    @DisplayName("숙소 사진 삭제시 변환 이미지 참조도 해제")
+    void deleteRoomImgFiles() {
+        given(storedObjectRepository.findFirstByUrl(anyString())).willReturn(Optional.empty());
+
+        s3Uploader.deleteRoomImgFiles(RoomImg.builder().url("original").cardUrl("card").detailUrl("detail").build());
+
+        verify(storedObjectRepository).findFirstByUrl("original");
+        verify(storedObjectRepository).findFirstByUrl("card");
+        verify(storedObjectRepository).findFirstByUrl("detail");
+        verifyNoMoreInteractions(storedObjectRepository);
+    }
+
+    @Test
+    @DisplayName("기존 URL 참조 등록시 키를 URL 에서 추출")
+    void retainUnknownUrl() {
+        given(storedObjectRepository.addReferenceByUrl(anyString(), anyInt())).willReturn(0);
+
+        s3Uploader.retain("https://kbnb.s3.amazonaws.com/kbnbRoom/1%3A2.png", 3);
+
+        ArgumentCaptor<StoredObject> captor = ArgumentCaptor.forClass(StoredObject.class);
+        verify(storedObjectRepository).save(captor.capture());
+        assertThat(captor.getValue().getObjectKey()).isEqualTo("kbnbRoom/1:2.png");
+        assertThat(captor.getValue().getRefCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("이미 등록된 URL 은 조회 없이 참조 수만 늘림")
+    void retainKnownUrl() {
+        given(storedObjectRepository.addReferenceByUrl("url", 3)).willReturn(1);
+
+        s3Uploader.retain("url", 3);
+
+        verify(storedObjectRepository).addReferenceByUrl("url", 3);
+        verifyNoMoreInteractions(storedObjectRepository);
+    }
+
+    @Test
+    @DisplayName("같은 URL 이 동시에 등록되면 먼저 등록된 행의 참조를 늘림")
+    void retainConcurrentInsert() {
+        String url = "https://kbnb.s3.amazonaws.com/kbnbRoom/1.png";
+        given(storedObjectRepository.addReferenceByUrl(url, 3)).willReturn(0, 1);
+        given(storedObjectRepository.save(any(StoredObject.class))).willThrow(new DataIntegrityViolationException("duplicate url"));
+
+        s3Uploader.retain(url, 3);
+
+        verify(storedObjectRepository, times(2)).addReferenceByUrl(url, 3);
+    }
+}